@@ -0,0 +1,119 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.verapdf.benchmarks.generator.SyntheticPdfGenerator;
+import org.verapdf.pd.PDDocument;
+import org.verapdf.tools.batch.BatchProcessor;
+import org.verapdf.tools.batch.DocumentTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many documents per second {@link BatchProcessor} opens and
+ * reads the first and last page of, for a mix of generated documents and
+ * different concurrency levels on platform and virtual threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(BatchThroughputBenchmark.DOCUMENTS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BatchThroughputBenchmark {
+
+    static final int DOCUMENTS = 64;
+
+    private static final DocumentTask<Integer> READ_PAGES = document -> {
+        int pages = document.getNumberOfPages();
+        document.getPage(0);
+        document.getPage(pages - 1);
+        return pages;
+    };
+
+    @Param({"1", "4", "16"})
+    public int concurrency;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    private final List<File> files = new ArrayList<>(DOCUMENTS);
+    private BatchProcessor processor;
+
+    @Setup
+    public void setUp() throws IOException {
+        File[] kinds = {
+                BenchmarkCorpus.get("batch-xref.pdf", () -> SyntheticPdfGenerator.hugeXRef(5_000)),
+                BenchmarkCorpus.get("batch-page-tree.pdf", () -> SyntheticPdfGenerator.deepPageTree(4, 4)),
+                BenchmarkCorpus.get("batch-encrypted.pdf", () -> SyntheticPdfGenerator.encrypted(20)),
+                BenchmarkCorpus.get("batch-cjk-fonts.pdf", () -> SyntheticPdfGenerator.cjkFonts(10))
+        };
+        for (int i = 0; i < DOCUMENTS; ++i) {
+            files.add(kinds[i % kinds.length]);
+        }
+        processor = BatchProcessor.builder()
+                .concurrency(concurrency)
+                .virtualThreads("virtual".equals(threads))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        processor.close();
+    }
+
+    @Benchmark
+    public int process() throws InterruptedException, ExecutionException {
+        int pages = 0;
+        for (Future<Integer> result : processor.submitAll(files, READ_PAGES)) {
+            pages += result.get();
+        }
+        return pages;
+    }
+
+    /**
+     * Baseline: the same documents opened one after another on the calling
+     * thread, resetting static resources by hand.
+     */
+    @Benchmark
+    public int sequential() throws IOException {
+        int pages = 0;
+        for (File file : files) {
+            PDDocument document = new PDDocument(file.getPath());
+            try {
+                pages += document.getNumberOfPages();
+                document.getPage(0);
+                document.getPage(document.getNumberOfPages() - 1);
+            } finally {
+                document.close();
+            }
+        }
+        return pages;
+    }
+}
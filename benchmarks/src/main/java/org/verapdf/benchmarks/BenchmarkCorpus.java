@@ -0,0 +1,54 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.benchmarks;
+
+import org.verapdf.benchmarks.generator.SyntheticPdfGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.function.Supplier;
+
+/**
+ * Lazily materializes generated documents in a temporary directory that lives
+ * as long as the benchmark JVM. Files are keyed by name, so benchmarks asking
+ * for the same document with the same parameters share one copy.
+ */
+final class BenchmarkCorpus {
+
+    private static File directory;
+
+    private BenchmarkCorpus() {
+    }
+
+    static synchronized File get(String name, Supplier<byte[]> generator) throws IOException {
+        if (directory == null) {
+            directory = Files.createTempDirectory("verapdf-benchmarks").toFile();
+            directory.deleteOnExit();
+        }
+        File file = new File(directory, name);
+        if (!file.isFile()) {
+            SyntheticPdfGenerator.write(generator.get(), directory, name);
+            file.deleteOnExit();
+        }
+        return file;
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.verapdf.benchmarks.generator.SyntheticPdfGenerator;
+import org.verapdf.cos.COSName;
+import org.verapdf.pd.font.cmap.CMap;
+import org.verapdf.pd.font.cmap.PDCMap;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures code to CID and CID to Unicode lookups in predefined CMaps. Codes
+ * are drawn from the ranges the CJK corpus uses, with a share of codes that
+ * fall outside the CMap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CMapBenchmark {
+
+    private static final int CODES = 4096;
+
+    @Param({"UniJIS-UCS2-H", "UniGB-UCS2-H", "UniCNS-UCS2-H", "UniKS-UCS2-H"})
+    public String cMap;
+
+    private CMap encoding;
+    private CMap toUnicode;
+    private final int[] codes = new int[CODES];
+    private final int[] cids = new int[CODES];
+
+    @Setup
+    public void setUp() {
+        encoding = new PDCMap(COSName.construct(cMap)).getCMapFile();
+        toUnicode = new PDCMap(COSName.construct("Adobe-" + encoding.getOrdering() + "-UCS2")).getCMapFile();
+        Random random = new Random(SyntheticPdfGenerator.SEED);
+        for (int i = 0; i < CODES; ++i) {
+            int kind = random.nextInt(8);
+            if (kind == 0) {
+                codes[i] = 0x20 + random.nextInt(0x5F);
+            } else if (kind == 1) {
+                codes[i] = 0xE000 + random.nextInt(0x1000);
+            } else if (cMap.startsWith("UniKS")) {
+                codes[i] = 0xAC00 + random.nextInt(0x2BA4);
+            } else {
+                codes[i] = 0x4E00 + random.nextInt(0x5000);
+            }
+            cids[i] = encoding.toCID(codes[i]);
+        }
+    }
+
+    @Benchmark
+    public int toCID() {
+        int sum = 0;
+        for (int code : codes) {
+            sum += encoding.toCID(code);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int toUnicode() {
+        int found = 0;
+        for (int cid : cids) {
+            if (toUnicode.getUnicode(cid) != null) {
+                ++found;
+            }
+        }
+        return found;
+    }
+}
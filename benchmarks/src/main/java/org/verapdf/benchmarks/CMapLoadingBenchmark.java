@@ -0,0 +1,71 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.verapdf.cos.COSName;
+import org.verapdf.io.SeekableInputStream;
+import org.verapdf.parser.postscript.PostScriptException;
+import org.verapdf.pd.font.cmap.CMap;
+import org.verapdf.pd.font.cmap.CMapParser;
+import org.verapdf.pd.font.cmap.PDCMap;
+import org.verapdf.tools.StaticResources;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares cold loading of a predefined CMap from its PostScript text
+ * resource with loading the precompiled binary form. Every invocation starts
+ * with an empty CMap cache, so CMaps referenced through usecmap are loaded
+ * again as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(3)
+public class CMapLoadingBenchmark {
+
+    @Param({"UniJIS-UCS2-H", "Adobe-Japan1-UCS2", "GBK-EUC-H", "UniKS-UTF16-H"})
+    public String cMap;
+
+    @Setup(Level.Invocation)
+    public void clearCache() {
+        StaticResources.clear();
+    }
+
+    @Benchmark
+    public CMap text() throws IOException, PostScriptException {
+        try (InputStream resource = CMapLoadingBenchmark.class.getResourceAsStream("/font/cmap/" + cMap)) {
+            CMapParser parser = new CMapParser(SeekableInputStream.getSeekableStream(resource));
+            parser.parse();
+            return parser.getCMap();
+        }
+    }
+
+    @Benchmark
+    public CMap binary() {
+        return new PDCMap(COSName.construct(cMap)).getCMapFile();
+    }
+}
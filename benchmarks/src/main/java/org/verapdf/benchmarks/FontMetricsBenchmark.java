@@ -0,0 +1,46 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.verapdf.pd.font.stdmetrics.StandardFontMetrics;
+import org.verapdf.pd.font.stdmetrics.StandardFontMetricsFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the first lookup of standard 14 font metrics in a fresh JVM, which
+ * is what every short-lived validation process pays. Each fork contributes a
+ * single cold sample, later lookups are served from memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class FontMetricsBenchmark {
+
+    @Benchmark
+    public StandardFontMetrics firstLookup() {
+        return StandardFontMetricsFactory.getFontMetrics("Helvetica");
+    }
+}
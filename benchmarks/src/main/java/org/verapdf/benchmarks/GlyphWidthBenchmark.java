@@ -0,0 +1,114 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.verapdf.benchmarks.generator.SyntheticPdfGenerator;
+import org.verapdf.cos.COSArray;
+import org.verapdf.cos.COSInteger;
+import org.verapdf.cos.COSObject;
+import org.verapdf.cos.COSReal;
+import org.verapdf.pd.font.CIDWArray;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures compiling of large CIDFont W arrays into {@link CIDWArray} and
+ * width lookups in them, as done for every glyph shown with a CIDFont. W
+ * arrays consist of individual widths ({@code c [w1 w2 ...]}), CID ranges
+ * ({@code cFirst cLast w}) or a mix of both, shaped like CJK fonts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GlyphWidthBenchmark {
+
+    private static final int LOOKUPS = 4096;
+
+    @Param({"singles", "ranges", "mixed"})
+    public String layout;
+
+    @Param({"1000", "20000"})
+    public int entries;
+
+    private COSArray w;
+    private CIDWArray widths;
+    private int[] cids;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(SyntheticPdfGenerator.SEED);
+        COSObject array = COSArray.construct();
+        int cid = 1;
+        for (int i = 0; i < entries; ) {
+            boolean range = "ranges".equals(layout) || "mixed".equals(layout) && random.nextInt(4) == 0;
+            if (range) {
+                int length = 1 + random.nextInt(64);
+                array.add(COSInteger.construct(cid));
+                array.add(COSInteger.construct(cid + length - 1));
+                array.add(COSInteger.construct(500 + random.nextInt(500)));
+                cid += length;
+                ++i;
+            } else {
+                int length = Math.min(1 + random.nextInt(32), entries - i);
+                COSObject group = COSArray.construct();
+                for (int j = 0; j < length; ++j) {
+                    group.add(random.nextBoolean() ? COSInteger.construct(1000)
+                            : COSReal.construct(random.nextInt(10000) / 10.0));
+                }
+                array.add(COSInteger.construct(cid));
+                array.add(group);
+                cid += length;
+                i += length;
+            }
+            // gaps between entries are looked up as misses
+            cid += random.nextInt(8);
+        }
+        w = (COSArray) array.getDirectBase();
+        widths = new CIDWArray(w);
+        cids = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; ++i) {
+            cids[i] = random.nextInt(cid + 1);
+        }
+    }
+
+    @Benchmark
+    public CIDWArray compile() {
+        return new CIDWArray(w);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public double lookup() {
+        double sum = 0;
+        for (int cid : cids) {
+            double width = widths.getWidthValue(cid);
+            if (!Double.isNaN(width)) {
+                sum += width;
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.verapdf.benchmarks.generator.SyntheticPdfGenerator;
+import org.verapdf.cos.COSObject;
+import org.verapdf.pd.PDDocument;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures heap retained by the COS model after every object of a document
+ * is loaded. Documents hold either many small dictionaries or dictionaries
+ * with numeric arrays, the shapes kept in compact form by
+ * {@link org.verapdf.cos.COSArray} and {@link org.verapdf.cos.COSDictionary}.
+ * The retained heap is reported as the {@code retainedBytes} secondary result;
+ * run with {@code -prof gc} to see allocation during loading as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseSerialGC")
+public class HeapFootprintBenchmark {
+
+    private static final int OBJECT_COUNT = 100_000;
+
+    @Param({"small-dictionaries", "numeric-arrays"})
+    public String shape;
+
+    private File file;
+    private PDDocument document;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        public long retainedBytes;
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        Supplier<byte[]> generator = "numeric-arrays".equals(shape)
+                ? () -> SyntheticPdfGenerator.numericArrays(OBJECT_COUNT)
+                : () -> SyntheticPdfGenerator.hugeXRef(OBJECT_COUNT);
+        file = BenchmarkCorpus.get("heap-" + shape + ".pdf", generator);
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        if (document != null) {
+            document.close();
+            document = null;
+        }
+    }
+
+    @Benchmark
+    public int loadAllObjects(Footprint footprint) throws IOException {
+        long before = usedHeap();
+        document = new PDDocument(file.getPath());
+        List<COSObject> objects = document.getDocument().getObjects();
+        footprint.retainedBytes = usedHeap() - before;
+        return objects.size();
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
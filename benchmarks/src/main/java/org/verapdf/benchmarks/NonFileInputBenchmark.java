@@ -0,0 +1,111 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.verapdf.as.ASAtom;
+import org.verapdf.benchmarks.generator.SyntheticPdfGenerator;
+import org.verapdf.cos.COSDocument;
+import org.verapdf.cos.COSKey;
+import org.verapdf.io.ChunkedInputStream;
+import org.verapdf.pd.PDDocument;
+import org.verapdf.tools.StaticResources;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens documents from a plain {@link java.io.InputStream}, as for HTTP bodies
+ * or archive entries, and compares keeping the data in direct memory chunks of
+ * {@link ChunkedInputStream} with copying it into a temporary file. Opening
+ * copies the data and loads cross-reference table, resolving then reads
+ * objects spread over the whole document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-XX:MaxDirectMemorySize=1g"})
+public class NonFileInputBenchmark {
+
+    private static final long CHUNKED_MEMORY_LIMIT = 768L << 20;
+    private static final int RESOLVED_OBJECTS = 1000;
+
+    @Param({"1", "100", "500"})
+    public int megabytes;
+
+    @Param({"temp-file", "chunked"})
+    public String store;
+
+    private String path;
+    private COSKey[] keys;
+
+    @Setup
+    public void setUp() throws IOException {
+        path = BenchmarkCorpus.get("large-document-" + megabytes + ".pdf",
+                () -> SyntheticPdfGenerator.largeDocument(megabytes)).getPath();
+        ChunkedInputStream.setMemoryLimit("chunked".equals(store)
+                ? CHUNKED_MEMORY_LIMIT : ChunkedInputStream.DEFAULT_MEMORY_LIMIT);
+        Random random = new Random(SyntheticPdfGenerator.SEED);
+        int objects = megabytes * (SyntheticPdfGenerator.OBJECTS_PER_MEGABYTE + 1);
+        keys = new COSKey[RESOLVED_OBJECTS];
+        for (int i = 0; i < keys.length; ++i) {
+            keys[i] = new COSKey(SyntheticPdfGenerator.FIRST_DATA_OBJECT + random.nextInt(objects), 0);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        ChunkedInputStream.setMemoryLimit(ChunkedInputStream.DEFAULT_MEMORY_LIMIT);
+    }
+
+    @Benchmark
+    public int open() throws IOException {
+        PDDocument document = new PDDocument(new BufferedInputStream(new FileInputStream(path)));
+        try {
+            return document.getDocument().getLastKeyNumber();
+        } finally {
+            document.close();
+            StaticResources.clear();
+        }
+    }
+
+    @Benchmark
+    public long openAndResolve() throws IOException {
+        PDDocument document = new PDDocument(new BufferedInputStream(new FileInputStream(path)));
+        try {
+            COSDocument cosDocument = document.getDocument();
+            long sum = 0;
+            for (COSKey key : keys) {
+                Long index = cosDocument.getObject(key).getIntegerKey(ASAtom.INDEX);
+                sum += index != null ? index : 0;
+            }
+            return sum;
+        } finally {
+            document.close();
+            StaticResources.clear();
+        }
+    }
+}
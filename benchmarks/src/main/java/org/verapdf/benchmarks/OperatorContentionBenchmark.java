@@ -0,0 +1,83 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.verapdf.as.io.ASMemoryInStream;
+import org.verapdf.benchmarks.generator.SyntheticPdfGenerator;
+import org.verapdf.cos.COSBase;
+import org.verapdf.operator.Operator;
+import org.verapdf.parser.PDFStreamParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses the same content stream on one and on all available threads. Every
+ * operator token goes through {@link Operator#getOperator}, so the gap
+ * between the two modes shows how well operator interning scales.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class OperatorContentionBenchmark {
+
+    @Param({"2000"})
+    public int lines;
+
+    private byte[] data;
+
+    @Setup
+    public void setUp() {
+        data = SyntheticPdfGenerator.contentStream(lines);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int parseSingleThread() throws IOException {
+        return parse();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public int parseContended() throws IOException {
+        return parse();
+    }
+
+    private int parse() throws IOException {
+        PDFStreamParser parser = new PDFStreamParser(new ASMemoryInStream(data));
+        try {
+            List<COSBase> operands = new ArrayList<>();
+            int count = 0;
+            while (parser.nextOperation(operands) != null) {
+                ++count;
+            }
+            return count;
+        } finally {
+            parser.close();
+        }
+    }
+}
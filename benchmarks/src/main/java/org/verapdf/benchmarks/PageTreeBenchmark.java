@@ -0,0 +1,99 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.verapdf.benchmarks.generator.SyntheticPdfGenerator;
+import org.verapdf.pd.PDDocument;
+import org.verapdf.pd.PDPage;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link org.verapdf.pd.PDPageTree} traversal on balanced trees of
+ * different shapes, given as depth x fan-out: counting pages, random page
+ * access and sequential iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PageTreeBenchmark {
+
+    private static final int ACCESSES = 256;
+
+    @Param({"6x4", "12x2", "3x16"})
+    public String shape;
+
+    private PDDocument document;
+    private int[] indexes;
+
+    @Setup
+    public void setUp() throws IOException {
+        String[] parts = shape.split("x");
+        int depth = Integer.parseInt(parts[0]);
+        int fanOut = Integer.parseInt(parts[1]);
+        document = new PDDocument(BenchmarkCorpus.get("page-tree-" + shape + ".pdf",
+                () -> SyntheticPdfGenerator.deepPageTree(depth, fanOut)).getPath());
+        int pages = document.getNumberOfPages();
+        Random random = new Random(SyntheticPdfGenerator.SEED);
+        indexes = new int[ACCESSES];
+        for (int i = 0; i < ACCESSES; ++i) {
+            indexes[i] = random.nextInt(pages);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        document.close();
+    }
+
+    @Benchmark
+    public int count() {
+        return document.getNumberOfPages();
+    }
+
+    @Benchmark
+    public int randomAccess() {
+        int found = 0;
+        for (int index : indexes) {
+            if (document.getPage(index) != null) {
+                ++found;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int iterate() {
+        int found = 0;
+        for (PDPage page : document.getPagesIterable()) {
+            if (page != null) {
+                ++found;
+            }
+        }
+        return found;
+    }
+}
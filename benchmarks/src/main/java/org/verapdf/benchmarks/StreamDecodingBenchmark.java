@@ -0,0 +1,102 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.verapdf.as.io.ASInputStream;
+import org.verapdf.benchmarks.generator.SyntheticPdfGenerator;
+import org.verapdf.cos.COSKey;
+import org.verapdf.cos.COSObject;
+import org.verapdf.cos.COSStream;
+import org.verapdf.pd.PDDocument;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures decoding of stream data through the filter chain. Each invocation
+ * fully reads every stream of one chain, the streams themselves are parsed
+ * once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StreamDecodingBenchmark {
+
+    private static final int STREAMS = 100;
+    private static final int STREAM_LENGTH = 64 * 1024;
+
+    /**
+     * Filter chains in the order {@link SyntheticPdfGenerator#filteredStreams}
+     * cycles through them.
+     */
+    private static final String[] CHAINS = {"flate", "asciihex-flate", "ascii85-flate", "runlength", "flate-png"};
+
+    @Param({"flate", "asciihex-flate", "ascii85-flate", "runlength", "flate-png"})
+    public String chain;
+
+    private PDDocument document;
+    private final List<COSObject> streams = new ArrayList<>();
+    private final byte[] buffer = new byte[8192];
+
+    @Setup
+    public void setUp() throws IOException {
+        int index = -1;
+        for (int i = 0; i < CHAINS.length; ++i) {
+            if (CHAINS[i].equals(chain)) {
+                index = i;
+            }
+        }
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown filter chain " + chain);
+        }
+        document = new PDDocument(BenchmarkCorpus.get("filtered-streams.pdf",
+                () -> SyntheticPdfGenerator.filteredStreams(STREAMS, STREAM_LENGTH)).getPath());
+        for (int i = index; i < STREAMS; i += SyntheticPdfGenerator.FILTER_CHAINS) {
+            COSKey key = new COSKey(SyntheticPdfGenerator.FIRST_DATA_OBJECT + i, 0);
+            streams.add(document.getDocument().getObject(key));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        document.close();
+    }
+
+    @Benchmark
+    public long decode() throws IOException {
+        long total = 0;
+        for (COSObject stream : streams) {
+            try (ASInputStream data = stream.getData(COSStream.FilterFlags.DECODE)) {
+                int read;
+                while ((read = data.read(buffer, buffer.length)) > 0) {
+                    total += read;
+                }
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.verapdf.as.ASAtom;
+import org.verapdf.benchmarks.generator.SyntheticPdfGenerator;
+import org.verapdf.pd.PDDocument;
+import org.verapdf.pd.PDResources;
+import org.verapdf.pd.font.PDFont;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures mapping of character codes to Unicode through the fonts of the
+ * first page: simple Type 1 fonts resolve glyph names through their encodings,
+ * Type 0 fonts go through predefined CMaps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TextDecodingBenchmark {
+
+    private static final int FONTS = 4;
+    private static final int CODES = 1024;
+
+    @Param({"simple", "cjk"})
+    public String fonts;
+
+    private PDDocument document;
+    private final PDFont[] pdFonts = new PDFont[FONTS];
+    private final int[] codes = new int[CODES];
+
+    @Setup
+    public void setUp() throws IOException {
+        boolean cjk = "cjk".equals(fonts);
+        document = new PDDocument(BenchmarkCorpus.get(fonts + "-fonts.pdf", () -> cjk
+                ? SyntheticPdfGenerator.cjkFonts(100)
+                : SyntheticPdfGenerator.simpleFonts(100)).getPath());
+        PDResources resources = document.getPage(0).getResources();
+        for (int i = 0; i < FONTS; ++i) {
+            pdFonts[i] = resources.getFont(ASAtom.getASAtom("F" + (i + 1)));
+        }
+        Random random = new Random(SyntheticPdfGenerator.SEED);
+        for (int i = 0; i < CODES; ++i) {
+            codes[i] = cjk ? 1 + random.nextInt(8000) : 32 + random.nextInt(224);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        document.close();
+    }
+
+    @Benchmark
+    public int toUnicode() {
+        int found = 0;
+        for (PDFont font : pdFonts) {
+            for (int code : codes) {
+                if (font.toUnicode(code) != null) {
+                    ++found;
+                }
+            }
+        }
+        return found;
+    }
+}
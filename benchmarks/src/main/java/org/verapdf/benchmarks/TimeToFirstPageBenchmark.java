@@ -0,0 +1,82 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.verapdf.as.io.ASInputStream;
+import org.verapdf.benchmarks.generator.SyntheticPdfGenerator;
+import org.verapdf.cos.COSStream;
+import org.verapdf.pd.PDDocument;
+import org.verapdf.pd.PDPage;
+import org.verapdf.tools.StaticResources;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures time to first page of a large linearized document: opening it and
+ * decoding the content stream of page 0. The eager mode reads the whole
+ * cross-reference chain on opening, the deferred one only the first-page
+ * cross-reference section that follows the linearization dictionary.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TimeToFirstPageBenchmark {
+
+    @Param({"eager", "deferred"})
+    public String xref;
+
+    @Param({"50000", "200000"})
+    public int objects;
+
+    private final byte[] buffer = new byte[4096];
+
+    private String path;
+
+    @Setup
+    public void setUp() throws IOException {
+        path = BenchmarkCorpus.get("linearized-" + objects + ".pdf",
+                () -> SyntheticPdfGenerator.linearized(1000, objects)).getPath();
+    }
+
+    @Benchmark
+    public long firstPage() throws IOException {
+        PDDocument document = new PDDocument(path, "deferred".equals(xref));
+        try {
+            PDPage page = document.getPage(0);
+            long length = 0;
+            try (ASInputStream data = page.getContent().getContents().getData(COSStream.FilterFlags.DECODE)) {
+                int read;
+                while ((read = data.read(buffer, buffer.length)) > 0) {
+                    length += read;
+                }
+            }
+            return length;
+        } finally {
+            document.close();
+            StaticResources.clear();
+        }
+    }
+}
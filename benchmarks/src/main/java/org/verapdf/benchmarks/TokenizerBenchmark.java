@@ -0,0 +1,69 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.verapdf.benchmarks.generator.SyntheticPdfGenerator;
+import org.verapdf.parser.SeekableBaseParser;
+import org.verapdf.parser.Token;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures raw {@link org.verapdf.parser.BaseParser} tokenization of COS
+ * syntax, without building any objects out of the tokens.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TokenizerBenchmark {
+
+    @Param({"10000", "100000"})
+    public int objects;
+
+    private byte[] data;
+
+    @Setup
+    public void setUp() {
+        data = SyntheticPdfGenerator.tokens(objects);
+    }
+
+    @Benchmark
+    public int tokenize() throws IOException {
+        SeekableBaseParser parser = new SeekableBaseParser(new ByteArrayInputStream(data));
+        try {
+            int count = 0;
+            parser.initializeToken();
+            do {
+                parser.nextToken();
+                ++count;
+            } while (parser.getToken().type != Token.Type.TT_EOF);
+            return count;
+        } finally {
+            parser.closeInputStream();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.verapdf.as.ASAtom;
+import org.verapdf.benchmarks.generator.SyntheticPdfGenerator;
+import org.verapdf.cos.COSKey;
+import org.verapdf.cos.COSObject;
+import org.verapdf.cos.COSReal;
+import org.verapdf.pd.PDDocument;
+import org.verapdf.pd.function.PDFunction;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures evaluation of PostScript calculator functions over a grid of
+ * inputs, as done when converting shadings and separation colors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class Type4FunctionBenchmark {
+
+    private static final int INPUTS = 1024;
+
+    @Param({"0", "1", "2", "3", "4"})
+    public int function;
+
+    private PDDocument document;
+    private PDFunction pdFunction;
+    private final List<List<COSObject>> inputs = new ArrayList<>(INPUTS);
+
+    @Setup
+    public void setUp() throws IOException {
+        document = new PDDocument(BenchmarkCorpus.get("type4-functions.pdf",
+                SyntheticPdfGenerator::type4Functions).getPath());
+        COSKey key = new COSKey(SyntheticPdfGenerator.FIRST_DATA_OBJECT + function, 0);
+        COSObject object = document.getDocument().getObject(key);
+        pdFunction = PDFunction.createFunction(object);
+        int arguments = object.getKey(ASAtom.DOMAIN).size() / 2;
+        Random random = new Random(SyntheticPdfGenerator.SEED);
+        for (int i = 0; i < INPUTS; ++i) {
+            COSObject[] values = new COSObject[arguments];
+            for (int j = 0; j < arguments; ++j) {
+                values[j] = COSReal.construct(random.nextDouble());
+            }
+            inputs.add(Arrays.asList(values));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        document.close();
+    }
+
+    @Benchmark
+    public int evaluate() {
+        int outputs = 0;
+        for (List<COSObject> input : inputs) {
+            outputs += pdFunction.getResult(input).size();
+        }
+        return outputs;
+    }
+}
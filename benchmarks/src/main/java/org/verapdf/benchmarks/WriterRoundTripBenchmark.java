@@ -0,0 +1,95 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.verapdf.benchmarks.generator.SyntheticPdfGenerator;
+import org.verapdf.pd.PDDocument;
+import org.verapdf.tools.StaticResources;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full save through {@link org.verapdf.cos.visitor.Writer} followed by
+ * reopening the written file and counting its pages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class WriterRoundTripBenchmark {
+
+    @Param({"page-tree", "object-streams", "cjk-fonts"})
+    public String corpus;
+
+    private String source;
+    private File target;
+
+    @Setup
+    public void setUp() throws IOException {
+        switch (corpus) {
+            case "page-tree":
+                source = BenchmarkCorpus.get("page-tree-6x4.pdf",
+                        () -> SyntheticPdfGenerator.deepPageTree(6, 4)).getPath();
+                break;
+            case "object-streams":
+                source = BenchmarkCorpus.get("xref-compressed-20000.pdf",
+                        () -> SyntheticPdfGenerator.objectStreams(20_000, 100)).getPath();
+                break;
+            case "cjk-fonts":
+                source = BenchmarkCorpus.get("cjk-fonts.pdf", () -> SyntheticPdfGenerator.cjkFonts(100)).getPath();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown corpus " + corpus);
+        }
+        target = Files.createTempFile("verapdf-benchmarks", ".pdf").toFile();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (!target.delete()) {
+            target.deleteOnExit();
+        }
+    }
+
+    @Benchmark
+    public int saveAndReopen() throws IOException {
+        PDDocument document = new PDDocument(source);
+        try {
+            document.saveAs(target.getPath());
+        } finally {
+            document.close();
+            StaticResources.clear();
+        }
+        PDDocument written = new PDDocument(target.getPath());
+        try {
+            return written.getNumberOfPages();
+        } finally {
+            written.close();
+            StaticResources.clear();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.verapdf.as.ASAtom;
+import org.verapdf.benchmarks.generator.SyntheticPdfGenerator;
+import org.verapdf.cos.COSKey;
+import org.verapdf.pd.PDDocument;
+import org.verapdf.tools.StaticResources;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures opening a document, which loads the whole cross-reference
+ * information through {@link org.verapdf.parser.XRefReader}, followed by
+ * resolving the last object. The classic layout uses one huge xref table, the
+ * compressed one a cross-reference stream pointing into object streams.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class XRefBenchmark {
+
+    @Param({"classic", "compressed"})
+    public String layout;
+
+    @Param({"50000", "200000"})
+    public int objects;
+
+    private String path;
+
+    @Setup
+    public void setUp() throws IOException {
+        boolean classic = "classic".equals(layout);
+        path = BenchmarkCorpus.get("xref-" + layout + "-" + objects + ".pdf", () -> classic
+                ? SyntheticPdfGenerator.hugeXRef(objects)
+                : SyntheticPdfGenerator.objectStreams(objects, 100)).getPath();
+    }
+
+    @Benchmark
+    public Long openAndResolveLast() throws IOException {
+        PDDocument document = new PDDocument(path);
+        try {
+            COSKey last = new COSKey(SyntheticPdfGenerator.FIRST_DATA_OBJECT + objects - 1, 0);
+            return document.getDocument().getObject(last).getIntegerKey(ASAtom.INDEX);
+        } finally {
+            document.close();
+            StaticResources.clear();
+        }
+    }
+}
@@ -0,0 +1,475 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.benchmarks.generator;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * Minimal PDF serializer used by {@link SyntheticPdfGenerator}. Objects are
+ * numbered in the order they are reserved and are written with generation 0,
+ * either with a classic cross-reference table or with a cross-reference stream
+ * that may point into object streams.
+ * <p>
+ * The builder intentionally shares no code with the parser, so a bug in the
+ * parser cannot cancel out against the same bug in the files it is measured on.
+ */
+final class PdfBuilder {
+
+    private static final byte[] PASSWORD_PADDING = {
+            (byte) 0x28, (byte) 0xBF, (byte) 0x4E, (byte) 0x5E, (byte) 0x4E, (byte) 0x75, (byte) 0x8A, (byte) 0x41,
+            (byte) 0x64, (byte) 0x00, (byte) 0x4E, (byte) 0x56, (byte) 0xFF, (byte) 0xFA, (byte) 0x01, (byte) 0x08,
+            (byte) 0x2E, (byte) 0x2E, (byte) 0x00, (byte) 0xB6, (byte) 0xD0, (byte) 0x68, (byte) 0x3E, (byte) 0x80,
+            (byte) 0x2F, (byte) 0x0C, (byte) 0xA9, (byte) 0xFE, (byte) 0x64, (byte) 0x53, (byte) 0x69, (byte) 0x7A
+    };
+
+    private static final int KEY_LENGTH = 16;
+
+    /**
+     * Sizes of the page offset and shared object hint table headers, which
+     * make up the placeholder hint stream of linearized documents.
+     */
+    private static final int PAGE_OFFSET_HINT_HEADER = 36;
+    private static final int SHARED_OBJECT_HINT_HEADER = 24;
+
+    private final List<byte[]> bodies = new ArrayList<>();
+    private final List<int[]> compressed = new ArrayList<>();
+
+    private int firstPageSection;
+
+    private byte[] fileId;
+    private byte[] encryptionKey;
+    private int encryptNumber;
+
+    /**
+     * Reserves the next object number without giving it a body yet.
+     *
+     * @return reserved object number
+     */
+    int reserve() {
+        bodies.add(null);
+        compressed.add(null);
+        return bodies.size();
+    }
+
+    /**
+     * Adds a non-stream object.
+     *
+     * @return object number of the added object
+     */
+    int add(String body) {
+        int number = reserve();
+        set(number, body);
+        return number;
+    }
+
+    void set(int number, String body) {
+        bodies.set(number - 1, ascii(body));
+    }
+
+    /**
+     * Adds a stream object. The dictionary must not contain /Length, it is
+     * appended by the builder after optional encryption of the data.
+     *
+     * @param dictionary entries of the stream dictionary, without brackets
+     * @param data       already encoded stream data
+     * @return object number of the added stream
+     */
+    int addStream(String dictionary, byte[] data) {
+        int number = reserve();
+        setStream(number, dictionary, data);
+        return number;
+    }
+
+    void setStream(int number, String dictionary, byte[] data) {
+        byte[] encoded = encryptionKey == null ? data : rc4(objectKey(number), data);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(encoded.length + dictionary.length() + 64);
+        write(out, "<< " + dictionary + " /Length " + encoded.length + " >>\nstream\n");
+        out.write(encoded, 0, encoded.length);
+        write(out, "\nendstream");
+        bodies.set(number - 1, out.toByteArray());
+    }
+
+    /**
+     * Marks a reserved object as stored at the given index inside an object
+     * stream. Such objects are only reachable through a cross-reference stream.
+     */
+    void setCompressed(int number, int objectStream, int index) {
+        compressed.set(number - 1, new int[]{objectStream, index});
+    }
+
+    /**
+     * Enables RC4 128-bit encryption (standard security handler, revision 3)
+     * with empty user and owner passwords. Must be called before any string or
+     * stream that should be encrypted is added.
+     */
+    void encrypt(byte[] id) {
+        this.fileId = id.clone();
+        int permissions = -4;
+        byte[] owner = ownerEntry();
+        byte[] key = fileKey(owner, permissions);
+        byte[] user = userEntry(key);
+        this.encryptionKey = key;
+        this.encryptNumber = add("<< /Filter /Standard /V 2 /R 3 /Length 128 /P " + permissions
+                + " /O " + hex(owner) + " /U " + hex(user) + " >>");
+    }
+
+    /**
+     * Returns a hexadecimal string literal for the text, encrypted with the key
+     * of the given object when encryption is enabled.
+     */
+    String string(int number, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.ISO_8859_1);
+        return hex(encryptionKey == null ? bytes : rc4(objectKey(number), bytes));
+    }
+
+    /**
+     * Serializes the document with a classic cross-reference table.
+     */
+    byte[] build(int root, String trailerEntries) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long[] offsets = writeBody(out);
+        long xref = out.size();
+        StringBuilder table = new StringBuilder(20 * (offsets.length + 2));
+        table.append("xref\n0 ").append(offsets.length + 1).append("\n0000000000 65535 f\r\n");
+        for (long offset : offsets) {
+            String value = Long.toString(offset);
+            for (int i = value.length(); i < 10; ++i) {
+                table.append('0');
+            }
+            table.append(value).append(" 00000 n\r\n");
+        }
+        write(out, table.toString());
+        write(out, "trailer\n<< /Size " + (offsets.length + 1) + " /Root " + root + " 0 R"
+                + trailerTail(trailerEntries) + " >>\nstartxref\n" + xref + "\n%%EOF\n");
+        return out.toByteArray();
+    }
+
+    /**
+     * Starts the first-page section of a linearized document by reserving the
+     * linearization dictionary and the hint stream. Objects added afterwards
+     * belong to the first-page section, the ones added before to the main one.
+     *
+     * @return object number of the linearization dictionary
+     */
+    int startFirstPageSection() {
+        firstPageSection = reserve();
+        reserve();
+        return firstPageSection;
+    }
+
+    /**
+     * Serializes the document in linearized layout: the linearization
+     * dictionary, the first-page cross-reference table and the first-page
+     * section come first, followed by the main section and its cross-reference
+     * table. The hint stream only holds zeroed table headers.
+     */
+    byte[] buildLinearized(int root, int firstPage, int pageCount) {
+        if (firstPageSection == 0) {
+            throw new IllegalStateException("First-page section is not started");
+        }
+        byte[] hints = new byte[PAGE_OFFSET_HINT_HEADER + SHARED_OBJECT_HINT_HEADER];
+        setStream(firstPageSection + 1, "/S " + PAGE_OFFSET_HINT_HEADER, hints);
+        long[] layout = new long[6];
+        // all layout values are written with fixed width, so the second pass only fills them in
+        writeLinearized(root, firstPage, pageCount, layout);
+        return writeLinearized(root, firstPage, pageCount, layout);
+    }
+
+    /**
+     * @param layout file length, hint stream offset and length, end of the
+     *               first page, offset of the first main xref entry and of the
+     *               main xref table, as computed by the previous pass; updated
+     *               in place
+     */
+    private byte[] writeLinearized(int root, int firstPage, int pageCount, long[] layout) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        write(out, "%PDF-1.7\n%\u00E2\u00E3\u00CF\u00D3\n");
+        long[] offsets = new long[bodies.size()];
+        set(firstPageSection, "<< /Linearized 1 /L " + padded(layout[0]) + " /H [" + padded(layout[1]) + ' '
+                + padded(layout[2]) + "] /O " + firstPage + " /E " + padded(layout[3]) + " /N " + pageCount
+                + " /T " + padded(layout[4]) + " >>");
+        writeObject(out, offsets, firstPageSection);
+
+        long firstPageXRef = out.size();
+        int size = bodies.size() + 1;
+        StringBuilder table = new StringBuilder("xref\n").append(firstPageSection).append(' ')
+                .append(size - firstPageSection).append('\n');
+        int tableStart = out.size() + table.length();
+        String trailer = "trailer\n<< /Size " + size + " /Root " + root + " 0 R /Prev " + padded(layout[5])
+                + trailerTail(null) + " >>\nstartxref\n0\n%%EOF\n";
+        ByteArrayOutputStream firstPageBody = new ByteArrayOutputStream();
+        long bodyStart = tableStart + 20L * (size - firstPageSection) + trailer.length();
+        for (int number = firstPageSection + 1; number < size; ++number) {
+            offsets[number - 1] = bodyStart + firstPageBody.size();
+            writeObject(firstPageBody, null, number);
+            if (number == firstPageSection + 1) {
+                layout[1] = offsets[number - 1];
+                layout[2] = bodyStart + firstPageBody.size() - layout[1];
+            }
+        }
+        for (int number = firstPageSection; number < size; ++number) {
+            appendEntry(table, offsets[number - 1]);
+        }
+        write(out, table.toString());
+        write(out, trailer);
+        out.write(firstPageBody.toByteArray(), 0, firstPageBody.size());
+        layout[3] = out.size();
+
+        for (int number = 1; number < firstPageSection; ++number) {
+            writeObject(out, offsets, number);
+        }
+        layout[5] = out.size();
+        table = new StringBuilder("xref\n0 ").append(firstPageSection).append("\n");
+        layout[4] = layout[5] + table.length();
+        table.append("0000000000 65535 f\r\n");
+        for (int number = 1; number < firstPageSection; ++number) {
+            appendEntry(table, offsets[number - 1]);
+        }
+        write(out, table.toString());
+        write(out, "trailer\n<< /Size " + firstPageSection + " >>\nstartxref\n" + firstPageXRef + "\n%%EOF\n");
+        layout[0] = out.size();
+        return out.toByteArray();
+    }
+
+    private void writeObject(ByteArrayOutputStream out, long[] offsets, int number) {
+        if (offsets != null) {
+            offsets[number - 1] = out.size();
+        }
+        byte[] body = bodies.get(number - 1);
+        write(out, number + " 0 obj\n");
+        out.write(body, 0, body.length);
+        write(out, "\nendobj\n");
+    }
+
+    private static void appendEntry(StringBuilder table, long offset) {
+        table.append(padded(offset)).append(" 00000 n\r\n");
+    }
+
+    private static String padded(long value) {
+        String digits = Long.toString(value);
+        StringBuilder result = new StringBuilder(10);
+        for (int i = digits.length(); i < 10; ++i) {
+            result.append('0');
+        }
+        return result.append(digits).toString();
+    }
+
+    /**
+     * Serializes the document with a cross-reference stream, which is required
+     * as soon as any object has been placed into an object stream.
+     */
+    byte[] buildWithXRefStream(int root, String trailerEntries) {
+        int xrefNumber = reserve();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long[] offsets = writeBody(out);
+        long xref = out.size();
+        offsets[xrefNumber - 1] = xref;
+        int size = offsets.length + 1;
+        byte[] entries = new byte[size * 7];
+        entries[0] = 0;
+        for (int number = 1; number < size; ++number) {
+            int position = number * 7;
+            int[] location = compressed.get(number - 1);
+            if (location != null) {
+                entries[position] = 2;
+                putInt(entries, position + 1, location[0]);
+                entries[position + 5] = (byte) (location[1] >>> 8);
+                entries[position + 6] = (byte) location[1];
+            } else {
+                entries[position] = 1;
+                putInt(entries, position + 1, (int) offsets[number - 1]);
+            }
+        }
+        byte[] data = deflate(entries);
+        write(out, xrefNumber + " 0 obj\n<< /Type /XRef /Size " + size + " /W [1 4 2] /Filter /FlateDecode /Root "
+                + root + " 0 R" + trailerTail(trailerEntries) + " /Length " + data.length + " >>\nstream\n");
+        out.write(data, 0, data.length);
+        write(out, "\nendstream\nendobj\nstartxref\n" + xref + "\n%%EOF\n");
+        return out.toByteArray();
+    }
+
+    private long[] writeBody(ByteArrayOutputStream out) {
+        write(out, "%PDF-1.7\n%\u00E2\u00E3\u00CF\u00D3\n");
+        long[] offsets = new long[bodies.size()];
+        for (int i = 0; i < bodies.size(); ++i) {
+            byte[] body = bodies.get(i);
+            if (body == null || compressed.get(i) != null) {
+                continue;
+            }
+            offsets[i] = out.size();
+            write(out, (i + 1) + " 0 obj\n");
+            out.write(body, 0, body.length);
+            write(out, "\nendobj\n");
+        }
+        return offsets;
+    }
+
+    private String trailerTail(String trailerEntries) {
+        StringBuilder tail = new StringBuilder();
+        if (trailerEntries != null && !trailerEntries.isEmpty()) {
+            tail.append(' ').append(trailerEntries);
+        }
+        if (fileId != null) {
+            tail.append(" /ID [").append(hex(fileId)).append(' ').append(hex(fileId)).append(']');
+        }
+        if (encryptionKey != null) {
+            tail.append(" /Encrypt ").append(encryptNumber).append(" 0 R");
+        }
+        return tail.toString();
+    }
+
+    private static byte[] ownerEntry() {
+        byte[] hash = md5(PASSWORD_PADDING);
+        for (int i = 0; i < 50; ++i) {
+            hash = md5(hash);
+        }
+        byte[] key = Arrays.copyOf(hash, KEY_LENGTH);
+        byte[] result = rc4(key, PASSWORD_PADDING);
+        for (int i = 1; i <= 19; ++i) {
+            result = rc4(xor(key, i), result);
+        }
+        return result;
+    }
+
+    private byte[] fileKey(byte[] owner, int permissions) {
+        MessageDigest digest = newMd5();
+        digest.update(PASSWORD_PADDING);
+        digest.update(owner);
+        digest.update(new byte[]{(byte) permissions, (byte) (permissions >>> 8),
+                (byte) (permissions >>> 16), (byte) (permissions >>> 24)});
+        digest.update(fileId);
+        byte[] hash = digest.digest();
+        for (int i = 0; i < 50; ++i) {
+            hash = md5(Arrays.copyOf(hash, KEY_LENGTH));
+        }
+        return Arrays.copyOf(hash, KEY_LENGTH);
+    }
+
+    private byte[] userEntry(byte[] key) {
+        MessageDigest digest = newMd5();
+        digest.update(PASSWORD_PADDING);
+        digest.update(fileId);
+        byte[] result = rc4(key, digest.digest());
+        for (int i = 1; i <= 19; ++i) {
+            result = rc4(xor(key, i), result);
+        }
+        return Arrays.copyOf(result, 32);
+    }
+
+    private byte[] objectKey(int number) {
+        MessageDigest digest = newMd5();
+        digest.update(encryptionKey);
+        digest.update(new byte[]{(byte) number, (byte) (number >>> 8), (byte) (number >>> 16), 0, 0});
+        return Arrays.copyOf(digest.digest(), Math.min(KEY_LENGTH + 5, 16));
+    }
+
+    private static byte[] xor(byte[] key, int value) {
+        byte[] result = new byte[key.length];
+        for (int i = 0; i < key.length; ++i) {
+            result[i] = (byte) (key[i] ^ value);
+        }
+        return result;
+    }
+
+    static byte[] rc4(byte[] key, byte[] data) {
+        int[] state = new int[256];
+        for (int i = 0; i < 256; ++i) {
+            state[i] = i;
+        }
+        for (int i = 0, j = 0; i < 256; ++i) {
+            j = (j + state[i] + (key[i % key.length] & 0xFF)) & 0xFF;
+            int swap = state[i];
+            state[i] = state[j];
+            state[j] = swap;
+        }
+        byte[] result = new byte[data.length];
+        for (int n = 0, i = 0, j = 0; n < data.length; ++n) {
+            i = (i + 1) & 0xFF;
+            j = (j + state[i]) & 0xFF;
+            int swap = state[i];
+            state[i] = state[j];
+            state[j] = swap;
+            result[n] = (byte) (data[n] ^ state[(state[i] + state[j]) & 0xFF]);
+        }
+        return result;
+    }
+
+    static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static String hex(byte[] bytes) {
+        char[] digits = "0123456789ABCDEF".toCharArray();
+        StringBuilder builder = new StringBuilder(bytes.length * 2 + 2).append('<');
+        for (byte b : bytes) {
+            builder.append(digits[(b >>> 4) & 0xF]).append(digits[b & 0xF]);
+        }
+        return builder.append('>').toString();
+    }
+
+    static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static void write(ByteArrayOutputStream out, String value) {
+        byte[] bytes = ascii(value);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static void putInt(byte[] array, int position, int value) {
+        array[position] = (byte) (value >>> 24);
+        array[position + 1] = (byte) (value >>> 16);
+        array[position + 2] = (byte) (value >>> 8);
+        array[position + 3] = (byte) value;
+    }
+
+    private static byte[] md5(byte[] data) {
+        return newMd5().digest(data);
+    }
+
+    private static MessageDigest newMd5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,662 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.benchmarks.generator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Deterministic generator of the synthetic PDF corpus used by the benchmarks.
+ * Every method seeds its own {@link Random} with {@link #SEED}, so the same
+ * arguments always produce byte-identical files and no binaries have to be
+ * checked in.
+ * <p>
+ * Documents share a common layout: object 1 is the catalog, object 2 the page
+ * tree root, object 3 the first page and object 4 its content stream. Bulk
+ * objects of the {@link #hugeXRef}, {@link #objectStreams} and
+ * {@link #filteredStreams} documents start at {@link #FIRST_DATA_OBJECT}.
+ */
+public final class SyntheticPdfGenerator {
+
+    public static final long SEED = 0x5EEDL;
+
+    public static final int FIRST_DATA_OBJECT = 5;
+
+    /**
+     * Number of distinct filter chains used by {@link #filteredStreams}; stream
+     * {@code FIRST_DATA_OBJECT + i} uses chain {@code i % FILTER_CHAINS}.
+     */
+    public static final int FILTER_CHAINS = 5;
+
+    /**
+     * Number of Type 4 functions in the {@link #type4Functions} document,
+     * stored as objects {@code FIRST_DATA_OBJECT} onwards.
+     */
+    public static final int TYPE4_FUNCTION_COUNT = 5;
+
+    /**
+     * Number of small dictionaries per megabyte of {@link #largeDocument}.
+     */
+    public static final int OBJECTS_PER_MEGABYTE = 1000;
+
+    private static final String[][] CJK_FONTS = {
+            {"KozMinPr6N-Regular", "UniJIS-UCS2-H", "Japan1", "6"},
+            {"AdobeSongStd-Light", "UniGB-UCS2-H", "GB1", "5"},
+            {"AdobeMingStd-Light", "UniCNS-UCS2-H", "CNS1", "7"},
+            {"AdobeMyungjoStd-Medium", "UniKS-UCS2-H", "Korea1", "2"}
+    };
+
+    /**
+     * PostScript calculator programs of {@link #type4Functions}, paired with
+     * their domain and range: a CMYK tint transform, a round spot function, a
+     * longer radial blend, an integer arithmetic one and a piecewise one with
+     * nested conditionals.
+     */
+    private static final String[][] TYPE4_FUNCTIONS = {
+            {"{ dup 0.84 mul exch dup 0.3 mul exch dup 0.1 mul exch 0.05 mul }", "[0 1]", "[0 1 0 1 0 1 0 1]"},
+            {"{ dup mul exch dup mul add 1 exch sub }", "[-1 1 -1 1]", "[-1 1]"},
+            {"{ 2 copy mul 3 1 roll dup mul exch dup mul add sqrt 1 exch sub exch 0.5 mul add }", "[-1 1 -1 1]",
+                    "[-1 1]"},
+            {"{ 255 mul cvi 3 idiv 7 mod cvr 6 div }", "[0 1]", "[0 1]"},
+            {"{ dup 0.5 gt { 1 exch sub 2 mul dup 0.1 lt { pop 0 } if } { 2 mul } ifelse }", "[0 1]", "[0 1]"}
+    };
+
+    private static final String[] WORDS = {
+            "veraPDF", "parser", "benchmark", "validation", "archive", "conformance", "profile",
+            "metadata", "stream", "object", "reference", "dictionary", "trailer", "xref"
+    };
+
+    private SyntheticPdfGenerator() {
+    }
+
+    /**
+     * Writes the default corpus into the directory given as the only argument.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: SyntheticPdfGenerator <output directory>");
+            System.exit(1);
+        }
+        File directory = new File(args[0]);
+        write(hugeXRef(200_000), directory, "huge-xref.pdf");
+        write(deepPageTree(6, 4), directory, "deep-page-tree.pdf");
+        write(objectStreams(200_000, 100), directory, "object-streams.pdf");
+        write(encrypted(500), directory, "encrypted.pdf");
+        write(cjkFonts(100), directory, "cjk-fonts.pdf");
+        write(simpleFonts(100), directory, "simple-fonts.pdf");
+        write(filteredStreams(100, 64 * 1024), directory, "filtered-streams.pdf");
+        write(type4Functions(), directory, "type4-functions.pdf");
+        write(linearized(1000, 200_000), directory, "linearized.pdf");
+        write(tokens(100_000), directory, "tokens.txt");
+        write(numericArrays(100_000), directory, "numeric-arrays.pdf");
+        write(contentStream(10_000), directory, "content-stream.txt");
+        write(largeDocument(100), directory, "large-document.pdf");
+    }
+
+    /**
+     * Writes generated bytes to a file, creating the directory when needed.
+     *
+     * @return the written file
+     */
+    public static File write(byte[] data, File directory, String name) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Can't create directory " + directory);
+        }
+        File file = new File(directory, name);
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write(data);
+        }
+        return file;
+    }
+
+    /**
+     * One page document followed by {@code objectCount} small dictionaries,
+     * all listed in a single classic cross-reference table.
+     */
+    public static byte[] hugeXRef(int objectCount) {
+        Random random = new Random(SEED);
+        PdfBuilder builder = new PdfBuilder();
+        addSinglePage(builder, random, "");
+        for (int i = 0; i < objectCount; ++i) {
+            builder.add(dataObject(random, FIRST_DATA_OBJECT + i, objectCount));
+        }
+        return builder.build(1, null);
+    }
+
+    /**
+     * One page document of roughly {@code megabytes} MB. Each megabyte holds
+     * {@link #OBJECTS_PER_MEGABYTE} small dictionaries followed by an
+     * unfiltered image stream, so objects listed in the cross-reference table
+     * are spread over the whole file.
+     */
+    public static byte[] largeDocument(int megabytes) {
+        Random random = new Random(SEED);
+        PdfBuilder builder = new PdfBuilder();
+        addSinglePage(builder, random, "");
+        int objectCount = megabytes * OBJECTS_PER_MEGABYTE;
+        for (int i = 0; i < megabytes; ++i) {
+            for (int j = 0; j < OBJECTS_PER_MEGABYTE; ++j) {
+                int number = builder.reserve();
+                builder.set(number, dataObject(random, number, objectCount));
+            }
+            builder.addStream("/Type /XObject /Subtype /Image /Width 1024 /Height 832 /ColorSpace /DeviceGray"
+                    + " /BitsPerComponent 8", imageOfLength(random, 1024 * 832));
+        }
+        return builder.build(1, null);
+    }
+
+    /**
+     * One page document followed by {@code objectCount} dictionaries holding
+     * integer and real arrays, shaped like font widths and matrices, all listed
+     * in a single classic cross-reference table.
+     */
+    public static byte[] numericArrays(int objectCount) {
+        Random random = new Random(SEED);
+        PdfBuilder builder = new PdfBuilder();
+        addSinglePage(builder, random, "");
+        for (int i = 0; i < objectCount; ++i) {
+            StringBuilder object = new StringBuilder("<< /Type /Sample /Index ").append(FIRST_DATA_OBJECT + i)
+                    .append(" /FirstChar 32 /Widths [");
+            for (int j = 0; j < 32; ++j) {
+                object.append(random.nextInt(1000)).append(' ');
+            }
+            object.append("] /Matrix [");
+            for (int j = 0; j < 6; ++j) {
+                object.append(random.nextInt(10_000) / 1000.0).append(' ');
+            }
+            builder.add(object.append("] >>").toString());
+        }
+        return builder.build(1, null);
+    }
+
+    /**
+     * Balanced page tree of the given depth where every intermediate node has
+     * {@code fanOut} kids, giving {@code fanOut^depth} pages. Media box and
+     * resources are inherited from the root.
+     */
+    public static byte[] deepPageTree(int depth, int fanOut) {
+        Random random = new Random(SEED);
+        PdfBuilder builder = new PdfBuilder();
+        int catalog = builder.reserve();
+        int content = builder.addStream("", PdfBuilder.ascii(pageContent(random, 20)));
+        int font = builder.add("<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica >>");
+        int root = addPageTreeNode(builder, 0, depth, fanOut, content,
+                " /MediaBox [0 0 612 792] /Resources << /Font << /F1 " + font + " 0 R >> >>");
+        builder.set(catalog, "<< /Type /Catalog /Pages " + root + " 0 R >>");
+        return builder.build(catalog, null);
+    }
+
+    private static int addPageTreeNode(PdfBuilder builder, int parent, int depth, int fanOut, int content,
+                                       String inherited) {
+        if (depth == 0) {
+            return builder.add("<< /Type /Page /Parent " + parent + " 0 R /Contents " + content + " 0 R >>");
+        }
+        int node = builder.reserve();
+        StringBuilder kids = new StringBuilder();
+        for (int i = 0; i < fanOut; ++i) {
+            kids.append(addPageTreeNode(builder, node, depth - 1, fanOut, content, "")).append(" 0 R ");
+        }
+        long count = 1;
+        for (int i = 0; i < depth; ++i) {
+            count *= fanOut;
+        }
+        builder.set(node, "<< /Type /Pages" + (parent == 0 ? "" : " /Parent " + parent + " 0 R") + inherited
+                + " /Kids [" + kids + "] /Count " + count + " >>");
+        return node;
+    }
+
+    /**
+     * One page document followed by {@code objectCount} small dictionaries
+     * packed into compressed object streams of {@code objectsPerStream}
+     * objects, addressed through a cross-reference stream.
+     */
+    public static byte[] objectStreams(int objectCount, int objectsPerStream) {
+        Random random = new Random(SEED);
+        PdfBuilder builder = new PdfBuilder();
+        addSinglePage(builder, random, "");
+        int[] numbers = new int[objectCount];
+        String[] bodies = new String[objectCount];
+        for (int i = 0; i < objectCount; ++i) {
+            numbers[i] = builder.reserve();
+            bodies[i] = dataObject(random, FIRST_DATA_OBJECT + i, objectCount);
+        }
+        for (int start = 0; start < objectCount; start += objectsPerStream) {
+            int end = Math.min(objectCount, start + objectsPerStream);
+            StringBuilder header = new StringBuilder();
+            StringBuilder objects = new StringBuilder();
+            for (int i = start; i < end; ++i) {
+                header.append(numbers[i]).append(' ').append(objects.length()).append(' ');
+                objects.append(bodies[i]).append('\n');
+            }
+            byte[] data = PdfBuilder.deflate(PdfBuilder.ascii(header.toString() + objects));
+            int stream = builder.addStream("/Type /ObjStm /N " + (end - start) + " /First " + header.length()
+                    + " /Filter /FlateDecode", data);
+            for (int i = start; i < end; ++i) {
+                builder.setCompressed(numbers[i], stream, i - start);
+            }
+        }
+        return builder.buildWithXRefStream(1, null);
+    }
+
+    /**
+     * Document encrypted with RC4 128-bit and empty passwords, so it can be
+     * opened without user input. Every page has its own compressed content
+     * stream and the information dictionary holds encrypted strings.
+     */
+    public static byte[] encrypted(int pageCount) {
+        Random random = new Random(SEED);
+        PdfBuilder builder = new PdfBuilder();
+        byte[] id = new byte[16];
+        random.nextBytes(id);
+        builder.encrypt(id);
+        int catalog = builder.reserve();
+        int pages = builder.reserve();
+        int font = builder.add("<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica >>");
+        StringBuilder kids = new StringBuilder();
+        for (int i = 0; i < pageCount; ++i) {
+            int content = builder.addStream("/Filter /FlateDecode",
+                    PdfBuilder.deflate(PdfBuilder.ascii(pageContent(random, 40))));
+            kids.append(builder.add("<< /Type /Page /Parent " + pages + " 0 R /Contents " + content + " 0 R >>"))
+                    .append(" 0 R ");
+        }
+        builder.set(pages, "<< /Type /Pages /MediaBox [0 0 612 792] /Resources << /Font << /F1 " + font
+                + " 0 R >> >> /Kids [" + kids + "] /Count " + pageCount + " >>");
+        builder.set(catalog, "<< /Type /Catalog /Pages " + pages + " 0 R >>");
+        int info = builder.reserve();
+        builder.set(info, "<< /Title " + builder.string(info, "Synthetic encrypted document")
+                + " /Producer " + builder.string(info, "veraPDF benchmarks") + " >>");
+        return builder.build(catalog, "/Info " + info + " 0 R");
+    }
+
+    /**
+     * Document whose pages show text in four non-embedded Type 0 fonts using
+     * the predefined Japanese, simplified Chinese, traditional Chinese and
+     * Korean UCS-2 CMaps. Page resources name the fonts /F1 to /F4.
+     */
+    public static byte[] cjkFonts(int pageCount) {
+        Random random = new Random(SEED);
+        PdfBuilder builder = new PdfBuilder();
+        StringBuilder fonts = new StringBuilder();
+        for (int i = 0; i < CJK_FONTS.length; ++i) {
+            String[] font = CJK_FONTS[i];
+            int descriptor = builder.add("<< /Type /FontDescriptor /FontName /" + font[0]
+                    + " /Flags 4 /FontBBox [-100 -200 1100 900] /ItalicAngle 0 /Ascent 880 /Descent -120"
+                    + " /CapHeight 700 /StemV 80 >>");
+            int descendant = builder.add("<< /Type /Font /Subtype /CIDFontType0 /BaseFont /" + font[0]
+                    + " /CIDSystemInfo << /Registry (Adobe) /Ordering (" + font[2] + ") /Supplement " + font[3]
+                    + " >> /FontDescriptor " + descriptor + " 0 R /DW 1000 /W [1 [278 278] 231 631 500] >>");
+            int type0 = builder.add("<< /Type /Font /Subtype /Type0 /BaseFont /" + font[0] + "-" + font[1]
+                    + " /Encoding /" + font[1] + " /DescendantFonts [" + descendant + " 0 R] >>");
+            fonts.append(" /F").append(i + 1).append(' ').append(type0).append(" 0 R");
+        }
+        String resources = "<< /Font <<" + fonts + " >> >>";
+        return buildPages(builder, pageCount, resources, () -> {
+            StringBuilder content = new StringBuilder();
+            for (int line = 0; line < 40; ++line) {
+                int font = line % CJK_FONTS.length;
+                content.append("BT /F").append(font + 1).append(" 10 Tf 36 ").append(760 - line * 18)
+                        .append(" Td <");
+                for (int i = 0; i < 30; ++i) {
+                    appendHex(content, cjkCharacter(random, font), 4);
+                }
+                content.append("> Tj ET\n");
+            }
+            return content.toString();
+        });
+    }
+
+    /**
+     * Document with non-embedded standard 14 Type 1 fonts using the standard,
+     * WinAnsi and MacRoman encodings, one of them modified by a /Differences
+     * array. Page resources name the fonts /F1 to /F4.
+     */
+    public static byte[] simpleFonts(int pageCount) {
+        Random random = new Random(SEED);
+        PdfBuilder builder = new PdfBuilder();
+        int times = builder.add("<< /Type /Font /Subtype /Type1 /BaseFont /Times-Roman >>");
+        int helvetica = builder.add("<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica"
+                + " /Encoding /WinAnsiEncoding >>");
+        int courier = builder.add("<< /Type /Font /Subtype /Type1 /BaseFont /Courier"
+                + " /Encoding /MacRomanEncoding >>");
+        int differences = builder.add("<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica-Bold"
+                + " /Encoding << /Type /Encoding /BaseEncoding /WinAnsiEncoding /Differences"
+                + " [128 /Euro /bullet /dagger /daggerdbl 161 /exclamdown /cent /sterling /fi /fl] >> >>");
+        String resources = "<< /Font << /F1 " + times + " 0 R /F2 " + helvetica + " 0 R /F3 " + courier
+                + " 0 R /F4 " + differences + " 0 R >> >>";
+        return buildPages(builder, pageCount, resources, () -> {
+            StringBuilder content = new StringBuilder();
+            for (int line = 0; line < 40; ++line) {
+                content.append("BT /F").append(line % 4 + 1).append(" 10 Tf 36 ").append(760 - line * 18)
+                        .append(" Td <");
+                for (int i = 0; i < 80; ++i) {
+                    appendHex(content, 32 + random.nextInt(224), 2);
+                }
+                content.append("> Tj ET\n");
+            }
+            return content.toString();
+        });
+    }
+
+    /**
+     * One page document followed by {@code streamCount} streams of
+     * {@code streamLength} decoded bytes each, cycling through Flate,
+     * ASCIIHex + Flate, ASCII85 + Flate, RunLength and Flate with PNG
+     * predictors.
+     */
+    public static byte[] filteredStreams(int streamCount, int streamLength) {
+        Random random = new Random(SEED);
+        PdfBuilder builder = new PdfBuilder();
+        addSinglePage(builder, random, "");
+        for (int i = 0; i < streamCount; ++i) {
+            switch (i % FILTER_CHAINS) {
+                case 0:
+                    builder.addStream("/Filter /FlateDecode",
+                            PdfBuilder.deflate(contentOfLength(random, streamLength)));
+                    break;
+                case 1:
+                    builder.addStream("/Filter [/ASCIIHexDecode /FlateDecode]", PdfBuilder.ascii(
+                            asciiHex(PdfBuilder.deflate(contentOfLength(random, streamLength)))));
+                    break;
+                case 2:
+                    builder.addStream("/Filter [/ASCII85Decode /FlateDecode]", PdfBuilder.ascii(
+                            ascii85(PdfBuilder.deflate(contentOfLength(random, streamLength)))));
+                    break;
+                case 3:
+                    builder.addStream("/Filter /RunLengthDecode", runLength(imageOfLength(random, streamLength)));
+                    break;
+                default:
+                    int columns = 256;
+                    builder.addStream("/Filter /FlateDecode /DecodeParms << /Predictor 12 /Columns " + columns
+                            + " >>", PdfBuilder.deflate(pngUp(imageOfLength(random, streamLength), columns)));
+                    break;
+            }
+        }
+        return builder.build(1, null);
+    }
+
+    /**
+     * One page document followed by {@link #TYPE4_FUNCTION_COUNT} PostScript
+     * calculator functions of increasing complexity.
+     */
+    public static byte[] type4Functions() {
+        Random random = new Random(SEED);
+        PdfBuilder builder = new PdfBuilder();
+        addSinglePage(builder, random, "");
+        for (String[] function : TYPE4_FUNCTIONS) {
+            builder.addStream("/FunctionType 4 /Domain " + function[1] + " /Range " + function[2],
+                    PdfBuilder.ascii(function[0]));
+        }
+        return builder.build(1, null);
+    }
+
+    /**
+     * Linearized document of {@code pageCount} pages followed by
+     * {@code objectCount} data objects. The catalog, the first page, its
+     * content and font form the first-page section; the page tree root, the
+     * remaining pages and the data objects are only listed in the main
+     * cross-reference table at the end of the file.
+     */
+    public static byte[] linearized(int pageCount, int objectCount) {
+        Random random = new Random(SEED);
+        PdfBuilder builder = new PdfBuilder();
+        int pages = builder.reserve();
+        StringBuilder kids = new StringBuilder();
+        for (int i = 1; i < pageCount; ++i) {
+            int content = builder.addStream("/Filter /FlateDecode",
+                    PdfBuilder.deflate(PdfBuilder.ascii(pageContent(random, 40))));
+            kids.append(builder.add("<< /Type /Page /Parent " + pages + " 0 R /Contents " + content + " 0 R >>"))
+                    .append(" 0 R ");
+        }
+        for (int i = 0; i < objectCount; ++i) {
+            int number = builder.reserve();
+            builder.set(number, dataObject(random, number, objectCount));
+        }
+        builder.startFirstPageSection();
+        int catalog = builder.add("<< /Type /Catalog /Pages " + pages + " 0 R >>");
+        int font = builder.add("<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica >>");
+        String resources = "<< /Font << /F1 " + font + " 0 R >> >>";
+        int content = builder.addStream("/Filter /FlateDecode",
+                PdfBuilder.deflate(PdfBuilder.ascii(pageContent(random, 40))));
+        int firstPage = builder.add("<< /Type /Page /Parent " + pages + " 0 R /MediaBox [0 0 612 792] /Resources "
+                + resources + " /Contents " + content + " 0 R >>");
+        builder.set(pages, "<< /Type /Pages /MediaBox [0 0 612 792] /Resources " + resources + " /Kids ["
+                + firstPage + " 0 R " + kids + "] /Count " + pageCount + " >>");
+        return builder.buildLinearized(catalog, firstPage, pageCount);
+    }
+
+    /**
+     * Body of {@code objectCount} indirect objects mixing every kind of COS
+     * token: dictionaries, arrays, escaped names, literal and hexadecimal
+     * strings, integers, reals, booleans, nulls and references. It is not a
+     * complete PDF and is meant to be tokenized only.
+     */
+    public static byte[] tokens(int objectCount) {
+        Random random = new Random(SEED);
+        StringBuilder builder = new StringBuilder(objectCount * 160);
+        for (int i = 1; i <= objectCount; ++i) {
+            builder.append(i).append(" 0 obj\n<< /Type /Sample /Name /A#20name").append(random.nextInt(1000))
+                    .append(" /Int ").append(random.nextInt(2_000_000) - 1_000_000)
+                    .append(" /Real ").append(random.nextInt(100_000) / 100.0)
+                    .append(" /String (").append(word(random)).append(" \\(escaped\\) \\n\\101").append(')')
+                    .append(" /Hex <").append(Integer.toHexString(random.nextInt())).append('>')
+                    .append(" /Array [").append(random.nextBoolean()).append(" null ")
+                    .append(1 + random.nextInt(objectCount)).append(" 0 R -.5 +3 [/Nested 1 2]]")
+                    .append(" /Dict << /Key /Value >> >>\nendobj\n");
+        }
+        return PdfBuilder.ascii(builder.toString());
+    }
+
+    /**
+     * Uncompressed page content of {@code lines} text and path blocks using
+     * most of the common content stream operators, plus a compatibility
+     * section with unknown operators. It is not a complete PDF and is meant to
+     * be parsed as content stream only.
+     */
+    public static byte[] contentStream(int lines) {
+        Random random = new Random(SEED);
+        StringBuilder builder = new StringBuilder(lines * 200);
+        for (int i = 0; i < lines; ++i) {
+            builder.append(pageContent(random, 1))
+                    .append("/Span << /MCID ").append(i).append(" >> BDC 1 0 0 1 ")
+                    .append(random.nextInt(600)).append(' ').append(random.nextInt(800)).append(" cm ")
+                    .append("0.5 w 0 0 m ").append(random.nextInt(100)).append(' ').append(random.nextInt(100))
+                    .append(" l S 0 0 1 rg BT [(").append(word(random)).append(") -250 (").append(word(random))
+                    .append(")] TJ ET EMC\n");
+            if (i % 16 == 0) {
+                builder.append("BX /Ext").append(random.nextInt(4)).append(" xop").append(random.nextInt(4))
+                        .append(" EX\n");
+            }
+        }
+        return PdfBuilder.ascii(builder.toString());
+    }
+
+    private static byte[] buildPages(PdfBuilder builder, int pageCount, String resources, Supplier<String> contents) {
+        int catalog = builder.reserve();
+        int pages = builder.reserve();
+        StringBuilder kids = new StringBuilder();
+        for (int i = 0; i < pageCount; ++i) {
+            int content = builder.addStream("/Filter /FlateDecode",
+                    PdfBuilder.deflate(PdfBuilder.ascii(contents.get())));
+            kids.append(builder.add("<< /Type /Page /Parent " + pages + " 0 R /Contents " + content + " 0 R >>"))
+                    .append(" 0 R ");
+        }
+        builder.set(pages, "<< /Type /Pages /MediaBox [0 0 612 792] /Resources " + resources + " /Kids ["
+                + kids + "] /Count " + pageCount + " >>");
+        builder.set(catalog, "<< /Type /Catalog /Pages " + pages + " 0 R >>");
+        return builder.build(catalog, null);
+    }
+
+    private static void addSinglePage(PdfBuilder builder, Random random, String resources) {
+        builder.add("<< /Type /Catalog /Pages 2 0 R >>");
+        builder.add("<< /Type /Pages /Kids [3 0 R] /Count 1 >>");
+        builder.add("<< /Type /Page /Parent 2 0 R /MediaBox [0 0 612 792] /Resources << " + resources
+                + " >> /Contents 4 0 R >>");
+        builder.addStream("", PdfBuilder.ascii(pageContent(random, 20)));
+    }
+
+    private static String dataObject(Random random, int number, int objectCount) {
+        return "<< /Type /Sample /Index " + number + " /Value " + random.nextInt(100_000) / 100.0
+                + " /Name /" + word(random) + " /Flag " + random.nextBoolean()
+                + " /Next " + (FIRST_DATA_OBJECT + random.nextInt(objectCount)) + " 0 R"
+                + " /Array [" + random.nextInt(1000) + ' ' + random.nextInt(1000) + " (" + word(random) + ")] >>";
+    }
+
+    private static String pageContent(Random random, int lines) {
+        StringBuilder content = new StringBuilder(lines * 64);
+        for (int i = 0; i < lines; ++i) {
+            content.append("q 0.").append(random.nextInt(10)).append(" g ")
+                    .append(36 + random.nextInt(500)).append(' ').append(36 + random.nextInt(700))
+                    .append(" 20 10 re f Q\n");
+            content.append("BT /F1 ").append(8 + random.nextInt(8)).append(" Tf 36 ").append(760 - i * 12)
+                    .append(" Td (").append(word(random)).append(' ').append(word(random)).append(") Tj ET\n");
+        }
+        return content.toString();
+    }
+
+    private static byte[] contentOfLength(Random random, int length) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(length + 256);
+        while (out.size() < length) {
+            byte[] chunk = PdfBuilder.ascii(pageContent(random, 8));
+            out.write(chunk, 0, chunk.length);
+        }
+        byte[] result = new byte[length];
+        System.arraycopy(out.toByteArray(), 0, result, 0, length);
+        return result;
+    }
+
+    /**
+     * Produces smooth gradients with short runs of repeated samples, which is
+     * what both run length encoding and PNG predictors are designed for.
+     */
+    private static byte[] imageOfLength(Random random, int length) {
+        byte[] result = new byte[length];
+        int value = random.nextInt(256);
+        for (int i = 0; i < length; ) {
+            int run = 1 + random.nextInt(8);
+            for (int j = 0; j < run && i < length; ++j) {
+                result[i++] = (byte) value;
+            }
+            value += random.nextInt(5) - 2;
+        }
+        return result;
+    }
+
+    private static String asciiHex(byte[] data) {
+        StringBuilder builder = new StringBuilder(data.length * 2 + data.length / 32 + 1);
+        for (int i = 0; i < data.length; ++i) {
+            appendHex(builder, data[i] & 0xFF, 2);
+            if (i % 32 == 31) {
+                builder.append('\n');
+            }
+        }
+        return builder.append('>').toString();
+    }
+
+    private static String ascii85(byte[] data) {
+        StringBuilder builder = new StringBuilder(data.length * 5 / 4 + 8);
+        char[] group = new char[5];
+        for (int i = 0; i < data.length; i += 4) {
+            int count = Math.min(4, data.length - i);
+            long value = 0;
+            for (int j = 0; j < 4; ++j) {
+                value = (value << 8) | (j < count ? data[i + j] & 0xFF : 0);
+            }
+            if (value == 0 && count == 4) {
+                builder.append('z');
+                continue;
+            }
+            for (int j = 4; j >= 0; --j) {
+                group[j] = (char) ('!' + value % 85);
+                value /= 85;
+            }
+            builder.append(group, 0, count + 1);
+        }
+        return builder.append("~>").toString();
+    }
+
+    private static byte[] runLength(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length + data.length / 64 + 2);
+        int i = 0;
+        while (i < data.length) {
+            int run = 1;
+            while (i + run < data.length && run < 128 && data[i + run] == data[i]) {
+                ++run;
+            }
+            if (run > 1) {
+                out.write(257 - run);
+                out.write(data[i]);
+                i += run;
+                continue;
+            }
+            int start = i;
+            while (i < data.length && i - start < 128
+                    && (i + 1 >= data.length || data[i + 1] != data[i])) {
+                ++i;
+            }
+            out.write(i - start - 1);
+            out.write(data, start, i - start);
+        }
+        out.write(128);
+        return out.toByteArray();
+    }
+
+    private static byte[] pngUp(byte[] data, int columns) {
+        int rows = (data.length + columns - 1) / columns;
+        byte[] result = new byte[rows * (columns + 1)];
+        for (int row = 0; row < rows; ++row) {
+            int target = row * (columns + 1);
+            result[target] = 2;
+            for (int column = 0; column < columns; ++column) {
+                int index = row * columns + column;
+                int current = index < data.length ? data[index] & 0xFF : 0;
+                int above = row == 0 ? 0 : data[index - columns] & 0xFF;
+                result[target + 1 + column] = (byte) (current - above);
+            }
+        }
+        return result;
+    }
+
+    private static int cjkCharacter(Random random, int font) {
+        switch (font) {
+            case 0:
+                return random.nextInt(4) == 0 ? 0x3041 + random.nextInt(0x53) : 0x4E00 + random.nextInt(0x5000);
+            case 3:
+                return 0xAC00 + random.nextInt(0x2BA4);
+            default:
+                return 0x4E00 + random.nextInt(0x51A6);
+        }
+    }
+
+    private static void appendHex(StringBuilder builder, int value, int digits) {
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            builder.append(Character.forDigit((value >>> shift) & 0xF, 16));
+        }
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+}
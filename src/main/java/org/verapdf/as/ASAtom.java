@@ -236,6 +236,7 @@ public class ASAtom implements Comparable<ASAtom> {
     public static final ASAtom ENCODING_ETEN_B5_V = new ASAtom("ETen-B5-V");
     public static final ASAtom ENCRYPT = new ASAtom("Encrypt");
     public static final ASAtom ENCRYPT_META_DATA = new ASAtom("EncryptMetadata");
+    public static final ASAtom END_OF_BLOCK = new ASAtom("EndOfBlock");
     public static final ASAtom END_OF_LINE = new ASAtom("EndOfLine");
     public static final ASAtom ENTRUST_PPKEF = new ASAtom("Entrust.PPKEF");
     public static final ASAtom EXCLUSION = new ASAtom("Exclusion");
@@ -639,10 +640,6 @@ public class ASAtom implements Comparable<ASAtom> {
         this.value = value;
         if (predefinedValue) {
             PREDEFINED_PDF_NAMES.put(value, this);
-        } else {
-            if (!CACHED_PDF_NAMES.containsKey(value)) {
-                CACHED_PDF_NAMES.put(value, this);
-            }
         }
     }
 
@@ -657,15 +654,12 @@ public class ASAtom implements Comparable<ASAtom> {
             return null;
         }
 
-        if (PREDEFINED_PDF_NAMES.containsKey(value)) {
-            return PREDEFINED_PDF_NAMES.get(value);
-        }
-        if (CACHED_PDF_NAMES.containsKey(value)) {
-            return CACHED_PDF_NAMES.get(value);
+        ASAtom predefined = PREDEFINED_PDF_NAMES.get(value);
+        if (predefined != null) {
+            return predefined;
         }
-        ASAtom result = new ASAtom(value, false);
-        CACHED_PDF_NAMES.put(value, result);
-        return result;
+        // atomic, so concurrent callers get the same instance and can compare names by identity
+        return CACHED_PDF_NAMES.computeIfAbsent(value, name -> new ASAtom(name, false));
     }
 
     /**
@@ -43,7 +43,9 @@ public class ASFilterFactory implements IASFilterFactory{
     }
 
     /**
-     * Gets decoded stream from the given one.
+     * Gets decoded stream from the given one. Image compression filters
+     * DCTDecode, JPXDecode and JBIG2Decode are decoded only to their
+     * codestream, which is returned unchanged.
      * @param inputStream is an encoded stream.
      * @return decoded stream.
      * @throws IOException if decode filter for given stream is not supported.
@@ -51,20 +53,25 @@ public class ASFilterFactory implements IASFilterFactory{
     @Override
     public ASInFilter getInFilter(ASInputStream inputStream,
                                   COSDictionary decodeParams) throws IOException {
-        switch (filterType.getValue()) {
-            case "ASCIIHexDecode":
-                return new COSFilterASCIIHexDecode(inputStream);
-            case "FlateDecode":
-                return new COSPredictorDecode(new COSFilterFlateDecode(inputStream), decodeParams);
-            case "ASCII85Decode":
-                return new COSFilterASCII85Decode(inputStream);
-            case "LZWDecode":
-                return new COSPredictorDecode(new COSFilterLZWDecode(inputStream,
-                        decodeParams), decodeParams);
-            default:
-                throw new IOException("Filter " + filterType.getValue() +
-                        " is not supported.");
+        if (filterType == ASAtom.ASCII_HEX_DECODE) {
+            return new COSFilterASCIIHexDecode(inputStream);
+        } else if (filterType == ASAtom.FLATE_DECODE) {
+            return new COSPredictorDecode(new COSFilterFlateDecode(inputStream), decodeParams);
+        } else if (filterType == ASAtom.ASCII85_DECODE) {
+            return new COSFilterASCII85Decode(inputStream);
+        } else if (filterType == ASAtom.LZW_DECODE) {
+            return new COSPredictorDecode(new COSFilterLZWDecode(inputStream,
+                    decodeParams), decodeParams);
+        } else if (filterType == ASAtom.RUN_LENGTH_DECODE) {
+            return new COSFilterRunLengthDecode(inputStream);
+        } else if (filterType == ASAtom.CCITTFAX_DECODE) {
+            return new COSFilterCCITTFaxDecode(inputStream, decodeParams);
+        } else if (filterType == ASAtom.DCT_DECODE || filterType == ASAtom.JPX_DECODE ||
+                   filterType == ASAtom.JBIG2_DECODE) {
+            return new COSFilterPassThroughDecode(inputStream);
         }
+        throw new IOException("Filter " + filterType.getValue() +
+                " is not supported.");
     }
 
     /**
@@ -75,14 +82,12 @@ public class ASFilterFactory implements IASFilterFactory{
      */
     @Override
     public ASOutFilter getOutFilter(ASOutputStream outputStream) throws IOException {
-        switch (filterType.getValue()) {
-            case "ASCIIHexDecode":
-                return new ASBufferingOutFilter(outputStream);
-            case "FlateDecode":
-                return new COSFilterFlateEncode(outputStream);
-            default:
-                throw new IOException("Filter " + filterType.getValue() +
-                        " is not supported.");
+        if (filterType == ASAtom.ASCII_HEX_DECODE) {
+            return new ASBufferingOutFilter(outputStream);
+        } else if (filterType == ASAtom.FLATE_DECODE) {
+            return new COSFilterFlateEncode(outputStream);
         }
+        throw new IOException("Filter " + filterType.getValue() +
+                " is not supported.");
     }
 }
@@ -0,0 +1,49 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.as.filters;
+
+import org.verapdf.as.ASAtom;
+
+import java.util.Collection;
+
+/**
+ * Service provider interface for filter factories. Implementations are found
+ * with {@link java.util.ServiceLoader} on the first use of filter registry and
+ * replace built-in factories for the same filter names, so deployments can
+ * plug in native or alternative decoders. Providers that can't be loaded or
+ * throw runtime exceptions are skipped with a warning.
+ */
+public interface IASFilterFactoryProvider {
+
+	/**
+	 * @return names of filters supported by this provider.
+	 */
+	Collection<ASAtom> getFilterNames();
+
+	/**
+	 * Gets factory for the given filter.
+	 *
+	 * @param filterName is one of the names returned by {@link #getFilterNames()}.
+	 * @return factory of filters or null if filter is not supported.
+	 */
+	IASFilterFactory getFilterFactory(ASAtom filterName);
+
+}
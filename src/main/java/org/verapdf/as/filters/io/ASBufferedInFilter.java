@@ -25,6 +25,7 @@ import org.verapdf.as.io.ASInputStream;
 import org.verapdf.as.io.ASMemoryInStream;
 import org.verapdf.parser.BaseParserInputStream;
 import org.verapdf.parser.NotSeekableBaseParser;
+import org.verapdf.parser.ParserScratchPool;
 
 import java.io.IOException;
 import java.util.Arrays;
@@ -47,6 +48,8 @@ public class ASBufferedInFilter extends ASInFilter implements BaseParserInputStr
     public static final int START_BUFFER_SIZE = 10240;
     public static final int BF_BUFFER_SIZE = 2048;
 
+    private static final byte[] EMPTY_BUFFER = new byte[0];
+
     private final int HALF;
 
     // when pos reaches this value buffer should be fed
@@ -69,14 +72,35 @@ public class ASBufferedInFilter extends ASInFilter implements BaseParserInputStr
     private int bufferBegin;
     private int bufferEnd;
 
+    private final boolean pooledBuffer;
+    private boolean bufferReturned = false;
+
     public ASBufferedInFilter(ASInputStream stream) throws IOException {
         this(stream, BF_BUFFER_SIZE);
     }
 
     public ASBufferedInFilter(ASInputStream stream, int buffCapacity) {
+        this(stream, buffCapacity, new byte[buffCapacity], false);
+    }
+
+    /**
+     * Constructor for buffered stream of parser. Pooled buffer is borrowed from
+     * {@link ParserScratchPool} shared by all threads and is returned there
+     * when this stream is closed, after that stream behaves as empty one.
+     *
+     * @param stream          is source data stream.
+     * @param usePooledBuffer is true if buffer should be taken from the pool.
+     */
+    public ASBufferedInFilter(ASInputStream stream, boolean usePooledBuffer) {
+        this(stream, BF_BUFFER_SIZE,
+             usePooledBuffer ? ParserScratchPool.borrowBuffer() : new byte[BF_BUFFER_SIZE], usePooledBuffer);
+    }
+
+    private ASBufferedInFilter(ASInputStream stream, int buffCapacity, byte[] buffer, boolean pooledBuffer) {
         super(stream);
         this.bufferCapacity = buffCapacity;
-        buffer = new byte[buffCapacity];
+        this.buffer = buffer;
+        this.pooledBuffer = pooledBuffer;
         bufferEnd = bufferBegin = 0;
         this.HALF = buffCapacity / 2;
         this.BUFFER_FEED_THRESHOLD = 3 * buffCapacity / 4;
@@ -271,13 +295,50 @@ public class ASBufferedInFilter extends ASInFilter implements BaseParserInputStr
         bufferEnd = bufferBegin = 0;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            returnBuffer();
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void reset() throws IOException {
         super.reset();
-        this.buffer = new byte[this.bufferCapacity];
+        resetBuffer();
+    }
+
+    /**
+     * Points this buffered stream to the new source stream, so the stream can
+     * be reused without allocation of a new buffer. Previous source stream is
+     * closed.
+     *
+     * @param stream is new source stream.
+     */
+    public void reset(ASInputStream stream) throws IOException {
+        if (!isClosed) {
+            super.close();
+        }
+        stream.incrementResourceUsers();
+        setInputStream(stream);
+        this.isClosed = false;
+        this.isSourceClosed = false;
+        resetBuffer();
+    }
+
+    private void resetBuffer() throws IOException {
+        if (this.bufferReturned) {
+            this.buffer = ParserScratchPool.borrowBuffer();
+            this.bufferReturned = false;
+        }
         bufferEnd = bufferBegin = pos = readCounter = 0;
         eod = -1;
         if (initialized) {
@@ -285,6 +346,17 @@ public class ASBufferedInFilter extends ASInFilter implements BaseParserInputStr
         }
     }
 
+    private void returnBuffer() {
+        if (this.pooledBuffer && !this.bufferReturned) {
+            this.bufferReturned = true;
+            ParserScratchPool.returnBuffer(this.buffer);
+            // closed stream reports end of data, so returned buffer is not accessed
+            this.buffer = EMPTY_BUFFER;
+            this.pos = this.eod = 0;
+            this.bufferEnd = this.bufferBegin = 0;
+        }
+    }
+
     public static byte[] concatenate(byte[] one, int lengthOne, byte[] two, int lengthTwo) {
         if (lengthTwo == -1) {
             lengthTwo = 0;
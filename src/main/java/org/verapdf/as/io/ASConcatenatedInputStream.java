@@ -59,20 +59,34 @@ public class ASConcatenatedInputStream extends ASInputStream {
 		if (buffer.length < size) {
 			throw new IOException("Can't write bytes into passed buffer: too small.");
 		}
-		if (index == streams.size() || size < 0) {
+		if (size < 0) {
 			return -1;
 		}
-		int bufferIndex = 0;
+		return read(buffer, 0, size);
+	}
+
+	/**
+	 * Reads data of underlying streams directly into given array. Streams are
+	 * separated by CR byte. Less than size bytes are read only if the end of the
+	 * last stream is reached.
+	 */
+	@Override
+	public int read(byte[] buffer, int offset, int size) throws IOException {
+		if (offset < 0 || size < 0 || size > buffer.length - offset) {
+			throw new IndexOutOfBoundsException();
+		}
+		if (index == streams.size()) {
+			return -1;
+		}
+		int bufferIndex = offset;
 		int left = size;
-		while(left != 0 && index != streams.size()) {
-			byte[] temp = new byte[left];
-			int read = streams.get(index).read(temp, left);
+		while (left != 0 && index != streams.size()) {
+			int read = streams.get(index).read(buffer, bufferIndex, left);
 			if (read > 0) {
-				System.arraycopy(temp, 0, buffer, bufferIndex, read);
 				bufferIndex += read;
 				left -= read;
-			}
-			if (left != 0 && ++index != streams.size()) {
+			} else if (++index != streams.size()) {
+				// stream is finished, separate it from the next one
 				buffer[bufferIndex++] = CharTable.ASCII_CR;
 				left -= 1;
 			}
@@ -24,6 +24,7 @@ import org.verapdf.tools.IntReference;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 
 /**
  * Base class for stream hierarchy. Has methods for resource management.
@@ -33,16 +34,104 @@ import java.io.InputStream;
  */
 public abstract class ASInputStream extends InputStream {
 
+	private static final int TRANSFER_BUFFER_SIZE = 2048;
+	private static final int COPY_BUFFER_SIZE = 8192;
+
 	protected boolean isClosed = false;
 	protected boolean isSourceClosed = false;
 
 	protected final IntReference resourceUsers = new IntReference(1);
 
+	private byte[] transferBuffer;
+
 	@Override
 	public abstract int read() throws IOException;
 
 	public abstract int read(byte[] buffer, int size) throws IOException;
 
+	/**
+	 * Reads up to size bytes into given array starting from given offset. In
+	 * contrast to {@link InputStream#read(byte[], int, int)} data is read in
+	 * bulk with {@link #read(byte[], int)} instead of byte by byte. As in
+	 * InputStream, less than size bytes are read only if the end of stream is
+	 * reached.
+	 *
+	 * @param buffer is array into which data is read.
+	 * @param offset is offset in array at which data is written.
+	 * @param size   is maximal amount of bytes to read.
+	 * @return amount of bytes read or -1 if there is no more data in stream.
+	 */
+	@Override
+	public int read(byte[] buffer, int offset, int size) throws IOException {
+		if (offset < 0 || size < 0 || size > buffer.length - offset) {
+			throw new IndexOutOfBoundsException();
+		}
+		if (size == 0) {
+			return 0;
+		}
+		int total = 0;
+		while (total < size) {
+			int read = readChunk(buffer, offset + total, size - total);
+			if (read == 0) {
+				int nextByte = read();
+				if (nextByte != -1) {
+					buffer[offset + total] = (byte) nextByte;
+					read = 1;
+				} else {
+					read = -1;
+				}
+			}
+			if (read == -1) {
+				return total == 0 ? -1 : total;
+			}
+			total += read;
+		}
+		return total;
+	}
+
+	/**
+	 * Reads up to size bytes into given array starting from given offset. May
+	 * read less than size bytes before the end of stream. Default
+	 * implementation reads into the beginning of array with
+	 * {@link #read(byte[], int)} and copies data read at non-zero offset
+	 * through intermediate buffer, streams that can write at any offset
+	 * should override it.
+	 *
+	 * @return amount of bytes read or -1 if there is no more data in stream.
+	 */
+	protected int readChunk(byte[] buffer, int offset, int size) throws IOException {
+		if (offset == 0) {
+			return read(buffer, size);
+		}
+		// only reads into the beginning of array are supported by read(byte[], int)
+		if (transferBuffer == null) {
+			transferBuffer = new byte[TRANSFER_BUFFER_SIZE];
+		}
+		int read = read(transferBuffer, Math.min(size, transferBuffer.length));
+		if (read > 0) {
+			System.arraycopy(transferBuffer, 0, buffer, offset, read);
+		}
+		return read;
+	}
+
+	/**
+	 * Reads all remaining data of this stream and writes it into given output
+	 * stream. Data is read with {@link #read(byte[], int)} in large portions.
+	 *
+	 * @param out is stream to write data into.
+	 * @return amount of bytes transferred.
+	 */
+	public long transferTo(OutputStream out) throws IOException {
+		byte[] buffer = new byte[COPY_BUFFER_SIZE];
+		long total = 0;
+		int read;
+		while ((read = read(buffer, buffer.length)) != -1) {
+			out.write(buffer, 0, read);
+			total += read;
+		}
+		return total;
+	}
+
 	public abstract int skip(int size) throws IOException;
 
 	@Override
@@ -61,11 +61,15 @@ public class ASMemoryInStream extends SeekableInputStream {
     public ASMemoryInStream(InputStream stream) throws IOException {
         this.currentPosition = 0;
         this.copiedBuffer = true;
-        byte[] buffer = new byte[8192];
-        int bytesRead;
         ByteArrayOutputStream output = new ByteArrayOutputStream();
-        while ((bytesRead = stream.read(buffer)) != -1) {
-            output.write(buffer, 0, bytesRead);
+        if (stream instanceof ASInputStream) {
+            ((ASInputStream) stream).transferTo(output);
+        } else {
+            byte[] buffer = new byte[8192];
+            int bytesRead;
+            while ((bytesRead = stream.read(buffer)) != -1) {
+                output.write(buffer, 0, bytesRead);
+            }
         }
         this.buffer = output.toByteArray();
         bufferSize = this.buffer.length;
@@ -159,6 +163,27 @@ public class ASMemoryInStream extends SeekableInputStream {
         return available;
     }
 
+    /**
+     * Reads up to size bytes of data into given array starting from given
+     * offset. Data is copied directly from the memory buffer.
+     */
+    @Override
+    public int read(byte[] buffer, int offset, int size) throws IOException {
+        if (offset < 0 || size < 0 || size > buffer.length - offset) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (size == 0) {
+            return 0;
+        }
+        if (getCurrentOffset() == bufferSize) {
+            return -1;
+        }
+        int available = Math.min(bufferSize - (int) getCurrentOffset(), size);
+        System.arraycopy(this.buffer, (int) getCurrentOffset(), buffer, offset, available);
+        currentPosition += available;
+        return available;
+    }
+
     /**
      * Reads single byte.
      *
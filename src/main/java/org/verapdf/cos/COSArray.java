@@ -37,7 +37,12 @@ public class COSArray extends COSDirect implements Iterable<COSObject> {
 
     private static final Logger LOGGER = Logger.getLogger(COSArray.class.getCanonicalName());
 
-    private final List<COSObject> entries;
+    // largest magnitude of integer that is represented exactly by double
+    private static final long MAX_EXACT_INTEGER = 1L << 53;
+
+    private List<COSObject> entries;
+    // values of array that consists of direct numbers only, entries are null in this case
+    private NumberEntries numbers;
 
     protected COSArray() {
         super();
@@ -51,10 +56,7 @@ public class COSArray extends COSDirect implements Iterable<COSObject> {
 
     protected COSArray(final int size, final double[] values) {
         super();
-        this.entries = new ArrayList<>();
-        for (double value : values) {
-            this.entries.add(COSReal.construct(value));
-        }
+        this.numbers = NumberEntries.fromReals(values);
     }
 
     protected COSArray(final int i, final COSObject object) {
@@ -74,6 +76,11 @@ public class COSArray extends COSDirect implements Iterable<COSObject> {
         this.entries.addAll(values);
     }
 
+    private COSArray(final NumberEntries numbers) {
+        super();
+        this.numbers = numbers;
+    }
+
     //! Object type
     @Override
     public COSObjType getType() {
@@ -103,6 +110,17 @@ public class COSArray extends COSDirect implements Iterable<COSObject> {
         return new COSObject(new COSArray(size));
     }
 
+    /**
+     * Returns COSObject wrapping a new COSArray instance filled with given
+     * values. Array that consists of direct integer and real numbers only keeps
+     * their values in primitive array, COSObjects for its elements are created
+     * on request.
+     */
+    public static COSObject construct(final List<COSObject> values) {
+        NumberEntries numbers = NumberEntries.fromObjects(values);
+        return new COSObject(numbers != null ? new COSArray(numbers) : new COSArray(values));
+    }
+
     @Override
     public void accept(IVisitor visitor) {
         visitor.visitFromArray(this);
@@ -115,78 +133,149 @@ public class COSArray extends COSDirect implements Iterable<COSObject> {
 
     @Override
     public Integer size() {
-        return this.entries.size();
+        return this.numbers != null ? this.numbers.values.length : this.entries.size();
     }
 
     //TODO : cosbase?
     @Override
     public Iterator<COSObject> iterator() {
-        return this.entries.iterator();
+        if (this.numbers == null) {
+            return this.entries.iterator();
+        }
+        return new Iterator<COSObject>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return this.next < size();
+            }
+
+            @Override
+            public COSObject next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return _at(this.next++);
+            }
+
+            @Override
+            public void remove() {
+                if (this.next == 0) {
+                    throw new IllegalStateException();
+                }
+                COSArray.this.remove(--this.next);
+            }
+        };
     }
 
     @Override
     public COSObject at(final int i) {
-        if (i >= this.entries.size()) {
+        if (i >= size()) {
             return new COSObject();
         }
 
         return _at(i);
     }
 
+    /**
+     * Gets real value of array element without creating COSObject for elements
+     * of number array.
+     *
+     * @param i is index of element.
+     * @return real value of element or null if there is no such element or it
+     * is not a number.
+     */
+    public Double getRealAt(final int i) {
+        if (this.numbers != null && i < size() && !this.numbers.isMaterialized(i)) {
+            return this.numbers.values[i];
+        }
+        return at(i).getReal();
+    }
+
+    /**
+     * Gets integer value of array element without creating COSObject for
+     * elements of number array.
+     *
+     * @param i is index of element.
+     * @return integer value of element or null if there is no such element or
+     * it is not a number.
+     */
+    public Long getIntegerAt(final int i) {
+        if (this.numbers != null && i < size() && !this.numbers.isMaterialized(i)) {
+            return (long) this.numbers.values[i];
+        }
+        return at(i).getInteger();
+    }
+
     @Override
     public boolean add(final COSObject value) {
-        this.entries.add(value);
+        getEntries().add(value);
         return true;
     }
 
     @Override
     public boolean set(final int i, final COSObject value) {
-        this.entries.set(i, value);
+        getEntries().set(i, value);
         return true;
     }
 
     @Override
     public boolean insert(final int i, final COSObject value) {
-        this.entries.add(i, value);
+        getEntries().add(i, value);
         return true;
     }
 
     @Override
     public void remove(final int i) {
-        if (entries.size() > i) {
-            this.entries.remove(i);
+        if (size() > i) {
+            getEntries().remove(i);
         }
     }
 
     @Override
     public boolean setArray() {
-        this.entries.clear();
+        getEntries().clear();
         return true;
     }
 
     @Override
     public boolean setArray(final int size, final COSObject[] value) {
         //TODO : check this
-        this.entries.addAll(Arrays.asList(value));
+        getEntries().addAll(Arrays.asList(value));
         return true;
     }
 
     @Override
     public boolean setArray(final int size, final double[] values) {
-        this.entries.clear();
-        for (double value : values) {
-            this.entries.add(COSReal.construct(value));
-        }
+        this.entries = null;
+        this.numbers = NumberEntries.fromReals(values);
         return true;
     }
 
     @Override
     public void clearArray() {
-        this.entries.clear();
+        getEntries().clear();
     }
 
     private COSObject _at(final int i) {
-        return this.entries.get(i);
+        return this.numbers != null ? this.numbers.get(i) : this.entries.get(i);
+    }
+
+    /**
+     * @return list of array elements. Number array is converted into list of
+     * COSObjects, so that it can be modified.
+     */
+    private List<COSObject> getEntries() {
+        if (this.numbers != null) {
+            int size = this.numbers.values.length;
+            List<COSObject> list = new ArrayList<>(size);
+            for (int i = 0; i < size; ++i) {
+                list.add(this.numbers.get(i));
+            }
+            this.entries = list;
+            this.numbers = null;
+        }
+        return this.entries;
     }
 
     @Override
@@ -244,7 +333,7 @@ public class COSArray extends COSDirect implements Iterable<COSObject> {
     public ASInputStream getData(final COSStream.FilterFlags flags) {
         List<ASInputStream> streams = new ArrayList<>();
         try {
-            for (COSObject object : entries) {
+            for (COSObject object : this) {
                 if (object.getType() == COSObjType.COS_STREAM) {
                     streams.add(object.getData(flags));
                 }
@@ -269,6 +358,95 @@ public class COSArray extends COSDirect implements Iterable<COSObject> {
 
     @Override
     public String toString() {
-        return entries.toString();
+        if (this.numbers == null) {
+            return entries.toString();
+        }
+        StringBuilder builder = new StringBuilder().append('[');
+        for (int i = 0; i < this.numbers.values.length; ++i) {
+            if (i != 0) {
+                builder.append(", ");
+            }
+            builder.append(_at(i));
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * Values of array of direct numbers. COSObjects of elements are created on
+     * the first request and are returned by subsequent requests, so that
+     * modifications of element objects are visible through the array.
+     */
+    private static final class NumberEntries {
+
+        private final double[] values;
+        // flags of integer elements, null if all elements have the same type
+        private final boolean[] integers;
+        private final boolean isAllIntegers;
+        private COSObject[] objects;
+
+        private NumberEntries(double[] values, boolean[] integers, boolean isAllIntegers) {
+            this.values = values;
+            this.integers = integers;
+            this.isAllIntegers = isAllIntegers;
+        }
+
+        private static NumberEntries fromReals(double[] values) {
+            return new NumberEntries(values.clone(), null, false);
+        }
+
+        /**
+         * @return values of given objects or null if some object is not a
+         * direct number or integer value can't be represented by double.
+         */
+        private static NumberEntries fromObjects(List<COSObject> objects) {
+            if (objects.isEmpty()) {
+                return null;
+            }
+            double[] values = new double[objects.size()];
+            boolean[] integers = new boolean[values.length];
+            int integersCount = 0;
+            for (int i = 0; i < values.length; ++i) {
+                COSBase base = objects.get(i).getSharedBase();
+                if (base instanceof COSInteger) {
+                    long value = ((COSInteger) base).get();
+                    if (Math.abs(value) > MAX_EXACT_INTEGER) {
+                        return null;
+                    }
+                    integers[i] = true;
+                    values[i] = value;
+                    ++integersCount;
+                } else if (base instanceof COSReal) {
+                    values[i] = ((COSReal) base).get();
+                } else {
+                    return null;
+                }
+            }
+            boolean isMixed = integersCount != 0 && integersCount != values.length;
+            return new NumberEntries(values, isMixed ? integers : null, integersCount == values.length);
+        }
+
+        private boolean isInteger(int i) {
+            return this.integers != null ? this.integers[i] : this.isAllIntegers;
+        }
+
+        private boolean isMaterialized(int i) {
+            return this.objects != null && this.objects[i] != null;
+        }
+
+        private COSObject get(int i) {
+            if (this.objects == null) {
+                this.objects = new COSObject[this.values.length];
+            }
+            COSObject res = this.objects[i];
+            if (res == null) {
+                if (isInteger(i)) {
+                    res = new COSObject(COSInteger.valueOf((long) this.values[i]));
+                } else {
+                    res = new COSObject(new COSReal(this.values[i]));
+                }
+                this.objects[i] = res;
+            }
+            return res;
+        }
     }
 }
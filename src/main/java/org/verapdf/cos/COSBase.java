@@ -50,6 +50,14 @@ public abstract class COSBase {
 		this.indirectKey = indirectKey;
 	}
 
+	/**
+	 * @return this base or, for immutable values shared between objects, a
+	 * new base with the same value that can be modified by a single holder.
+	 */
+	COSBase getModifiableBase() {
+		return this;
+	}
+
 	// VISITOR DESIGN PATTERN
 	public abstract void accept(final IVisitor visitor);
 	public abstract Object accept(final ICOSVisitor visitor);
@@ -28,8 +28,8 @@ import org.verapdf.cos.visitor.IVisitor;
  */
 public class COSBoolean extends COSDirect {
 
-    public static final COSBoolean TRUE = new COSBoolean(true);
-    public static final COSBoolean FALSE = new COSBoolean(false);
+    public static final COSBoolean TRUE = new Shared(true);
+    public static final COSBoolean FALSE = new Shared(false);
 
     private boolean value;
 
@@ -47,7 +47,7 @@ public class COSBoolean extends COSDirect {
     }
 
     public static COSObject construct(final boolean initValue) {
-        return new COSObject(new COSBoolean(initValue));
+        return new COSObject(initValue ? TRUE : FALSE);
     }
 
     @Override
@@ -89,4 +89,25 @@ public class COSBoolean extends COSDirect {
         return value == that.value;
 
     }
+
+    /**
+     * Boolean shared by all objects with the same value. COSObject copies it on
+     * write and before giving its base out, see {@link COSInteger}.
+     */
+    private static final class Shared extends COSBoolean {
+
+        private Shared(final boolean value) {
+            super(value);
+        }
+
+        @Override
+        public boolean setBoolean(final boolean value) {
+            return false;
+        }
+
+        @Override
+        COSBase getModifiableBase() {
+            return new COSBoolean(get());
+        }
+    }
 }
@@ -38,7 +38,7 @@ public class COSDictionary extends COSDirect {
 
     protected COSDictionary() {
         super();
-        this.entries = new HashMap<>();
+        this.entries = new COSDictionaryEntries();
     }
 
     protected COSDictionary(final ASAtom key, final COSObject value) {
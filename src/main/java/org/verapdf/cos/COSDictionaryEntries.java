@@ -0,0 +1,270 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.cos;
+
+import org.verapdf.as.ASAtom;
+
+import java.util.*;
+
+/**
+ * Entries of dictionary. Small dictionaries keep their entries in two parallel
+ * arrays, larger ones are moved into HashMap. Entries of small dictionary are
+ * iterated in the same order as entries of HashMap with the same insertion
+ * history, so order of dictionary keys is the same as with HashMap storage and
+ * does not change when dictionary grows.
+ */
+final class COSDictionaryEntries extends AbstractMap<ASAtom, COSObject> {
+
+	static final int MAX_ARRAY_SIZE = 7;
+
+	private static final int INITIAL_ARRAY_SIZE = 4;
+	// capacity of table of HashMap created with default constructor
+	private static final int HASH_MAP_CAPACITY = 16;
+
+	private ASAtom[] keys;
+	private COSObject[] values;
+	private int size;
+	private Map<ASAtom, COSObject> map;
+
+	@Override
+	public int size() {
+		return this.map != null ? this.map.size() : this.size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return this.map != null ? this.map.containsKey(key) : indexOf(key) >= 0;
+	}
+
+	@Override
+	public COSObject get(Object key) {
+		if (this.map != null) {
+			return this.map.get(key);
+		}
+		int index = indexOf(key);
+		return index >= 0 ? this.values[index] : null;
+	}
+
+	@Override
+	public COSObject put(ASAtom key, COSObject value) {
+		if (this.map != null) {
+			return this.map.put(key, value);
+		}
+		int index = indexOf(key);
+		if (index >= 0) {
+			COSObject previous = this.values[index];
+			this.values[index] = value;
+			return previous;
+		}
+		if (this.size == MAX_ARRAY_SIZE) {
+			this.map = new HashMap<>();
+			for (int i = 0; i < this.size; ++i) {
+				this.map.put(this.keys[i], this.values[i]);
+			}
+			this.keys = null;
+			this.values = null;
+			this.size = 0;
+			return this.map.put(key, value);
+		}
+		if (this.keys == null) {
+			this.keys = new ASAtom[INITIAL_ARRAY_SIZE];
+			this.values = new COSObject[INITIAL_ARRAY_SIZE];
+		} else if (this.size == this.keys.length) {
+			this.keys = Arrays.copyOf(this.keys, MAX_ARRAY_SIZE);
+			this.values = Arrays.copyOf(this.values, MAX_ARRAY_SIZE);
+		}
+		this.keys[this.size] = key;
+		this.values[this.size++] = value;
+		return null;
+	}
+
+	@Override
+	public COSObject remove(Object key) {
+		if (this.map != null) {
+			return this.map.remove(key);
+		}
+		int index = indexOf(key);
+		if (index < 0) {
+			return null;
+		}
+		COSObject previous = this.values[index];
+		int moved = this.size - index - 1;
+		System.arraycopy(this.keys, index + 1, this.keys, index, moved);
+		System.arraycopy(this.values, index + 1, this.values, index, moved);
+		this.keys[--this.size] = null;
+		this.values[this.size] = null;
+		return previous;
+	}
+
+	@Override
+	public void clear() {
+		if (this.map != null) {
+			this.map.clear();
+		} else {
+			this.keys = null;
+			this.values = null;
+			this.size = 0;
+		}
+	}
+
+	@Override
+	public Set<Entry<ASAtom, COSObject>> entrySet() {
+		return new AbstractSet<Entry<ASAtom, COSObject>>() {
+			@Override
+			public Iterator<Entry<ASAtom, COSObject>> iterator() {
+				if (map != null) {
+					return map.entrySet().iterator();
+				}
+				return new EntryIterator(getOrderedKeys());
+			}
+
+			@Override
+			public int size() {
+				return COSDictionaryEntries.this.size();
+			}
+		};
+	}
+
+	private int indexOf(Object key) {
+		for (int i = 0; i < this.size; ++i) {
+			if (this.keys[i].equals(key)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return keys sorted by bucket of HashMap table and, inside one bucket,
+	 * by insertion order.
+	 */
+	private ASAtom[] getOrderedKeys() {
+		ASAtom[] res = Arrays.copyOf(this.keys == null ? new ASAtom[0] : this.keys, this.size);
+		int[] buckets = new int[this.size];
+		for (int i = 0; i < this.size; ++i) {
+			buckets[i] = getBucket(res[i]);
+		}
+		for (int i = 1; i < this.size; ++i) {
+			ASAtom key = res[i];
+			int bucket = buckets[i];
+			int j = i - 1;
+			while (j >= 0 && buckets[j] > bucket) {
+				res[j + 1] = res[j];
+				buckets[j + 1] = buckets[j];
+				--j;
+			}
+			res[j + 1] = key;
+			buckets[j + 1] = bucket;
+		}
+		return res;
+	}
+
+	private static int getBucket(ASAtom key) {
+		int hash = key.hashCode();
+		return (hash ^ (hash >>> 16)) & (HASH_MAP_CAPACITY - 1);
+	}
+
+	private class EntryIterator implements Iterator<Entry<ASAtom, COSObject>> {
+
+		private final ASAtom[] orderedKeys;
+		private int next = 0;
+		private boolean canRemove = false;
+
+		private EntryIterator(ASAtom[] orderedKeys) {
+			this.orderedKeys = orderedKeys;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return this.next < this.orderedKeys.length;
+		}
+
+		@Override
+		public Entry<ASAtom, COSObject> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			this.canRemove = true;
+			return new EntryView(this.orderedKeys[this.next++]);
+		}
+
+		@Override
+		public void remove() {
+			if (!this.canRemove) {
+				throw new IllegalStateException();
+			}
+			this.canRemove = false;
+			COSDictionaryEntries.this.remove(this.orderedKeys[this.next - 1]);
+		}
+	}
+
+	/**
+	 * Entry backed by the arrays of this dictionary, so its value always
+	 * reflects the current state of dictionary.
+	 */
+	private class EntryView implements Entry<ASAtom, COSObject> {
+
+		private final ASAtom key;
+
+		private EntryView(ASAtom key) {
+			this.key = key;
+		}
+
+		@Override
+		public ASAtom getKey() {
+			return this.key;
+		}
+
+		@Override
+		public COSObject getValue() {
+			return COSDictionaryEntries.this.get(this.key);
+		}
+
+		@Override
+		public COSObject setValue(COSObject value) {
+			return COSDictionaryEntries.this.put(this.key, value);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Entry)) {
+				return false;
+			}
+			Entry<?, ?> entry = (Entry<?, ?>) o;
+			return this.key.equals(entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+		}
+
+		@Override
+		public int hashCode() {
+			return this.key.hashCode() ^ Objects.hashCode(getValue());
+		}
+
+		@Override
+		public String toString() {
+			return this.key + "=" + getValue();
+		}
+	}
+}
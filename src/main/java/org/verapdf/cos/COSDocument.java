@@ -30,8 +30,10 @@ import org.verapdf.io.IReader;
 import org.verapdf.io.InternalInputStream;
 import org.verapdf.io.Reader;
 import org.verapdf.io.SeekableInputStream;
+import org.verapdf.parser.RevisionBoundaryIndex;
 import org.verapdf.pd.PDDocument;
 import org.verapdf.pd.encryption.StandardSecurityHandler;
+import org.verapdf.tools.metrics.ParserMetrics;
 import org.verapdf.tools.resource.ASFileStreamCloser;
 import org.verapdf.tools.resource.FileResourceHandler;
 
@@ -59,11 +61,16 @@ public class COSDocument {
 	private COSTrailer firstTrailer;
 	private COSTrailer lastTrailer;
 	private boolean linearized;
+	private boolean xrefDeferred;
+	private Map<ASAtom, COSObject> deferredTrailerEntries;
 	private boolean isNew;
 	private StandardSecurityHandler standardSecurityHandler;
+	private boolean lazyStringDecryption = true;
+	private RevisionBoundaryIndex revisionBoundaryIndex;
 	private List<COSObject> changedObjects;
 	private List<COSObject> addedObjects;
 	private final FileResourceHandler resourceHandler;
+	private final ParserMetrics metrics = ParserMetrics.create();
 	private String fileName;
 
 	private long fileSize;
@@ -88,9 +95,19 @@ public class COSDocument {
 	}
 
 	public COSDocument(final String fileName, final PDDocument document) throws IOException {
+		this(fileName, document, false);
+	}
+
+	/**
+	 * @param deferXRef if true and document is linearized, only first-page
+	 *                  cross-reference section is read on opening. The rest of
+	 *                  cross-reference chain is read when an object outside of
+	 *                  it or data depending on the whole chain is requested.
+	 */
+	public COSDocument(final String fileName, final PDDocument document, final boolean deferXRef) throws IOException {
 		this.resourceHandler = new FileResourceHandler();
 		this.fileName = fileName;
-		initReader(fileName);
+		initReader(fileName, deferXRef);
 
 		initCOSDocument(document);
 	}
@@ -108,13 +125,83 @@ public class COSDocument {
 
 		this.header = this.reader.getHeader();
 		this.xref = new COSXRefTable();
-		this.xref.set(this.reader.getKeys());
-		this.trailer = reader.getTrailer();
-		this.firstTrailer = reader.getFirstTrailer();
-		this.lastTrailer = reader.getLastTrailer();
 		this.linearized = reader.isLinearized();
 		this.changedObjects = new ArrayList<>();
 		this.addedObjects = new ArrayList<>();
+		this.xrefDeferred = this.reader instanceof Reader && ((Reader) this.reader).isXRefDeferred();
+		if (this.xrefDeferred) {
+			this.trailer = reader.getTrailer();
+			this.deferredTrailerEntries = new HashMap<>();
+			for (ASAtom key : this.trailer.getObject().getKeySet()) {
+				this.deferredTrailerEntries.put(key, this.trailer.getKey(key));
+			}
+		} else {
+			initXRef();
+		}
+	}
+
+	private void initXRef() {
+		this.xref.set(this.reader.getKeys());
+		if (this.deferredTrailerEntries != null) {
+			mergeDeferredTrailer(reader.getTrailer());
+		} else {
+			this.trailer = reader.getTrailer();
+		}
+		this.firstTrailer = reader.getFirstTrailer();
+		this.lastTrailer = reader.getLastTrailer();
+	}
+
+	/**
+	 * Replaces entries of first-page trailer, that is already returned by
+	 * {@link #getTrailer()}, with entries of the trailer of the whole
+	 * cross-reference chain. Entries changed since the document was opened
+	 * are kept.
+	 */
+	private void mergeDeferredTrailer(final COSTrailer loadedTrailer) {
+		Set<ASAtom> keys = new HashSet<>(this.trailer.getObject().getKeySet());
+		keys.addAll(loadedTrailer.getObject().getKeySet());
+		for (ASAtom key : keys) {
+			COSObject current = this.trailer.knownKey(key) ? this.trailer.getKey(key) : null;
+			if (current != this.deferredTrailerEntries.get(key)) {
+				continue;
+			}
+			if (loadedTrailer.knownKey(key)) {
+				this.trailer.setKey(key, loadedTrailer.getKey(key));
+			} else {
+				this.trailer.removeKey(key);
+			}
+		}
+		this.deferredTrailerEntries = null;
+	}
+
+	/**
+	 * @return true if document is linearized and opened with deferred
+	 * cross-reference loading that has not been completed yet.
+	 */
+	public boolean isXRefDeferred() {
+		syncDeferredXRef();
+		return this.xrefDeferred;
+	}
+
+	/**
+	 * Completes deferred loading of cross-reference chain, if any.
+	 */
+	private void loadDeferredXRef() {
+		if (this.xrefDeferred) {
+			((Reader) this.reader).loadDeferredXRef();
+			syncDeferredXRef();
+		}
+	}
+
+	/**
+	 * Picks up cross-reference chain if reader has loaded it on its own, e.g.
+	 * when an object outside of the first-page section was requested.
+	 */
+	private void syncDeferredXRef() {
+		if (this.xrefDeferred && !((Reader) this.reader).isXRefDeferred()) {
+			this.xrefDeferred = false;
+			initXRef();
+		}
 	}
 
 	private void initReader(final InputStream fileStream) throws IOException {
@@ -122,8 +209,8 @@ public class COSDocument {
 		this.resourceHandler.addResource(this.reader);
 	}
 
-	private void initReader(final String fileName) throws IOException {
-		this.reader = new Reader(this, fileName);
+	private void initReader(final String fileName, final boolean deferXRef) throws IOException {
+		this.reader = new Reader(this, fileName, deferXRef);
 		this.resourceHandler.addResource(this.reader);
 	}
 
@@ -136,6 +223,7 @@ public class COSDocument {
 	}
 
 	public List<COSObject> getObjects() {
+		loadDeferredXRef();
 		List<COSObject> result = new ArrayList<>();
 		for (COSKey key : this.xref.getAllKeys()) {
 			COSObject obj = this.body.get(key);
@@ -160,6 +248,7 @@ public class COSDocument {
 	}
 
 	public List<COSObject> getObjectsByType(ASAtom type) {
+		loadDeferredXRef();
 		List<COSObject> result = new ArrayList<>();
 		for (COSKey key : this.xref.getAllKeys()) {
 			COSObject obj = this.body.get(key);
@@ -191,6 +280,7 @@ public class COSDocument {
 	}
 
 	public Map<COSKey, COSObject> getObjectsMap() {
+		loadDeferredXRef();
 		Map<COSKey, COSObject> result = new HashMap<>();
 		for (COSKey key : this.xref.getAllKeys()) {
 			COSObject obj = this.body.get(key);
@@ -223,10 +313,17 @@ public class COSDocument {
 		try {
 			COSObject obj = this.body.get(key);
 			if (!obj.empty()) {
+				if (this.metrics != null) {
+					this.metrics.cacheAccessed(ParserMetrics.Cache.BODY, true);
+				}
 				return obj;
 			}
+			if (this.metrics != null) {
+				this.metrics.cacheAccessed(ParserMetrics.Cache.BODY, false);
+			}
 
 			COSObject newObj = this.reader.getObject(key);
+			syncDeferredXRef();
 			if (newObj == null) {
 				return new COSObject();
 			}
@@ -244,11 +341,13 @@ public class COSDocument {
 	}
 
 	public void setObject(final COSKey key, final COSObject obj) {
+		loadDeferredXRef();
 		this.body.set(key, obj);
 		this.xref.newKey(key);
 	}
 
 	public COSKey setObject(COSObject obj) {
+		loadDeferredXRef();
 		COSKey key = obj.getKey();
 
 		//TODO : fix this method for document save
@@ -262,14 +361,17 @@ public class COSDocument {
 	}
 
 	public COSTrailer getTrailer() {
+		syncDeferredXRef();
 		return this.trailer;
 	}
 
 	public COSTrailer getFirstTrailer() {
+		loadDeferredXRef();
 		return firstTrailer;
 	}
 
 	public COSTrailer getLastTrailer() {
+		loadDeferredXRef();
 		return lastTrailer;
 	}
 
@@ -330,6 +432,7 @@ public class COSDocument {
 	}
 
 	public void saveAs(final Writer writer) {
+		loadDeferredXRef();
 		writer.writeHeader(this.header.getHeader());
 
 		writer.addToWrite(this.xref.getAllKeys());
@@ -343,9 +446,13 @@ public class COSDocument {
 	}
 
 	public void saveTo(final OutputStream stream) {
+		loadDeferredXRef();
 		File temp = null;
 		try {
 			temp = File.createTempFile("tmp_pdf_file", ".pdf");
+			if (this.metrics != null) {
+				this.metrics.tempFileCreated();
+			}
 			Writer pdfWriter = new Writer(this, temp.getAbsolutePath(),
 					this.getPDFSource().getStreamLength());
 			pdfWriter.writeIncrementalUpdate(changedObjects, addedObjects);
@@ -381,11 +488,24 @@ public class COSDocument {
 		return standardSecurityHandler;
 	}
 
+	/**
+	 * @return true if strings of encrypted document are decrypted on first
+	 * access instead of during parsing.
+	 */
+	public boolean isLazyStringDecryption() {
+		return lazyStringDecryption;
+	}
+
+	public void setLazyStringDecryption(boolean lazyStringDecryption) {
+		this.lazyStringDecryption = lazyStringDecryption;
+	}
+
 	public boolean isEncrypted() {
 		return this.standardSecurityHandler != null;
 	}
 
 	public COSArray getID() {
+		syncDeferredXRef();
 		if (trailer != null) {
 			COSObject res = trailer.getKey(ASAtom.ID);
 			if (res.getType() == COSObjType.COS_ARRAY) {
@@ -465,6 +585,13 @@ public class COSDocument {
 		this.resourceHandler.addResource(resource);
 	}
 
+	/**
+	 * @return parser metrics of this document or null if metrics are disabled.
+	 */
+	public ParserMetrics getMetrics() {
+		return this.metrics;
+	}
+
 	public FileResourceHandler getResourceHandler() {
 		return resourceHandler;
 	}
@@ -473,6 +600,18 @@ public class COSDocument {
 		return this.reader.getStartXRefs();
 	}
 
+	/**
+	 * @return index of revision boundaries of source file or null if it was
+	 * not built yet.
+	 */
+	public RevisionBoundaryIndex getRevisionBoundaryIndex() {
+		return revisionBoundaryIndex;
+	}
+
+	public void setRevisionBoundaryIndex(RevisionBoundaryIndex revisionBoundaryIndex) {
+		this.revisionBoundaryIndex = revisionBoundaryIndex;
+	}
+
 	public String getFileName() {
 		return fileName;
 	}
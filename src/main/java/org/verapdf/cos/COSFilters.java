@@ -25,6 +25,7 @@ import org.verapdf.as.io.ASInputStream;
 import org.verapdf.as.io.ASOutputStream;
 import org.verapdf.cos.filters.COSFilterRegistry;
 import org.verapdf.pd.PDObject;
+import org.verapdf.tools.metrics.ParserMetrics;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -53,6 +54,17 @@ public class COSFilters extends PDObject {
 
 	public ASInputStream getInputStream(ASInputStream inputStream,
 										COSObject decodeParams) throws IOException {
+		return getInputStream(inputStream, decodeParams, null);
+	}
+
+	/**
+	 * Gets decoded stream, amount of bytes decoded by each filter is reported
+	 * to given metrics.
+	 *
+	 * @param metrics is metrics of document or null if bytes are not counted.
+	 */
+	public ASInputStream getInputStream(ASInputStream inputStream, COSObject decodeParams,
+										ParserMetrics metrics) throws IOException {
 		List<COSDictionary> decodeParameters = null;
 		if (!decodeParams.empty()) {
 			if (decodeParams.getType() == COSObjType.COS_DICT) {
@@ -85,6 +97,9 @@ public class COSFilters extends PDObject {
 		for (int i = 0; i < entries.size(); ++i) {
 			inputStream = COSFilterRegistry.getDecodeFilter(entries.get(i),
 					inputStream, decodeParameters.get(i));
+			if (metrics != null) {
+				inputStream = metrics.countDecodedBytes(entries.get(i), inputStream);
+			}
 
 			//TODO : if (!is.Get()) break;
 		}
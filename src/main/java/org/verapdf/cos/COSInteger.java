@@ -28,6 +28,16 @@ import org.verapdf.cos.visitor.IVisitor;
  */
 public class COSInteger extends COSNumber {
 
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 1024;
+    private static final COSInteger[] CACHE = new COSInteger[CACHE_HIGH - CACHE_LOW];
+
+    static {
+        for (int i = 0; i < CACHE.length; ++i) {
+            CACHE[i] = new Shared(i + CACHE_LOW);
+        }
+    }
+
     private long value;
 
     protected COSInteger(final long value) {
@@ -40,7 +50,18 @@ public class COSInteger extends COSNumber {
     }
 
     public static COSObject construct(final long initValue) {
-        return new COSObject(new COSInteger(initValue));
+        return new COSObject(valueOf(initValue));
+    }
+
+    /**
+     * @return shared immutable instance for small values and new instance for
+     * other values.
+     */
+    static COSInteger valueOf(final long value) {
+        if (value >= CACHE_LOW && value < CACHE_HIGH) {
+            return CACHE[(int) value - CACHE_LOW];
+        }
+        return new COSInteger(value);
     }
 
     @Override
@@ -97,4 +118,32 @@ public class COSInteger extends COSNumber {
         return value == that.value;
 
     }
+
+    /**
+     * Integer shared by all objects with the same value. It is never given out
+     * by COSObject: setters of COSObject replace it by a new base, and
+     * {@link COSObject#get()} and {@link COSObject#getDirectBase()} copy it
+     * before returning, so changes made by caller are not seen by other objects.
+     */
+    private static final class Shared extends COSInteger {
+
+        private Shared(final long value) {
+            super(value);
+        }
+
+        @Override
+        public boolean setInteger(final long value) {
+            return false;
+        }
+
+        @Override
+        public boolean setReal(final double value) {
+            return false;
+        }
+
+        @Override
+        COSBase getModifiableBase() {
+            return new COSInteger(get());
+        }
+    }
 }
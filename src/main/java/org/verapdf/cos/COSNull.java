@@ -30,7 +30,7 @@ public class COSNull extends COSDirect {
 
     private static final String NULL_STRING = "null";
 
-    public static final COSNull NULL = new COSNull();
+    public static final COSNull NULL = new Shared();
 
     @Override
     public COSObjType getType() {
@@ -38,7 +38,7 @@ public class COSNull extends COSDirect {
     }
 
     public static COSObject construct() {
-        return new COSObject(new COSNull());
+        return new COSObject(NULL);
     }
 
     @Override
@@ -61,4 +61,16 @@ public class COSNull extends COSDirect {
     public String toString() {
         return NULL_STRING;
     }
+
+    /**
+     * Null object shared by all direct null values. COSObject copies it on
+     * write and before giving its base out, see {@link COSInteger}.
+     */
+    private static final class Shared extends COSNull {
+
+        @Override
+        COSBase getModifiableBase() {
+            return new COSNull();
+        }
+    }
 }
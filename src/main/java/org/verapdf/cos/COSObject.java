@@ -54,7 +54,20 @@ public class COSObject {
 	}
 
 	// Access to base underlying object
+	/**
+	 * @return base of this object. Values shared between objects are replaced
+	 * by own copy first, so the returned base can be modified safely.
+	 */
 	public COSBase get() {
+		return getModifiableBase();
+	}
+
+	/**
+	 * @return base of this object as is. Unlike {@link #get()} values shared
+	 * between objects are not copied, so the result must be used only for
+	 * reading.
+	 */
+	COSBase getSharedBase() {
 		return this.base;
 	}
 
@@ -67,12 +80,12 @@ public class COSObject {
 	}
 
 	public void assign(COSObject object) {
-		if (object == null || object.get() == null) {
+		if (object == null || object.base == null) {
 			return;
 		}
 
-		if (this.base != object.get()) {
-			set(object.get());
+		if (this.base != object.base) {
+			set(object.base);
 		}
 	}
 
@@ -90,7 +103,7 @@ public class COSObject {
 
 	public void setObjectKey(final COSKey key) {
 		if (this.base != null) {
-			this.base.setObjectKey(key);
+			getModifiableBase().setObjectKey(key);
 		}
 	}
 
@@ -113,7 +126,7 @@ public class COSObject {
 
 	public void setBoolean(final boolean value) {
 		if (this.base == null || !this.base.setBoolean(value)) {
-			this.base = new COSBoolean(value);
+			this.base = value ? COSBoolean.TRUE : COSBoolean.FALSE;
 		}
 	}
 
@@ -124,7 +137,7 @@ public class COSObject {
 
 	public void setInteger(final long value) {
 		if (this.base == null || !this.base.setInteger(value)) {
-			this.base = new COSInteger(value);
+			this.base = COSInteger.valueOf(value);
 		}
 	}
 
@@ -134,6 +147,7 @@ public class COSObject {
 	}
 
 	public void setReal(final double value) {
+		getModifiableBase();
 		if (this.base == null || !this.base.setReal(value)) {
 			this.base = new COSReal(value);
 		}
@@ -447,8 +461,12 @@ public class COSObject {
 		return this.base != null ? this.base.getDirect() : null;
 	}
 
+	/**
+	 * @return direct base of this object. As in {@link #get()}, shared values
+	 * are copied before they are returned.
+	 */
 	public COSBase getDirectBase() {
-		return this.base != null ? this.base.getDirectBase() : null;
+		return this.base != null ? getModifiableBase().getDirectBase() : null;
 	}
 
 	public void setDirect(final COSObject value) {
@@ -509,4 +527,11 @@ public class COSObject {
 	public String toString() {
 		return base!= null ? base.toString() : null;
 	}
+
+	private COSBase getModifiableBase() {
+		if (this.base != null) {
+			this.base = this.base.getModifiableBase();
+		}
+		return this.base;
+	}
 }
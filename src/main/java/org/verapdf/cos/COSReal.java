@@ -31,14 +31,14 @@ import java.text.DecimalFormatSymbols;
  */
 public class COSReal extends COSNumber {
 
-    private static final DecimalFormat FORMATTER;
-
-    static {
-        FORMATTER = new DecimalFormat("#0.000000");
-        DecimalFormatSymbols decFormSymbols = FORMATTER.getDecimalFormatSymbols();
+    // DecimalFormat is not thread safe
+    private static final ThreadLocal<DecimalFormat> FORMATTER = ThreadLocal.withInitial(() -> {
+        DecimalFormat formatter = new DecimalFormat("#0.000000");
+        DecimalFormatSymbols decFormSymbols = formatter.getDecimalFormatSymbols();
         decFormSymbols.setDecimalSeparator('.');
-        FORMATTER.setDecimalFormatSymbols(decFormSymbols);
-    }
+        formatter.setDecimalFormatSymbols(decFormSymbols);
+        return formatter;
+    });
 
     private double value;
 
@@ -97,7 +97,7 @@ public class COSReal extends COSNumber {
     }
 
     public String toString() {
-        String stringValue = FORMATTER.format(this.value);
+        String stringValue = FORMATTER.get().format(this.value);
         // remove fraction digit "0" only
         if (stringValue.indexOf('.') > -1 && !stringValue.endsWith(".0"))
         {
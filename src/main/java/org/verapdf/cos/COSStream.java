@@ -30,6 +30,7 @@ import org.verapdf.io.InternalInputStream;
 import org.verapdf.io.InternalOutputStream;
 import org.verapdf.io.SeekableInputStream;
 import org.verapdf.tools.TypeConverter;
+import org.verapdf.tools.metrics.ParserMetrics;
 
 import java.io.File;
 import java.io.IOException;
@@ -53,6 +54,7 @@ public class COSStream extends COSDictionary {
 	private boolean streamKeywordCRLFCompliant = true;
 	private boolean endstreamKeywordCRLFCompliant = true;
 	private long realStreamSize;
+	private ParserMetrics metrics;
 
 	protected COSStream() {
 		super();
@@ -161,7 +163,7 @@ public class COSStream extends COSDictionary {
 			}
 			ASInputStream result = getFilters().getInputStream(
 					ASInputStream.createStreamFromStream(stream),
-					this.getKey(ASAtom.DECODE_PARMS));
+					this.getKey(ASAtom.DECODE_PARMS), this.metrics);
 			result.reset();
 			return result;
 		} catch (IOException e) {
@@ -170,6 +172,27 @@ public class COSStream extends COSDictionary {
 		}
 	}
 
+	/**
+	 * Gets seekable view of raw stream data. View is available only if raw data
+	 * is stored as is, e.g. it is not decrypted on the fly, and it does not
+	 * change position of the stored stream.
+	 *
+	 * @return seekable stream positioned at the beginning of raw data or null if
+	 * raw data can't be accessed randomly.
+	 */
+	public SeekableInputStream getSeekableData() {
+		if (!(this.stream instanceof SeekableInputStream)) {
+			return null;
+		}
+		try {
+			SeekableInputStream data = (SeekableInputStream) this.stream;
+			return data.getSeekableStream(0, data.getStreamLength());
+		} catch (IOException | IllegalArgumentException e) {
+			LOGGER.log(Level.FINE, "Can't get seekable stream data", e);
+			return null;
+		}
+	}
+
 	@Override
 	public boolean setData(final ASInputStream stream) {
 		COSFilters filters = getFilters();
@@ -177,6 +200,7 @@ public class COSStream extends COSDictionary {
 			return setData(stream, FilterFlags.RAW_DATA);
 		}
 		try (InternalOutputStream fileWithData = InternalOutputStream.getInternalOutputStream()) {
+			reportTempFile();
 			ASOutputStream encoder = filters.getOutputStream(fileWithData);
 			encoder.write(stream);
 			File encodedDataFile = fileWithData.getFile();
@@ -236,6 +260,7 @@ public class COSStream extends COSDictionary {
 			 SeekableInputStream unfilteredData =
 					 SeekableInputStream.getSeekableStream(decoded)) {
 			InternalOutputStream fileWithData = InternalOutputStream.getInternalOutputStream();
+			reportTempFile();
 			setKey(ASAtom.FILTER, filters.getObject());
 			ASOutputStream encoder = filters.getOutputStream(fileWithData);
 			encoder.write(unfilteredData);
@@ -245,6 +270,28 @@ public class COSStream extends COSDictionary {
 		}
 	}
 
+	/**
+	 * @return metrics of document this stream is parsed from or null if
+	 * metrics are disabled.
+	 */
+	public ParserMetrics getMetrics() {
+		return this.metrics;
+	}
+
+	/**
+	 * Sets metrics of document, bytes decoded from this stream and temporary
+	 * files created for its data are reported to them.
+	 */
+	public void setMetrics(ParserMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	private void reportTempFile() {
+		if (this.metrics != null) {
+			this.metrics.tempFileCreated();
+		}
+	}
+
 	public FilterFlags getFilterFlags() {
 		return this.flags;
 	}
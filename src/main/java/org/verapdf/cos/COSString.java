@@ -23,9 +23,12 @@ package org.verapdf.cos;
 import org.verapdf.cos.filters.COSFilterASCIIHexEncode;
 import org.verapdf.cos.visitor.ICOSVisitor;
 import org.verapdf.cos.visitor.IVisitor;
+import org.verapdf.pd.encryption.StandardSecurityHandler;
 import org.verapdf.tools.PDFDocEncoding;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -44,6 +47,13 @@ public class COSString extends COSDirect {
     private boolean containsOnlyHex = true;
     private long hexCount = 0;
 
+    //fields for deferred decryption of strings in encrypted documents.
+    //value keeps the ciphertext, decrypted bytes are published once through
+    //the volatile field, so concurrent readers never see partial results
+    private StandardSecurityHandler securityHandler;
+    private COSKey objectKey;
+    private volatile byte[] decryptedValue;
+
     public COSString() {
         super();
         this.value = new byte[0];
@@ -96,16 +106,17 @@ public class COSString extends COSDirect {
     //! Returns the size of the string
     @Override
     public Long getInteger() {
-        return (long) this.value.length;
+        return (long) getValue().length;
     }
 
     @Override
     public Double getReal() {
-        return (double) this.value.length;
+        return (double) getValue().length;
     }
 
     @Override
     public String getString() {
+        byte[] value = getValue();
         if (value.length >= 2) {
             if ((value[0] & 0xFF) == 0xFE && (value[1] & 0xFF) == 0xFF) {
                 return new String(value, 2, value.length - 2, StandardCharsets.UTF_16BE);
@@ -124,6 +135,7 @@ public class COSString extends COSDirect {
 
     @Override
     public boolean setString(final String value) {
+        resetDecryption();
         this.value = new byte[value.length()];
         boolean utf16 = false;
         for (int i = 0; i < value.length(); ++i) {
@@ -150,18 +162,72 @@ public class COSString extends COSDirect {
     }
 
     public void setString(final byte[] value, final boolean isHex) {
+        resetDecryption();
         this.value = value;
         this.isHex = isHex;
     }
 
     public byte[] get() {
-        return this.value;
+        return getValue();
     }
 
     public void set(final byte[] value) {
+        resetDecryption();
         this.value = value;
     }
 
+    /**
+     * Defers decryption of this string until its value is accessed for the
+     * first time. Bytes stored in this string are treated as ciphertext, the
+     * decrypted value is computed once and returned by all later reads.
+     *
+     * @param securityHandler is security handler of the document that contains
+     *                        this string.
+     * @param objectKey       is key of indirect object that contains this string.
+     */
+    public void setDeferredDecryption(StandardSecurityHandler securityHandler, COSKey objectKey) {
+        this.decryptedValue = null;
+        this.securityHandler = securityHandler;
+        this.objectKey = objectKey;
+    }
+
+    /**
+     * @return true if this string still holds encrypted bytes that will be
+     * decrypted on first access.
+     */
+    public boolean isDecryptionDeferred() {
+        return this.securityHandler != null && this.decryptedValue == null;
+    }
+
+    private byte[] getValue() {
+        if (this.securityHandler == null) {
+            return this.value;
+        }
+        byte[] result = this.decryptedValue;
+        return result != null ? result : decrypt();
+    }
+
+    private synchronized byte[] decrypt() {
+        byte[] result = this.decryptedValue;
+        if (result != null) {
+            return result;
+        }
+        try {
+            result = this.securityHandler.decryptBytes(this.value, this.objectKey);
+        } catch (IOException | GeneralSecurityException e) {
+            LOGGER.log(Level.WARNING, "Can't decrypt string(object key = " + this.objectKey + ')', e);
+            result = this.value;
+        }
+        this.decryptedValue = result;
+        return result;
+    }
+
+    private void resetDecryption() {
+        this.securityHandler = null;
+        this.objectKey = null;
+        this.decryptedValue = null;
+    }
+
     public boolean isLiteral() {
         return !isHex;
     }
@@ -172,7 +238,7 @@ public class COSString extends COSDirect {
 
     public String getHexString() {
         StringBuilder result = new StringBuilder();
-        for (byte b : this.value) {
+        for (byte b : getValue()) {
             final int c = b & 0xFF;
             result.append(COSFilterASCIIHexEncode.ASCII_HEX_BIG[c]);
             result.append(COSFilterASCIIHexEncode.ASCII_HEX_LITTLE[c]);
@@ -189,7 +255,7 @@ public class COSString extends COSDirect {
         StringBuilder result = new StringBuilder();
 
         result.append('<');
-        for (byte b : this.value) {
+        for (byte b : getValue()) {
             final int c = b & 0xFF;
             result.append(COSFilterASCIIHexEncode.ASCII_HEX_BIG[c]);
             result.append(COSFilterASCIIHexEncode.ASCII_HEX_LITTLE[c]);
@@ -200,7 +266,7 @@ public class COSString extends COSDirect {
     }
 
     public boolean isASCIIString() {
-        for (byte b : value) {
+        for (byte b : getValue()) {
             if ((b & 0xFF) >= 128) {
                 return false;
             }
@@ -210,7 +276,7 @@ public class COSString extends COSDirect {
 
     public String getASCIIString() {
         StringBuilder sb = new StringBuilder();
-        for (byte b : value) {
+        for (byte b : getValue()) {
             if ((b & 0xFF) < 128) {
                 sb.append((char)(b & 0xFF));
             }
@@ -219,6 +285,7 @@ public class COSString extends COSDirect {
     }
 
     public boolean isTextString() {
+        byte[] value = getValue();
         if (value.length > 2) {
             if ((value[0] & 0xFF) == 0xFE && (value[1] & 0xFF) == 0xFF) {
                 return true;
@@ -235,7 +302,7 @@ public class COSString extends COSDirect {
     protected String toLitString() {
         StringBuilder result = new StringBuilder();
         result.append('(');
-        for (byte ch : this.value) {
+        for (byte ch : getValue()) {
             switch (ch) {
                 case '(':
                     result.append("\\(");
@@ -305,12 +372,15 @@ public class COSString extends COSDirect {
         if (isHex != cosString.isHex) return false;
         if (containsOnlyHex != cosString.containsOnlyHex) return false;
         if (hexCount != cosString.hexCount) return false;
-        return value != null ? Arrays.equals(value, cosString.value) : cosString.value == null;
+        byte[] value = getValue();
+        byte[] otherValue = cosString.getValue();
+        return value != null ? Arrays.equals(value, otherValue) : otherValue == null;
 
     }
 
     @Override
     public int hashCode() {
+        byte[] value = getValue();
         int result = value != null ? Arrays.hashCode(value) : 0;
         result = 31 * result + (isHex ? 1 : 0);
         result = 31 * result + (containsOnlyHex ? 1 : 0);
@@ -0,0 +1,498 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.cos.filters;
+
+import org.verapdf.as.ASAtom;
+import org.verapdf.as.filters.io.ASBufferedInFilter;
+import org.verapdf.as.io.ASInputStream;
+import org.verapdf.cos.COSDictionary;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Filter for CCITTFax data decoding. Supports Group 3 one-dimensional and
+ * mixed one- and two-dimensional encoding and Group 4 encoding as described
+ * in ITU-T Recommendations T.4 and T.6. Uncompressed mode is not supported.
+ */
+public class COSFilterCCITTFaxDecode extends ASBufferedInFilter {
+
+    private static final Logger LOGGER = Logger.getLogger(COSFilterCCITTFaxDecode.class.getCanonicalName());
+
+    private static final int DEFAULT_COLUMNS = 1728;
+    private static final int LOOKUP_BITS = 13;
+    private static final int EOL = 1;
+    private static final int EOL_LENGTH = 12;
+
+    private static final String[] WHITE_TERMINATING_CODES = {
+            "00110101", "000111", "0111", "1000", "1011", "1100", "1110", "1111",
+            "10011", "10100", "00111", "01000", "001000", "000011", "110100", "110101",
+            "101010", "101011", "0100111", "0001100", "0001000", "0010111", "0000011", "0000100",
+            "0101000", "0101011", "0010011", "0100100", "0011000", "00000010", "00000011", "00011010",
+            "00011011", "00010010", "00010011", "00010100", "00010101", "00010110", "00010111", "00101000",
+            "00101001", "00101010", "00101011", "00101100", "00101101", "00000100", "00000101", "00001010",
+            "00001011", "01010010", "01010011", "01010100", "01010101", "00100100", "00100101", "01011000",
+            "01011001", "01011010", "01011011", "01001010", "01001011", "00110010", "00110011", "00110100"
+    };
+
+    // codes for runs 64, 128, ..., 1728
+    private static final String[] WHITE_MAKE_UP_CODES = {
+            "11011", "10010", "010111", "0110111", "00110110", "00110111", "01100100", "01100101",
+            "01101000", "01100111", "011001100", "011001101", "011010010", "011010011", "011010100", "011010101",
+            "011010110", "011010111", "011011000", "011011001", "011011010", "011011011", "010011000", "010011001",
+            "010011010", "011000", "010011011"
+    };
+
+    private static final String[] BLACK_TERMINATING_CODES = {
+            "0000110111", "010", "11", "10", "011", "0011", "0010", "00011",
+            "000101", "000100", "0000100", "0000101", "0000111", "00000100", "00000111", "000011000",
+            "0000010111", "0000011000", "0000001000", "00001100111", "00001101000", "00001101100", "00000110111", "00000101000",
+            "00000010111", "00000011000", "000011001010", "000011001011", "000011001100", "000011001101", "000001101000", "000001101001",
+            "000001101010", "000001101011", "000011010010", "000011010011", "000011010100", "000011010101", "000011010110", "000011010111",
+            "000001101100", "000001101101", "000011011010", "000011011011", "000001010100", "000001010101", "000001010110", "000001010111",
+            "000001100100", "000001100101", "000001010010", "000001010011", "000000100100", "000000110111", "000000111000", "000000100111",
+            "000000101000", "000001011000", "000001011001", "000000101011", "000000101100", "000001011010", "000001100110", "000001100111"
+    };
+
+    // codes for runs 64, 128, ..., 1728
+    private static final String[] BLACK_MAKE_UP_CODES = {
+            "0000001111", "000011001000", "000011001001", "000001011011", "000000110011", "000000110100", "000000110101", "0000001101100",
+            "0000001101101", "0000001001010", "0000001001011", "0000001001100", "0000001001101", "0000001110010", "0000001110011", "0000001110100",
+            "0000001110101", "0000001110110", "0000001110111", "0000001010010", "0000001010011", "0000001010100", "0000001010101", "0000001011010",
+            "0000001011011", "0000001100100", "0000001100101"
+    };
+
+    // codes for runs 1792, 1856, ..., 2560 shared by both colors
+    private static final String[] EXTENDED_MAKE_UP_CODES = {
+            "00000001000", "00000001100", "00000001101", "000000010010", "000000010011", "000000010100", "000000010101",
+            "000000010110", "000000010111", "000000011100", "000000011101", "000000011110", "000000011111"
+    };
+
+    // each entry contains (run length << 4) | code length, zero for invalid codes
+    private static final int[] WHITE_RUNS = createRunTable(WHITE_TERMINATING_CODES, WHITE_MAKE_UP_CODES);
+    private static final int[] BLACK_RUNS = createRunTable(BLACK_TERMINATING_CODES, BLACK_MAKE_UP_CODES);
+
+    // vertical modes are represented by offset of a1 from b1
+    private static final int MODE_PASS = 4;
+    private static final int MODE_HORIZONTAL = 5;
+    private static final int MODE_INVALID = 6;
+
+    private final int k;
+    private final boolean endOfLine;
+    private final boolean encodedByteAlign;
+    private final int columns;
+    private final int rows;
+    private final boolean endOfBlock;
+    private final boolean blackIs1;
+
+    private long bits;
+    private int bitsCount;
+    private int paddingBits;
+
+    // changing elements of reference and coding lines, first element is a change from white to black
+    private int[] referenceLine;
+    private int[] codingLine;
+    private int codingLineSize;
+
+    private final byte[] row;
+    private int rowPointer;
+    private int decodedRows;
+    private boolean isEOD;
+    // true if lines of Group 3 data start with EOL codes
+    private boolean hasEOLCodes;
+
+    /**
+     * Constructor from CCITTFax encoded data stream and decode parameters
+     * dictionary.
+     *
+     * @param stream is CCITTFax encoded data.
+     * @param decodeParams is decode parameters dictionary.
+     */
+    public COSFilterCCITTFaxDecode(ASInputStream stream, COSDictionary decodeParams) throws IOException {
+        super(stream);
+        this.k = (int) getInteger(decodeParams, ASAtom.K, 0);
+        this.endOfLine = getBoolean(decodeParams, ASAtom.END_OF_LINE, false);
+        this.encodedByteAlign = getBoolean(decodeParams, ASAtom.ENCODED_BYTE_ALIGN, false);
+        long columns = getInteger(decodeParams, ASAtom.COLUMNS, DEFAULT_COLUMNS);
+        this.columns = columns > 0 && columns <= Integer.MAX_VALUE - 2 ? (int) columns : DEFAULT_COLUMNS;
+        long rows = getInteger(decodeParams, ASAtom.ROWS, 0);
+        this.rows = rows > 0 && rows <= Integer.MAX_VALUE ? (int) rows : 0;
+        this.endOfBlock = getBoolean(decodeParams, ASAtom.END_OF_BLOCK, true);
+        this.blackIs1 = getBoolean(decodeParams, ASAtom.BLACK_IS_1, false);
+        this.row = new byte[(this.columns + 7) / 8];
+        initDecoder();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(byte[] buffer, int size) throws IOException {
+        if (size == 0) {
+            return 0;
+        }
+        int actualSize = Math.min(buffer.length, size);
+        int pointer = 0;
+        while (pointer < actualSize) {
+            if (rowPointer == row.length && !decodeRow()) {
+                break;
+            }
+            int toCopy = Math.min(row.length - rowPointer, actualSize - pointer);
+            System.arraycopy(row, rowPointer, buffer, pointer, toCopy);
+            rowPointer += toCopy;
+            pointer += toCopy;
+        }
+        return pointer == 0 ? -1 : pointer;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int skip(int size) throws IOException {
+        byte[] buf = new byte[BF_BUFFER_SIZE];
+        int skipped = 0;
+        while (skipped < size) {
+            int read = this.read(buf, Math.min(buf.length, size - skipped));
+            if (read == -1) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() throws IOException {
+        super.reset();
+        initDecoder();
+    }
+
+    private void initDecoder() {
+        this.bits = 0;
+        this.bitsCount = 0;
+        this.paddingBits = 0;
+        this.referenceLine = new int[]{columns, columns, columns};
+        this.codingLine = new int[16];
+        this.codingLineSize = 0;
+        this.rowPointer = row.length;
+        this.decodedRows = 0;
+        this.isEOD = false;
+        this.hasEOLCodes = endOfLine;
+    }
+
+    private boolean decodeRow() throws IOException {
+        if (isEOD || (rows > 0 && decodedRows >= rows)) {
+            return false;
+        }
+        boolean twoDimensional = k < 0;
+        // fill bits of data with EOL codes precede EOL, so that EOL ends on a
+        // byte boundary, and are skipped together with EOL
+        if (encodedByteAlign && (k < 0 || !hasEOLCodes)) {
+            alignToByte();
+        }
+        boolean hasEOL = skipEOL();
+        if (decodedRows == 0 && hasEOL) {
+            hasEOLCodes = true;
+        }
+        if (hasEOL && k < 0) {
+            // EOFB of Group 4 data
+            isEOD = true;
+            return false;
+        }
+        if (k > 0) {
+            twoDimensional = readBits(1) == 0;
+        }
+        if (hasEOL && endOfBlock && skipEOL()) {
+            // RTC of Group 3 data
+            isEOD = true;
+            return false;
+        }
+        if (isEndOfData()) {
+            isEOD = true;
+            return false;
+        }
+        codingLineSize = 0;
+        boolean isValid = twoDimensional ? decodeTwoDimensionalRow() : decodeOneDimensionalRow();
+        if (!isValid) {
+            LOGGER.log(Level.FINE, "Invalid CCITTFax data in row " + decodedRows);
+            isEOD = true;
+        }
+        fillRow();
+        swapLines();
+        ++decodedRows;
+        return true;
+    }
+
+    private boolean decodeOneDimensionalRow() throws IOException {
+        int position = 0;
+        boolean isWhite = true;
+        while (position < columns) {
+            int run = readRun(isWhite);
+            if (run < 0) {
+                return false;
+            }
+            position = Math.min(position + run, columns);
+            addChange(position);
+            isWhite = !isWhite;
+        }
+        return true;
+    }
+
+    private boolean decodeTwoDimensionalRow() throws IOException {
+        int a0 = -1;
+        boolean isWhite = true;
+        int b = 0;
+        while (a0 < columns) {
+            while (b > 0 && referenceLine[b - 1] > a0) {
+                --b;
+            }
+            while (referenceLine[b] <= a0 || (b % 2 == 0) != isWhite) {
+                ++b;
+            }
+            int b1 = referenceLine[b];
+            int b2 = referenceLine[b + 1];
+            int mode = readMode();
+            if (mode == MODE_INVALID) {
+                return false;
+            }
+            if (mode == MODE_PASS) {
+                a0 = b2;
+            } else if (mode == MODE_HORIZONTAL) {
+                int start = Math.max(a0, 0);
+                int firstRun = readRun(isWhite);
+                int secondRun = firstRun < 0 ? -1 : readRun(!isWhite);
+                if (secondRun < 0) {
+                    return false;
+                }
+                int a1 = Math.min(start + firstRun, columns);
+                a0 = Math.min(a1 + secondRun, columns);
+                addChange(a1);
+                addChange(a0);
+            } else {
+                int a1 = b1 + mode;
+                if (a1 < Math.max(a0, 0) || a1 > columns) {
+                    return false;
+                }
+                addChange(a1);
+                a0 = a1;
+                isWhite = !isWhite;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return pass or horizontal mode, offset for vertical mode or
+     * {@link #MODE_INVALID} for invalid or unsupported code.
+     */
+    private int readMode() throws IOException {
+        int code = peekBits(7);
+        if ((code & 0x40) != 0) {
+            skipBits(1);
+            return 0;
+        }
+        if ((code & 0x20) != 0) {
+            skipBits(3);
+            return (code & 0x10) != 0 ? 1 : -1;
+        }
+        if ((code & 0x10) != 0) {
+            skipBits(3);
+            return MODE_HORIZONTAL;
+        }
+        if ((code & 0x08) != 0) {
+            skipBits(4);
+            return MODE_PASS;
+        }
+        if ((code & 0x04) != 0) {
+            skipBits(6);
+            return (code & 0x02) != 0 ? 2 : -2;
+        }
+        if ((code & 0x02) != 0) {
+            skipBits(7);
+            return (code & 0x01) != 0 ? 3 : -3;
+        }
+        return MODE_INVALID;
+    }
+
+    /**
+     * @return length of run including make-up codes or -1 for invalid code.
+     */
+    private int readRun(boolean isWhite) throws IOException {
+        int[] table = isWhite ? WHITE_RUNS : BLACK_RUNS;
+        int res = 0;
+        while (true) {
+            if (isEndOfData()) {
+                return -1;
+            }
+            int entry = table[peekBits(LOOKUP_BITS)];
+            if (entry == 0) {
+                return -1;
+            }
+            skipBits(entry & 0xF);
+            int run = entry >> 4;
+            res += run;
+            if (run < 64) {
+                return res;
+            }
+        }
+    }
+
+    /**
+     * Skips fill bits and end of line code.
+     *
+     * @return true if end of line code was found.
+     */
+    private boolean skipEOL() throws IOException {
+        int code = peekBits(EOL_LENGTH);
+        while (code == 0 && !isEndOfData()) {
+            skipBits(1);
+            code = peekBits(EOL_LENGTH);
+        }
+        if (code == EOL) {
+            skipBits(EOL_LENGTH);
+            return true;
+        }
+        return false;
+    }
+
+    private void addChange(int position) {
+        if (codingLineSize > 0 && codingLine[codingLineSize - 1] == position) {
+            --codingLineSize;
+            return;
+        }
+        if (codingLineSize + 3 >= codingLine.length) {
+            codingLine = Arrays.copyOf(codingLine, codingLine.length * 2);
+        }
+        codingLine[codingLineSize++] = position;
+    }
+
+    private void fillRow() {
+        boolean isWhite = true;
+        int start = 0;
+        Arrays.fill(row, (byte) 0);
+        for (int i = 0; i <= codingLineSize; ++i) {
+            int end = i < codingLineSize ? codingLine[i] : columns;
+            if (isWhite != blackIs1) {
+                setBits(start, end);
+            }
+            start = end;
+            isWhite = !isWhite;
+        }
+        rowPointer = 0;
+    }
+
+    private void setBits(int start, int end) {
+        for (int i = start; i < end; ++i) {
+            row[i >> 3] |= (byte) (0x80 >> (i & 7));
+        }
+    }
+
+    private void swapLines() {
+        int size = codingLineSize;
+        while (size > 0 && codingLine[size - 1] >= columns) {
+            --size;
+        }
+        int[] line = referenceLine;
+        referenceLine = codingLine;
+        Arrays.fill(referenceLine, size, size + 3, columns);
+        codingLine = line.length >= 16 ? line : new int[16];
+        codingLineSize = 0;
+    }
+
+    private int peekBits(int count) throws IOException {
+        while (bitsCount < count) {
+            int next = nextByte();
+            if (next == -1) {
+                next = 0;
+                paddingBits += 8;
+            }
+            bits = (bits << 8) | next;
+            bitsCount += 8;
+        }
+        return (int) ((bits >>> (bitsCount - count)) & ((1L << count) - 1));
+    }
+
+    private void skipBits(int count) throws IOException {
+        peekBits(count);
+        bitsCount -= count;
+        if (bitsCount < paddingBits) {
+            paddingBits = bitsCount;
+        }
+    }
+
+    private int readBits(int count) throws IOException {
+        int res = peekBits(count);
+        skipBits(count);
+        return res;
+    }
+
+    private void alignToByte() throws IOException {
+        skipBits(bitsCount % 8);
+    }
+
+    private boolean isEndOfData() throws IOException {
+        peekBits(1);
+        return bitsCount <= paddingBits;
+    }
+
+    private int nextByte() throws IOException {
+        if (bufferSize() <= 0 && feedBuffer(getBufferCapacity()) <= 0) {
+            return -1;
+        }
+        return bufferPop() & 0xFF;
+    }
+
+    private static int[] createRunTable(String[] terminatingCodes, String[] makeUpCodes) {
+        int[] res = new int[1 << LOOKUP_BITS];
+        for (int i = 0; i < terminatingCodes.length; ++i) {
+            addCode(res, terminatingCodes[i], i);
+        }
+        for (int i = 0; i < makeUpCodes.length; ++i) {
+            addCode(res, makeUpCodes[i], (i + 1) * 64);
+        }
+        for (int i = 0; i < EXTENDED_MAKE_UP_CODES.length; ++i) {
+            addCode(res, EXTENDED_MAKE_UP_CODES[i], 1792 + i * 64);
+        }
+        return res;
+    }
+
+    private static void addCode(int[] table, String code, int run) {
+        int shift = LOOKUP_BITS - code.length();
+        int first = Integer.parseInt(code, 2) << shift;
+        Arrays.fill(table, first, first + (1 << shift), (run << 4) | code.length());
+    }
+
+    private static long getInteger(COSDictionary decodeParams, ASAtom key, long defaultValue) {
+        Long value = decodeParams == null ? null : decodeParams.getIntegerKey(key);
+        return value != null ? value : defaultValue;
+    }
+
+    private static boolean getBoolean(COSDictionary decodeParams, ASAtom key, boolean defaultValue) {
+        Boolean value = decodeParams == null ? null : decodeParams.getBooleanKey(key);
+        return value != null ? value : defaultValue;
+    }
+}
@@ -59,6 +59,14 @@ public class COSFilterFlateDecode extends ASBufferedInFilter {
      */
     @Override
     public int read(byte[] buffer, int size) throws IOException {
+        return readChunk(buffer, 0, size);
+    }
+
+    /**
+     * Decompresses data directly into given array at given offset.
+     */
+    @Override
+    protected int readChunk(byte[] buffer, int offset, int size) throws IOException {
         int bytesFed = 0;
         if (inflater.getRemaining() == 0) {
             bytesFed = this.feedBuffer(getBufferCapacity());
@@ -70,7 +78,7 @@ public class COSFilterFlateDecode extends ASBufferedInFilter {
         }
         int startOffset = this.bufferSize - inflater.getRemaining();
         try {
-            int res = inflater.inflate(buffer, 0, size);
+            int res = inflater.inflate(buffer, offset, size);
             if (res == 0) {
                 int added = this.addToBuffer(BF_BUFFER_SIZE);
                 if (added == -1) {
@@ -78,14 +86,14 @@ public class COSFilterFlateDecode extends ASBufferedInFilter {
                 } else {
                     this.bufferSize = bytesFed + added;
                     inflater.setInput(this.buffer, 0, this.bufferSize);
-                    return inflater.inflate(buffer, 0, size);
+                    return inflater.inflate(buffer, offset, size);
                 }
             } else {
                 return res;
             }
         } catch (DataFormatException e) {
             try {
-                return readByByte(buffer, startOffset, size);
+                return readByByte(buffer, offset, startOffset, size);
             } catch (IOException exp) {
                 throw new IOException("Can't decode Flate encoded data", e);
             }
@@ -93,11 +101,15 @@ public class COSFilterFlateDecode extends ASBufferedInFilter {
     }
 
     public int readByByte(byte[] buffer, int startOffset, int size) throws IOException {
+        return readByByte(buffer, 0, startOffset, size);
+    }
+
+    private int readByByte(byte[] buffer, int offset, int startOffset, int size) throws IOException {
         this.inflater.reset();
         inflater.setInput(this.buffer, startOffset, this.bufferSize - startOffset);
         int readBytesAmount = 0;
         try {
-            while (readBytesAmount < size && inflater.inflate(buffer, readBytesAmount, 1) == 1) {
+            while (readBytesAmount < size && inflater.inflate(buffer, offset + readBytesAmount, 1) == 1) {
                 readBytesAmount++;
             }
         } catch (DataFormatException exp) {
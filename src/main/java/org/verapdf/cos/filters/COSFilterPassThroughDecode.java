@@ -0,0 +1,48 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.cos.filters;
+
+import org.verapdf.as.filters.ASInFilter;
+import org.verapdf.as.io.ASInputStream;
+
+import java.io.IOException;
+
+/**
+ * Filter that passes encoded data unchanged. It is used for image compression
+ * filters, for which decoding stops at codestream level: pixels are never
+ * decoded, but header of codestream can be read.
+ */
+public class COSFilterPassThroughDecode extends ASInFilter {
+
+    /**
+     * Constructor from encoded stream.
+     *
+     * @param stream is stream with encoded image data.
+     */
+    public COSFilterPassThroughDecode(ASInputStream stream) {
+        super(stream);
+    }
+
+    @Override
+    protected int readChunk(byte[] buffer, int offset, int size) throws IOException {
+        return getInputStream().read(buffer, offset, size);
+    }
+}
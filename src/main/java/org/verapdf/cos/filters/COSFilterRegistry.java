@@ -26,19 +26,25 @@ import org.verapdf.as.filters.ASFilterFactory;
 import org.verapdf.as.filters.ASInFilter;
 import org.verapdf.as.filters.ASOutFilter;
 import org.verapdf.as.filters.IASFilterFactory;
+import org.verapdf.as.filters.IASFilterFactoryProvider;
 import org.verapdf.as.io.ASInputStream;
 import org.verapdf.as.io.ASOutputStream;
 import org.verapdf.cos.COSDictionary;
 import org.verapdf.exceptions.VeraPDFParserException;
 
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * Class that registers encoding and decoding filters.
+ * Class that registers encoding and decoding filters. Built-in factories can be
+ * replaced by implementations of {@link IASFilterFactoryProvider} registered
+ * as services.
  *
  * @author Timur Kamalov
  */
@@ -48,15 +54,22 @@ public class COSFilterRegistry {
 	private static final Logger LOGGER = Logger.getLogger(COSFilterRegistry.class.getCanonicalName());
 
 	static {
-		registeredFactories = new HashMap<>();
+		// names are interned by ASAtom.getASAtom, so lookup by identity is enough
+		registeredFactories = new IdentityHashMap<>();
 		try {
 			registerFactory(ASAtom.FLATE_DECODE, new ASFilterFactory(ASAtom.FLATE_DECODE));
 			registerFactory(ASAtom.ASCII_HEX_DECODE, new ASFilterFactory(ASAtom.ASCII_HEX_DECODE));
 			registerFactory(ASAtom.ASCII85_DECODE, new ASFilterFactory(ASAtom.ASCII85_DECODE));
 			registerFactory(ASAtom.LZW_DECODE, new ASFilterFactory(ASAtom.LZW_DECODE));
+			registerFactory(ASAtom.RUN_LENGTH_DECODE, new ASFilterFactory(ASAtom.RUN_LENGTH_DECODE));
+			registerFactory(ASAtom.CCITTFAX_DECODE, new ASFilterFactory(ASAtom.CCITTFAX_DECODE));
+			registerFactory(ASAtom.DCT_DECODE, new ASFilterFactory(ASAtom.DCT_DECODE));
+			registerFactory(ASAtom.JPX_DECODE, new ASFilterFactory(ASAtom.JPX_DECODE));
+			registerFactory(ASAtom.JBIG2_DECODE, new ASFilterFactory(ASAtom.JBIG2_DECODE));
 		} catch (VeraPDFParserException e) {
 			LOGGER.log(Level.FINE, "Trying to register factory twice", e);
 		}
+		loadProvidedFactories();
 	}
 
 	//singleton
@@ -64,7 +77,53 @@ public class COSFilterRegistry {
 	}
 
 	private static IASFilterFactory factoryByName(final ASAtom name) {
-		return registeredFactories.get(name);
+		IASFilterFactory factory = registeredFactories.get(name);
+		if (factory == null && name != null) {
+			factory = registeredFactories.get(ASAtom.getASAtom(name.getValue()));
+		}
+		return factory;
+	}
+
+	private static void loadProvidedFactories() {
+		Iterator<IASFilterFactoryProvider> providers = ServiceLoader.load(IASFilterFactoryProvider.class,
+				COSFilterRegistry.class.getClassLoader()).iterator();
+		while (hasNextProvider(providers)) {
+			IASFilterFactoryProvider provider;
+			try {
+				provider = providers.next();
+			} catch (ServiceConfigurationError e) {
+				LOGGER.log(Level.WARNING, "Can't load filter provider", e);
+				continue;
+			}
+			try {
+				registeredFactories.putAll(getProvidedFactories(provider));
+			} catch (RuntimeException e) {
+				// faulty provider must not break initialization of registry
+				LOGGER.log(Level.WARNING, "Filter provider " + provider.getClass().getName() + " failed", e);
+			}
+		}
+	}
+
+	private static boolean hasNextProvider(Iterator<IASFilterFactoryProvider> providers) {
+		try {
+			return providers.hasNext();
+		} catch (ServiceConfigurationError e) {
+			LOGGER.log(Level.WARNING, "Can't load filter providers", e);
+			return false;
+		}
+	}
+
+	private static Map<ASAtom, IASFilterFactory> getProvidedFactories(IASFilterFactoryProvider provider) {
+		Map<ASAtom, IASFilterFactory> res = new IdentityHashMap<>();
+		for (ASAtom filterName : provider.getFilterNames()) {
+			IASFilterFactory factory = provider.getFilterFactory(filterName);
+			if (filterName != null && factory != null) {
+				res.put(ASAtom.getASAtom(filterName.getValue()), factory);
+				LOGGER.log(Level.FINE, "Filter " + filterName + " is provided by " +
+						provider.getClass().getName());
+			}
+		}
+		return res;
 	}
 
 	private static void registerFactory(final ASAtom filterName, final IASFilterFactory factory) throws VeraPDFParserException {
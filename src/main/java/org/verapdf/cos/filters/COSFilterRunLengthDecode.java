@@ -0,0 +1,140 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.cos.filters;
+
+import org.verapdf.as.filters.io.ASBufferedInFilter;
+import org.verapdf.as.io.ASInputStream;
+
+import java.io.IOException;
+
+/**
+ * Filter for RunLength data decoding.
+ */
+public class COSFilterRunLengthDecode extends ASBufferedInFilter {
+
+    private static final int EOD = 128;
+
+    private int literalLeft = 0;
+    private int repeatLeft = 0;
+    private byte repeatedByte;
+    private boolean isEOD = false;
+
+    /**
+     * Constructor from encoded stream.
+     *
+     * @param stream is RunLength encoded stream.
+     */
+    public COSFilterRunLengthDecode(ASInputStream stream) throws IOException {
+        super(stream);
+    }
+
+    /**
+     * Reads up to size bytes of RunLength decoded data into buffer.
+     *
+     * @param buffer is byte array where decoded data will be read.
+     * @param size   is maximal amount of decoded bytes.
+     * @return amount of actually read bytes.
+     * @throws IOException
+     */
+    @Override
+    public int read(byte[] buffer, int size) throws IOException {
+        if (size == 0) {
+            return 0;
+        }
+        int actualSize = Math.min(buffer.length, size);
+        int pointer = 0;
+        while (pointer < actualSize) {
+            if (repeatLeft > 0) {
+                int toWrite = Math.min(repeatLeft, actualSize - pointer);
+                for (int i = 0; i < toWrite; ++i) {
+                    buffer[pointer++] = repeatedByte;
+                }
+                repeatLeft -= toWrite;
+            } else if (literalLeft > 0) {
+                int next = nextByte();
+                if (next == -1) {
+                    isEOD = true;
+                    break;
+                }
+                buffer[pointer++] = (byte) next;
+                --literalLeft;
+            } else if (isEOD || !readRunHeader()) {
+                break;
+            }
+        }
+        return pointer == 0 ? -1 : pointer;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int skip(int size) throws IOException {
+        byte[] buf = new byte[BF_BUFFER_SIZE];
+        int skipped = 0;
+        while (skipped < size) {
+            int read = this.read(buf, Math.min(buf.length, size - skipped));
+            if (read == -1) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() throws IOException {
+        super.reset();
+        this.literalLeft = 0;
+        this.repeatLeft = 0;
+        this.isEOD = false;
+    }
+
+    private boolean readRunHeader() throws IOException {
+        int length = nextByte();
+        if (length == -1 || length == EOD) {
+            isEOD = true;
+            return false;
+        }
+        if (length < EOD) {
+            literalLeft = length + 1;
+        } else {
+            int value = nextByte();
+            if (value == -1) {
+                isEOD = true;
+                return false;
+            }
+            repeatedByte = (byte) value;
+            repeatLeft = 257 - length;
+        }
+        return true;
+    }
+
+    private int nextByte() throws IOException {
+        if (bufferSize() <= 0 && feedBuffer(getBufferCapacity()) <= 0) {
+            return -1;
+        }
+        return bufferPop() & 0xFF;
+    }
+}
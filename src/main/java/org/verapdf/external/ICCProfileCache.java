@@ -0,0 +1,284 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.external;
+
+import org.verapdf.as.ASAtom;
+import org.verapdf.as.io.ASInputStream;
+import org.verapdf.cos.COSObjType;
+import org.verapdf.cos.COSObject;
+import org.verapdf.cos.COSStream;
+import org.verapdf.tools.TypeConverter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+
+/**
+ * Bounded in-memory cache of parsed ICC profiles shared by all documents. The
+ * same output intent and ICCBased profiles are embedded into many documents, so
+ * their header, description, copyright and MD5 are computed once and reused.
+ * <p>
+ * Profiles are identified by length and checksums of raw stream data together
+ * with stream filters and decode parameters, so cached profiles are found
+ * without decoding. Profile stream is decoded only if it is not cached yet.
+ */
+public class ICCProfileCache {
+
+	public static final int DEFAULT_MAX_SIZE = 100;
+
+	private static final int MAX_PARAMETERS_DEPTH = 4;
+
+	private static final Map<CacheKey, ICCProfileData> CACHE = new LinkedHashMap<CacheKey, ICCProfileData>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<CacheKey, ICCProfileData> eldest) {
+			return size() > maxSize;
+		}
+	};
+
+	private static int maxSize = DEFAULT_MAX_SIZE;
+
+	private ICCProfileCache() {
+	}
+
+	/**
+	 * @return maximal amount of profiles stored in cache. Zero means that cache is disabled.
+	 */
+	public static synchronized int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Sets maximal amount of profiles stored in cache. Least recently used
+	 * profiles are evicted first.
+	 *
+	 * @param maxSize is new maximal size of cache, zero disables cache.
+	 */
+	public static synchronized void setMaxSize(int maxSize) {
+		if (maxSize < 0) {
+			throw new IllegalArgumentException("Size of ICC profile cache can't be negative");
+		}
+		ICCProfileCache.maxSize = maxSize;
+		if (maxSize == 0) {
+			CACHE.clear();
+		} else {
+			while (CACHE.size() > maxSize) {
+				CACHE.remove(CACHE.keySet().iterator().next());
+			}
+		}
+	}
+
+	public static synchronized boolean isEnabled() {
+		return maxSize > 0;
+	}
+
+	public static synchronized int size() {
+		return CACHE.size();
+	}
+
+	/**
+	 * Removes all cached profiles.
+	 */
+	public static synchronized void clear() {
+		CACHE.clear();
+	}
+
+	/**
+	 * Gets parsed data of profile stream from cache or parses decoded stream
+	 * data and puts result into cache. Cache key is built from raw stream data,
+	 * so stream is decoded only if profile is not cached yet.
+	 *
+	 * @param profileStream is ICC profile stream.
+	 * @return parsed profile data.
+	 * @throws IOException if stream data can't be read.
+	 */
+	static ICCProfileData getProfileData(COSObject profileStream) throws IOException {
+		CacheKey key = createKey(profileStream);
+		if (key != null) {
+			ICCProfileData res = get(key);
+			if (res != null) {
+				return res;
+			}
+		}
+		ICCProfileData res;
+		try (ASInputStream data = profileStream.getData(COSStream.FilterFlags.DECODE)) {
+			res = ICCProfileData.parse(TypeConverter.inputStreamToByteArray(data));
+		}
+		put(key, res);
+		return res;
+	}
+
+	/**
+	 * Gets parsed data of profile embedded into other data, e.g. into colr box
+	 * of JPEG2000 image, from cache or parses it and puts result into cache.
+	 * Such profile shares cache entry with unfiltered profile stream having the
+	 * same data.
+	 *
+	 * @param profile is ICC profile data.
+	 * @return parsed profile data.
+	 */
+	static ICCProfileData getProfileData(byte[] profile) {
+		CacheKey key = isEnabled() ? createKey(profile, Collections.<ASAtom>emptyList(), "") : null;
+		if (key != null) {
+			ICCProfileData res = get(key);
+			if (res != null) {
+				return res;
+			}
+		}
+		ICCProfileData res = ICCProfileData.parse(profile);
+		put(key, res);
+		return res;
+	}
+
+	private static synchronized ICCProfileData get(CacheKey key) {
+		return CACHE.get(key);
+	}
+
+	private static synchronized void put(CacheKey key, ICCProfileData data) {
+		if (key != null && maxSize > 0) {
+			CACHE.put(key, data);
+		}
+	}
+
+	private static CacheKey createKey(COSObject profileStream) throws IOException {
+		if (!isEnabled() || profileStream.getType() != COSObjType.COS_STREAM) {
+			return null;
+		}
+		List<ASAtom> filters = Collections.emptyList();
+		String parameters = "";
+		COSStream stream = (COSStream) profileStream.getDirectBase();
+		if (stream.getFilterFlags() == COSStream.FilterFlags.RAW_DATA) {
+			filters = stream.getFilters().getFilters();
+			StringBuilder builder = new StringBuilder();
+			if (!appendParameters(builder, profileStream.getKey(ASAtom.DECODE_PARMS), 0)) {
+				return null;
+			}
+			parameters = builder.toString();
+		}
+		byte[] rawData;
+		try (ASInputStream data = profileStream.getData(COSStream.FilterFlags.RAW_DATA)) {
+			rawData = TypeConverter.inputStreamToByteArray(data);
+		}
+		return createKey(rawData, filters, parameters);
+	}
+
+	private static CacheKey createKey(byte[] rawData, List<ASAtom> filters, String parameters) {
+		CRC32 crc = new CRC32();
+		crc.update(rawData, 0, rawData.length);
+		Adler32 adler = new Adler32();
+		adler.update(rawData, 0, rawData.length);
+		return new CacheKey(rawData.length, crc.getValue() << 32 | adler.getValue(), filters, parameters);
+	}
+
+	/**
+	 * Appends canonical representation of decode parameters. Keys of
+	 * dictionaries are sorted, so equal parameters have equal representation.
+	 *
+	 * @return false if parameters contain values that can't be compared this
+	 * way, e.g. streams. Profiles with such parameters are not cached.
+	 */
+	private static boolean appendParameters(StringBuilder builder, COSObject parameters, int depth) {
+		if (parameters == null || parameters.empty()) {
+			return true;
+		}
+		if (depth > MAX_PARAMETERS_DEPTH) {
+			return false;
+		}
+		switch (parameters.getType()) {
+			case COS_NULL:
+				builder.append("null");
+				return true;
+			case COS_BOOLEAN:
+				builder.append(parameters.getBoolean());
+				return true;
+			case COS_INTEGER:
+				builder.append(parameters.getInteger());
+				return true;
+			case COS_REAL:
+				builder.append(parameters.getReal());
+				return true;
+			case COS_NAME:
+				builder.append('/').append(parameters.getName().getValue());
+				return true;
+			case COS_ARRAY:
+				builder.append('[');
+				for (int i = 0; i < parameters.size(); ++i) {
+					builder.append(' ');
+					if (!appendParameters(builder, parameters.at(i), depth + 1)) {
+						return false;
+					}
+				}
+				builder.append(']');
+				return true;
+			case COS_DICT:
+				List<ASAtom> keys = new ArrayList<>(parameters.getKeySet());
+				keys.sort(Comparator.comparing(ASAtom::getValue));
+				builder.append("<<");
+				for (ASAtom key : keys) {
+					builder.append('/').append(key.getValue()).append(' ');
+					if (!appendParameters(builder, parameters.getKey(key), depth + 1)) {
+						return false;
+					}
+				}
+				builder.append(">>");
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	private static final class CacheKey {
+
+		private final int length;
+		private final long checksum;
+		private final List<ASAtom> filters;
+		private final String parameters;
+		private final int hash;
+
+		private CacheKey(int length, long checksum, List<ASAtom> filters, String parameters) {
+			this.length = length;
+			this.checksum = checksum;
+			this.filters = new ArrayList<>(filters);
+			this.parameters = parameters;
+			int result = length;
+			result = 31 * result + Long.hashCode(checksum);
+			result = 31 * result + this.filters.hashCode();
+			result = 31 * result + parameters.hashCode();
+			this.hash = result;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (!(o instanceof CacheKey)) return false;
+
+			CacheKey that = (CacheKey) o;
+
+			return length == that.length && checksum == that.checksum && filters.equals(that.filters) &&
+			       parameters.equals(that.parameters);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+}
@@ -0,0 +1,379 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.external;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.verapdf.external.ICCProfile.*;
+
+/**
+ * Values of ICC profile that are obtained from profile data: header, creation
+ * date, description and copyright tags and MD5 of profile. All values are
+ * computed from decoded profile data at once. Objects are immutable and can be
+ * shared between profiles with the same data.
+ */
+final class ICCProfileData {
+
+	private static final Logger LOGGER = Logger.getLogger(ICCProfileData.class.getCanonicalName());
+
+	/** Offset of creation year byte */
+	private static final int CREATION_YEAR_OFFSET = 24;
+	/** Offset of creation month byte */
+	private static final int CREATION_MONTH_OFFSET = 26;
+	/** Offset of creation day byte */
+	private static final int CREATION_DAY_OFFSET = 28;
+	/** Offset of creation hour byte */
+	private static final int CREATION_HOUR_OFFSET = 30;
+	/** Offset of creation min byte */
+	private static final int CREATION_MIN_OFFSET = 32;
+	/** Offset of creation sec byte */
+	private static final int CREATION_SEC_OFFSET = 34;
+	/** Offset of profile flags */
+	private static final int PROFILE_FLAGS_OFFSET = 44;
+
+	static final ICCProfileData INVALID = new ICCProfileData(new byte[0], false, null, null, new byte[0]);
+
+	private final byte[] header;
+	private final Calendar creationDate;
+	private final boolean isLooksValid;
+	private final String description;
+	private final String copyright;
+	private final byte[] md5;
+
+	private ICCProfileData(byte[] header, boolean isLooksValid, String description, String copyright, byte[] md5) {
+		this.header = header;
+		this.creationDate = parseCreationDate(header);
+		this.isLooksValid = isLooksValid;
+		this.description = description;
+		this.copyright = copyright;
+		this.md5 = md5;
+	}
+
+	/**
+	 * Parses header and tags of profile and computes its MD5 if header does not
+	 * contain profile id.
+	 *
+	 * @param data is decoded profile data.
+	 */
+	static ICCProfileData parse(byte[] data) {
+		byte[] header = Arrays.copyOf(data, Math.min(data.length, HEADER_LENGTH));
+		Cursor cursor = new Cursor(data);
+		String[] tags = parseTags(cursor);
+		byte[] md5 = getSubArray(header, PROFILE_ID_OFFSET, PROFILE_ID_LENGTH) == null ? computeMD5(data, header) : null;
+		boolean isLooksValid = header.length == HEADER_LENGTH && !cursor.isMalformed;
+		return new ICCProfileData(header, isLooksValid, tags[0], tags[1], md5);
+	}
+
+	byte[] getHeader() {
+		return header;
+	}
+
+	/**
+	 * @return copy of creation date or null if header contains zero creation
+	 * date.
+	 */
+	Calendar getCreationDate() {
+		return creationDate == null ? null : (Calendar) creationDate.clone();
+	}
+
+	boolean isLooksValid() {
+		return isLooksValid;
+	}
+
+	String getDescription() {
+		return description;
+	}
+
+	String getCopyright() {
+		return copyright;
+	}
+
+	/**
+	 * @return MD5 of profile, empty array if it can't be computed or null if
+	 * header contains profile id.
+	 */
+	byte[] getMD5() {
+		return md5;
+	}
+
+	static String getSubArray(byte[] bytes, int start, int length) {
+		if (start + length <= bytes.length) {
+			byte[] buffer = Arrays.copyOfRange(bytes, start, start + length);
+			if (isNotAllZero(buffer)) {
+				return new String(buffer, StandardCharsets.ISO_8859_1);
+			} else {
+				return null;
+			}
+		}
+		LOGGER.log(Level.FINE, "Length of given byte array less than " + (start + length));
+		return null;
+	}
+
+	static boolean isNotAllZero(byte[] buffer) {
+		for (byte b : buffer) {
+			if (b != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static byte[] computeMD5(byte[] data, byte[] header) {
+		int iccProfileSize = getSize(header);
+		if (iccProfileSize < 0 || data.length < iccProfileSize) {
+			return new byte[0];
+		}
+		byte[] buffer = Arrays.copyOf(data, iccProfileSize);
+		setZero(buffer, PROFILE_FLAGS_OFFSET, PROFILE_FLAGS_OFFSET + REQUIRED_LENGTH);
+		setZero(buffer, RENDERING_INTENT_OFFSET, RENDERING_INTENT_OFFSET + REQUIRED_LENGTH);
+		setZero(buffer, PROFILE_ID_OFFSET, PROFILE_ID_OFFSET + PROFILE_ID_LENGTH);
+		try {
+			return MessageDigest.getInstance("MD5").digest(buffer);
+		} catch (NoSuchAlgorithmException e) {
+			LOGGER.log(Level.FINE, "Exception during calculating ICCProfile md5 value", e);
+			return new byte[0];
+		}
+	}
+
+	private static void setZero(byte[] buffer, int offset, int end) {
+		if (end > buffer.length) {
+			return;
+		}
+		Arrays.fill(buffer, offset, end, (byte) 0);
+	}
+
+	private static Calendar parseCreationDate(byte[] header) {
+		int year = getCreationPart(header, CREATION_YEAR_OFFSET);
+		int month = getCreationPart(header, CREATION_MONTH_OFFSET);
+		int day = getCreationPart(header, CREATION_DAY_OFFSET);
+		int hour = getCreationPart(header, CREATION_HOUR_OFFSET);
+		int min = getCreationPart(header, CREATION_MIN_OFFSET);
+		int sec = getCreationPart(header, CREATION_SEC_OFFSET);
+
+		if (year != 0 || month != 0 || day != 0 || hour != 0 || min != 0 || sec != 0) {
+			GregorianCalendar cal = new GregorianCalendar(TimeZone.getTimeZone("UTC"), Locale.US);
+			cal.set(year, month - 1, day, hour, min, sec);
+			cal.set(Calendar.MILLISECOND, 0);
+			return cal;
+		}
+		return null;
+	}
+
+	private static int getCreationPart(byte[] header, int off) {
+		if (header.length < off + 2) {
+			return 0;
+		}
+		int part = header[off] & 0xFF;
+		part <<= 8;
+		part += header[off + 1] & 0xFF;
+		return part;
+	}
+
+	private static int getSize(byte[] header) {
+		if (header.length < 4) {
+			return header.length;
+		}
+		int part = header[0] & 0xFF;
+		for (int i = 1; i < 4; i++) {
+			part <<= 8;
+			part += header[i] & 0xFF;
+		}
+		return part;
+	}
+
+	/**
+	 * @return array of description and copyright of profile.
+	 */
+	private static String[] parseTags(Cursor data) {
+		String[] res = new String[2];
+		int currentOffset = data.skip(HEADER_LENGTH);
+		if (currentOffset != HEADER_LENGTH) {
+			return res;
+		}
+
+		byte[] temp = new byte[REQUIRED_LENGTH];
+		currentOffset += data.read(temp, REQUIRED_LENGTH);
+		if (currentOffset != HEADER_LENGTH + REQUIRED_LENGTH) {
+			return res;
+		}
+		int tagsNumberRemained = byteArrayToInt(temp);
+		int descOffset = 0;
+		int descLength = 0;
+		int cprtOffset = 0;
+		int cprtLength = 0;
+		while (tagsNumberRemained-- > 0) {
+			int prevOffset = currentOffset;
+			currentOffset += data.read(temp, REQUIRED_LENGTH);
+			String tag = new String(temp, StandardCharsets.ISO_8859_1);
+			if ("desc".equals(tag)) {
+				currentOffset += data.read(temp, REQUIRED_LENGTH);
+				descOffset = byteArrayToInt(temp);
+				currentOffset += data.read(temp, REQUIRED_LENGTH);
+				descLength = byteArrayToInt(temp);
+			} else if ("cprt".equals(tag)) {
+				currentOffset += data.read(temp, REQUIRED_LENGTH);
+				cprtOffset = byteArrayToInt(temp);
+				currentOffset += data.read(temp, REQUIRED_LENGTH);
+				cprtLength = byteArrayToInt(temp);
+			} else {
+				currentOffset += data.skip(TAGINFO_LENGTH - REQUIRED_LENGTH);
+			}
+
+			if (currentOffset != prevOffset + TAGINFO_LENGTH) {
+				return res;
+			}
+		}
+		if (descLength != 0) {
+			res[0] = getTagValue(data, descOffset, descLength, false);
+		}
+		if (cprtLength != 0) {
+			res[1] = getTagValue(data, cprtOffset, cprtLength, true);
+		}
+		return res;
+	}
+
+	private static String getTagValue(Cursor data, int tagOffset, int tagLength, boolean isCprt) {
+		data.reset();
+		int currOffset = data.skip(tagOffset);
+		if (currOffset != tagOffset) {
+			data.isMalformed = true;
+			return null;
+		}
+
+		byte[] temp = new byte[REQUIRED_LENGTH];
+		currOffset += data.read(temp, REQUIRED_LENGTH);
+		if (currOffset != tagOffset + REQUIRED_LENGTH) {
+			return null;
+		}
+		String type = new String(temp, StandardCharsets.ISO_8859_1);
+		if ("mluc".equals(type)) {
+			int prevOffset = currOffset;
+
+			currOffset += data.skip(REQUIRED_LENGTH);
+			currOffset += data.read(temp, REQUIRED_LENGTH);
+			currOffset += data.skip(REQUIRED_LENGTH);
+			if (currOffset != prevOffset + REQUIRED_LENGTH * 3) {
+				return null;
+			}
+			int number = byteArrayToInt(temp);
+			for (int i = 0; i < number; ++i) {
+				prevOffset = currOffset;
+
+				currOffset += data.read(temp, REQUIRED_LENGTH);
+				String local = getSubArray(temp, 0, REQUIRED_LENGTH);
+				if ("enUS".equals(local)) {
+					currOffset += data.read(temp, REQUIRED_LENGTH);
+					int length = byteArrayToInt(temp);
+					currOffset += data.read(temp, REQUIRED_LENGTH);
+					int offset = byteArrayToInt(temp);
+					if (currOffset != prevOffset + REQUIRED_LENGTH * 3) {
+						return null;
+					}
+					data.reset();
+					currOffset = data.skip(offset);
+					if (currOffset == offset && data.available() >= length && length >= 0) {
+						return new String(data.data, currOffset, length, StandardCharsets.UTF_16BE).trim();
+					}
+					data.isMalformed = true;
+					return null;
+				}
+				currOffset += data.skip(REQUIRED_LENGTH * 2);
+				if (currOffset != prevOffset + REQUIRED_LENGTH * 3) {
+					return null;
+				}
+			}
+		} else if ("desc".equals(type)) {
+			int prevOffset = currOffset;
+			currOffset += data.skip(REQUIRED_LENGTH);
+			currOffset += data.read(temp, REQUIRED_LENGTH);
+			if (currOffset != prevOffset + REQUIRED_LENGTH * 2) {
+				return null;
+			}
+			int length = byteArrayToInt(temp);
+			if (length >= 0 && data.available() >= length) {
+				return new String(data.data, data.position, length, StandardCharsets.US_ASCII).trim();
+			}
+			data.isMalformed = true;
+		} else if (isCprt) {
+			int length = tagLength - REQUIRED_LENGTH;
+			if (length >= 0 && data.available() >= length) {
+				return new String(data.data, data.position, length, StandardCharsets.US_ASCII).trim();
+			}
+			data.isMalformed = true;
+		}
+		return null;
+	}
+
+	private static int byteArrayToInt(byte[] b) {
+		int value = 0;
+		for (int i = 0; i < 4; ++i) {
+			int shift = (3 - i) * 8;
+			value += (b[i] & 0xFF) << shift;
+		}
+		return value;
+	}
+
+	/**
+	 * Reading position in profile data. Reads and skips behave as reads and
+	 * skips of decoded profile stream.
+	 */
+	private static final class Cursor {
+
+		private final byte[] data;
+		private int position = 0;
+		// true if tag table refers to data outside of profile
+		private boolean isMalformed = false;
+
+		private Cursor(byte[] data) {
+			this.data = data;
+		}
+
+		private void reset() {
+			this.position = 0;
+		}
+
+		private int available() {
+			return this.data.length - this.position;
+		}
+
+		private int skip(int size) {
+			int skipped = Math.max(Math.min(size, available()), 0);
+			this.position += skipped;
+			return skipped;
+		}
+
+		private int read(byte[] buffer, int size) {
+			int read = Math.max(Math.min(size, available()), 0);
+			System.arraycopy(this.data, this.position, buffer, 0, read);
+			this.position += read;
+			return read;
+		}
+	}
+}
@@ -0,0 +1,324 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.external;
+
+import org.verapdf.as.ASAtom;
+import org.verapdf.as.io.ASInputStream;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Dimensions, number of components and bit depth of an image read from the
+ * header of DCT, JPX or JBIG2 codestream. Only headers are read, pixels are
+ * never decoded. Values that can't be found in the header are null.
+ */
+public class ImageMetadata {
+
+    private static final Logger LOGGER = Logger.getLogger(ImageMetadata.class.getCanonicalName());
+
+    public static final ImageMetadata UNKNOWN = new ImageMetadata(null, null, null, null);
+
+    private static final int JPEG_SOI = 0xFFD8;
+    private static final int JPEG_SOS = 0xDA;
+    private static final int JPEG_EOI = 0xD9;
+    private static final int JPEG_DHT = 0xC4;
+    private static final int JPEG_JPG = 0xC8;
+    private static final int JPEG_DAC = 0xCC;
+
+    private static final long JP2_SIGNATURE_BOX_LENGTH = 12;
+    private static final long JP2_SIGNATURE_BOX_TYPE = 0x6A502020L;
+    private static final long JP2_HEADER_BOX_TYPE = 0x6A703268L;
+    private static final long JP2_IMAGE_HEADER_BOX_TYPE = 0x69686472L;
+    private static final long JP2_CODESTREAM_BOX_TYPE = 0x6A703263L;
+    // start of codestream marker followed by image and tile size marker
+    private static final long J2K_SOC_SIZ = 0xFF4FFF51L;
+
+    private static final int JBIG2_PAGE_INFORMATION = 48;
+    private static final int JBIG2_END_OF_FILE = 51;
+    private static final long JBIG2_UNKNOWN_LENGTH = 0xFFFFFFFFL;
+    private static final byte[] JBIG2_FILE_HEADER_ID = {(byte) 0x97, 0x4A, 0x42, 0x32, 0x0D, 0x0A, 0x1A, 0x0A};
+
+    private final Long width;
+    private final Long height;
+    private final Long numberOfComponents;
+    private final Long bitsPerComponent;
+
+    private ImageMetadata(Long width, Long height, Long numberOfComponents, Long bitsPerComponent) {
+        this.width = width;
+        this.height = height;
+        this.numberOfComponents = numberOfComponents;
+        this.bitsPerComponent = bitsPerComponent;
+    }
+
+    /**
+     * Reads image metadata from the header of codestream.
+     *
+     * @param filter is image compression filter: DCTDecode, JPXDecode or JBIG2Decode.
+     * @param stream is codestream, that is image data decoded by all preceding filters.
+     * @return image metadata, {@link #UNKNOWN} if filter is not supported or
+     * header can't be read.
+     */
+    public static ImageMetadata fromStream(ASAtom filter, ASInputStream stream) {
+        if (stream == null) {
+            return UNKNOWN;
+        }
+        try {
+            if (filter == ASAtom.DCT_DECODE) {
+                return readDCT(new Reader(stream));
+            } else if (filter == ASAtom.JPX_DECODE) {
+                return readJPX(new Reader(stream));
+            } else if (filter == ASAtom.JBIG2_DECODE) {
+                return readJBIG2(new Reader(stream));
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Can't read header of " + filter + " image data", e);
+        }
+        return UNKNOWN;
+    }
+
+    private static ImageMetadata readDCT(Reader reader) throws IOException {
+        if (reader.readUnsigned(2) != JPEG_SOI) {
+            return UNKNOWN;
+        }
+        while (true) {
+            if (reader.read() != 0xFF) {
+                continue;
+            }
+            int marker = reader.read();
+            while (marker == 0xFF) {
+                marker = reader.read();
+            }
+            if (marker == JPEG_SOS || marker == JPEG_EOI) {
+                return UNKNOWN;
+            }
+            if (marker == 0x00 || marker == 0x01 || (marker >= 0xD0 && marker <= 0xD8)) {
+                // markers without segment
+                continue;
+            }
+            long length = reader.readUnsigned(2);
+            if (marker >= 0xC0 && marker <= 0xCF && marker != JPEG_DHT && marker != JPEG_JPG && marker != JPEG_DAC) {
+                long precision = reader.read();
+                long height = reader.readUnsigned(2);
+                long width = reader.readUnsigned(2);
+                long components = reader.read();
+                return new ImageMetadata(width, height == 0 ? null : height, components, precision);
+            }
+            reader.skip(length - 2);
+        }
+    }
+
+    private static ImageMetadata readJPX(Reader reader) throws IOException {
+        long first = reader.readUnsigned(4);
+        if (first == J2K_SOC_SIZ) {
+            return readJ2KSize(reader);
+        }
+        if (first != JP2_SIGNATURE_BOX_LENGTH || reader.readUnsigned(4) != JP2_SIGNATURE_BOX_TYPE) {
+            return UNKNOWN;
+        }
+        reader.skip(4);
+        return readJP2Boxes(reader, -1);
+    }
+
+    /**
+     * Reads boxes up to the image header box or the codestream.
+     *
+     * @param left is amount of bytes left in superbox or -1 for top level boxes.
+     */
+    private static ImageMetadata readJP2Boxes(Reader reader, long left) throws IOException {
+        while (left != 0) {
+            long length = reader.readUnsigned(4);
+            long type = reader.readUnsigned(4);
+            long headerLength = 8;
+            if (length == 1) {
+                length = reader.readUnsigned(8);
+                headerLength = 16;
+            }
+            if (type == JP2_HEADER_BOX_TYPE) {
+                return readJP2Boxes(reader, length == 0 ? -1 : length - headerLength);
+            } else if (type == JP2_IMAGE_HEADER_BOX_TYPE) {
+                long height = reader.readUnsigned(4);
+                long width = reader.readUnsigned(4);
+                long components = reader.readUnsigned(2);
+                int bitDepth = reader.read();
+                // value 255 means that components have different bit depths
+                return new ImageMetadata(width, height, components, bitDepth == 0xFF ? null : (long) (bitDepth & 0x7F) + 1);
+            } else if (type == JP2_CODESTREAM_BOX_TYPE) {
+                if (reader.readUnsigned(4) != J2K_SOC_SIZ) {
+                    return UNKNOWN;
+                }
+                return readJ2KSize(reader);
+            }
+            if (length == 0 || length < headerLength) {
+                return UNKNOWN;
+            }
+            reader.skip(length - headerLength);
+            if (left > 0) {
+                left = Math.max(left - length, 0);
+            }
+        }
+        return UNKNOWN;
+    }
+
+    private static ImageMetadata readJ2KSize(Reader reader) throws IOException {
+        reader.skip(4);
+        long xSize = reader.readUnsigned(4);
+        long ySize = reader.readUnsigned(4);
+        long xOffset = reader.readUnsigned(4);
+        long yOffset = reader.readUnsigned(4);
+        reader.skip(16);
+        long components = reader.readUnsigned(2);
+        Long bitDepth = null;
+        for (int i = 0; i < components; ++i) {
+            long componentBitDepth = (reader.read() & 0x7F) + 1;
+            reader.skip(2);
+            if (i == 0) {
+                bitDepth = componentBitDepth;
+            } else if (bitDepth != null && bitDepth != componentBitDepth) {
+                bitDepth = null;
+            }
+        }
+        return new ImageMetadata(xSize - xOffset, ySize - yOffset, components, bitDepth);
+    }
+
+    private static ImageMetadata readJBIG2(Reader reader) throws IOException {
+        byte[] start = reader.peek(JBIG2_FILE_HEADER_ID.length);
+        if (Arrays.equals(start, JBIG2_FILE_HEADER_ID)) {
+            reader.skip(JBIG2_FILE_HEADER_ID.length);
+            int flags = reader.read();
+            if ((flags & 1) == 0) {
+                // segment data of random-access organization follows all segment headers
+                return UNKNOWN;
+            }
+            if ((flags & 2) == 0) {
+                reader.skip(4);
+            }
+        }
+        while (true) {
+            long segmentNumber = reader.readUnsigned(4);
+            int flags = reader.read();
+            int type = flags & 0x3F;
+            int referredSegmentsByte = reader.read();
+            long referredSegments = referredSegmentsByte >> 5;
+            if (referredSegments == 7) {
+                referredSegments = ((long) (referredSegmentsByte & 0x1F) << 24) | reader.readUnsigned(3);
+                reader.skip((referredSegments + 8) / 8);
+            } else if (referredSegments > 4) {
+                return UNKNOWN;
+            }
+            int referredSegmentNumberSize = segmentNumber <= 256 ? 1 : segmentNumber <= 65536 ? 2 : 4;
+            reader.skip(referredSegments * referredSegmentNumberSize);
+            reader.skip((flags & 0x40) != 0 ? 4 : 1);
+            long dataLength = reader.readUnsigned(4);
+            if (type == JBIG2_PAGE_INFORMATION) {
+                long width = reader.readUnsigned(4);
+                long height = reader.readUnsigned(4);
+                return new ImageMetadata(width, height == JBIG2_UNKNOWN_LENGTH ? null : height, 1L, 1L);
+            }
+            if (type == JBIG2_END_OF_FILE || dataLength == JBIG2_UNKNOWN_LENGTH) {
+                return UNKNOWN;
+            }
+            reader.skip(dataLength);
+        }
+    }
+
+    public Long getWidth() {
+        return width;
+    }
+
+    public Long getHeight() {
+        return height;
+    }
+
+    public Long getNumberOfComponents() {
+        return numberOfComponents;
+    }
+
+    /**
+     * @return bit depth of components or null if it is unknown or differs
+     * between components.
+     */
+    public Long getBitsPerComponent() {
+        return bitsPerComponent;
+    }
+
+    private static class Reader {
+
+        private final ASInputStream stream;
+        private byte[] peeked;
+        private int peekedPosition;
+
+        private Reader(ASInputStream stream) {
+            this.stream = stream;
+        }
+
+        private byte[] peek(int count) throws IOException {
+            byte[] res = new byte[count];
+            int read = 0;
+            while (read < count) {
+                int current = stream.read(res, read, count - read);
+                if (current <= 0) {
+                    break;
+                }
+                read += current;
+            }
+            this.peeked = Arrays.copyOf(res, read);
+            this.peekedPosition = 0;
+            return res;
+        }
+
+        private int read() throws IOException {
+            if (peeked != null && peekedPosition < peeked.length) {
+                return peeked[peekedPosition++] & 0xFF;
+            }
+            int res = stream.read();
+            if (res == -1) {
+                throw new EOFException("Unexpected end of image data");
+            }
+            return res;
+        }
+
+        private long readUnsigned(int count) throws IOException {
+            long res = 0;
+            for (int i = 0; i < count; ++i) {
+                res = (res << 8) | read();
+            }
+            return res;
+        }
+
+        private void skip(long count) throws IOException {
+            while (count > 0 && peeked != null && peekedPosition < peeked.length) {
+                ++peekedPosition;
+                --count;
+            }
+            while (count > 0) {
+                int skipped = stream.skip((int) Math.min(count, Integer.MAX_VALUE));
+                if (skipped <= 0) {
+                    throw new EOFException("Unexpected end of image data");
+                }
+                count -= skipped;
+            }
+        }
+    }
+}
@@ -21,6 +21,7 @@
 package org.verapdf.external;
 
 import org.verapdf.as.io.ASInputStream;
+import org.verapdf.io.SeekableInputStream;
 import org.verapdf.pd.colors.PDColorSpace;
 import org.verapdf.pd.colors.PDDeviceCMYK;
 import org.verapdf.pd.colors.PDICCBased;
@@ -47,12 +48,13 @@ public class JPEG2000 {
     private static final Boolean DEFAULT_BPCC_BOX_PRESENT = Boolean.FALSE;
     private static final PDColorSpace DEFAULT_COLOR_SPACE = null;
     private static final double[] ILLUMINANT_D50 = {0.9642, 1.0000, 0.8251};
-    private static final byte[] sign = {0x00, 0x00, 0x00, 0x0C, 0x6A, 0x50, 0x20, 0x20, 0x0D, 0x0A, -0x79, 0x0A};
+    private static final byte[] SIGNATURE = {0x00, 0x00, 0x00, 0x0C, 0x6A, 0x50, 0x20, 0x20, 0x0D, 0x0A, -0x79, 0x0A};
 
-    private static final byte[] header = {0x6A, 0x70, 0x32, 0x68};
-    private static final byte[] ihdr = {0x69, 0x68, 0x64, 0x72};
-    private static final byte[] bpcc = {0x62, 0x70, 0x63, 0x63};
-    private static final byte[] colr = {0x63, 0x6F, 0x6C, 0x72};
+    // box types 'jp2h', 'ihdr', 'bpcc' and 'colr'
+    private static final int JP2H = 0x6A703268;
+    private static final int IHDR = 0x69686472;
+    private static final int BPCC = 0x62706363;
+    private static final int COLR = 0x636F6C72;
 
     private final Long nrColorChannels;
     private final Long nrColorSpaceSpecs;
@@ -75,26 +77,28 @@ public class JPEG2000 {
     }
 
     /**
-     * Creates new JPEG2000 object
+     * Creates new JPEG2000 object. If stream is seekable then boxes that are
+     * not parsed, e.g. contiguous codestream box, are skipped by seeking, so
+     * only signature and header boxes are read.
      *
      * @param stream image stream to parse
      * @return created JPEG2000 object
      */
     public static JPEG2000 fromStream(ASInputStream stream) {
         Builder builder = new Builder();
+        BoxReader reader = new BoxReader(stream);
 
-        byte[] tempSign = new byte[12];
         try {
             // Check if the stream starts with valid jp2 signature
-            if (stream.read(tempSign, tempSign.length) != 12 || !isValidSignature(tempSign)) {
+            if (!reader.readFully(SIGNATURE.length) || !reader.matches(SIGNATURE)) {
                 LOGGER.log(Level.FINE, "File contains wrong signature");
                 return builder.build();
             }
             // Finding the beginning of the header box content
-            long headerLeft = findHeader(stream);
+            long headerLeft = findHeader(reader);
 
             if (headerLeft >= 0) {
-                parseHeader(stream, headerLeft, builder);
+                parseHeader(reader, headerLeft, builder);
             }
 
         } catch (IOException e) {
@@ -103,7 +107,7 @@ public class JPEG2000 {
         return builder.build();
     }
 
-    private static void parseHeader(final ASInputStream stream, final long headerLeft, final Builder builder) throws IOException {
+    private static void parseHeader(final BoxReader reader, final long headerLeft, final Builder builder) throws IOException {
         long leftInHeader = headerLeft;
         boolean isHeaderReachEnd = leftInHeader == 0;
         Long nrColorSpaceSpecs = null;
@@ -116,52 +120,36 @@ public class JPEG2000 {
         PDColorSpace firstColorSpace = null;
         PDColorSpace colorSpace = null;
 
-        while (true) {
-            byte[] lbox = new byte[4];
-            byte[] tbox = new byte[4];
-            if (stream.read(lbox, lbox.length) != 4 || stream.read(tbox, tbox.length) != 4) {
-                break;
-            }
-            int skipped = 8;
-            long length = convertArrayToLong(lbox);
-            if (length == 1) {
-                byte[] xlbox = new byte[8];
-                if (stream.read(xlbox, xlbox.length) != 8) {
-                    break;
-                }
-                length = convertArrayToLong(xlbox);
-                skipped = 16;
-            }
+        while (reader.nextBox()) {
+            long length = reader.getBoxLength();
             if (length < 0 || (!isHeaderReachEnd && (length == 0 || length > leftInHeader))) {
                 break;
             }
-            long leftInBox = length - skipped;
+            long leftInBox = length - reader.getBoxHeaderLength();
+            int boxType = reader.getBoxType();
 
-            if (matches(tbox, ihdr)) {
+            if (boxType == IHDR) {
                 if (leftInBox != 14 && length != 0) {
                     LOGGER.log(Level.FINE, "Image header content does not contain 14 bytes");
                     break;
                 }
-                skipBytes(stream, 8);
-                byte[] nc = new byte[2];
-                if (stream.read(nc, nc.length) != 2) {
+                reader.skip(8);
+                if (!reader.readFully(2)) {
                     LOGGER.log(Level.FINE, "Can not read number of components");
                     break;
                 }
-                long ncColorChannels = convertArrayToLong(nc);
-                builder.nrColorChannels(ncColorChannels);
-                byte[] bpc = new byte[1];
-                if (stream.read(bpc, bpc.length) != 1) {
+                builder.nrColorChannels(reader.getUnsigned(0, 2));
+                if (!reader.readFully(1)) {
                     LOGGER.log(Level.FINE, "Can not read bitDepth");
                     break;
                 }
-                long bitDepth = bpc[0] + 1;
+                long bitDepth = reader.getByte(0) + 1;
                 builder.bitDepth(bitDepth);
-                skipBytes(stream, 3);
-            } else if (matches(tbox, bpcc)) {
+                reader.skip(3);
+            } else if (boxType == BPCC) {
                 builder.bpccBoxPresent(Boolean.TRUE);
-                skipBytes(stream, leftInBox);
-            } else if (matches(tbox, colr)) {
+                reader.skip(leftInBox);
+            } else if (boxType == COLR) {
                 if (leftInBox < 3) {
                     LOGGER.log(Level.FINE, "Founded 'colr' box with length less than 3");
                     break;
@@ -171,22 +159,20 @@ public class JPEG2000 {
                 } else {
                     ++nrColorSpaceSpecs;
                 }
-                byte[] meth = new byte[1];
-                if (stream.read(meth, meth.length) != 1) {
+                if (!reader.readFully(1)) {
                     LOGGER.log(Level.FINE, "Can not read METH");
                     break;
                 }
-                long methValue = convertArrayToLong(meth);
+                long methValue = reader.getUnsigned(0, 1);
                 if (firstColrMethod == null) {
                     firstColrMethod = methValue;
                 }
-                skipBytes(stream, 1);
-                byte[] approx = new byte[1];
-                if (stream.read(approx, approx.length) != 1) {
+                // PREC field is skipped together with reading APPROX
+                if (!reader.readFully(2)) {
                     LOGGER.log(Level.FINE, "Can not read APPROX");
                     break;
                 }
-                long approxValue = convertArrayToLong(approx);
+                long approxValue = reader.getUnsigned(1, 1);
                 if (approxValue == 1) {
                     if (nrColorSpacesWithApproxField == null) {
                         nrColorSpacesWithApproxField = 1L;
@@ -203,13 +189,12 @@ public class JPEG2000 {
                         LOGGER.log(Level.FINE, "Founded 'colr' box with meth value 1 and length less than 7");
                         break;
                     }
-                    byte[] enumCS = new byte[4];
-                    if (stream.read(enumCS, enumCS.length) != 4) {
+                    if (!reader.readFully(4)) {
                         LOGGER.log(Level.FINE, "Can not read EnumCS");
                         break;
                     }
                     read += 4;
-                    long enumCSValue = convertArrayToLong(enumCS);
+                    long enumCSValue = reader.getUnsigned(0, 4);
                     if (firstColrEnumCS == null) {
                         firstColrEnumCS = enumCSValue;
                         firstColorSpace = createColorSpaceFromEnumValue(firstColrEnumCS);
@@ -220,24 +205,34 @@ public class JPEG2000 {
                         colorSpace = createColorSpaceFromEnumValue(colrEnumCS);
                     }
                 } else if (methValue == 2) {
-                    int profileLength = (int) (leftInBox - read);
-                    byte[] profile = new byte[profileLength];
-                    if (stream.read(profile, profileLength) != profileLength) {
-                        LOGGER.log(Level.FINE, "Can not read Profile");
+                    boolean isFirstProfile = doesFirstContainsColorSpace == null;
+                    boolean isApproxProfile = approxValue == 1 && colorSpace == null;
+                    long profileLength = leftInBox - read;
+                    if (profileLength > Integer.MAX_VALUE) {
+                        LOGGER.log(Level.FINE, "Profile in 'colr' box is too long");
                         break;
                     }
-                    read += profileLength;
-                    if (doesFirstContainsColorSpace == null) {
-                        firstColorSpace = createColorSpaceFromProfile(profile);
-                        doesFirstContainsColorSpace = firstColorSpace != null;
-                    }
-                    if (approxValue == 1 && colorSpace == null) {
-                        colorSpace = createColorSpaceFromProfile(profile);
+                    if (isFirstProfile || isApproxProfile) {
+                        byte[] profile = new byte[(int) profileLength];
+                        if (!reader.readFully(profile)) {
+                            LOGGER.log(Level.FINE, "Can not read Profile");
+                            break;
+                        }
+                        read += profileLength;
+                        // the same profile can be both the first and the approximate color space
+                        PDICCBased profileColorSpace = createColorSpaceFromProfile(profile);
+                        if (isFirstProfile) {
+                            firstColorSpace = profileColorSpace;
+                            doesFirstContainsColorSpace = firstColorSpace != null;
+                        }
+                        if (isApproxProfile) {
+                            colorSpace = profileColorSpace;
+                        }
                     }
                 }
-                skipBytes(stream, leftInBox - read);
+                reader.skip(leftInBox - read);
             } else {
-                skipBytes(stream, leftInBox);
+                reader.skip(leftInBox);
             }
 
             leftInHeader -= length;
@@ -373,79 +368,27 @@ public class JPEG2000 {
     /**
      * Finds the beginning of the header box content and returns its left length
      *
-     * @param stream image stream
+     * @param reader box reader of image stream
      * @return left length of the header box or -1 if it has not been found and 0 if it ends at the end of the stream
      * @throws IOException
      */
-    private static long findHeader(ASInputStream stream) throws IOException {
-        while (true) {
-            byte[] lbox = new byte[4];
-            byte[] tbox = new byte[4];
-            if (stream.read(lbox, lbox.length) != 4 || stream.read(tbox, tbox.length) != 4) {
-                return -1L;
-            }
-            int skipped = 8;
-            long length = convertArrayToLong(lbox);
-            if (length == 1) {
-                byte[] xlbox = new byte[8];
-                if (stream.read(xlbox, xlbox.length) != 8) {
-                    return -1L;
-                }
-                length = convertArrayToLong(xlbox);
-                skipped = 16;
-            }
-            long left = length - skipped;
+    private static long findHeader(BoxReader reader) throws IOException {
+        while (reader.nextBox()) {
+            long length = reader.getBoxLength();
+            long left = length - reader.getBoxHeaderLength();
             // Check is current box a header
-            if (matches(tbox, header)) {
+            if (reader.getBoxType() == JP2H) {
                 if (length == 0) {
                     return 0;
                 }
-				return left <= 0 ? -1L : left;
-            }
-			if (length == 0 || left < 0) {
-			    return -1L;
-			}
-			skipBytes(stream, left);
-        }
-    }
-
-    private static void skipBytes(ASInputStream stream, long skipNumber) throws IOException {
-        while (skipNumber > 0) {
-            int needToSkip = (int) Math.min(skipNumber, Integer.MAX_VALUE);
-            int skipped = stream.skip(needToSkip);
-            if (skipped == 0) {
-                break;
+                return left <= 0 ? -1L : left;
             }
-            skipNumber -= skipped;
-        }
-    }
-
-    private static long convertArrayToLong(byte[] toConvert) {
-        if (toConvert.length < 1 || toConvert.length > 8) {
-            throw new IllegalArgumentException("Length of the converting byte array can not be greater than 8");
-        }
-        long res = 0;
-        for (byte aToConvert : toConvert) {
-            res <<= 8;
-            res += aToConvert & 0xff;
-        }
-        return res;
-    }
-
-    private static boolean isValidSignature(byte[] signature) {
-        return matches(signature, sign);
-    }
-
-    private static boolean matches(byte[] source, byte[] match) {
-        if (match.length != source.length) {
-            return false;
-        }
-        for (int i = 0; i < match.length; ++i) {
-            if (source[i] != match[i]) {
-                return false;
+            if (length == 0 || left < 0) {
+                return -1L;
             }
+            reader.skip(left);
         }
-        return true;
+        return -1L;
     }
 
     public PDColorSpace getImageColorSpace() {
@@ -480,6 +423,110 @@ public class JPEG2000 {
         return this.bpccBoxPresent;
     }
 
+    /**
+     * Reads box headers and box content fields into one reusable buffer. Box
+     * content is skipped by seeking if underlying stream is seekable.
+     */
+    private static final class BoxReader {
+
+        private static final int BUFFER_LENGTH = 16;
+
+        private final ASInputStream stream;
+        private final byte[] buffer = new byte[BUFFER_LENGTH];
+        private long boxLength;
+        private int boxHeaderLength;
+        private int boxType;
+
+        private BoxReader(ASInputStream stream) {
+            this.stream = stream;
+        }
+
+        /**
+         * Reads header of the next box.
+         *
+         * @return false if header can't be read.
+         */
+        private boolean nextBox() throws IOException {
+            if (!readFully(8)) {
+                return false;
+            }
+            this.boxLength = getUnsigned(0, 4);
+            this.boxType = (int) getUnsigned(4, 4);
+            this.boxHeaderLength = 8;
+            if (this.boxLength == 1) {
+                if (!readFully(8)) {
+                    return false;
+                }
+                this.boxLength = getUnsigned(0, 8);
+                this.boxHeaderLength = 16;
+            }
+            return true;
+        }
+
+        private long getBoxLength() {
+            return this.boxLength;
+        }
+
+        private int getBoxHeaderLength() {
+            return this.boxHeaderLength;
+        }
+
+        private int getBoxType() {
+            return this.boxType;
+        }
+
+        private boolean readFully(int length) throws IOException {
+            return this.stream.read(this.buffer, 0, length) == length;
+        }
+
+        private boolean readFully(byte[] data) throws IOException {
+            return data.length == 0 || this.stream.read(data, 0, data.length) == data.length;
+        }
+
+        private byte getByte(int offset) {
+            return this.buffer[offset];
+        }
+
+        private long getUnsigned(int offset, int length) {
+            long res = 0;
+            for (int i = offset; i < offset + length; ++i) {
+                res <<= 8;
+                res += this.buffer[i] & 0xff;
+            }
+            return res;
+        }
+
+        private boolean matches(byte[] match) {
+            for (int i = 0; i < match.length; ++i) {
+                if (this.buffer[i] != match[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void skip(long skipNumber) throws IOException {
+            if (skipNumber <= 0) {
+                return;
+            }
+            if (this.stream instanceof SeekableInputStream) {
+                SeekableInputStream seekable = (SeekableInputStream) this.stream;
+                long length = seekable.getStreamLength();
+                long offset = seekable.getOffset();
+                seekable.seek(skipNumber < length - offset ? offset + skipNumber : length);
+                return;
+            }
+            while (skipNumber > 0) {
+                int needToSkip = (int) Math.min(skipNumber, Integer.MAX_VALUE);
+                int skipped = this.stream.skip(needToSkip);
+                if (skipped == 0) {
+                    break;
+                }
+                skipNumber -= skipped;
+            }
+        }
+    }
+
     private static class Builder {
         private Long nrColorChannels = DEFAULT_NR_COLOR_CHANNELS;
         private Long nrColorSpaceSpecs = DEFAULT_NR_COLOR_SPACE_SPECS;
@@ -60,7 +60,8 @@ public class COSXRefTableReader {
 	public void set(final List<COSXRefInfo> infos) {
 		this.startXRef = 0;
 		this.offsets.clear();
-		this.trailer.clear();
+		// trailer of previously set section may be already in use, e.g. first-page trailer of linearized document
+		this.trailer = new COSTrailer();
 		this.startXRefs.clear();
 
 		if (infos == null || infos.isEmpty()) {
@@ -0,0 +1,400 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.io;
+
+import org.verapdf.as.io.ASInputStream;
+import org.verapdf.exceptions.VeraPDFParserException;
+import org.verapdf.tools.IntReference;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * Seekable stream that keeps data in memory as a list of direct byte buffers of
+ * fixed size. It is used for streams that are not backed by file, e.g. HTTP
+ * bodies or archive entries, so random access to them does not go through
+ * temporary file.
+ * <p>
+ * Total amount of memory kept by all open streams and by pool of released
+ * chunks is limited by {@link #setMemoryLimit(long)}. Stream that does not fit
+ * into memory left is written into temporary file.
+ * <p>
+ * In-memory streams are disabled by default: limit is
+ * {@link #DEFAULT_MEMORY_LIMIT}, i.e. 0, and
+ * {@link SeekableInputStream#getSeekableStream(InputStream)} writes all long
+ * streams into temporary files. Applications that parse many non-file inputs
+ * enable them by setting a limit of at least one chunk (64 KB), e.g. 64 MB,
+ * which bounds direct memory used by the parser regardless of amount of
+ * streams open at the same time.
+ */
+public class ChunkedInputStream extends SeekableInputStream {
+
+	private static final int CHUNK_SHIFT = 16;
+	static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+	private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+	public static final long DEFAULT_MEMORY_LIMIT = 0;
+
+	private static final Deque<ByteBuffer> POOL = new ArrayDeque<>();
+	private static long memoryLimit = DEFAULT_MEMORY_LIMIT;
+	// memory of chunks borrowed by streams, pooled chunks are not included
+	private static long memoryUsed = 0;
+
+	private final ByteBuffer[] chunks;
+	private final IntReference numOfChunksUsers;
+	private final long fromOffset;
+	private final long size;
+	private long offset;
+	private long resetPosition;
+
+	// view of chunk with own position, chunks themselves are shared between substreams
+	private ByteBuffer currentChunk;
+	private int currentChunkIndex = -1;
+
+	private ChunkedInputStream(ByteBuffer[] chunks, long fromOffset, long size, IntReference numOfChunksUsers) {
+		this.chunks = chunks;
+		this.fromOffset = fromOffset;
+		this.size = size;
+		this.numOfChunksUsers = numOfChunksUsers;
+		this.numOfChunksUsers.increment();
+	}
+
+	/**
+	 * @return maximal amount of bytes that all streams together with pool of
+	 * released chunks can keep in memory.
+	 */
+	public static synchronized long getMemoryLimit() {
+		return memoryLimit;
+	}
+
+	/**
+	 * Sets maximal amount of bytes that all streams together with pool of
+	 * released chunks can keep in memory. Streams that are already open keep
+	 * their memory even if it exceeds new limit.
+	 *
+	 * @param memoryLimit is new limit, value less than chunk size disables
+	 *                    in-memory streams.
+	 */
+	public static synchronized void setMemoryLimit(long memoryLimit) {
+		if (memoryLimit < 0) {
+			throw new IllegalArgumentException("Memory limit of chunked stream can't be negative");
+		}
+		ChunkedInputStream.memoryLimit = memoryLimit;
+		while (!POOL.isEmpty() && memoryUsed + (long) POOL.size() * CHUNK_SIZE > memoryLimit) {
+			POOL.poll();
+		}
+	}
+
+	/**
+	 * @return amount of bytes currently kept in memory by open streams.
+	 */
+	public static synchronized long getMemoryUsed() {
+		return memoryUsed;
+	}
+
+	public static synchronized boolean isEnabled() {
+		return memoryLimit >= CHUNK_SIZE;
+	}
+
+	/**
+	 * Creates seekable stream from data that was already read and data left in
+	 * stream. Data is kept in memory if it fits into memory left under memory
+	 * limit, otherwise it is written into temporary file.
+	 *
+	 * @param alreadyRead   is byte array of data that was already read from
+	 *                      the beginning of stream.
+	 * @param stream        is data left in stream.
+	 * @param maxStreamSize is maximal allowed size of stream or null.
+	 * @return seekable stream containing all data of passed stream.
+	 */
+	public static SeekableInputStream create(byte[] alreadyRead, InputStream stream,
+	                                         Integer maxStreamSize) throws IOException {
+		List<ByteBuffer> chunks = new ArrayList<>();
+		long length = 0;
+		boolean chunksPassed = false;
+		try {
+			byte[] buffer = alreadyRead;
+			int read = alreadyRead.length;
+			byte[] transfer = new byte[CHUNK_SIZE];
+			while (read != -1) {
+				if (maxStreamSize != null && length + read > maxStreamSize) {
+					throw new VeraPDFParserException("Maximum allowed stream size exceeded");
+				}
+				int stored = store(chunks, length, buffer, read);
+				length += stored;
+				if (stored < read) {
+					chunksPassed = true;
+					return spill(new ChunkedInputStream(chunks.toArray(new ByteBuffer[0]), 0, length, new IntReference()),
+					             new ByteArrayInputStream(buffer, stored, read - stored), stream, maxStreamSize);
+				}
+				buffer = transfer;
+				read = stream.read(transfer);
+			}
+			chunksPassed = true;
+			return new ChunkedInputStream(chunks.toArray(new ByteBuffer[0]), 0, length, new IntReference());
+		} finally {
+			if (!chunksPassed) {
+				for (ByteBuffer chunk : chunks) {
+					returnChunk(chunk);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Copies data into chunks, new chunks are added while memory limit allows.
+	 *
+	 * @return amount of stored bytes.
+	 */
+	private static int store(List<ByteBuffer> chunks, long length, byte[] data, int dataLength) {
+		int stored = 0;
+		while (stored < dataLength) {
+			int position = (int) (length & CHUNK_MASK);
+			if (position == 0 && length >> CHUNK_SHIFT == chunks.size()) {
+				ByteBuffer chunk = borrowChunk();
+				if (chunk == null) {
+					break;
+				}
+				chunks.add(chunk);
+			}
+			ByteBuffer chunk = chunks.get(chunks.size() - 1);
+			int toCopy = Math.min(CHUNK_SIZE - position, dataLength - stored);
+			chunk.position(position);
+			chunk.put(data, stored, toCopy);
+			stored += toCopy;
+			length += toCopy;
+		}
+		return stored;
+	}
+
+	/**
+	 * Writes data kept in memory, remaining bytes of last read and the rest of
+	 * source stream into temporary file. Memory chunks are released.
+	 */
+	private static SeekableInputStream spill(ChunkedInputStream head, InputStream pending, InputStream stream,
+	                                         Integer maxStreamSize) throws IOException {
+		try {
+			InputStream data = new SequenceInputStream(Collections.enumeration(
+					Arrays.asList(head, pending, stream)));
+			return InternalInputStream.createConcatenated(new byte[0], data, maxStreamSize);
+		} finally {
+			head.close();
+		}
+	}
+
+	/**
+	 * @return chunk from pool or newly allocated one, null if it does not fit
+	 * into memory limit.
+	 */
+	private static synchronized ByteBuffer borrowChunk() {
+		if (memoryUsed + CHUNK_SIZE > memoryLimit) {
+			return null;
+		}
+		memoryUsed += CHUNK_SIZE;
+		ByteBuffer res = POOL.poll();
+		if (res == null) {
+			return ByteBuffer.allocateDirect(CHUNK_SIZE);
+		}
+		res.clear();
+		return res;
+	}
+
+	private static synchronized void returnChunk(ByteBuffer chunk) {
+		memoryUsed -= CHUNK_SIZE;
+		if (memoryUsed + (long) (POOL.size() + 1) * CHUNK_SIZE <= memoryLimit) {
+			POOL.push(chunk);
+		}
+	}
+
+	static synchronized int getPoolSize() {
+		return POOL.size();
+	}
+
+	@Override
+	public int read() throws IOException {
+		checkClosed("Reading");
+		if (offset >= size) {
+			return -1;
+		}
+		ByteBuffer chunk = getChunk(fromOffset + offset);
+		offset++;
+		return chunk.get() & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] buffer, int size) throws IOException {
+		checkClosed("Reading");
+		if (buffer.length < size) {
+			throw new IllegalArgumentException("Destination buffer size is less than size to be read");
+		}
+		if (size < 0) {
+			return -1;
+		}
+		return read(buffer, 0, size);
+	}
+
+	@Override
+	public int read(byte[] buffer, int off, int size) throws IOException {
+		checkClosed("Reading");
+		if (off < 0 || size < 0 || size > buffer.length - off) {
+			throw new IndexOutOfBoundsException();
+		}
+		if (size == 0) {
+			return 0;
+		}
+		if (offset >= this.size) {
+			return -1;
+		}
+		int toRead = (int) Math.min(size, this.size - offset);
+		int read = 0;
+		while (read < toRead) {
+			ByteBuffer chunk = getChunk(fromOffset + offset);
+			int count = Math.min(chunk.remaining(), toRead - read);
+			chunk.get(buffer, off + read, count);
+			read += count;
+			offset += count;
+		}
+		return read;
+	}
+
+	/**
+	 * @return view of chunk containing given absolute position, view is
+	 * positioned at this position.
+	 */
+	private ByteBuffer getChunk(long position) {
+		int index = (int) (position >> CHUNK_SHIFT);
+		if (index != currentChunkIndex) {
+			currentChunk = chunks[index].duplicate();
+			currentChunk.clear();
+			currentChunkIndex = index;
+		}
+		currentChunk.position((int) (position & CHUNK_MASK));
+		return currentChunk;
+	}
+
+	@Override
+	public int skip(int size) throws IOException {
+		checkClosed("Skipping");
+		long newOffset = Math.min(offset + Math.max(size, 0), getStreamLength());
+		int skipped = (int) (newOffset - offset);
+		seek(newOffset);
+		return skipped;
+	}
+
+	@Override
+	public int available() {
+		return (int) Math.min(size - offset, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public boolean markSupported() {
+		return true;
+	}
+
+	@Override
+	public synchronized void mark(int readlimit) {
+		resetPosition = offset;
+	}
+
+	@Override
+	public void reset() throws IOException {
+		checkClosed("Reset");
+		this.seek(resetPosition);
+	}
+
+	@Override
+	public void seek(long offset) throws IOException {
+		checkClosed("Seeking");
+		if (offset < 0) {
+			throw new IOException("Can't seek for offset " + offset + " in ChunkedInputStream");
+		}
+		if (offset > this.size) {
+			throw new IllegalArgumentException("Destination offset is greater than stream length");
+		}
+		this.offset = offset;
+	}
+
+	@Override
+	public int peek() throws IOException {
+		checkClosed("Peeking");
+		if (offset >= size) {
+			return -1;
+		}
+		return getChunk(fromOffset + offset).get() & 0xFF;
+	}
+
+	@Override
+	public long getOffset() throws IOException {
+		checkClosed("Offset obtaining");
+		return this.offset;
+	}
+
+	@Override
+	public long getCurrentOffset() {
+		return fromOffset + offset;
+	}
+
+	@Override
+	public long getStreamLength() throws IOException {
+		checkClosed("Stream length obtaining");
+		return size;
+	}
+
+	@Override
+	public ASInputStream getStream(long startOffset, long length) throws IOException {
+		return getSeekableStream(startOffset, length);
+	}
+
+	@Override
+	public SeekableInputStream getSeekableStream(long startOffset, long length) throws IOException {
+		checkClosed("Substream creation");
+		if (startOffset < 0 || startOffset > this.size) {
+			throw new IOException("Can't create substream at offset " + startOffset + " in ChunkedInputStream");
+		}
+		long streamLeft = this.size - startOffset;
+		long substreamSize = length < 0 ? streamLeft : Math.min(length, streamLeft);
+		return new ChunkedInputStream(this.chunks, this.fromOffset + startOffset, substreamSize, this.numOfChunksUsers);
+	}
+
+	@Override
+	public void closeResource() throws IOException {
+		if (!isSourceClosed) {
+			isSourceClosed = true;
+			this.currentChunk = null;
+			this.numOfChunksUsers.decrement();
+			if (this.numOfChunksUsers.equals(0)) {
+				for (ByteBuffer chunk : this.chunks) {
+					returnChunk(chunk);
+				}
+			}
+		}
+	}
+
+	private void checkClosed(String streamUsage) throws IOException {
+		if (isSourceClosed) {
+			throw new IOException(streamUsage + " can't be performed; stream is closed");
+		}
+	}
+}
@@ -24,6 +24,7 @@ import org.verapdf.as.filters.io.ASBufferedInFilter;
 import org.verapdf.as.io.ASInputStream;
 import org.verapdf.exceptions.VeraPDFParserException;
 import org.verapdf.tools.IntReference;
+import org.verapdf.tools.metrics.ParserMetrics;
 
 import java.io.*;
 
@@ -52,6 +53,9 @@ public class InternalInputStream extends SeekableInputStream {
 	private final long size;
 	private long resetPosition;
 
+	private ParserMetrics metrics;
+	private long unreportedBytesRead;
+
 	public InternalInputStream(final File file) throws IOException {
 		this(file, false);
 	}
@@ -133,11 +137,23 @@ public class InternalInputStream extends SeekableInputStream {
 		if (buffer.length < size) {
 			throw new IllegalArgumentException("Destination buffer size is less than size to be read");
 		}
+		if (size < 0) {
+			return -1;
+		}
+		return read(buffer, 0, size);
+	}
+
+	@Override
+	public int read(byte[] buffer, int off, int size) throws IOException {
+		checkClosed("Reading");
+		if (off < 0 || size < 0 || size > buffer.length - off) {
+			throw new IndexOutOfBoundsException();
+		}
 		if (size == 0) {
 			return 0;
 		}
 
-		int curPos = 0;
+		int curPos = off;
 		int left = size;
 		while (left > 0) {
 			int read = append(buffer, curPos, left);
@@ -148,7 +164,7 @@ public class InternalInputStream extends SeekableInputStream {
 			left -= read;
 		}
 
-		return curPos == 0 ? -1 : curPos;
+		return curPos == off ? -1 : curPos - off;
 	}
 
 	private int append(byte[] buffer, int from, int size) throws IOException {
@@ -221,14 +237,43 @@ public class InternalInputStream extends SeekableInputStream {
 
 	@Override
 	public ASInputStream getStream(long startOffset, long length) throws IOException {
-		return new InternalInputStream(this.stream, fromOffset + startOffset, length, numOfFileUsers, filePath, isTempFile);
+		return getSeekableStream(startOffset, length);
 	}
 
     @Override
     public SeekableInputStream getSeekableStream(long startOffset, long length) throws IOException {
-        return new InternalInputStream(this.stream, startOffset + fromOffset, length, numOfFileUsers, filePath, isTempFile);
+        InternalInputStream res = new InternalInputStream(this.stream, startOffset + fromOffset, length,
+                numOfFileUsers, filePath, isTempFile);
+        res.metrics = this.metrics;
+        return res;
     }
 
+	/**
+	 * @return true if data of this stream is stored in temporary file that is
+	 * deleted when the last stream reading it is closed.
+	 */
+	public boolean isTempFile() {
+		return isTempFile;
+	}
+
+	public ParserMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Sets metrics of document that reads this stream. Streams created from
+	 * this one afterwards report read bytes to the same metrics.
+	 */
+	public void setMetrics(ParserMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reportBytesRead();
+		super.close();
+	}
+
     @Override
 	public void closeResource() throws IOException {
 		if (!isSourceClosed) {
@@ -273,9 +318,22 @@ public class InternalInputStream extends SeekableInputStream {
 			this.stream.seek(realOffset);
 		}
 		int read = this.stream.read(this.buffer);
+		if (this.metrics != null && read > 0) {
+			this.unreportedBytesRead += read;
+			if (this.unreportedBytesRead >= ParserMetrics.BYTES_REPORT_THRESHOLD) {
+				reportBytesRead();
+			}
+		}
 		return (int) Math.min(read, left);
 	}
 
+	private void reportBytesRead() {
+		if (this.metrics != null && this.unreportedBytesRead > 0) {
+			this.metrics.sourceBytesRead(this.unreportedBytesRead);
+			this.unreportedBytesRead = 0;
+		}
+	}
+
     @Override
 	public long getStreamLength() throws IOException {
 		checkClosed("Stream length obtaining");
@@ -25,11 +25,13 @@ import org.verapdf.as.exceptions.StringExceptions;
 import org.verapdf.cos.*;
 import org.verapdf.cos.xref.COSXRefInfo;
 import org.verapdf.exceptions.InvalidPasswordException;
+import org.verapdf.exceptions.VeraPDFParserException;
 import org.verapdf.parser.DecodedObjectStreamParser;
 import org.verapdf.parser.PDFParser;
 import org.verapdf.parser.XRefReader;
 import org.verapdf.pd.encryption.PDEncryption;
 import org.verapdf.pd.encryption.StandardSecurityHandler;
+import org.verapdf.tools.metrics.ParserMetrics;
 import org.verapdf.tools.resource.FileResourceHandler;
 
 import java.io.IOException;
@@ -38,6 +40,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SortedSet;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -51,19 +54,35 @@ public class Reader extends XRefReader {
 	private final PDFParser parser;
 	private COSHeader header;
 	private final Map<Long, DecodedObjectStreamParser> objectStreams;
+	private final ParserMetrics metrics;
+	private boolean xrefDeferred;
+	private boolean xrefLoading;
+	private COSObject linearizationDictionary;
 
 	public Reader(final COSDocument document, final String fileName) throws IOException {
+		this(document, fileName, false);
+	}
+
+	/**
+	 * @param deferXRef if true and document is linearized, only first-page
+	 *                  cross-reference section is read on construction, the
+	 *                  rest of cross-reference chain is read on first access
+	 *                  to object or data that is not covered by it.
+	 */
+	public Reader(final COSDocument document, final String fileName, final boolean deferXRef) throws IOException {
 		super();
 		this.parser = new PDFParser(document, fileName);
 		this.objectStreams = new HashMap<>();
-		init();
+		this.metrics = document != null ? document.getMetrics() : null;
+		init(deferXRef);
 	}
 
 	public Reader(final COSDocument document, final InputStream fileStream) throws IOException {
 		super();
 		this.parser = new PDFParser(document, fileStream);
 		this.objectStreams = new HashMap<>();
-		init();
+		this.metrics = document != null ? document.getMetrics() : null;
+		init(false);
 	}
 
 	//PUBLIC METHODS
@@ -74,7 +93,7 @@ public class Reader extends XRefReader {
 
 	@Override
 	public COSObject getObject(final COSKey key) throws IOException {
-		if (!super.containsKey(key)) {
+		if (!containsKey(key)) {
 			LOGGER.log(Level.FINE, "Trying to get object " + key.getNumber() + ' ' +
 					key.getGeneration() + " that is not present in the document");
 			return null;
@@ -88,14 +107,20 @@ public class Reader extends XRefReader {
 			}
 			COSObject result = getObject(offset);
 			result.setObjectKey(key);
+			if (this.metrics != null) {
+				this.metrics.objectParsed(result.getType(), false);
+			}
 			return result;
 		}
 		//TODO : set object key
 		//a negative number to identify a case of object stream from normal offset
 		//see method XrefStreamParser.parseStream and ISO 32000-2 7.5.7 and 7.5.8.3
 		DecodedObjectStreamParser parser = objectStreams.get(-offset);
+		if (this.metrics != null) {
+			this.metrics.cacheAccessed(ParserMetrics.Cache.OBJECT_STREAM, parser != null);
+		}
 		if (parser != null) {
-			return parser.getObject(key);
+			return getObjectFromStream(parser, key);
 		}
 		COSKey newKey = new COSKey(- (int)offset, 0);
 		COSObject object = newKey.equals(key) ? null : getObject(newKey);
@@ -110,7 +135,15 @@ public class Reader extends XRefReader {
 				objectStream, new COSKey((int) -offset, 0),
 				this.parser.getDocument());
 		objectStreams.put(-offset, parser);
-		return parser.getObject(key);
+		return getObjectFromStream(parser, key);
+	}
+
+	private COSObject getObjectFromStream(DecodedObjectStreamParser parser, COSKey key) throws IOException {
+		COSObject result = parser.getObject(key);
+		if (this.metrics != null && result != null) {
+			this.metrics.objectParsed(result.getType(), true);
+		}
+		return result;
 	}
 
 	@Override
@@ -120,7 +153,89 @@ public class Reader extends XRefReader {
 
 	@Override
 	public boolean isLinearized() {
-		return this.parser.isLinearized();
+		return this.linearizationDictionary != null || this.parser.isLinearized();
+	}
+
+	/**
+	 * @return true if only first-page cross-reference section of linearized
+	 * document is loaded so far.
+	 */
+	public boolean isXRefDeferred() {
+		return this.xrefDeferred;
+	}
+
+	/**
+	 * Reads the whole cross-reference chain if its loading was deferred.
+	 * Loading is deferred until the chain is read completely, objects
+	 * requested while it is read are looked up in already known sections.
+	 */
+	public void loadDeferredXRef() {
+		if (!this.xrefDeferred || this.xrefLoading) {
+			return;
+		}
+		this.xrefLoading = true;
+		try {
+			loadXRef();
+		} catch (IOException e) {
+			throw new VeraPDFParserException("Error while reading cross-reference table", e);
+		} finally {
+			this.xrefLoading = false;
+			this.xrefDeferred = false;
+		}
+	}
+
+	@Override
+	public List<COSKey> getKeys() {
+		loadDeferredXRef();
+		return super.getKeys();
+	}
+
+	@Override
+	public long getStartXRef() {
+		loadDeferredXRef();
+		return super.getStartXRef();
+	}
+
+	@Override
+	public SortedSet<Long> getStartXRefs() {
+		loadDeferredXRef();
+		return super.getStartXRefs();
+	}
+
+	@Override
+	public COSTrailer getFirstTrailer() {
+		loadDeferredXRef();
+		return super.getFirstTrailer();
+	}
+
+	@Override
+	public COSTrailer getLastTrailer() {
+		loadDeferredXRef();
+		return super.getLastTrailer();
+	}
+
+	@Override
+	public List<COSObject> getObjectStreamsList() {
+		loadDeferredXRef();
+		return super.getObjectStreamsList();
+	}
+
+	@Override
+	public Long getOffset(final COSKey key) {
+		containsKey(key);
+		return super.getOffset(key);
+	}
+
+	@Override
+	protected boolean containsKey(final COSKey key) {
+		if (super.containsKey(key)) {
+			return true;
+		}
+		if (this.xrefDeferred) {
+			loadDeferredXRef();
+			return super.containsKey(key);
+		}
+		return false;
 	}
 
 	@Override
@@ -130,6 +245,7 @@ public class Reader extends XRefReader {
 
 	@Override
 	public long getLastTrailerOffset() {
+		loadDeferredXRef();
 		long res = this.parser.getLastTrailerOffset();
 		if (res == 0) {
 			LOGGER.log(Level.FINE, "Offset of last trailer can not be determined");
@@ -139,18 +255,21 @@ public class Reader extends XRefReader {
 
 	@Override
 	public COSObject getLinearizationDictionary() {
+		if (this.linearizationDictionary != null) {
+			return this.linearizationDictionary;
+		}
 		return this.parser.getLinearizationDictionary();
 	}
 
 
 	// PRIVATE METHODS
-	private void init() throws IOException {
+	private void init(final boolean deferXRef) throws IOException {
 		try {
 			this.header = this.parser.getHeader();
 
-			List<COSXRefInfo> infos = new ArrayList<>();
-			this.parser.getXRefInfo(infos);
-			setXRefInfo(infos);
+			if (!deferXRef || !initFirstPageXRef()) {
+				loadXRef();
+			}
 
 			if (this.parser.isEncrypted() && !docCanBeDecrypted()) {
 				this.getPDFSource().close();
@@ -170,6 +289,39 @@ public class Reader extends XRefReader {
 		}
 	}
 
+	private void loadXRef() throws IOException {
+		List<COSXRefInfo> infos = new ArrayList<>();
+		long start = this.metrics != null ? System.nanoTime() : 0;
+		this.parser.getXRefInfo(infos);
+		if (this.metrics != null) {
+			this.metrics.xrefLoaded(infos.size(), System.nanoTime() - start);
+		}
+		setXRefInfo(infos);
+	}
+
+	/**
+	 * Loads only first-page cross-reference section of linearized document.
+	 *
+	 * @return false if document is not linearized or the section can't be read.
+	 */
+	private boolean initFirstPageXRef() {
+		if (!this.parser.isLinearized()) {
+			return false;
+		}
+		long start = this.metrics != null ? System.nanoTime() : 0;
+		COSXRefInfo firstPageSection = this.parser.getFirstPageXRefInfo();
+		if (firstPageSection == null) {
+			return false;
+		}
+		if (this.metrics != null) {
+			this.metrics.xrefLoaded(1, System.nanoTime() - start);
+		}
+		this.linearizationDictionary = this.parser.getLinearizationDictionary();
+		setXRefInfo(firstPageSection);
+		this.xrefDeferred = true;
+		return true;
+	}
+
 	private boolean docCanBeDecrypted() {
 		try {
 			COSObject cosEncrypt = this.parser.getEncryption();
@@ -195,11 +347,13 @@ public class Reader extends XRefReader {
 
 	@Override
 	public COSObject getLastXrefStream() {
+		loadDeferredXRef();
 		return parser.getLastXRefStream();
 	}
 
 	@Override
 	public boolean isContainsXRefStream() {
+		loadDeferredXRef();
 		return parser.isContainsXRefStream();
 	}
 
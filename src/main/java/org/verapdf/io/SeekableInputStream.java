@@ -155,8 +155,8 @@ public abstract class SeekableInputStream extends ASInputStream implements BaseP
     }
 
     /**
-     * Returns InternalInputStream or ASMemoryInStream constructed from given
-     * stream depending on stream length.
+     * Returns ASMemoryInStream, ChunkedInputStream or InternalInputStream
+     * constructed from given stream depending on stream length.
      *
      * @param stream is stream to turn into seekable stream.
      * @return SeekableStream that contains data of passed stream.
@@ -189,6 +189,9 @@ public abstract class SeekableInputStream extends ASInputStream implements BaseP
         if (maxStreamSize != null && totalRead > maxStreamSize) {
             throw new VeraPDFParserException("Maximum allowed stream size exceeded");
         }
+        if (ChunkedInputStream.isEnabled()) {
+            return ChunkedInputStream.create(buffer, stream, maxStreamSize);
+        }
         return InternalInputStream.createConcatenated(buffer, stream, maxStreamSize);
     }
 
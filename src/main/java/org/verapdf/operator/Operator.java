@@ -20,15 +20,43 @@
  */
 package org.verapdf.operator;
 
-import java.util.HashMap;
-import java.util.Map;
+import org.verapdf.parser.Operators;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
+ * Content stream operator. Operators are interned: operators from the standard
+ * set are stored in perfect hash table that is built once and looked up
+ * directly from operator bytes, other operators are cached in concurrent map.
+ * Inline image operators are never interned.
+ *
  * @author Timur Kamalov
  */
 public class Operator {
 
-	private static final Map<String, Operator> CACHED_OPERATORS = new HashMap<>();
+	private static final int TABLE_BITS = 10;
+	private static final int MAX_KNOWN_LENGTH = 3;
+	// limits amount of unknown operators produced by corrupted content streams
+	private static final int MAX_CACHED_OPERATORS = 4096;
+
+	private static final Operator[] KNOWN_OPERATORS = new Operator[1 << TABLE_BITS];
+	private static final int[] KNOWN_KEYS = new int[1 << TABLE_BITS];
+	private static final int HASH_MULTIPLIER;
+	private static final int INLINE_IMAGE_BEGIN = getKey(Operators.BI.getBytes(StandardCharsets.ISO_8859_1), 0, 2);
+	private static final int INLINE_IMAGE_DATA = getKey(Operators.ID.getBytes(StandardCharsets.ISO_8859_1), 0, 2);
+
+	private static final ConcurrentMap<String, Operator> CACHED_OPERATORS = new ConcurrentHashMap<>();
+
+	static {
+		int multiplier = 0x9E3779B1;
+		while (!fillKnownOperators(multiplier)) {
+			multiplier += 2;
+		}
+		HASH_MULTIPLIER = multiplier;
+	}
 
 	private final String operator;
 
@@ -38,17 +66,102 @@ public class Operator {
 
 	public static Operator getOperator(final String operator) {
 		//don't cache image operators due to unique parameters and data
-		if ("BI".equals(operator) || "ID".equals(operator)) {
+		if (Operators.BI.equals(operator) || Operators.ID.equals(operator)) {
 			return new InlineImageOperator(operator);
-		} else {
-			if (CACHED_OPERATORS.containsKey(operator)) {
-				return CACHED_OPERATORS.get(operator);
-			} else {
-				Operator result = new Operator(operator);
-				CACHED_OPERATORS.put(operator, result);
+		}
+		int length = operator.length();
+		if (length > 0 && length <= MAX_KNOWN_LENGTH) {
+			int key = length << 24;
+			for (int i = 0; i < length; ++i) {
+				char c = operator.charAt(i);
+				if (c > 0xFF) {
+					key = 0;
+					break;
+				}
+				key |= c << (8 * (length - i - 1));
+			}
+			Operator result = key == 0 ? null : getKnownOperator(key);
+			if (result != null) {
+				return result;
+			}
+		}
+		return getCachedOperator(operator);
+	}
+
+	/**
+	 * Gets operator with given name without creating intermediate string for
+	 * operators from the standard set.
+	 *
+	 * @param bytes  is array containing operator name.
+	 * @param offset is offset of operator name in array.
+	 * @param length is length of operator name.
+	 * @return operator with given name.
+	 */
+	public static Operator getOperator(final byte[] bytes, final int offset, final int length) {
+		if (length > 0 && length <= MAX_KNOWN_LENGTH) {
+			int key = getKey(bytes, offset, length);
+			Operator result = getKnownOperator(key);
+			if (result != null) {
 				return result;
 			}
+			if (key == INLINE_IMAGE_BEGIN || key == INLINE_IMAGE_DATA) {
+				return new InlineImageOperator(new String(bytes, offset, length, StandardCharsets.ISO_8859_1));
+			}
+		}
+		return getCachedOperator(new String(bytes, offset, length, StandardCharsets.ISO_8859_1));
+	}
+
+	/**
+	 * Packs operator of at most 3 bytes into int together with its length.
+	 */
+	private static int getKey(byte[] bytes, int offset, int length) {
+		int key = length << 24;
+		for (int i = 0; i < length; ++i) {
+			key |= (bytes[offset + i] & 0xFF) << (8 * (length - i - 1));
+		}
+		return key;
+	}
+
+	private static Operator getKnownOperator(int key) {
+		int index = hash(key, HASH_MULTIPLIER);
+		return KNOWN_KEYS[index] == key ? KNOWN_OPERATORS[index] : null;
+	}
+
+	private static Operator getCachedOperator(String operator) {
+		Operator result = CACHED_OPERATORS.get(operator);
+		if (result == null) {
+			result = new Operator(operator);
+			if (CACHED_OPERATORS.size() < MAX_CACHED_OPERATORS) {
+				Operator previous = CACHED_OPERATORS.putIfAbsent(operator, result);
+				if (previous != null) {
+					result = previous;
+				}
+			}
+		}
+		return result;
+	}
+
+	private static int hash(int key, int multiplier) {
+		return (key * multiplier) >>> (Integer.SIZE - TABLE_BITS);
+	}
+
+	private static boolean fillKnownOperators(int multiplier) {
+		Arrays.fill(KNOWN_OPERATORS, null);
+		Arrays.fill(KNOWN_KEYS, 0);
+		for (String operator : Operators.operators) {
+			if (Operators.BI.equals(operator) || Operators.ID.equals(operator)) {
+				continue;
+			}
+			byte[] bytes = operator.getBytes(StandardCharsets.ISO_8859_1);
+			int key = getKey(bytes, 0, bytes.length);
+			int index = hash(key, multiplier);
+			if (KNOWN_OPERATORS[index] != null) {
+				return false;
+			}
+			KNOWN_OPERATORS[index] = new Operator(operator);
+			KNOWN_KEYS[index] = key;
 		}
+		return true;
 	}
 
 	public String getOperator() {
@@ -74,6 +74,14 @@ public abstract class BaseParser {
     }
 
     protected String readUntilDelimiter() throws IOException {
+        readTokenUntilDelimiter();
+        return this.token.getValue();
+    }
+
+    /**
+     * Reads bytes until delimiter into token without creating string value.
+     */
+    void readTokenUntilDelimiter() throws IOException {
         initializeToken();
         this.token.clearValue();
         byte ch = this.source.readByte();
@@ -88,7 +96,6 @@ public abstract class BaseParser {
         if (CharTable.isSpace(ch) || CharTable.isTokenDelimiter(ch)) {
             this.source.unread();
         }
-        return this.token.getValue();
     }
 
     protected boolean findKeyword(final Token.Keyword keyword) throws IOException {
@@ -225,12 +232,12 @@ public abstract class BaseParser {
                 this.token.type = Token.Type.TT_CLOSEARRAY;
                 break;
             case '{': // as delimiter in PostScript calculator functions 181
-                if (isPSParser) {
+                if (isProcedureParser()) {
                     this.token.type = Token.Type.TT_STARTPROC;
                 }
                 break;
             case '}':
-                if (isPSParser) {
+                if (isProcedureParser()) {
                     this.token.type = Token.Type.TT_ENDPROC;
                 }
                 break;
@@ -513,4 +520,12 @@ public abstract class BaseParser {
     protected boolean isPSParser() {
         return isPSParser;
     }
+
+    /**
+     * @return true if '{' and '}' are read as procedure delimiters. Other
+     * tokens are read in PostScript mode only if {@link #isPSParser()} is true.
+     */
+    protected boolean isProcedureParser() {
+        return isPSParser;
+    }
 }
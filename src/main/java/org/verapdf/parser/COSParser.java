@@ -25,7 +25,9 @@ import org.verapdf.cos.*;
 import org.verapdf.parser.postscript.PSObject;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Queue;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -178,11 +180,11 @@ public abstract class COSParser {
             return new COSObject();
         }
 
-        COSObject arr = COSArray.construct();
+        List<COSObject> elements = new ArrayList<>();
 
         COSObject obj = nextObject();
         while (!obj.empty()) {
-            arr.add(obj);
+            elements.add(obj);
             obj = nextObject();
         }
 
@@ -191,7 +193,7 @@ public abstract class COSParser {
             throw new IOException(getErrorMessage(StringExceptions.INVALID_PDF_ARRAY));
         }
 
-        return arr;
+        return COSArray.construct(elements);
     }
 
     protected COSObject getName() throws IOException {
@@ -0,0 +1,45 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.parser;
+
+import org.verapdf.cos.COSBase;
+import org.verapdf.operator.Operator;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Receiver of content stream operations produced by
+ * {@link PDFStreamParser#parse(ContentStreamHandler)}.
+ */
+public interface ContentStreamHandler {
+
+	/**
+	 * Called for each operator of content stream.
+	 *
+	 * @param operator is parsed operator. Data of inline image operators is
+	 *                 available only during this call.
+	 * @param operands is list of operands preceding the operator. List is
+	 *                 reused by parser and is valid only during this call.
+	 * @return true to continue parsing, false to stop it.
+	 */
+	boolean handleOperation(Operator operator, List<COSBase> operands) throws IOException;
+}
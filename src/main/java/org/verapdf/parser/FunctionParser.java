@@ -118,6 +118,12 @@ public class FunctionParser extends SeekableBaseParser {
                     operators.add(new PSOperator(COSName.construct(this.getToken().getValue())));
                 }
                 break;
+            case TT_STARTPROC:
+                operators.add(new PSOperator(COSName.construct(PSOperatorsConstants.LEFT_CURLY_BRACE)));
+                break;
+            case TT_ENDPROC:
+                operators.add(new PSOperator(COSName.construct(PSOperatorsConstants.RIGHT_CURLY_BRACE)));
+                break;
             case TT_INTEGER:
                 operators.add(COSInteger.construct(this.getToken().integer));
                 break;
@@ -130,6 +136,15 @@ public class FunctionParser extends SeekableBaseParser {
         }
     }
 
+    /**
+     * Braces of procedures are read as tokens, while numbers and other tokens
+     * are read as in PDF syntax.
+     */
+    @Override
+    protected boolean isProcedureParser() {
+        return true;
+    }
+
     public List<COSObject> getOperators() {
         return Collections.unmodifiableList(operators);
     }
@@ -43,13 +43,16 @@ public class NotSeekableBaseParser extends BaseParser implements Closeable {
 
     /**
      * Constructor from stream. New buffered stream from given stream is created.
+     * Buffer of this stream and token are borrowed from
+     * {@link ParserScratchPool} shared by all threads and are returned there
+     * when parser is closed.
      * @param stream is source data stream.
      */
     public NotSeekableBaseParser(ASInputStream stream) throws IOException {
         if (stream == null) {
             throw new IOException("Stream in NotSeekableBaseParser can't be null.");
         }
-        this.source = new ASBufferedInFilter(stream);
+        this.source = new ASBufferedInFilter(stream, true);
         try {
             getSource().initialize();
         } catch (IOException e) {   // Someone have to close source in case of
@@ -65,11 +68,39 @@ public class NotSeekableBaseParser extends BaseParser implements Closeable {
     }
 
     /**
-     * Closes source stream.
+     * Points parser to the new source stream. Buffered stream and token of
+     * parser are reused, previous source stream is closed.
+     *
+     * @param stream is new source data stream.
+     */
+    public void reset(ASInputStream stream) throws IOException {
+        if (stream == null) {
+            throw new IOException("Stream in NotSeekableBaseParser can't be null.");
+        }
+        getSource().reset(stream);
+        if (this.token != null) {
+            this.token.reset();
+        }
+    }
+
+    @Override
+    public void initializeToken() {
+        if (this.token == null) {
+            this.token = ParserScratchPool.borrowToken();
+        }
+    }
+
+    /**
+     * Closes source stream and returns token into the pool.
      */
     @Override
     public void close() throws IOException {
-        this.source.close();
+        try {
+            this.source.close();
+        } finally {
+            ParserScratchPool.returnToken(this.token);
+            this.token = null;
+        }
     }
 
     // PROTECTED METHODS
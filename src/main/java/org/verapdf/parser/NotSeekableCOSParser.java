@@ -56,6 +56,21 @@ public class NotSeekableCOSParser extends COSParser implements Closeable {
         return getBaseParser().getSource();
     }
 
+    /**
+     * Points parser to the new source stream, so the same parser instance can
+     * be used to parse several streams. Buffered stream and token of base
+     * parser are reused, previous source stream is closed.
+     *
+     * @param stream is new source data stream.
+     */
+    public void reset(ASInputStream stream) throws IOException {
+        getBaseParser().reset(stream);
+        this.objects.clear();
+        this.integers.clear();
+        this.keyOfCurrentObject = null;
+        this.flag = true;
+    }
+
     @Override
     public void close() throws IOException {
         getBaseParser().close();
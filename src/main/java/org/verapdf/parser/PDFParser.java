@@ -243,6 +243,38 @@ public class PDFParser extends SeekableCOSParser {
         this.getXRefInfo(infos, new HashSet<>(), null);
     }
 
+    /**
+     * Reads the first-page cross-reference section of linearized document,
+     * i.e. the section that immediately follows linearization dictionary.
+     * The state describing the last trailer is reset afterwards, so that
+     * subsequent {@link #getXRefInfo(List)} call reads the whole chain as usual.
+     *
+     * @return first-page cross-reference section or null if document is not
+     * linearized or the section cannot be read.
+     */
+    public COSXRefInfo getFirstPageXRefInfo() {
+        try {
+            COSObject linDict = findFirstDictionary();
+            if (!isLinearizationDictionary(linDict)) {
+                return null;
+            }
+            getBaseParser().skipSpaces();
+            long offset = getSource().getOffset();
+            clear();
+            COSXRefInfo section = new COSXRefInfo();
+            section.setStartXRef(findActualXrefOffset(offset));
+            getXRefSectionAndTrailer(section);
+            return section;
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "IO error while trying to read first-page cross-reference section", e);
+            return null;
+        } finally {
+            this.lastTrailerOffset = 0L;
+            this.lastXRefStream = null;
+            this.containsXRefStream = false;
+        }
+    }
+
     public COSObject getObject(final long offset) throws IOException {
         clear();
 
@@ -661,6 +693,10 @@ public class PDFParser extends SeekableCOSParser {
             return string;
         }
         StandardSecurityHandler ssh = this.document.getStandardSecurityHandler();
+        if (this.document.isLazyStringDecryption()) {
+            ((COSString) string.getDirectBase()).setDeferredDecryption(ssh, this.keyOfCurrentObject);
+            return string;
+        }
         try {
             ssh.decryptString((COSString) string.getDirectBase(), this.keyOfCurrentObject);
             return string;
@@ -28,10 +28,12 @@ import org.verapdf.cos.*;
 import org.verapdf.exceptions.VeraPDFParserException;
 import org.verapdf.operator.InlineImageOperator;
 import org.verapdf.operator.Operator;
+import org.verapdf.pd.PDContentStream;
 import org.verapdf.pd.images.PDInlineImage;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -46,6 +48,9 @@ public class PDFStreamParser extends NotSeekableCOSParser {
 
 	private static final Logger LOGGER = Logger.getLogger(PDFStreamParser.class.getCanonicalName());
 	private static final int INLINE_IMAGE_BUFFER_SIZE = 8192;
+	private static final byte[] NULL = "null".getBytes(StandardCharsets.ISO_8859_1);
+	private static final byte[] TRUE = "true".getBytes(StandardCharsets.ISO_8859_1);
+	private static final byte[] FALSE = "false".getBytes(StandardCharsets.ISO_8859_1);
 
 	private final List<Object> tokens = new ArrayList<>();
 	private final List<Closeable> imageDataStreams = new ArrayList<>();
@@ -57,6 +62,22 @@ public class PDFStreamParser extends NotSeekableCOSParser {
 		getBaseParser().initializeToken();
 	}
 
+	/**
+	 * Points parser to the new content stream. Parsed tokens are cleared, image
+	 * data streams of previous content stream should be obtained and closed
+	 * before this call.
+	 *
+	 * @param stream is new content stream.
+	 */
+	@Override
+	public void reset(ASInputStream stream) throws IOException {
+		super.reset(stream);
+		getBaseParser().initializeToken();
+		this.tokens.clear();
+		this.imageDataStreams.clear();
+		this.lastInlineImageDict = null;
+	}
+
 	public void parseTokens() throws IOException {
 		Object token = parseNextToken();
 		while (token != null) {
@@ -68,6 +89,86 @@ public class PDFStreamParser extends NotSeekableCOSParser {
 		}
 	}
 
+	/**
+	 * Parses content stream without building list of tokens and passes each
+	 * operator with its operands to handler. Parsed tokens are not added to
+	 * {@link #getTokens()}, inline image data streams are closed after
+	 * handler returns.
+	 *
+	 * @param handler is receiver of content stream operations.
+	 * @return false if parsing was stopped by handler, true otherwise.
+	 */
+	public boolean parse(ContentStreamHandler handler) throws IOException {
+		List<COSBase> operands = new ArrayList<>();
+		Operator operator = nextOperation(operands);
+		while (operator != null) {
+			try {
+				if (!handler.handleOperation(operator, operands)) {
+					return false;
+				}
+			} finally {
+				if (operator instanceof InlineImageOperator) {
+					closeImageDataStreams();
+				}
+			}
+			operator = nextOperation(operands);
+		}
+		return true;
+	}
+
+	private void closeImageDataStreams() throws IOException {
+		for (Closeable imageData : this.imageDataStreams) {
+			imageData.close();
+		}
+		this.imageDataStreams.clear();
+	}
+
+	/**
+	 * Reads next operator of content stream together with its operands.
+	 *
+	 * @param operands is list that is cleared and filled with operands of
+	 *                 returned operator.
+	 * @return next operator or null if the end of content stream is reached.
+	 * Operands after the last operator are left in the list.
+	 */
+	public Operator nextOperation(List<COSBase> operands) throws IOException {
+		operands.clear();
+		Object token = parseNextToken();
+		while (token != null) {
+			if (token instanceof Operator) {
+				return (Operator) token;
+			}
+			if (token instanceof COSObject) {
+				operands.add(((COSObject) token).get());
+			}
+			token = parseNextToken();
+		}
+		return null;
+	}
+
+	/**
+	 * Parses content of given content stream without building list of tokens.
+	 *
+	 * @param contentStream is content stream to parse.
+	 * @param handler       is receiver of content stream operations.
+	 * @return false if parsing was stopped by handler, true otherwise.
+	 */
+	public static boolean parse(PDContentStream contentStream, ContentStreamHandler handler) throws IOException {
+		COSObject contents = contentStream.getContents();
+		if (contents == null || contents.empty()) {
+			return true;
+		}
+		ASInputStream data = contents.getData(COSStream.FilterFlags.DECODE);
+		if (data == null) {
+			return true;
+		}
+		try (PDFStreamParser parser = new PDFStreamParser(data)) {
+			return parser.parse(handler);
+		} finally {
+			data.close();
+		}
+	}
+
 	public List<Object> getTokens()
 	{
 		return this.tokens;
@@ -125,24 +226,25 @@ public class PDFStreamParser extends NotSeekableCOSParser {
 				break;
 			case 'n': {
 				// null
-				String nullString = getBaseParser().readUntilDelimiter();
-				if ("null".equals(nullString)) {
+				getBaseParser().readTokenUntilDelimiter();
+				if (getBaseParser().getToken().valueEquals(NULL)) {
 					result = new COSObject(COSNull.NULL);
 				} else {
-					result = Operator.getOperator(nullString);
+					result = getTokenOperator();
 				}
 				break;
 			}
 			case 't':
 			case 'f': {
-				String line = getBaseParser().readUntilDelimiter();
-				if ("true".equals(line)) {
+				getBaseParser().readTokenUntilDelimiter();
+				Token token = getBaseParser().getToken();
+				if (token.valueEquals(TRUE)) {
 					result = new COSObject(COSBoolean.TRUE);
 					break;
-				} else if ("false".equals(line)) {
+				} else if (token.valueEquals(FALSE)) {
 					result = new COSObject(COSBoolean.FALSE);
 				} else {
-					result = Operator.getOperator(line);
+					result = getTokenOperator();
 				}
 				break;
 			}
@@ -170,9 +272,8 @@ public class PDFStreamParser extends NotSeekableCOSParser {
 			}
 			// BI operator
 			case 'B': {
-				Token token = getBaseParser().getToken();
 				getBaseParser().nextToken();
-				result = Operator.getOperator(token.getValue());
+				result = getTokenOperator();
 				if (result instanceof InlineImageOperator) {
 					InlineImageOperator imageOperator = (InlineImageOperator) result;
 					COSDictionary imageParameters = (COSDictionary) COSDictionary.construct().get();
@@ -216,12 +317,12 @@ public class PDFStreamParser extends NotSeekableCOSParser {
 				break;
 			}
 			default: {
-				String operator = nextOperator();
-				if (operator.isEmpty()) {
+				readOperatorToToken();
+				if (getBaseParser().getToken().getSize() == 0) {
 					//stream is corrupted
 					result = null;
 				} else {
-					result = Operator.getOperator(operator);
+					result = getTokenOperator();
 				}
 			}
 		}
@@ -229,10 +330,20 @@ public class PDFStreamParser extends NotSeekableCOSParser {
 	}
 
 	protected String nextOperator() throws IOException {
+		readOperatorToToken();
+		return getBaseParser().getToken().getValue();
+	}
+
+	private Operator getTokenOperator() {
+		Token token = getBaseParser().getToken();
+		return Operator.getOperator(token.getRawValue(), 0, token.getSize());
+	}
+
+	private void readOperatorToToken() throws IOException {
 		getBaseParser().skipSpaces();
 
-		//maximum possible length of an operator is 3 and we'll leave some space for invalid cases
-		StringBuilder buffer = new StringBuilder(5);
+		Token buffer = getBaseParser().getToken();
+		buffer.clearValue();
 		int nextByte = getSource().peek();
 		while (!getSource().isEOF() &&
 				!CharTable.isSpace(nextByte) && nextByte != ']' &&
@@ -240,19 +351,17 @@ public class PDFStreamParser extends NotSeekableCOSParser {
 				nextByte != '(' && nextByte != '/' &&
 				(nextByte < '0' || nextByte > '9'))	{
 			byte currentByte = getSource().readByte();
-			buffer.append((char) currentByte);
+			buffer.append(currentByte);
 
 			if (!getSource().isEOF()) {
 				// d0 and d1 operators
 				nextByte = getSource().peek();
 				if (currentByte == 'd' && (nextByte == '0' || nextByte == '1')) {
-					buffer.append((char) getSource().readByte());
+					buffer.append(getSource().readByte());
 					nextByte = getSource().peek();
 				}
 			}
 		}
-
-		return buffer.toString();
 	}
 
 	private ASInputStream readInlineImage() throws IOException {
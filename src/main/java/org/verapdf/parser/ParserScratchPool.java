@@ -0,0 +1,116 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.parser;
+
+import org.verapdf.as.filters.io.ASBufferedInFilter;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of scratch state of not seekable parsers shared by all threads. Content
+ * stream, CMap, Type 1 and Type 3 char proc parsers are created for every
+ * stream they parse, so instead of allocating new buffer window and token each
+ * time they borrow them from the pool and return them on close.
+ * <p>
+ * Pool is not bound to threads, so it keeps its objects when documents are
+ * processed on short-lived threads, e.g. one virtual thread per document.
+ * Borrowed objects must not be used after they are returned.
+ */
+public final class ParserScratchPool {
+
+	private static final int MAX_POOLED_OBJECTS = 8 * Runtime.getRuntime().availableProcessors();
+	// tokens whose buffer grew beyond this size on a long string are not pooled
+	static final int MAX_POOLED_TOKEN_CAPACITY = 4096;
+
+	private static final Pool<byte[]> BUFFERS = new Pool<>();
+	private static final Pool<Token> TOKENS = new Pool<>();
+
+	private ParserScratchPool() {
+	}
+
+	/**
+	 * @return buffer of {@link ASBufferedInFilter#BF_BUFFER_SIZE} bytes for
+	 * buffered stream of parser. Content of buffer is undefined.
+	 */
+	public static byte[] borrowBuffer() {
+		byte[] res = BUFFERS.poll();
+		return res != null ? res : new byte[ASBufferedInFilter.BF_BUFFER_SIZE];
+	}
+
+	/**
+	 * Returns buffer obtained by {@link #borrowBuffer()} into the pool.
+	 */
+	public static void returnBuffer(byte[] buffer) {
+		if (buffer != null && buffer.length == ASBufferedInFilter.BF_BUFFER_SIZE) {
+			BUFFERS.offer(buffer);
+		}
+	}
+
+	/**
+	 * @return token in the same state as newly created one.
+	 */
+	public static Token borrowToken() {
+		Token res = TOKENS.poll();
+		if (res == null) {
+			return new Token();
+		}
+		res.reset();
+		return res;
+	}
+
+	/**
+	 * Returns token obtained by {@link #borrowToken()} into the pool. Token
+	 * whose value buffer is larger than {@link #MAX_POOLED_TOKEN_CAPACITY}
+	 * bytes is dropped, so that the pool does not retain large buffers.
+	 */
+	public static void returnToken(Token token) {
+		if (token != null && token.getCapacity() <= MAX_POOLED_TOKEN_CAPACITY) {
+			TOKENS.offer(token);
+		}
+	}
+
+	/**
+	 * Bounded stack of pooled objects, the most recently returned object is
+	 * borrowed first.
+	 */
+	private static final class Pool<T> {
+
+		private final ConcurrentLinkedDeque<T> objects = new ConcurrentLinkedDeque<>();
+		private final AtomicInteger size = new AtomicInteger();
+
+		T poll() {
+			T res = objects.pollLast();
+			if (res != null) {
+				size.decrementAndGet();
+			}
+			return res;
+		}
+
+		void offer(T object) {
+			if (size.incrementAndGet() > MAX_POOLED_OBJECTS) {
+				size.decrementAndGet();
+				return;
+			}
+			objects.addLast(object);
+		}
+	}
+}
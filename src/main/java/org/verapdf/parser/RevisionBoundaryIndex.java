@@ -0,0 +1,241 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.parser;
+
+import org.verapdf.io.SeekableInputStream;
+import org.verapdf.tools.LongList;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Index of revision boundaries of PDF file. File is read once in a linear pass
+ * and index records offsets of all %%EOF markers that start a new line together
+ * with length of EOL that follows them, and offsets of all stream and endstream
+ * keywords that delimit stream bodies.
+ * <p>
+ * Index answers the question which %%EOF marker ends the revision that contains
+ * given offset with binary searches, skipping %%EOF markers inside stream bodies
+ * in the same way as byte by byte scan of the file does.
+ */
+public class RevisionBoundaryIndex {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final byte[] EOF_STRING = "%%EOF".getBytes(StandardCharsets.ISO_8859_1);
+    private static final byte[] STREAM_STRING = "stream".getBytes(StandardCharsets.ISO_8859_1);
+    private static final byte[] ENDSTREAM_STRING = "endstream".getBytes(StandardCharsets.ISO_8859_1);
+    // longest sequence that is checked from one position: endstream keyword
+    private static final int WINDOW = ENDSTREAM_STRING.length;
+
+    private final long length;
+    private final long[] eofOffsets;
+    private final byte[] eolLengths;
+    private final long[] streamOffsets;
+    private final long[] endstreamOffsets;
+
+    /**
+     * Builds index of given stream. Position of stream is restored after
+     * index is built.
+     *
+     * @param source is PDF file source.
+     */
+    public RevisionBoundaryIndex(SeekableInputStream source) throws IOException {
+        long position = source.getOffset();
+        this.length = source.getStreamLength();
+        LongList eofs = new LongList();
+        ByteList eols = new ByteList();
+        LongList streams = new LongList();
+        LongList endstreams = new LongList();
+
+        source.seek(0);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long bufferStart = 0;
+        int valid = 0;
+        int previous = -1;
+        boolean end = false;
+        while (!end) {
+            int requested = buffer.length - valid;
+            int read = source.read(buffer, valid, requested);
+            if (read > 0) {
+                valid += read;
+            }
+            end = read < requested;
+            // the last WINDOW - 1 bytes are processed with the next part of data
+            int limit = end ? valid : valid - WINDOW + 1;
+            for (int i = 0; i < limit; ++i) {
+                switch (buffer[i]) {
+                    case 's':
+                        if (matches(buffer, valid, i, STREAM_STRING)) {
+                            streams.add(bufferStart + i);
+                        }
+                        break;
+                    case 'e':
+                        if (matches(buffer, valid, i, ENDSTREAM_STRING)) {
+                            endstreams.add(bufferStart + i);
+                        }
+                        break;
+                    case '%': {
+                        int before = i > 0 ? buffer[i - 1] : previous;
+                        if ((BaseParser.isLF(before) || BaseParser.isCR(before))
+                                && matches(buffer, valid, i, EOF_STRING)) {
+                            eofs.add(bufferStart + i);
+                            eols.add(getEOLLength(buffer, valid, i + EOF_STRING.length));
+                        }
+                        break;
+                    }
+                    default:
+                        break;
+                }
+            }
+            if (!end && limit > 0) {
+                previous = buffer[limit - 1];
+                System.arraycopy(buffer, limit, buffer, 0, valid - limit);
+                bufferStart += limit;
+                valid -= limit;
+            }
+        }
+        source.seek(position);
+
+        this.eofOffsets = eofs.toArray();
+        this.eolLengths = eols.toArray();
+        this.streamOffsets = streams.toArray();
+        this.endstreamOffsets = endstreams.toArray();
+    }
+
+    /**
+     * Finds %%EOF marker that ends revision containing given offset. Scanning
+     * starts at given offset outside of stream bodies, %%EOF markers between
+     * stream and endstream keywords are ignored.
+     *
+     * @param offset is offset in file from which scanning starts.
+     * @return number of found %%EOF marker or -1 if the end of file is reached
+     * before any %%EOF marker.
+     */
+    public int getEOFIndex(long offset) {
+        long eofFrom = offset;
+        long keywordFrom = offset + 1;
+        while (true) {
+            int eof = ceiling(this.eofOffsets, eofFrom);
+            int stream = ceiling(this.streamOffsets, keywordFrom);
+            long eofOffset = eof < this.eofOffsets.length ? this.eofOffsets[eof] : Long.MAX_VALUE;
+            long streamOffset = stream < this.streamOffsets.length ? this.streamOffsets[stream] : Long.MAX_VALUE;
+            if (eofOffset < streamOffset) {
+                // %%EOF at the very end of file is reached together with the end of file
+                if (eofOffset >= keywordFrom && eofOffset + EOF_STRING.length >= this.length) {
+                    return -1;
+                }
+                return eof;
+            }
+            if (streamOffset == Long.MAX_VALUE || streamOffset + STREAM_STRING.length >= this.length) {
+                return -1;
+            }
+            int endstream = ceiling(this.endstreamOffsets, streamOffset + STREAM_STRING.length);
+            if (endstream == this.endstreamOffsets.length ||
+                    this.endstreamOffsets[endstream] + ENDSTREAM_STRING.length >= this.length) {
+                return -1;
+            }
+            eofFrom = this.endstreamOffsets[endstream] + ENDSTREAM_STRING.length;
+            keywordFrom = eofFrom;
+        }
+    }
+
+    /**
+     * @return amount of %%EOF markers in file.
+     */
+    public int getEOFCount() {
+        return this.eofOffsets.length;
+    }
+
+    /**
+     * @return offset of the first '%' of %%EOF marker with given number.
+     */
+    public long getEOFOffset(int index) {
+        return this.eofOffsets[index];
+    }
+
+    /**
+     * @return amount of bytes of single LF, CR or CR-LF that follows %%EOF
+     * marker with given number.
+     */
+    public int getEOLLength(int index) {
+        return this.eolLengths[index];
+    }
+
+    /**
+     * @return true if file ends right after %%EOF marker with given number and
+     * its EOL.
+     */
+    public boolean isFileEnd(int index) {
+        return this.eofOffsets[index] + EOF_STRING.length + this.eolLengths[index] == this.length;
+    }
+
+    public long getStreamLength() {
+        return this.length;
+    }
+
+    private static boolean matches(byte[] buffer, int valid, int from, byte[] keyword) {
+        if (from + keyword.length > valid) {
+            return false;
+        }
+        for (int i = 1; i < keyword.length; ++i) {
+            if (buffer[from + i] != keyword[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte getEOLLength(byte[] buffer, int valid, int from) {
+        if (from < valid) {
+            if (BaseParser.isLF(buffer[from])) {
+                return 1;
+            }
+            if (BaseParser.isCR(buffer[from])) {
+                return (byte) (from + 1 < valid && BaseParser.isLF(buffer[from + 1]) ? 2 : 1);
+            }
+        }
+        return 0;
+    }
+
+    private static int ceiling(long[] values, long value) {
+        int index = Arrays.binarySearch(values, value);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private static class ByteList {
+
+        private byte[] values = new byte[16];
+        private int size = 0;
+
+        void add(byte value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        byte[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -26,6 +26,7 @@ import org.verapdf.cos.*;
 import org.verapdf.exceptions.VeraPDFParserException;
 import org.verapdf.io.InternalInputStream;
 import org.verapdf.io.SeekableInputStream;
+import org.verapdf.tools.metrics.ParserMetrics;
 import org.verapdf.tools.resource.ASFileStreamCloser;
 
 import java.io.IOException;
@@ -57,11 +58,29 @@ public class SeekableCOSParser extends COSParser {
 	public SeekableCOSParser(final COSDocument document, final String filename) throws IOException { //tmp ??
 		this(filename);
 		this.document = document;
+		setSourceMetrics(false);
 	}
 
 	public SeekableCOSParser(final COSDocument document, final InputStream fileStream) throws IOException { //tmp ??
 		this(fileStream);
 		this.document = document;
+		setSourceMetrics(!(fileStream instanceof SeekableInputStream));
+	}
+
+	/**
+	 * @param isSourceCopied is true if parser copied data of the given input
+	 *                       stream, possibly into temporary file.
+	 */
+	private void setSourceMetrics(boolean isSourceCopied) {
+		ParserMetrics metrics = this.document != null ? this.document.getMetrics() : null;
+		if (metrics == null || !(getSource() instanceof InternalInputStream)) {
+			return;
+		}
+		InternalInputStream source = (InternalInputStream) getSource();
+		source.setMetrics(metrics);
+		if (isSourceCopied && source.isTempFile()) {
+			metrics.tempFileCreated();
+		}
 	}
 
 	@Override
@@ -126,6 +145,7 @@ public class SeekableCOSParser extends COSParser {
 			dict.setRealStreamSize(size);
 			ASInputStream stm = getBaseParser().getRandomAccess(size);
 			dict.setData(stm);
+			setStreamMetrics(dict);
 			if (stm instanceof InternalInputStream) {
 				this.document.addFileResource(new ASFileStreamCloser(stm));
 			}
@@ -151,6 +171,7 @@ public class SeekableCOSParser extends COSParser {
 							getSource().seek(streamStartOffset);
 							ASInputStream stm = getBaseParser().getRandomAccess(realStreamSize);
 							dict.setData(stm);
+							setStreamMetrics(dict);
 							getSource().seek(possibleEndStreamOffset);
 							if (stm instanceof InternalInputStream) {
 								this.document.addFileResource(new ASFileStreamCloser(stm));
@@ -256,6 +277,13 @@ public class SeekableCOSParser extends COSParser {
 		getBaseParser().nextToken();
 	}
 
+	private void setStreamMetrics(COSObject stream) {
+		ParserMetrics metrics = this.document != null ? this.document.getMetrics() : null;
+		if (metrics != null && stream.getDirectBase() instanceof COSStream) {
+			((COSStream) stream.getDirectBase()).setMetrics(metrics);
+		}
+	}
+
 	public COSDocument getDocument() {
 		return document;
 	}
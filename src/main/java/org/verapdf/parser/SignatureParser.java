@@ -21,7 +21,6 @@
 package org.verapdf.parser;
 
 import org.verapdf.as.ASAtom;
-import org.verapdf.as.CharTable;
 import org.verapdf.cos.COSDocument;
 import org.verapdf.cos.COSKey;
 import org.verapdf.cos.COSObjType;
@@ -30,7 +29,6 @@ import org.verapdf.io.SeekableInputStream;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -45,10 +43,7 @@ public class SignatureParser extends SeekableCOSParser {
 
     private static final Logger LOGGER = Logger.getLogger(SignatureParser.class.getCanonicalName());
     private static final byte[] EOF_STRING = "%%EOF".getBytes(StandardCharsets.ISO_8859_1);
-    private static final byte[] STREAM_STRING = "stream".getBytes(StandardCharsets.ISO_8859_1);
-    private static final byte[] ENDSTREAM_STRING = "endstream".getBytes(StandardCharsets.ISO_8859_1);
 
-    private boolean isStream = false;
     private final long[] byteRange = new long[4];
     private int floatingBytesNumber = 0;
     private boolean isStreamEnd = true;
@@ -201,83 +196,35 @@ public class SignatureParser extends SeekableCOSParser {
     }
 
     /**
-     * Scans stream until next %%EOF is found.
+     * Finds %%EOF that ends revision starting at given offset.
      *
      * @param currentOffset byte offset of position, from which scanning stats
-     * @return number of byte that contains 'F' in %%EOF
+     * @return offset of byte right after %%EOF and its EOL
      * @throws IOException
      */
     private long getOffsetOfNextEOF(long currentOffset) throws IOException {
-        byte[] buffer = new byte[EOF_STRING.length];
+        RevisionBoundaryIndex index = getRevisionBoundaryIndex();
+        int eof = index.getEOFIndex(currentOffset + document.getHeader().getHeaderOffset());
         getSource().seek(currentOffset + document.getHeader().getHeaderOffset());
-        getSource().read(buffer);
-        getSource().unread(buffer.length - 1);
-        isStream = false;
-        while (isStream || !isEOFFound(buffer)) {
-            byte[] streamCheck = isStream ? ENDSTREAM_STRING : STREAM_STRING;
-            byte[] streamCheckBuff = new byte[streamCheck.length];
-            int unreadLength = getSource().read(streamCheckBuff);
-            if (Arrays.equals(streamCheck, streamCheckBuff)) {
-				isStream = !isStream;
-				System.arraycopy(streamCheckBuff, 0, buffer, 0, EOF_STRING.length);
-				unreadLength = -1;
-			} else {
-                getSource().unread(unreadLength);
-                getSource().read(buffer);
-				unreadLength = buffer.length - 1;
-			}
-
-            if (getSource().isEOF()) {
-                getSource().seek(currentOffset + document.getHeader().getHeaderOffset());
-                return getSource().getStreamLength();
-            }
-            if (unreadLength > 0) {
-                getSource().unread(unreadLength);
-			}
-        }
-        long result = getSource().getOffset() - 1 + buffer.length;   // byte right after '%%EOF'
-        this.getSource().skip(EOF_STRING.length - 1);
-        this.floatingBytesNumber = 0;
-        this.isStreamEnd = false;
-        int nextByte = this.getSource().read();
-        if (BaseParser.isLF(nextByte)) { // allows single LF, CR or CR-LF after %%EOF
-            result++;
-            this.floatingBytesNumber++;
-            nextByte = this.getSource().peek();
-        } else if (BaseParser.isCR(nextByte)) {
-            result++;
-            this.floatingBytesNumber++;
-            nextByte = this.getSource().read();
-            if (BaseParser.isLF(nextByte)) {
-                result++;
-                this.floatingBytesNumber++;
-                nextByte = this.getSource().peek();
-            }
-        }
-        if (nextByte == -1) {
-            this.isStreamEnd = true;
+        if (eof == -1) {
+            return index.getStreamLength();
         }
-        getSource().seek(currentOffset + document.getHeader().getHeaderOffset());
-        return result;
+        this.floatingBytesNumber = index.getEOLLength(eof);
+        this.isStreamEnd = index.isFileEnd(eof);
+        return index.getEOFOffset(eof) + EOF_STRING.length + this.floatingBytesNumber;
     }
 
-    private boolean isEOFFound(byte[] buffer) throws IOException {
-        if (!Arrays.equals(buffer, EOF_STRING)) {
-            return false;
-        }
-        long pointer = this.getSource().getOffset();
-        this.getSource().unread(2);
-        int byteBeforeEOF = this.getSource().peek();
-        while (!BaseParser.isLF(byteBeforeEOF) && !BaseParser.isCR(byteBeforeEOF)) {
-            this.getSource().unread();
-            byteBeforeEOF = this.getSource().peek();
-            if (byteBeforeEOF != CharTable.ASCII_SPACE) {
-                this.getSource().seek(pointer);
-                return false;
-            }
+    /**
+     * @return index of revision boundaries of the file. Index is built once and
+     * shared by all signatures of the document.
+     */
+    private RevisionBoundaryIndex getRevisionBoundaryIndex() throws IOException {
+        RevisionBoundaryIndex index = this.document.getRevisionBoundaryIndex();
+        if (index == null) {
+            index = new RevisionBoundaryIndex(getSource());
+            this.document.setRevisionBoundaryIndex(index);
         }
-        this.getSource().seek(pointer);
-        return true;
+        return index;
     }
 
     private void skipID() throws IOException {
@@ -38,7 +38,7 @@ public class Token {
 	public long integer;
 	public double real;
 
-	private final ByteArrayOutputStream token = new ByteArrayOutputStream();
+	private final TokenBuffer token = new TokenBuffer();
 
 	//fields specific for pdf/a validation of strings
 	private boolean containsOnlyHex = true;
@@ -69,6 +69,51 @@ public class Token {
 		return token.size();
 	}
 
+	/**
+	 * @return internal buffer of token value, only first {@link #getSize()}
+	 * bytes of it are valid. Buffer is not copied and it is changed by parser.
+	 */
+	byte[] getRawValue() {
+		return token.getBuffer();
+	}
+
+	/**
+	 * @return size of internal buffer of token value. Buffer grows with the
+	 * longest value read into token and does not shrink.
+	 */
+	int getCapacity() {
+		return token.getBuffer().length;
+	}
+
+	/**
+	 * @return true if token value is equal to given bytes.
+	 */
+	boolean valueEquals(byte[] value) {
+		if (token.size() != value.length) {
+			return false;
+		}
+		byte[] buffer = token.getBuffer();
+		for (int i = 0; i < value.length; ++i) {
+			if (buffer[i] != value[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Brings token into the state of newly created token.
+	 */
+	void reset() {
+		this.type = null;
+		this.keyword = null;
+		this.integer = 0;
+		this.real = 0;
+		this.token.reset();
+		this.containsOnlyHex = true;
+		this.hexCount = 0;
+	}
+
 	public enum Type {
 		TT_NONE,
 		TT_KEYWORD,
@@ -145,4 +190,11 @@ public class Token {
 		clearValue();
 		this.token.write(array, 0, array.length);
 	}
+
+	private static class TokenBuffer extends ByteArrayOutputStream {
+
+		byte[] getBuffer() {
+			return this.buf;
+		}
+	}
 }
@@ -51,6 +51,16 @@ public class PSParser extends NotSeekableCOSParser {
         super(baseParser);
     }
 
+    /**
+     * {@inheritDoc} User dictionary and operand stack are cleared.
+     */
+    @Override
+    public void reset(ASInputStream stream) throws IOException {
+        super.reset(stream);
+        this.userDict.clear();
+        this.operandStack.clear();
+    }
+
     public COSObject getObjectFromUserDict(ASAtom key) {
         return userDict.get(key);
     }
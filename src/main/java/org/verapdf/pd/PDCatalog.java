@@ -31,7 +31,9 @@ import org.verapdf.pd.form.PDAcroForm;
 import org.verapdf.pd.optionalcontent.PDOptionalContentProperties;
 import org.verapdf.pd.structure.PDNumberTreeNode;
 import org.verapdf.pd.structure.PDStructTreeRoot;
+import org.verapdf.pd.structure.StructureTreeIndex;
 import org.verapdf.tools.PageLabels;
+import org.verapdf.tools.StaticResources;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -50,6 +52,8 @@ public class PDCatalog extends PDObject {
 	private PDNamesDictionary namesDictionary;
 	private PDNumberTreeNode pageLabelsTree;
 	private PageLabels pageLabels;
+	private PDStructTreeRoot structTreeRoot;
+	private PDAcroForm acroForm;
 
 	public PDCatalog() {
 		super();
@@ -82,11 +86,26 @@ public class PDCatalog extends PDObject {
 	public PDStructTreeRoot getStructTreeRoot() {
 		COSObject base = getKey(ASAtom.STRUCT_TREE_ROOT);
 		if (base != null && base.getType() == COSObjType.COS_DICT) {
-			return new PDStructTreeRoot(base);
+			if (structTreeRoot == null || structTreeRoot.getObject().getDirectBase() != base.getDirectBase()) {
+				structTreeRoot = new PDStructTreeRoot(base);
+			} else {
+				// another document may have been opened on this thread since the root was cached
+				StaticResources.setRoleMapHelper(structTreeRoot.getRoleMapHelper());
+			}
+			return structTreeRoot;
 		}
 		return null;
 	}
 
+	/**
+	 * @return index of document structure tree or null if document has no
+	 * structure tree. Index is built once and shared by subsequent calls.
+	 */
+	public StructureTreeIndex getStructureTreeIndex() {
+		PDStructTreeRoot root = getStructTreeRoot();
+		return root == null ? null : root.getStructureTreeIndex();
+	}
+
 	public List<PDOutputIntent> getOutputIntents() {
 		COSObject base = getKey(ASAtom.OUTPUT_INTENTS);
 		if (base != null && base.getType() == COSObjType.COS_ARRAY) {
@@ -143,7 +162,10 @@ public class PDCatalog extends PDObject {
 	public PDAcroForm getAcroForm() {
 		COSObject acroForm = getKey(ASAtom.ACRO_FORM);
 		if (acroForm != null && acroForm.getType().isDictionaryBased()) {
-			return new PDAcroForm(acroForm);
+			if (this.acroForm == null || this.acroForm.getObject().getDirectBase() != acroForm.getDirectBase()) {
+				this.acroForm = new PDAcroForm(acroForm);
+			}
+			return this.acroForm;
 		}
 		return null;
 	}
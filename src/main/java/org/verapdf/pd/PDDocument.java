@@ -23,6 +23,8 @@ package org.verapdf.pd;
 import org.verapdf.as.ASAtom;
 import org.verapdf.cos.COSDocument;
 import org.verapdf.cos.COSIndirect;
+import org.verapdf.cos.COSKey;
+import org.verapdf.cos.COSObjType;
 import org.verapdf.cos.COSObject;
 import org.verapdf.cos.visitor.IndirectWriter;
 import org.verapdf.cos.visitor.Writer;
@@ -49,6 +51,8 @@ public class PDDocument {
 
 	private final PDCatalog catalog;
 	private COSDocument document;
+	private final PDResourceRegistry resourceRegistry = new PDResourceRegistry();
+	private PDPage linearizedFirstPage;
 
 	public PDDocument() throws IOException {
 		try {
@@ -62,9 +66,23 @@ public class PDDocument {
 	}
 
 	public PDDocument(final String filename) throws IOException {
+		this(filename, false);
+	}
+
+	/**
+	 * Opens document from file. If deferXRefLoading is true and document is
+	 * linearized, only its first-page cross-reference section is read, which
+	 * makes the first page available without reading the rest of the file's
+	 * cross-reference chain.
+	 *
+	 * @param filename path to the file.
+	 * @param deferXRefLoading true to defer loading of cross-reference chain
+	 *                         of linearized document.
+	 */
+	public PDDocument(final String filename, final boolean deferXRefLoading) throws IOException {
 		try {
 			this.catalog = new PDCatalog();
-			this.document = new COSDocument(filename, this);
+			this.document = new COSDocument(filename, this, deferXRefLoading);
 			checkPages();
 		} catch (Throwable t) {
 			this.close();
@@ -117,9 +135,17 @@ public class PDDocument {
 
 		StaticResources.clear();
 		catalog.clear();
+		resourceRegistry.clear();
 		//this.info.clear;
 	}
 
+	/**
+	 * @return registry of indirect resources shared by pages of this document.
+	 */
+	public PDResourceRegistry getResourceRegistry() {
+		return resourceRegistry;
+	}
+
 	public PDCatalog getCatalog() {
 		if (!catalog.empty() || document == null) {
 			return catalog;
@@ -159,20 +185,76 @@ public class PDDocument {
 	}
 
 	public int getNumberOfPages() {
+		if (document != null && document.isXRefDeferred()) {
+			Long pageCount = document.getLinearizationDictionary().getIntegerKey(ASAtom.N);
+			if (pageCount != null && pageCount > 0) {
+				return pageCount.intValue();
+			}
+		}
 		return this.getCatalog().getPageTree().getPageCount();
 	}
 
 	public List<PDPage> getPages() {
-		final List<PDPage> pages = new ArrayList<>();
-		final int pageCount = this.getCatalog().getPageTree().getPageCount();
+		final PDPageTree pageTree = getPageTree();
+		final int pageCount = pageTree.getPageCount();
+		final List<PDPage> pages = new ArrayList<>(pageCount);
 		for (int i = 0; i < pageCount; i++) {
-			pages.add(this.getPage(i));
+			pages.add(pageTree.getPage(i));
 		}
 		return pages;
 	}
 
+	/**
+	 * @return iterable over pages of document. Unlike {@link #getPages()} it
+	 * creates pages one by one and does not retain them.
+	 */
+	public Iterable<PDPage> getPagesIterable() {
+		return getPageTree().getPages();
+	}
+
 	public PDPage getPage(final int number) {
-		return this.getCatalog().getPageTree().getPage(number);
+		if (number == 0 && document != null && document.isXRefDeferred()) {
+			PDPage firstPage = getLinearizedFirstPage();
+			if (firstPage != null) {
+				return firstPage;
+			}
+		}
+		return getPageTree().getPage(number);
+	}
+
+	/**
+	 * @return page tree of document. First page returned before the whole
+	 * cross-reference chain of linearized document was read becomes the first
+	 * page of page tree.
+	 */
+	private PDPageTree getPageTree() {
+		final PDPageTree pageTree = this.getCatalog().getPageTree();
+		if (this.linearizedFirstPage != null && document != null && !document.isXRefDeferred()) {
+			pageTree.getPageIndex().adoptPage(0, this.linearizedFirstPage);
+			this.linearizedFirstPage = null;
+		}
+		return pageTree;
+	}
+
+	/**
+	 * @return first page of linearized document referenced by /O entry of
+	 * linearization dictionary or null if it can't be obtained. Inheritable
+	 * attributes of the page are resolved through its /Parent entries.
+	 */
+	private PDPage getLinearizedFirstPage() {
+		if (this.linearizedFirstPage != null) {
+			return this.linearizedFirstPage;
+		}
+		Long pageNumber = document.getLinearizationDictionary().getIntegerKey(ASAtom.O);
+		if (pageNumber == null) {
+			return null;
+		}
+		COSObject page = COSIndirect.construct(new COSKey(pageNumber.intValue(), 0), document);
+		if (page.getType() != COSObjType.COS_DICT || page.getNameKey(ASAtom.TYPE) != ASAtom.PAGE) {
+			return null;
+		}
+		this.linearizedFirstPage = PDPageIndex.ofPage(page).getPage(0);
+		return this.linearizedFirstPage;
 	}
 
 	public void addPage(final PDPage page, final int number) {
@@ -250,5 +332,9 @@ public class PDDocument {
 		if (getNumberOfPages() == 0) {
 			throw new IOException("Pages not found");
 		}
+		if (document != null && !document.isXRefDeferred()) {
+			// page tree loops and unknown page tree node types are reported on open
+			getPageTree().getPageIndex();
+		}
 	}
 }
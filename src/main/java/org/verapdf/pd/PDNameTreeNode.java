@@ -39,6 +39,11 @@ public class PDNameTreeNode extends PDObject implements Iterable<COSObject> {
 	private String[] limitsArray = null;
 	private List<PDNameTreeNode> kids = null;
 	private Map<String, COSObject> names = null;
+	private Boolean kidsOrdered = null;
+
+	private String[] indexKeys = null;
+	private COSObject[] indexKeyValues = null;
+	private COSObject[] indexValues = null;
 
 	private PDNameTreeNode(COSObject obj, Set<COSKey> parents) {
 		super(obj);
@@ -125,54 +130,157 @@ public class PDNameTreeNode extends PDObject implements Iterable<COSObject> {
 		return new String[0];
 	}
 
-	public COSObject getObject(String key) {
-		String[] limits = this.getLimitsArray();
-		if (limits.length == 2 && (key.compareTo(limits[0]) < 0 || key.compareTo(limits[1]) > 0)) {
-			// string not in the limits
-			return null;
+	/**
+	 * Builds flattened index of this tree: all values of the tree in traversal
+	 * order and sorted array of keys reachable by {@link #getObject(String)}.
+	 * After that lookups by key are binary searches in the index and size of
+	 * the tree is known. Index is built automatically on first bulk access.
+	 */
+	public void buildIndex() {
+		if (this.indexValues != null) {
+			return;
 		}
-
-		if (this.knownKey(ASAtom.NAMES)) {
-			// just get object from names or check if it is not in names
-			Map<String, COSObject> names = getNames();
-			return names == null ? null : names.get(key);
+		List<COSObject> values = new ArrayList<>();
+		List<String> keys = new ArrayList<>();
+		List<COSObject> keyValues = new ArrayList<>();
+		Deque<IndexFrame> stack = new ArrayDeque<>();
+		stack.push(new IndexFrame(this, null, null, true));
+		while (!stack.isEmpty()) {
+			IndexFrame frame = stack.pop();
+			PDNameTreeNode node = frame.node;
+			String low = frame.low;
+			String high = frame.high;
+			String[] limits = node.getLimitsArray();
+			if (limits.length == 2) {
+				low = low == null || limits[0].compareTo(low) > 0 ? limits[0] : low;
+				high = high == null || limits[1].compareTo(high) < 0 ? limits[1] : high;
+			}
+			boolean hasNames = node.knownKey(ASAtom.NAMES);
+			for (Map.Entry<String, COSObject> entry : node.getNames().entrySet()) {
+				values.add(entry.getValue());
+				String key = entry.getKey();
+				if (frame.reachable && (low == null || key.compareTo(low) >= 0) &&
+				    (high == null || key.compareTo(high) <= 0)) {
+					keys.add(key);
+					keyValues.add(entry.getValue());
+				}
+			}
+			List<PDNameTreeNode> kids = node.getKids();
+			for (int i = kids.size() - 1; i >= 0; --i) {
+				// kids of node with Names entry are not used in lookups by key
+				stack.push(new IndexFrame(kids.get(i), low, high, frame.reachable && !hasNames));
+			}
+		}
+		Integer[] order = new Integer[keys.size()];
+		for (int i = 0; i < order.length; ++i) {
+			order[i] = i;
 		}
+		// stable sort, so the first of equal keys in traversal order is kept
+		Arrays.sort(order, (first, second) -> keys.get(first).compareTo(keys.get(second)));
+		String[] sortedKeys = new String[order.length];
+		COSObject[] sortedValues = new COSObject[order.length];
+		int size = 0;
+		for (Integer position : order) {
+			String key = keys.get(position);
+			if (size == 0 || !sortedKeys[size - 1].equals(key)) {
+				sortedKeys[size] = key;
+				sortedValues[size] = keyValues.get(position);
+				size++;
+			}
+		}
+		this.indexKeys = Arrays.copyOf(sortedKeys, size);
+		this.indexKeyValues = Arrays.copyOf(sortedValues, size);
+		this.indexValues = values.toArray(new COSObject[0]);
+	}
 
-		if (this.knownKey(ASAtom.KIDS)) {
-			// find kid with mapping for given key
-			List<PDNameTreeNode> kids = getKids();
-			if (kids != null) {
-				for (PDNameTreeNode kid : kids) {
+	public boolean isIndexed() {
+		return this.indexValues != null;
+	}
+
+	public COSObject getObject(String key) {
+		if (this.indexValues != null) {
+			int position = Arrays.binarySearch(this.indexKeys, key);
+			return position >= 0 ? this.indexKeyValues[position] : null;
+		}
+		PDNameTreeNode node = this;
+		while (node != null) {
+			String[] limits = node.getLimitsArray();
+			if (limits.length == 2 && (key.compareTo(limits[0]) < 0 || key.compareTo(limits[1]) > 0)) {
+				// string not in the limits
+				return null;
+			}
+			if (node.knownKey(ASAtom.NAMES)) {
+				// just get object from names or check if it is not in names
+				return node.getNames().get(key);
+			}
+			if (!node.knownKey(ASAtom.KIDS)) {
+				return null;
+			}
+			if (!node.areKidsOrdered()) {
+				// find kid with mapping for given key
+				for (PDNameTreeNode kid : node.getKids()) {
 					COSObject res = kid.getObject(key);
 					if (res != null) {
 						return res;
 					}
 				}
+				return null;
+			}
+			node = node.findKid(key);
+		}
+		return null;
+	}
+
+	/**
+	 * @return kid which limits contain given key. Kids should be ordered.
+	 */
+	private PDNameTreeNode findKid(String key) {
+		List<PDNameTreeNode> kids = getKids();
+		int low = 0;
+		int high = kids.size() - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			String[] limits = kids.get(middle).getLimitsArray();
+			if (key.compareTo(limits[0]) < 0) {
+				high = middle - 1;
+			} else if (key.compareTo(limits[1]) > 0) {
+				low = middle + 1;
+			} else {
+				return kids.get(middle);
 			}
 		}
 		return null;
 	}
 
-	private List<COSObject> getObjects() {
-		List<COSObject> result = new LinkedList<>(getNames().values());
-		for (PDNameTreeNode kid : getKids()) {
-			result.addAll(kid.getObjects());
+	/**
+	 * @return true if all kids have limits and ranges of these limits are
+	 * sorted and do not intersect, so the kid for key can be found with binary search.
+	 */
+	private boolean areKidsOrdered() {
+		if (this.kidsOrdered == null) {
+			boolean res = true;
+			String previous = null;
+			List<PDNameTreeNode> kids = getKids();
+			for (int i = 0; i < kids.size() && res; ++i) {
+				String[] limits = kids.get(i).getLimitsArray();
+				res = limits.length == 2 && limits[0].compareTo(limits[1]) <= 0 &&
+				      (previous == null || previous.compareTo(limits[0]) < 0);
+				previous = res ? limits[1] : previous;
+			}
+			this.kidsOrdered = res;
 		}
-		return result;
+		return this.kidsOrdered;
 	}
 
 	@Override
 	public Iterator<COSObject> iterator() {
-		return getObjects().iterator();
+		buildIndex();
+		return Collections.unmodifiableList(Arrays.asList(this.indexValues)).iterator();
 	}
 
 	public Long size() {
-		long i = 0;
-		Iterator<COSObject> iterator = iterator();
-		for (; iterator.hasNext(); i++) {
-			iterator.next();
-		}
-		return i;
+		buildIndex();
+		return (long) this.indexValues.length;
 	}
 	
 	public boolean containsKey(String key) {
@@ -180,11 +288,27 @@ public class PDNameTreeNode extends PDObject implements Iterable<COSObject> {
 	}
 	
 	public boolean containsValue(COSObject value) {
-		for (COSObject object : this) {
+		buildIndex();
+		for (COSObject object : this.indexValues) {
 			if (object != null && object.equals(value)) {
 				return true;
 			}
 		}
 		return false;
 	}
+
+	private static class IndexFrame {
+
+		private final PDNameTreeNode node;
+		private final String low;
+		private final String high;
+		private final boolean reachable;
+
+		private IndexFrame(PDNameTreeNode node, String low, String high, boolean reachable) {
+			this.node = node;
+			this.low = low;
+			this.high = high;
+			this.reachable = reachable;
+		}
+	}
 }
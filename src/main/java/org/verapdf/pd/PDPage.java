@@ -55,6 +55,9 @@ public class PDPage extends PDPageTreeNode {
     int pageNumber;
     int pagesTotal;
 
+    private PDPageIndex pageIndex;
+    private int pageIndexPosition;
+
     public PDPage(final double[] bbox, final COSDocument document) {
         super();
 
@@ -79,6 +82,37 @@ public class PDPage extends PDPageTreeNode {
         initializeContents(obj);
     }
 
+    /**
+     * Creates page of page index. Inheritable attributes of such page are
+     * resolved by the index, and its parent page tree branch is built by the
+     * index on the first call of {@link #getParent()}.
+     */
+    PDPage(final COSObject obj, final PDPageIndex pageIndex, final int pageNumber) {
+        this(obj);
+        this.pageIndex = pageIndex;
+        this.pageIndexPosition = pageNumber;
+        this.pageNumber = pageNumber;
+        this.pagesTotal = pageNumber;
+    }
+
+    @Override
+    public PDPageTreeBranch getParent() {
+        PDPageTreeBranch parent = super.getParent();
+        if (parent == null && this.pageIndex != null) {
+            return this.pageIndex.getParentBranch(this.pageIndexPosition);
+        }
+        return parent;
+    }
+
+    /**
+     * Moves page to another page index, e.g. when the page created before the
+     * page tree was read becomes the page of page tree index.
+     */
+    void setPageIndex(final PDPageIndex pageIndex, final int position) {
+        this.pageIndex = pageIndex;
+        this.pageIndexPosition = position;
+    }
+
     private void initializeContents(final COSObject pageDict) {
         COSObject contents = pageDict.getKey(ASAtom.CONTENTS);
         if (contents.getType() == COSObjType.COS_STREAM || contents.getType() == COSObjType.COS_ARRAY) {
@@ -195,6 +229,14 @@ public class PDPage extends PDPageTreeNode {
         return this.resources;
     }
 
+    @Override
+    protected COSObject getInheritableResources() {
+        if (this.pageIndex != null) {
+            return this.pageIndex.getInheritedAttribute(this.pageIndexPosition, PDPageIndex.RESOURCES);
+        }
+        return super.getInheritableResources();
+    }
+
     public Boolean isInheritedResources() {
         return !getObject().knownKey(ASAtom.RESOURCES);
     }
@@ -261,6 +303,11 @@ public class PDPage extends PDPageTreeNode {
     }
 
     private COSArray getInheritedCOSBBox(ASAtom type) {
+        if (this.pageIndex != null) {
+            COSObject object = this.pageIndex.getInheritedAttribute(this.pageIndexPosition,
+                    type == ASAtom.MEDIA_BOX ? PDPageIndex.MEDIA_BOX : PDPageIndex.CROP_BOX);
+            return object != null && object.getType() == COSObjType.COS_ARRAY ? (COSArray) object.getDirectBase() : null;
+        }
         COSObject current = getObject();
         while (current != null && current.getType().isDictionaryBased()) {
             COSObject object = current.getKey(type);
@@ -317,6 +364,10 @@ public class PDPage extends PDPageTreeNode {
     }
 
     public Long getRotation() {
+        if (this.pageIndex != null) {
+            COSObject object = this.pageIndex.getInheritedAttribute(this.pageIndexPosition, PDPageIndex.ROTATE);
+            return object != null && object.getType() == COSObjType.COS_INTEGER ? object.getInteger() : 0L;
+        }
         COSObject current = getObject();
         while (current != null && current.getType().isDictionaryBased()) {
             COSObject object = current.getKey(ASAtom.ROTATE);
@@ -0,0 +1,358 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pd;
+
+import org.verapdf.as.ASAtom;
+import org.verapdf.as.exceptions.StringExceptions;
+import org.verapdf.cos.COSBase;
+import org.verapdf.cos.COSObjType;
+import org.verapdf.cos.COSObject;
+import org.verapdf.exceptions.LoopedException;
+import org.verapdf.exceptions.VeraPDFParserException;
+import org.verapdf.tools.LongList;
+
+import java.util.*;
+
+/**
+ * Flat index of pages of page tree. Page tree is traversed once in document
+ * order without creating PD objects for its nodes. For each page index keeps
+ * page dictionary and, for each inheritable attribute, the nearest page tree
+ * node that defines it, so page attributes are resolved without walking the
+ * tree. PDPage objects are created only on request.
+ * <p>
+ * Page tree branches are built on the first request of parent of a page or
+ * of the root branch. Then all pages of the index are created and retained
+ * as kids of their branches.
+ */
+public class PDPageIndex {
+
+	static final int RESOURCES = 0;
+	static final int MEDIA_BOX = 1;
+	static final int CROP_BOX = 2;
+	static final int ROTATE = 3;
+
+	private static final ASAtom[] INHERITABLE_ATTRIBUTES = {ASAtom.RESOURCES, ASAtom.MEDIA_BOX,
+	                                                        ASAtom.CROP_BOX, ASAtom.ROTATE};
+	private static final int NO_NODE = -1;
+
+	private final COSObject[] pages;
+	// for index of single page, nodes are resolved on the first request of inherited attribute
+	private COSObject[] nodes;
+	private int[][] anchors;
+	private final PDPage[] createdPages;
+	private final boolean isSinglePage;
+	private PDPageTreeBranch rootBranch;
+	private PDPageTreeBranch[] parentBranches;
+
+	/**
+	 * Builds index of page tree.
+	 *
+	 * @param root is root node of page tree.
+	 * @throws LoopedException if page tree node is its own descendant.
+	 */
+	public PDPageIndex(COSObject root) {
+		List<COSObject> pagesList = new ArrayList<>();
+		List<COSObject> nodesList = new ArrayList<>();
+		LongList[] anchorsLists = new LongList[INHERITABLE_ATTRIBUTES.length];
+		for (int i = 0; i < anchorsLists.length; ++i) {
+			anchorsLists[i] = new LongList();
+		}
+		Map<COSBase, Boolean> path = new IdentityHashMap<>();
+		Deque<Frame> stack = new ArrayDeque<>();
+		if (root != null && !root.empty()) {
+			nodesList.add(root);
+			stack.push(new Frame(root, getAnchors(root, 0, null)));
+			path.put(root.getDirectBase(), Boolean.TRUE);
+		}
+		while (!stack.isEmpty()) {
+			Frame frame = stack.peek();
+			if (frame.kids == null || frame.next >= frame.kids.size()) {
+				stack.pop();
+				path.remove(frame.node.getDirectBase());
+				continue;
+			}
+			COSObject kid = frame.kids.at(frame.next++);
+			if (path.containsKey(kid.getDirectBase())) {
+				throw new LoopedException("Page tree loop found");
+			}
+			ASAtom type = kid.getNameKey(ASAtom.TYPE);
+			if (type == ASAtom.PAGE) {
+				pagesList.add(kid);
+				for (int i = 0; i < anchorsLists.length; ++i) {
+					anchorsLists[i].add(frame.anchors[i]);
+				}
+			} else if (type == ASAtom.PAGES) {
+				int[] kidAnchors = getAnchors(kid, nodesList.size(), frame.anchors);
+				nodesList.add(kid);
+				stack.push(new Frame(kid, kidAnchors));
+				path.put(kid.getDirectBase(), Boolean.TRUE);
+			} else {
+				throw new VeraPDFParserException(StringExceptions.UNKNOWN_TYPE_PAGE_TREE_NODE);
+			}
+		}
+		this.pages = pagesList.toArray(new COSObject[0]);
+		this.nodes = nodesList.toArray(new COSObject[0]);
+		this.anchors = new int[INHERITABLE_ATTRIBUTES.length][];
+		for (int i = 0; i < anchorsLists.length; ++i) {
+			this.anchors[i] = anchorsLists[i].toIntArray();
+		}
+		this.createdPages = new PDPage[this.pages.length];
+		this.isSinglePage = false;
+	}
+
+	private PDPageIndex(COSObject[] pages, COSObject[] nodes, int[][] anchors) {
+		this.pages = pages;
+		this.nodes = nodes;
+		this.anchors = anchors;
+		this.createdPages = new PDPage[pages.length];
+		this.isSinglePage = true;
+	}
+
+	/**
+	 * Builds index of single page, whose inheritable attributes are resolved
+	 * through the chain of /Parent entries. It is used when the page tree can
+	 * not be traversed yet, e.g. for the first page of linearized document
+	 * opened with deferred cross-reference loading. The chain is read only
+	 * when the page does not define requested attribute itself. Page tree
+	 * branches are not built for such index.
+	 *
+	 * @param page is page dictionary.
+	 * @return index that contains the only given page.
+	 */
+	static PDPageIndex ofPage(COSObject page) {
+		return new PDPageIndex(new COSObject[]{page}, null, null);
+	}
+
+	/**
+	 * @throws LoopedException if chain of /Parent entries is looped.
+	 */
+	private void resolveParentChain() {
+		List<COSObject> nodesList = new ArrayList<>();
+		Map<COSBase, Boolean> visited = new IdentityHashMap<>();
+		visited.put(this.pages[0].getDirectBase(), Boolean.TRUE);
+		COSObject node = this.pages[0].getKey(ASAtom.PARENT);
+		while (node != null && node.getType() == COSObjType.COS_DICT) {
+			if (visited.put(node.getDirectBase(), Boolean.TRUE) != null) {
+				throw new LoopedException("Page tree loop found");
+			}
+			nodesList.add(node);
+			node = node.getKey(ASAtom.PARENT);
+		}
+		int[][] anchors = new int[INHERITABLE_ATTRIBUTES.length][];
+		for (int i = 0; i < anchors.length; ++i) {
+			anchors[i] = new int[]{NO_NODE};
+			for (int j = 0; j < nodesList.size(); ++j) {
+				COSObject value = nodesList.get(j).getKey(INHERITABLE_ATTRIBUTES[i]);
+				if (value != null && !value.empty()) {
+					anchors[i][0] = j;
+					break;
+				}
+			}
+		}
+		this.nodes = nodesList.toArray(new COSObject[0]);
+		this.anchors = anchors;
+	}
+
+	/**
+	 * @return amount of pages found in page tree.
+	 */
+	public int size() {
+		return this.pages.length;
+	}
+
+	/**
+	 * @return page dictionary of page with given number.
+	 */
+	public COSObject getPageObject(int index) {
+		return this.pages[index];
+	}
+
+	/**
+	 * Gets page with given number. Page object is created on the first request
+	 * and returned by subsequent requests.
+	 *
+	 * @param index is number of page.
+	 * @return page with given number.
+	 */
+	public PDPage getPage(int index) {
+		PDPage page = this.createdPages[index];
+		if (page == null) {
+			page = new PDPage(this.pages[index], this, index);
+			this.createdPages[index] = page;
+		}
+		return page;
+	}
+
+	/**
+	 * Makes page created by other index the page of this index with given
+	 * number, so that subsequent requests of this page return the same object.
+	 * Page is not adopted if this index has already created its own page with
+	 * given number or if page dictionaries differ.
+	 *
+	 * @param index is number of page.
+	 * @param page  is page to adopt.
+	 */
+	void adoptPage(int index, PDPage page) {
+		if (index < 0 || index >= this.pages.length || this.createdPages[index] != null ||
+		    this.pages[index].getDirectBase() != page.getObject().getDirectBase()) {
+			return;
+		}
+		page.setPageIndex(this, index);
+		this.createdPages[index] = page;
+	}
+
+	/**
+	 * @return iterable over all pages. Pages that were not requested with
+	 * {@link #getPage(int)} are created during iteration and are not retained
+	 * by index.
+	 */
+	public Iterable<PDPage> getPages() {
+		return () -> new Iterator<PDPage>() {
+			private int next = 0;
+
+			@Override
+			public boolean hasNext() {
+				return this.next < pages.length;
+			}
+
+			@Override
+			public PDPage next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				int index = this.next++;
+				PDPage page = createdPages[index];
+				return page != null ? page : new PDPage(pages[index], PDPageIndex.this, index);
+			}
+		};
+	}
+
+	/**
+	 * @return root branch of page tree or null if page tree is empty or this
+	 * is index of single page.
+	 */
+	PDPageTreeBranch getRootBranch() {
+		if (this.parentBranches == null) {
+			buildBranches();
+		}
+		return this.rootBranch;
+	}
+
+	/**
+	 * @param index is number of page.
+	 * @return page tree branch whose kids contain page with given number or
+	 * null if this is index of single page.
+	 */
+	PDPageTreeBranch getParentBranch(int index) {
+		if (this.parentBranches == null) {
+			buildBranches();
+		}
+		return this.parentBranches[index];
+	}
+
+	/**
+	 * Builds page tree branches for page tree nodes of this index. Loops and
+	 * node types were checked when the index was built.
+	 */
+	private void buildBranches() {
+		PDPageTreeBranch[] branches = new PDPageTreeBranch[this.pages.length];
+		if (!this.isSinglePage && this.nodes.length > 0) {
+			this.rootBranch = PDPageTreeBranch.createIndexBranch(this.nodes[0], null);
+			Deque<Frame> stack = new ArrayDeque<>();
+			stack.push(new Frame(this.nodes[0], this.rootBranch));
+			int page = 0;
+			while (!stack.isEmpty()) {
+				Frame frame = stack.peek();
+				if (frame.kids == null || frame.next >= frame.kids.size()) {
+					stack.pop();
+					continue;
+				}
+				COSObject kid = frame.kids.at(frame.next++);
+				ASAtom type = kid.getNameKey(ASAtom.TYPE);
+				if (type == ASAtom.PAGE) {
+					frame.branch.addIndexKid(getPage(page));
+					branches[page++] = frame.branch;
+				} else if (type == ASAtom.PAGES) {
+					stack.push(new Frame(kid, PDPageTreeBranch.createIndexBranch(kid, frame.branch)));
+				}
+			}
+		}
+		this.parentBranches = branches;
+	}
+
+	/**
+	 * Gets value of inheritable attribute of page. Value is taken from page
+	 * dictionary or from the nearest page tree node that defines it.
+	 *
+	 * @param index     is number of page.
+	 * @param attribute is one of inheritable attributes of this index.
+	 * @return value of attribute or null if it is not defined.
+	 */
+	COSObject getInheritedAttribute(int index, int attribute) {
+		COSObject value = this.pages[index].getKey(INHERITABLE_ATTRIBUTES[attribute]);
+		if (value != null && !value.empty()) {
+			return value;
+		}
+		if (this.anchors == null) {
+			resolveParentChain();
+		}
+		int node = this.anchors[attribute][index];
+		return node == NO_NODE ? null : this.nodes[node].getKey(INHERITABLE_ATTRIBUTES[attribute]);
+	}
+
+	private static int[] getAnchors(COSObject node, int nodeIndex, int[] parentAnchors) {
+		int[] res = new int[INHERITABLE_ATTRIBUTES.length];
+		for (int i = 0; i < res.length; ++i) {
+			COSObject value = node.getKey(INHERITABLE_ATTRIBUTES[i]);
+			if (value != null && !value.empty()) {
+				res[i] = nodeIndex;
+			} else {
+				res[i] = parentAnchors != null ? parentAnchors[i] : NO_NODE;
+			}
+		}
+		return res;
+	}
+
+	private static class Frame {
+
+		private final COSObject node;
+		private final COSObject kids;
+		private final int[] anchors;
+		private final PDPageTreeBranch branch;
+		private int next = 0;
+
+		private Frame(COSObject node, int[] anchors) {
+			this(node, anchors, null);
+		}
+
+		private Frame(COSObject node, PDPageTreeBranch branch) {
+			this(node, null, branch);
+		}
+
+		private Frame(COSObject node, int[] anchors, PDPageTreeBranch branch) {
+			this.node = node;
+			COSObject kids = node.getKey(ASAtom.KIDS);
+			this.kids = kids != null && !kids.empty() ? kids : null;
+			this.anchors = anchors;
+			this.branch = branch;
+		}
+	}
+}
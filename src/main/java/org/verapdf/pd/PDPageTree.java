@@ -20,6 +20,7 @@
  */
 package org.verapdf.pd;
 
+import org.verapdf.as.ASAtom;
 import org.verapdf.cos.COSObject;
 
 /**
@@ -28,16 +29,26 @@ import org.verapdf.cos.COSObject;
 public class PDPageTree {
 
 	private PDPageTreeBranch root;
+	private boolean isRootInitialized;
+	private PDPageIndex pageIndex;
 
 	public PDPageTree() {
 		this.root = new PDPageTreeBranch();
+		this.isRootInitialized = true;
 	}
 
 	public PDPageTree(final COSObject object) {
-		this.root = new PDPageTreeBranch(object);
+		this.root = new PDPageTreeBranch();
+		setObject(object);
 	}
 
+	/**
+	 * @return root of editable page tree. Tree of page tree nodes is created on
+	 * the first call from the page index, so its pages are the pages returned
+	 * by {@link #getPage(int)}.
+	 */
 	public PDPageTreeBranch getRoot() {
+		initializeRoot();
 		return root;
 	}
 
@@ -46,7 +57,9 @@ public class PDPageTree {
 	}
 
 	public void setObject(final COSObject object) {
-		this.root.setObject(object);
+		this.root.setObject(object, false);
+		this.isRootInitialized = false;
+		this.pageIndex = null;
 	}
 
 	public boolean empty() {
@@ -54,26 +67,47 @@ public class PDPageTree {
 	}
 
 	public int getPageCount() {
-		return this.root.getLeafCount();
+		if (this.isRootInitialized) {
+			return this.root.getLeafCount();
+		}
+		Long count = getObject().getIntegerKey(ASAtom.COUNT);
+		return count != null ? count.intValue() : 0;
+	}
+
+	/**
+	 * @return index of pages of this page tree. Index is built on the first
+	 * call and shared by subsequent calls until page tree is changed.
+	 */
+	public PDPageIndex getPageIndex() {
+		if (this.pageIndex == null) {
+			this.pageIndex = new PDPageIndex(getObject());
+		}
+		return this.pageIndex;
 	}
 
 	public PDPage getPage(final int index) {
-		try {
-			if (index < this.getPageCount()) {
-				final PDPage page = this.root.findTerminalPDPage(index);
-				if (page != null) {
-					page.pageNumber = index;
-					page.pagesTotal = index;
-				}
-				return page;
-			} else {
-				return null;
+		if (index < this.getPageCount()) {
+			PDPageIndex pageIndex = getPageIndex();
+			if (index < 0 || index >= pageIndex.size()) {
+				throw new IndexOutOfBoundsException("Invalid page tree");
 			}
-		} catch (IndexOutOfBoundsException e) {
-			throw new IndexOutOfBoundsException("Invalid page tree");
+			final PDPage page = pageIndex.getPage(index);
+			page.pageNumber = index;
+			page.pagesTotal = index;
+			return page;
+		} else {
+			return null;
 		}
 	}
 
+	/**
+	 * @return iterable over pages of this page tree that does not retain
+	 * created pages.
+	 */
+	public Iterable<PDPage> getPages() {
+		return getPageIndex().getPages();
+	}
+
 	public PDPage newPage(final int insertAt) {
 		final PDPage page = new PDPage(null);
 		if (this.addPage(page, insertAt)) {
@@ -83,6 +117,8 @@ public class PDPageTree {
 	}
 
 	public boolean addPage(final PDPage page, final int insertAt) {
+		initializeRoot();
+		this.pageIndex = null;
 		final PDPageTreeBranch branch = this.root.findTerminal(insertAt);
 
 		if (branch.insertLeaf(page, insertAt)) {
@@ -92,4 +128,16 @@ public class PDPageTree {
 		return false;
 	}
 
+	private void initializeRoot() {
+		if (!this.isRootInitialized) {
+			PDPageTreeBranch indexRoot = getPageIndex().getRootBranch();
+			if (indexRoot != null) {
+				this.root = indexRoot;
+			} else {
+				this.root.updateFromObject();
+			}
+			this.isRootInitialized = true;
+		}
+	}
+
 }
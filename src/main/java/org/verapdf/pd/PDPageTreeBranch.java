@@ -78,6 +78,31 @@ public class PDPageTreeBranch extends PDPageTreeNode {
 		rightChild.setParent(this);
 	}
 
+	/**
+	 * Creates branch of page tree node for page index. Kids of the node are
+	 * not read, they are added by the index.
+	 */
+	static PDPageTreeBranch createIndexBranch(final COSObject obj, final PDPageTreeBranch parentTreeBranch) {
+		PDPageTreeBranch branch = new PDPageTreeBranch();
+		branch.setObject(obj, false);
+		Long leafCount = obj.getIntegerKey(ASAtom.COUNT);
+		if (leafCount != null) {
+			branch.leafCount = leafCount.intValue();
+		}
+		if (parentTreeBranch != null) {
+			parentTreeBranch.addIndexKid(branch);
+		}
+		return branch;
+	}
+
+	void addIndexKid(final PDPageTreeNode kid) {
+		if (kid instanceof PDPageTreeBranch) {
+			this.isTerminal = false;
+		}
+		kid.setIndexParent(this);
+		this.children.add(kid);
+	}
+
 	@Override
 	public int getLeafCount() {
 		return leafCount;
@@ -48,6 +48,14 @@ public class PDPageTreeNode extends PDObject {
 		}
 	}
 
+	/**
+	 * Sets parent branch built by page index. /Parent entry is not changed,
+	 * as it already refers to the parent node.
+	 */
+	void setIndexParent(final PDPageTreeBranch parent) {
+		this.parent = parent;
+	}
+
 	public int getLeafCount() {
 		return 1;
 	}
@@ -0,0 +1,176 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pd;
+
+import org.verapdf.as.ASAtom;
+import org.verapdf.cos.COSBase;
+import org.verapdf.cos.COSDocument;
+import org.verapdf.cos.COSIndirect;
+import org.verapdf.cos.COSKey;
+import org.verapdf.cos.COSObject;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Document-scoped registry of resources defined by indirect objects. Pages
+ * usually refer to the same font, color space, XObject and graphics state
+ * objects, so registry allows to construct each of them once and share it
+ * between resource dictionaries of all pages.
+ * <p>
+ * Resources that depend on resource dictionary in which they are used, like
+ * images or color spaces with named alternate spaces, are shared only between
+ * users of the same resource dictionary.
+ * <p>
+ * Registry may be used by several threads processing pages of one document.
+ * If two threads request the same resource at once, both may construct it,
+ * but only the first registered instance is returned to both of them.
+ * Registered resources are kept until the document is closed, which clears
+ * the registry.
+ */
+public class PDResourceRegistry {
+
+	// resources are constructed outside of the map operations, because
+	// constructing one resource may request other resources from the registry
+	private static final Object NULL_RESOURCE = new Object();
+
+	private final Map<ResourceKey, Object> resources = new ConcurrentHashMap<>();
+	private final LongAdder requestsCount = new LongAdder();
+	private final LongAdder hitsCount = new LongAdder();
+
+	/**
+	 * @param object is resource object.
+	 * @return registry of document that owns given indirect object or null if
+	 * object is direct or does not belong to PD document.
+	 */
+	static PDResourceRegistry getRegistry(COSObject object) {
+		if (object == null || !(object.get() instanceof COSIndirect)) {
+			return null;
+		}
+		COSDocument cosDocument = ((COSIndirect) object.get()).getDocument();
+		PDDocument document = cosDocument != null ? cosDocument.getPDDocument() : null;
+		return document != null ? document.getResourceRegistry() : null;
+	}
+
+	/**
+	 * Gets registered resource or constructs and registers it.
+	 *
+	 * @param type      is resource type, one of the keys of resource dictionary.
+	 * @param key       is key of indirect resource object.
+	 * @param scope     is resource dictionary for resources that depend on it
+	 *                  or null.
+	 * @param isDefault is true if resource is obtained as default color space.
+	 * @param factory   constructs resource if it is not registered yet.
+	 */
+	@SuppressWarnings("unchecked")
+	<T> T getResource(ASAtom type, COSKey key, COSBase scope, boolean isDefault, Supplier<T> factory) {
+		this.requestsCount.increment();
+		ResourceKey resourceKey = new ResourceKey(type, key, scope, isDefault);
+		Object resource = this.resources.get(resourceKey);
+		if (resource != null) {
+			this.hitsCount.increment();
+		} else {
+			T created = factory.get();
+			resource = this.resources.putIfAbsent(resourceKey, created != null ? created : NULL_RESOURCE);
+			if (resource == null) {
+				return created;
+			}
+		}
+		return resource == NULL_RESOURCE ? null : (T) resource;
+	}
+
+	/**
+	 * @return amount of resources constructed by registry.
+	 */
+	public int size() {
+		return this.resources.size();
+	}
+
+	/**
+	 * @return amount of requests of indirect resources.
+	 */
+	public long getRequestsCount() {
+		return this.requestsCount.sum();
+	}
+
+	/**
+	 * @return amount of requests answered with already constructed resource.
+	 */
+	public long getHitsCount() {
+		return this.hitsCount.sum();
+	}
+
+	/**
+	 * @return share of requests answered with already constructed resource or
+	 * 0 if there were no requests.
+	 */
+	public double getHitRate() {
+		long requests = this.requestsCount.sum();
+		return requests == 0 ? 0 : (double) this.hitsCount.sum() / requests;
+	}
+
+	/**
+	 * Removes all registered resources and resets statistics.
+	 */
+	public void clear() {
+		this.resources.clear();
+		this.requestsCount.reset();
+		this.hitsCount.reset();
+	}
+
+	private static final class ResourceKey {
+
+		private final ASAtom type;
+		private final COSKey key;
+		private final COSBase scope;
+		private final boolean isDefault;
+
+		private ResourceKey(ASAtom type, COSKey key, COSBase scope, boolean isDefault) {
+			this.type = type;
+			this.key = key;
+			this.scope = scope;
+			this.isDefault = isDefault;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (!(o instanceof ResourceKey)) return false;
+
+			ResourceKey that = (ResourceKey) o;
+
+			return isDefault == that.isDefault && type == that.type && scope == that.scope &&
+			       Objects.equals(key, that.key);
+		}
+
+		@Override
+		public int hashCode() {
+			int result = type != null ? type.hashCode() : 0;
+			result = 31 * result + (key != null ? key.hashCode() : 0);
+			result = 31 * result + System.identityHashCode(scope);
+			result = 31 * result + (isDefault ? 1 : 0);
+			return result;
+		}
+	}
+}
@@ -36,6 +36,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * @author Timur Kamalov
@@ -66,7 +67,7 @@ public class PDResources extends PDObject {
 		PDColorSpace colorSpace;
 		COSObject rawColorSpace = getResource(ASAtom.COLORSPACE, name);
 		if (rawColorSpace != null && !rawColorSpace.empty()) {
-			colorSpace = ColorSpaceFactory.getColorSpace(rawColorSpace, this, isDefault);
+			colorSpace = getSharedColorSpace(rawColorSpace, isDefault);
 		} else {
 			colorSpace = ColorSpaceFactory.getColorSpace(COSName.construct(name), this, isDefault);
 		}
@@ -120,7 +121,10 @@ public class PDResources extends PDObject {
 			return xObjectMap.get(name);
 		}
 		COSObject rawXObject = getResource(ASAtom.XOBJECT, name);
-		PDXObject pdxObject = PDXObject.getTypedPDXObject(rawXObject, this);
+		// image color space is resolved in resources of image user
+		boolean isScoped = rawXObject != null && rawXObject.getNameKey(ASAtom.SUBTYPE) == ASAtom.IMAGE;
+		PDXObject pdxObject = getSharedResource(ASAtom.XOBJECT, rawXObject, isScoped, false,
+		                                        () -> PDXObject.getTypedPDXObject(rawXObject, this));
 		xObjectMap.put(name, pdxObject);
 		return pdxObject;
 	}
@@ -133,7 +137,8 @@ public class PDResources extends PDObject {
 		if (rawExtGState == null || rawExtGState.empty()) {
 			return null;
 		}
-		PDExtGState extGState = new PDExtGState(rawExtGState);
+		PDExtGState extGState = getSharedResource(ASAtom.EXT_G_STATE, rawExtGState, false, false,
+		                                          () -> new PDExtGState(rawExtGState));
 		extGStateMap.put(name, extGState);
 		return extGState;
 	}
@@ -143,7 +148,8 @@ public class PDResources extends PDObject {
 			return fontMap.get(name);
 		}
 		COSObject rawFont = getResource(ASAtom.FONT, name);
-		PDFont font = PDFontFactory.getPDFont(rawFont);
+		PDFont font = getSharedResource(ASAtom.FONT, rawFont, false, false,
+		                                () -> PDFontFactory.getPDFont(rawFont));
 		fontMap.put(name, font);
 		return font;
 	}
@@ -197,6 +203,40 @@ public class PDResources extends PDObject {
 		return Collections.emptySet();
 	}
 
+	/**
+	 * Gets resource from registry of the document if resource is an indirect
+	 * object, otherwise constructs new resource.
+	 *
+	 * @param isScoped is true if resource depends on this resource dictionary
+	 *                 and can be shared only between its users.
+	 */
+	private <T> T getSharedResource(ASAtom type, COSObject rawResource, boolean isScoped, boolean isDefault,
+	                                Supplier<T> factory) {
+		PDResourceRegistry registry = PDResourceRegistry.getRegistry(rawResource);
+		if (registry == null) {
+			return factory.get();
+		}
+		return registry.getResource(type, rawResource.getObjectKey(), isScoped ? getObject().getDirectBase() : null,
+		                            isDefault, factory);
+	}
+
+	private PDColorSpace getSharedColorSpace(COSObject rawColorSpace, boolean isDefault) {
+		Supplier<PDColorSpace> factory = () -> ColorSpaceFactory.getColorSpace(rawColorSpace, this, isDefault);
+		if (rawColorSpace.getType() == COSObjType.COS_ARRAY && rawColorSpace.size() > 1) {
+			ASAtom family = rawColorSpace.at(0).getName();
+			if (family == ASAtom.ICCBASED && !Boolean.TRUE.equals(rawColorSpace.isIndirect())) {
+				// direct [/ICCBased stream] arrays are shared by the key of profile stream
+				return getSharedResource(ASAtom.ICCBASED, rawColorSpace.at(1), false, false, factory);
+			}
+			if (family == ASAtom.ICCBASED || family == ASAtom.CALGRAY || family == ASAtom.CALRGB ||
+			    family == ASAtom.LAB) {
+				return getSharedResource(ASAtom.COLORSPACE, rawColorSpace, false, false, factory);
+			}
+		}
+		// other color spaces can refer to default color spaces of this resource dictionary
+		return getSharedResource(ASAtom.COLORSPACE, rawColorSpace, true, isDefault, factory);
+	}
+
 	private COSObject getResource(ASAtom type, ASAtom name) {
 		COSObject dict = getKey(type);
 		if (dict != null) {
@@ -51,7 +51,7 @@ public class PDICCBased extends PDColorSpace {
 		COSObject cosObject = COSStream.construct(iccProfileStream);
 		cosObject.setIntegerKey(ASAtom.N, numberOfComponents);
 		setObject(cosObject);
-		this.iccProfile = new ICCProfile(cosObject);
+		this.iccProfile = new ICCProfile(cosObject, profile);
 		Long n = this.iccProfile.getNumberOfColorants();
 		this.numberOfComponents = n == null ? -1 : n.intValue();
 	}
@@ -0,0 +1,178 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pd.encryption;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounded in-memory cache of file encryption keys derived from passwords by
+ * standard security handler. Key derivation is expensive (50 MD5 iterations for
+ * revisions 3 and 4, hardened SHA-2 hash for revision 6), so documents that are
+ * opened several times with the same password can reuse the derived key.
+ * <p>
+ * Cache is disabled by default and can be enabled by setting its maximal size.
+ * Passwords are not stored, only their SHA-256 digests.
+ */
+public class EncryptionKeyCache {
+
+    private static final Logger LOGGER = Logger.getLogger(EncryptionKeyCache.class.getCanonicalName());
+
+    private static final Map<CacheKey, byte[]> CACHE = new LinkedHashMap<CacheKey, byte[]>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CacheKey, byte[]> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    private static int maxSize = 0;
+
+    private EncryptionKeyCache() {
+    }
+
+    /**
+     * @return maximal amount of keys stored in cache. Zero means that cache is disabled.
+     */
+    public static synchronized int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets maximal amount of keys stored in cache. Least recently used keys are
+     * evicted first.
+     *
+     * @param maxSize is new maximal size of cache, zero disables cache.
+     */
+    public static synchronized void setMaxSize(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Size of encryption key cache can't be negative");
+        }
+        EncryptionKeyCache.maxSize = maxSize;
+        if (maxSize == 0) {
+            CACHE.clear();
+        } else {
+            while (CACHE.size() > maxSize) {
+                CACHE.remove(CACHE.keySet().iterator().next());
+            }
+        }
+    }
+
+    public static synchronized boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    public static synchronized int size() {
+        return CACHE.size();
+    }
+
+    /**
+     * Removes all cached keys.
+     */
+    public static synchronized void clear() {
+        CACHE.clear();
+    }
+
+    static synchronized byte[] get(CacheKey key) {
+        if (key == null) {
+            return null;
+        }
+        byte[] res = CACHE.get(key);
+        return res == null ? null : res.clone();
+    }
+
+    static synchronized void put(CacheKey key, byte[] encryptionKey) {
+        if (key != null && encryptionKey != null && maxSize > 0) {
+            CACHE.put(key, encryptionKey.clone());
+        }
+    }
+
+    /**
+     * Creates cache key from values of encryption dictionary and password.
+     *
+     * @param password is password in the byte representation used for key
+     *                 derivation, so different keys never share an entry.
+     * @return cache key or null if cache is disabled.
+     */
+    static CacheKey createKey(byte[] password, byte[] id, byte[] o, byte[] u, byte[] oe, byte[] ue,
+                              long revision, long p, int length, boolean encryptMetadata) {
+        if (password == null || !isEnabled()) {
+            return null;
+        }
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            byte[] passwordDigest = sha.digest(password);
+            return new CacheKey(passwordDigest, id, o, u, oe, ue, revision, p, length, encryptMetadata);
+        } catch (NoSuchAlgorithmException e) {
+            LOGGER.log(Level.FINE, "Can't compute password digest for encryption key cache", e);
+            return null;
+        }
+    }
+
+    static final class CacheKey {
+
+        private final byte[][] values;
+        private final long revision;
+        private final long p;
+        private final int length;
+        private final boolean encryptMetadata;
+        private final int hash;
+
+        private CacheKey(byte[] passwordDigest, byte[] id, byte[] o, byte[] u, byte[] oe, byte[] ue,
+                         long revision, long p, int length, boolean encryptMetadata) {
+            this.values = new byte[][]{passwordDigest, copy(id), copy(o), copy(u), copy(oe), copy(ue)};
+            this.revision = revision;
+            this.p = p;
+            this.length = length;
+            this.encryptMetadata = encryptMetadata;
+            int result = Arrays.deepHashCode(this.values);
+            result = 31 * result + (int) (revision ^ (revision >>> 32));
+            result = 31 * result + (int) (p ^ (p >>> 32));
+            result = 31 * result + length;
+            result = 31 * result + (encryptMetadata ? 1 : 0);
+            this.hash = result;
+        }
+
+        private static byte[] copy(byte[] array) {
+            return array == null ? null : array.clone();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CacheKey)) return false;
+
+            CacheKey that = (CacheKey) o;
+
+            return revision == that.revision && p == that.p && length == that.length &&
+                   encryptMetadata == that.encryptMetadata && Arrays.deepEquals(values, that.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -33,6 +33,7 @@ import org.verapdf.tools.StaticResources;
 import org.verapdf.tools.resource.ASFileStreamCloser;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
 import java.util.List;
 import java.util.logging.Level;
@@ -93,16 +94,28 @@ public class StandardSecurityHandler {
         int length = pdEncryption.getLength();
         byte[] u = getU();
         if (o != null && p != null && id != null && revision != null && u != null) {
+            byte[] oe = getOE();
+            byte[] ue = getUE();
+            byte[] passwordBytes = getPasswordBytes(password, revision);
+            EncryptionKeyCache.CacheKey cacheKey = EncryptionKeyCache.createKey(passwordBytes, id, o, u, oe, ue,
+                    revision, p, length, encMetadata);
+            byte[] cachedKey = EncryptionKeyCache.get(cacheKey);
+            if (cachedKey != null) {
+                this.encryptionKey = cachedKey;
+                this.isPasswordCorrect = true;
+                return true;
+            }
             try {
                 if (revision <= 4) {
                     this.encryptionKey = EncryptionToolsRevision4.authenticateUserPassword(password,
                                                                                            o, p.intValue(), id, revision.intValue(), encMetadata,
                                                                                            length, u);
                 } else if (revision >= 5) {    //   Revision 5 should not be used
-                    this.encryptionKey = EncryptionToolsRevision5_6.getFileEncryptionKey(password.getBytes(), o, u,
-                                                                                         getOE(), getUE(), revision);
+                    this.encryptionKey = EncryptionToolsRevision5_6.getFileEncryptionKey(passwordBytes, o, u,
+                                                                                         oe, ue, revision);
                 }
                 this.isPasswordCorrect = this.encryptionKey != null;
+                EncryptionKeyCache.put(cacheKey, this.encryptionKey);
                 return this.isPasswordCorrect;
             } catch (GeneralSecurityException e) {
                 LOGGER.log(Level.FINE, "Caught Security Exception while document decryption", e);
@@ -154,7 +167,19 @@ public class StandardSecurityHandler {
      */
     public void decryptString(COSString string, COSKey stringKey)
             throws IOException, GeneralSecurityException {
-        byte[] stringBytes = getBytesOfHexString(string);
+        string.set(decryptBytes(getBytesOfHexString(string), stringKey));
+    }
+
+    /**
+     * Decrypts bytes of string that belongs to object with given key. Unlike
+     * {@link #decryptString(COSString, COSKey)} it doesn't modify anything.
+     *
+     * @param stringBytes is encrypted string value.
+     * @param stringKey is key of indirect object that contains the string.
+     * @return decrypted bytes.
+     */
+    public byte[] decryptBytes(byte[] stringBytes, COSKey stringKey)
+            throws IOException, GeneralSecurityException {
         ASInputStream stream = new ASMemoryInStream(stringBytes);
         ASInputStream filter;
         if (isRC4Decryption) {
@@ -173,7 +198,7 @@ public class StandardSecurityHandler {
             read = filter.read(buf, buf.length);
         }
         filter.close();
-        string.set(res);
+        return res;
     }
 
     /**
@@ -264,6 +289,18 @@ public class StandardSecurityHandler {
         return null;
     }
 
+    /**
+     * Converts password into bytes the same way as key derivation does it:
+     * revisions 2-4 use PDFDocEncoding compatible single-byte representation,
+     * revisions 5 and 6 use UTF-8.
+     */
+    private static byte[] getPasswordBytes(String password, long revision) {
+        if (password == null) {
+            password = "";
+        }
+        return password.getBytes(revision <= 4 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+    }
+
     private static byte[] getBytesOfHexString(COSString s) {
         if (s == null) {
             return null;
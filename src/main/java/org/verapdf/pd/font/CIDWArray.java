@@ -24,15 +24,15 @@ import org.verapdf.cos.COSArray;
 import org.verapdf.cos.COSObjType;
 import org.verapdf.cos.COSObject;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * Represents W array in CID fonts.
+ * Represents W array in CID fonts. Array is compiled once into primitive
+ * tables: widths of individual CIDs are stored in sorted or dense arrays, CID
+ * ranges are converted into sorted disjoint intervals, so width lookup is a
+ * binary search without boxing.
  *
  * @author Sergey Shemyakov
  */
@@ -40,8 +40,17 @@ public class CIDWArray {
 
     private static final Logger LOGGER = Logger.getLogger(CIDWArray.class.getCanonicalName());
 
-    private final Map<Integer, Double> singleMappings;
-    private final List<CIDWArrayRange> ranges;
+    // individual widths are stored densely if at least half of CIDs in their span have width
+    private static final int DENSE_SLACK = 16;
+
+    private int[] singleCIDs;
+    private double[] singleWidths;
+    private int denseStart;
+    private double[] denseWidths;
+
+    private int[] rangeStarts;
+    private int[] rangeEnds;
+    private double[] rangeWidths;
 
     /**
      * Constructor from a COSObject.
@@ -49,34 +58,40 @@ public class CIDWArray {
      * @param w is W array from CIDFont dictionary.
      */
     public CIDWArray(COSArray w) {
-        singleMappings = new HashMap<>();
-        ranges = new ArrayList<>();
+        SingleMappings singleMappings = new SingleMappings();
+        List<CIDWArrayRange> ranges = new ArrayList<>();
         if (w != null) {
-            for (int i = 0; i < w.size(); ++i) {
-                int cidBegin = w.at(i++).getInteger().intValue();
-                COSObject obj = w.at(i);
-                if (obj.getType() == COSObjType.COS_INTEGER) {
-                    int cidEnd = obj.getInteger().intValue();
-                    Double width = w.at(++i).getReal();
-                    if (width == null) {
-                        LOGGER.log(Level.FINE, "Unexpected end of W array in CID font");
-                        return;
-                    }
-                    this.ranges.add(new CIDWArrayRange(cidBegin, cidEnd, width));
-                } else if (obj.getType() == COSObjType.COS_ARRAY) {
-                    addSingleMappings(cidBegin, (COSArray) obj.getDirectBase());
+            parse(w, singleMappings, ranges);
+        }
+        compileSingleMappings(singleMappings);
+        compileRanges(ranges);
+    }
+
+    private static void parse(COSArray w, SingleMappings singleMappings, List<CIDWArrayRange> ranges) {
+        for (int i = 0; i < w.size(); ++i) {
+            int cidBegin = w.at(i++).getInteger().intValue();
+            COSObject obj = w.at(i);
+            if (obj.getType() == COSObjType.COS_INTEGER) {
+                int cidEnd = obj.getInteger().intValue();
+                Double width = w.at(++i).getReal();
+                if (width == null) {
+                    LOGGER.log(Level.FINE, "Unexpected end of W array in CID font");
+                    return;
                 }
+                ranges.add(new CIDWArrayRange(cidBegin, cidEnd, width));
+            } else if (obj.getType() == COSObjType.COS_ARRAY) {
+                addSingleMappings(cidBegin, (COSArray) obj.getDirectBase(), singleMappings);
             }
         }
     }
 
-    private void addSingleMappings(int cidBegin, COSArray arr) {
+    private static void addSingleMappings(int cidBegin, COSArray arr, SingleMappings singleMappings) {
         for (int i = 0; i < arr.size(); i++) {
             if (!arr.at(i).getType().isNumber()) {
                 LOGGER.log(Level.SEVERE, "W array in CIDFont has invalid entry.");
                 continue;
             }
-            this.singleMappings.put(cidBegin + i, arr.at(i).getReal());
+            singleMappings.add(cidBegin + i, arr.at(i).getReal());
         }
     }
 
@@ -86,16 +101,169 @@ public class CIDWArray {
      * @return width as it is specified in W array.
      */
     public Double getWidth(int cid) {
-        Double res = singleMappings.get(cid);
-        if (res == null) {
-            for (CIDWArrayRange range : ranges) {
-                if (range.contains(cid)) {
-                    res = range.getWidth();
-                    break;
-                }
+        double res = getWidthValue(cid);
+        return Double.isNaN(res) ? null : res;
+    }
+
+    /**
+     * Get width of glyph with given cid according to W array without boxing.
+     * @param cid is cid of glyph in CIDFont.
+     * @return width as it is specified in W array or {@link Double#NaN} if W
+     * array has no width for this cid.
+     */
+    public double getWidthValue(int cid) {
+        if (denseWidths != null) {
+            long index = (long) cid - denseStart;
+            if (index >= 0 && index < denseWidths.length && !Double.isNaN(denseWidths[(int) index])) {
+                return denseWidths[(int) index];
+            }
+        } else {
+            int index = Arrays.binarySearch(singleCIDs, cid);
+            if (index >= 0) {
+                return singleWidths[index];
+            }
+        }
+        int index = Arrays.binarySearch(rangeStarts, cid);
+        if (index < 0) {
+            // index of range with the greatest start less than cid
+            index = -index - 2;
+        }
+        if (index >= 0 && cid <= rangeEnds[index]) {
+            return rangeWidths[index];
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Sorts individual widths by CID, the last width specified for CID is used.
+     */
+    private void compileSingleMappings(SingleMappings singleMappings) {
+        int size = singleMappings.size;
+        long[] keys = new long[size];
+        for (int i = 0; i < size; ++i) {
+            keys[i] = ((long) singleMappings.cids[i] << 32) | i;
+        }
+        Arrays.sort(keys);
+        int[] cids = new int[size];
+        double[] widths = new double[size];
+        int count = 0;
+        for (int i = 0; i < size; ++i) {
+            int order = (int) keys[i];
+            int cid = singleMappings.cids[order];
+            if (count > 0 && cids[count - 1] == cid) {
+                widths[count - 1] = singleMappings.widths[order];
+            } else {
+                cids[count] = cid;
+                widths[count++] = singleMappings.widths[order];
+            }
+        }
+        long span = count == 0 ? 0 : (long) cids[count - 1] - cids[0] + 1;
+        if (count > 0 && span <= 2L * count + DENSE_SLACK) {
+            this.denseStart = cids[0];
+            this.denseWidths = new double[(int) span];
+            Arrays.fill(this.denseWidths, Double.NaN);
+            for (int i = 0; i < count; ++i) {
+                this.denseWidths[cids[i] - this.denseStart] = widths[i];
+            }
+        } else {
+            this.singleCIDs = Arrays.copyOf(cids, count);
+            this.singleWidths = Arrays.copyOf(widths, count);
+        }
+    }
+
+    /**
+     * Converts ranges into disjoint intervals sorted by start. If ranges
+     * overlap then the range specified first in W array is used.
+     */
+    private void compileRanges(List<CIDWArrayRange> ranges) {
+        int size = ranges.size();
+        // boundaries of elementary intervals are starts of ranges and positions after their ends
+        long[] boundaries = new long[2 * size];
+        for (int i = 0; i < size; ++i) {
+            boundaries[2 * i] = ranges.get(i).getBeginCID();
+            boundaries[2 * i + 1] = ranges.get(i).getEndCID() + 1L;
+        }
+        Arrays.sort(boundaries);
+        Integer[] byStart = new Integer[size];
+        for (int i = 0; i < size; ++i) {
+            byStart[i] = i;
+        }
+        Arrays.sort(byStart, (first, second) -> Integer.compare(ranges.get(first).getBeginCID(),
+                                                                ranges.get(second).getBeginCID()));
+
+        IntervalsBuilder builder = new IntervalsBuilder(size);
+        // ranges covering current position, the first specified range is on top
+        PriorityQueue<Integer> active = new PriorityQueue<>();
+        int next = 0;
+        for (int i = 0; i < boundaries.length; ++i) {
+            long start = boundaries[i];
+            if (i > 0 && start == boundaries[i - 1]) {
+                continue;
+            }
+            while (next < size && ranges.get(byStart[next]).getBeginCID() <= start) {
+                active.add(byStart[next++]);
+            }
+            while (!active.isEmpty() && ranges.get(active.peek()).getEndCID() < start) {
+                active.poll();
+            }
+            if (!active.isEmpty()) {
+                CIDWArrayRange range = ranges.get(active.peek());
+                long end = Math.min(range.getEndCID(), nextBoundary(boundaries, i) - 1);
+                builder.add((int) start, (int) end, range.getWidth());
+            }
+        }
+        this.rangeStarts = Arrays.copyOf(builder.starts, builder.size);
+        this.rangeEnds = Arrays.copyOf(builder.ends, builder.size);
+        this.rangeWidths = Arrays.copyOf(builder.widths, builder.size);
+    }
+
+    private static long nextBoundary(long[] boundaries, int index) {
+        long value = boundaries[index];
+        while (index < boundaries.length && boundaries[index] == value) {
+            ++index;
+        }
+        return index < boundaries.length ? boundaries[index] : value + 1;
+    }
+
+    private static class SingleMappings {
+
+        private int[] cids = new int[16];
+        private double[] widths = new double[16];
+        private int size = 0;
+
+        void add(int cid, double width) {
+            if (size == cids.length) {
+                cids = Arrays.copyOf(cids, size * 2);
+                widths = Arrays.copyOf(widths, size * 2);
             }
+            cids[size] = cid;
+            widths[size++] = width;
         }
-        return res;
     }
 
+    private static class IntervalsBuilder {
+
+        private final int[] starts;
+        private final int[] ends;
+        private final double[] widths;
+        private int size = 0;
+
+        IntervalsBuilder(int ranges) {
+            // amount of elementary intervals is less than amount of boundaries
+            starts = new int[2 * ranges];
+            ends = new int[2 * ranges];
+            widths = new double[2 * ranges];
+        }
+
+        void add(int start, int end, double width) {
+            // adjacent intervals with equal width are merged
+            if (size > 0 && ends[size - 1] + 1L == start && Double.compare(widths[size - 1], width) == 0) {
+                ends[size - 1] = end;
+            } else {
+                starts[size] = start;
+                ends[size] = end;
+                widths[size++] = width;
+            }
+        }
+    }
 }
@@ -54,4 +54,18 @@ public class CIDWArrayRange {
     public double getWidth() {
         return width;
     }
+
+    /**
+     * @return first CID of this range.
+     */
+    public int getBeginCID() {
+        return beginCID;
+    }
+
+    /**
+     * @return last CID of this range.
+     */
+    public int getEndCID() {
+        return endCID;
+    }
 }
@@ -21,6 +21,7 @@
 package org.verapdf.pd.font;
 
 import org.verapdf.as.ASAtom;
+import org.verapdf.pd.font.truetype.GlyphNames;
 import org.verapdf.pd.font.truetype.TrueTypePredefined;
 
 import java.util.HashMap;
@@ -29,7 +30,9 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * Represents encoding of font as given in font dictionary.
+ * Represents encoding of font as given in font dictionary. Glyph names and
+ * their IDs from {@link GlyphNames} are resolved for all single byte codes
+ * when encoding is constructed, so lookups for these codes are array accesses.
  *
  * @author Sergey Shemyakov
  */
@@ -43,8 +46,12 @@ public class Encoding {
 
     private static final String ADOBE_STANDARD_ENCODING = "AdobeStandardEncoding";
 
+    private static final int RESOLVED_CODES = 256;
+
     private final String[] predefinedEncoding;
     private Map<Integer, String> differences;
+    private final String[] names;
+    private final int[] nameIds;
 
     /**
      * Constructor for encoding of type COSName.
@@ -52,15 +59,9 @@ public class Encoding {
      * @param predefinedEncoding is ASAtom value of Encoding.
      */
     public Encoding(ASAtom predefinedEncoding) {
-        if (predefinedEncoding == ASAtom.MAC_ROMAN_ENCODING) {
-            this.predefinedEncoding = TrueTypePredefined.MAC_ROMAN_ENCODING;
-        } else if (predefinedEncoding == ASAtom.MAC_EXPERT_ENCODING) {
-            this.predefinedEncoding = TrueTypePredefined.MAC_EXPERT_ENCODING;
-        } else if (predefinedEncoding == ASAtom.WIN_ANSI_ENCODING) {
-            this.predefinedEncoding = TrueTypePredefined.WIN_ANSI_ENCODING;
-        } else {
-            this.predefinedEncoding = new String[0];
-        }
+        this.predefinedEncoding = getPredefinedEncoding(predefinedEncoding);
+        this.names = resolveNames(this.predefinedEncoding, null);
+        this.nameIds = GlyphNames.getIds(this.names);
     }
 
     public Encoding(String predefinedEncoding, Map<Integer, String> differences) {
@@ -70,6 +71,8 @@ public class Encoding {
             this.predefinedEncoding = new String[0];
         }
         this.differences = differences != null ? differences : new HashMap<>();
+        this.names = resolveNames(this.predefinedEncoding, this.differences);
+        this.nameIds = GlyphNames.getIds(this.names);
     }
 
     /**
@@ -81,8 +84,41 @@ public class Encoding {
      *                     Encoding.
      */
     public Encoding(ASAtom baseEncoding, Map<Integer, String> differences) {
-        this(baseEncoding);
+        this.predefinedEncoding = getPredefinedEncoding(baseEncoding);
         this.differences = differences != null ? differences : new HashMap<>();
+        this.names = resolveNames(this.predefinedEncoding, this.differences);
+        this.nameIds = GlyphNames.getIds(this.names);
+    }
+
+    private static String[] getPredefinedEncoding(ASAtom predefinedEncoding) {
+        if (predefinedEncoding == ASAtom.MAC_ROMAN_ENCODING) {
+            return TrueTypePredefined.MAC_ROMAN_ENCODING;
+        } else if (predefinedEncoding == ASAtom.MAC_EXPERT_ENCODING) {
+            return TrueTypePredefined.MAC_EXPERT_ENCODING;
+        } else if (predefinedEncoding == ASAtom.WIN_ANSI_ENCODING) {
+            return TrueTypePredefined.WIN_ANSI_ENCODING;
+        }
+        return new String[0];
+    }
+
+    private static String[] resolveNames(String[] predefinedEncoding, Map<Integer, String> differences) {
+        String[] names = new String[RESOLVED_CODES];
+        for (int code = 0; code < RESOLVED_CODES; ++code) {
+            if (code < predefinedEncoding.length) {
+                names[code] = predefinedEncoding[code];
+            } else if (predefinedEncoding.length != 0) {
+                names[code] = NOTDEF;
+            }
+        }
+        if (differences != null) {
+            for (Map.Entry<Integer, String> difference : differences.entrySet()) {
+                Integer code = difference.getKey();
+                if (code != null && code >= 0 && code < RESOLVED_CODES && difference.getValue() != null) {
+                    names[code] = difference.getValue();
+                }
+            }
+        }
+        return names;
     }
 
     public static Encoding empty() {
@@ -96,6 +132,9 @@ public class Encoding {
      * @return glyph name for given character code or null if the internal font encoding should be used.
      */
     public String getName(int code) {
+        if (code >= 0 && code < RESOLVED_CODES) {
+            return names[code];
+        }
         if (code >= 0) {
             if (differences == null) {
                 if (code < predefinedEncoding.length) {
@@ -117,6 +156,21 @@ public class Encoding {
         }
     }
 
+    /**
+     * Gets ID of glyph name for given code via this encoding.
+     *
+     * @param code is character code.
+     * @return ID of glyph name from {@link GlyphNames} or
+     * {@link GlyphNames#NO_ID} if glyph name is not known or the internal font
+     * encoding should be used.
+     */
+    public int getNameId(int code) {
+        if (code >= 0 && code < RESOLVED_CODES) {
+            return nameIds[code];
+        }
+        return GlyphNames.getId(getName(code));
+    }
+
     /**
      * Checks if mapping for given code is available.
      *
@@ -121,11 +121,8 @@ public class PDCIDFont extends PDFont {
             }
             this.widths = new CIDWArray((COSArray) w.getDirectBase());
         }
-        Double res = widths.getWidth(this.cMap.toCID(code));
-        if (res == null) {
-            res = getDefaultWidth();
-        }
-        return res;
+        double res = widths.getWidthValue(this.cMap.toCID(code));
+        return Double.isNaN(res) ? getDefaultWidth() : res;
     }
 
     /**
@@ -356,7 +356,7 @@ public abstract class PDFont extends PDResource {
             int lastChar = dictionary.getIntegerKey(ASAtom.LAST_CHAR).intValue();
             COSObject widths = getWidths();
             if (widths.getType() == COSObjType.COS_ARRAY && widths.size() > 0 && code >= firstChar && code <= lastChar) {
-                return widths.at(code - firstChar).getReal();
+                return ((COSArray) widths.getDirectBase()).getRealAt(code - firstChar);
             }
         }
 
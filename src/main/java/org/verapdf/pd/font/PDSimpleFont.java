@@ -22,6 +22,7 @@ package org.verapdf.pd.font;
 
 import org.verapdf.cos.COSDictionary;
 import org.verapdf.pd.font.truetype.AdobeGlyphList;
+import org.verapdf.pd.font.truetype.GlyphNames;
 import org.verapdf.pd.font.type1.SymbolSet;
 import org.verapdf.pd.font.type1.ZapfDingbats;
 
@@ -63,14 +64,17 @@ public abstract class PDSimpleFont extends PDFont {
 
         Encoding fontEncoding = this.getEncodingMapping();
         String glyphName =  null;
+        int glyphNameId = GlyphNames.NO_ID;
         if (fontEncoding != null) {
             glyphName = fontEncoding.getName(code);
+            glyphNameId = fontEncoding.getNameId(code);
         }
         if (glyphName == null && getFontProgram() != null) {
             glyphName = fontProgram.getGlyphName(code);
+            glyphNameId = GlyphNames.getId(glyphName);
         }
         if (glyphName != null) {
-            AdobeGlyphList.AGLUnicode unicode = AdobeGlyphList.get(glyphName);
+            AdobeGlyphList.AGLUnicode unicode = AdobeGlyphList.get(glyphNameId);
             if (unicode != AdobeGlyphList.empty()) {
                 return unicode.getUnicodeString();
             }
@@ -25,6 +25,7 @@ import org.verapdf.as.io.ASMemoryInStream;
 import org.verapdf.pd.font.FontProgram;
 import org.verapdf.pd.font.cmap.CMap;
 import org.verapdf.tools.StaticResources;
+import org.verapdf.tools.metrics.ParserMetrics;
 import org.verapdf.tools.resource.ASFileStreamCloser;
 
 import java.io.IOException;
@@ -70,6 +71,8 @@ public class CFFFontProgram extends CFFFileBaseParser implements FontProgram {
     public void parseFont() throws IOException {
         if (!isFontParsed) {
             isFontParsed = true;
+            ParserMetrics metrics = StaticResources.getDocumentMetrics();
+            long start = metrics != null ? System.nanoTime() : 0;
             this.readHeader();
             this.readIndex();   // name
             long topOffset = this.source.getOffset();
@@ -92,6 +95,9 @@ public class CFFFontProgram extends CFFFileBaseParser implements FontProgram {
                         this.externalCMap, this.isSubset);
             }
             font.parseFont();
+            if (metrics != null) {
+                metrics.fontProgramParsed("CFF", System.nanoTime() - start);
+            }
         }
     }
 
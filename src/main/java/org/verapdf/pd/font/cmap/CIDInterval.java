@@ -66,4 +66,16 @@ class CIDInterval implements CIDMappable {
     public int getMaxCID() {
         return startingCID + intervalEnd - intervalStart;
     }
+
+    int getIntervalStart() {
+        return intervalStart;
+    }
+
+    int getIntervalEnd() {
+        return intervalEnd;
+    }
+
+    int getStartingCID() {
+        return startingCID;
+    }
 }
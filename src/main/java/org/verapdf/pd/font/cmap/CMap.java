@@ -43,6 +43,7 @@ public class CMap {
     private int supplement;
     private String name;
     private boolean usesNonPredefinedCMap;
+    private String useCMapName;
     int shortestCodeSpaceLength;
 
     private final List<CIDMappable> cidMappings;
@@ -254,6 +255,18 @@ public class CMap {
         this.usesNonPredefinedCMap = usesNonPredefinedCMap;
     }
 
+    /**
+     * @return name of CMap referenced with usecmap operator or null if there
+     * is no such reference.
+     */
+    String getUseCMapName() {
+        return useCMapName;
+    }
+
+    void setUseCMapName(String useCMapName) {
+        this.useCMapName = useCMapName;
+    }
+
     void addUnicodeMapping(int code, String toUnicodeMap) {
         this.toUnicode.put(code, toUnicodeMap);
     }
@@ -310,4 +323,16 @@ public class CMap {
     public List<CIDMappable> getCidMappings() {
         return cidMappings;
     }
+
+    List<CIDMappable> getNotDefMappings() {
+        return notDefMappings;
+    }
+
+    Map<Integer, String> getUnicodeMappings() {
+        return toUnicode;
+    }
+
+    List<ToUnicodeInterval> getUnicodeIntervals() {
+        return unicodeIntervals;
+    }
 }
@@ -0,0 +1,284 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pd.font.cmap;
+
+import org.verapdf.cos.COSName;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Compact binary representation of predefined CMaps. Binary CMaps are produced
+ * from bundled PostScript CMap resources at build time by {@link CMapCompiler}
+ * and are read directly into CMap lookup structures, so predefined CMaps are
+ * not parsed as PostScript at runtime.
+ * <p>
+ * CMap referenced with usecmap operator is stored by name and is loaded when
+ * binary CMap is read, the same way as it is done by {@link CMapParser}.
+ */
+final class CMapBinaryFormat {
+
+    private static final Logger LOGGER = Logger.getLogger(CMapBinaryFormat.class.getCanonicalName());
+
+    static final String RESOURCE_DIRECTORY = "/font/cmap-bin/";
+    static final String FILE_EXTENSION = ".bcmap";
+
+    private static final int MAGIC = 0x56434D50; // "VCMP"
+    private static final int VERSION = 1;
+
+    private static final byte INTERVAL = 0;
+    private static final byte SINGLE = 1;
+
+    private CMapBinaryFormat() {
+        // Disable default constructor
+    }
+
+    /**
+     * Loads predefined CMap from bundled binary resource.
+     *
+     * @param name is name of predefined CMap.
+     * @return loaded CMap or null if there is no binary resource for this name
+     * or it can't be read.
+     */
+    static CMap load(String name) {
+        InputStream input = CMapBinaryFormat.class.getResourceAsStream(RESOURCE_DIRECTORY + name + FILE_EXTENSION);
+        if (input == null) {
+            return null;
+        }
+        try (DataInputStream data = new DataInputStream(new BufferedInputStream(input))) {
+            return read(data);
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Error in reading binary predefined CMap " + name, e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes given CMap in binary format. CMap should be parsed without
+     * resolving of usecmap references, otherwise mappings of referenced CMap
+     * are stored as well.
+     */
+    static void write(CMap cMap, DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        writeString(out, cMap.getName());
+        writeString(out, cMap.getRegistry());
+        writeString(out, cMap.getOrdering());
+        out.writeInt(cMap.getSupplement());
+        out.writeInt(cMap.getwMode());
+        writeString(out, cMap.getUseCMapName());
+
+        List<CodeSpace> codeSpaces = cMap.getCodeSpaces();
+        out.writeInt(codeSpaces.size());
+        for (CodeSpace codeSpace : codeSpaces) {
+            out.writeByte(codeSpace.getLength());
+            out.write(codeSpace.getBegin());
+            out.write(codeSpace.getEnd());
+        }
+
+        writeMappings(out, cMap.getCidMappings());
+        writeMappings(out, cMap.getNotDefMappings());
+
+        Map<Integer, String> unicodeMappings = cMap.getUnicodeMappings();
+        out.writeInt(unicodeMappings.size());
+        for (Map.Entry<Integer, String> entry : unicodeMappings.entrySet()) {
+            writeNumber(out, entry.getKey());
+            out.writeUTF(entry.getValue());
+        }
+
+        List<ToUnicodeInterval> unicodeIntervals = cMap.getUnicodeIntervals();
+        out.writeInt(unicodeIntervals.size());
+        for (ToUnicodeInterval interval : unicodeIntervals) {
+            out.writeLong(interval.getIntervalBegin());
+            out.writeLong(interval.getIntervalEnd());
+            byte[] startingValue = interval.getStartingValue();
+            out.writeShort(startingValue.length);
+            out.write(startingValue);
+        }
+    }
+
+    /**
+     * Reads CMap in binary format. Referenced CMap is loaded before mappings
+     * of this CMap, so resulting lookup order is the same as for parsed CMap.
+     */
+    static CMap read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Stream does not contain binary CMap");
+        }
+        int version = in.readUnsignedShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary CMap version " + version);
+        }
+        CMap cMap = new CMap();
+        cMap.setName(readString(in));
+        cMap.setRegistry(readString(in));
+        cMap.setOrdering(readString(in));
+        cMap.setSupplement(in.readInt());
+        cMap.setwMode(in.readInt());
+        String useCMapName = readString(in);
+        if (useCMapName != null) {
+            cMap.setUseCMapName(useCMapName);
+            CMap usedCMap = new PDCMap(COSName.construct(useCMapName)).getCMapFile();
+            if (usedCMap != null) {
+                cMap.useCMap(usedCMap);
+            } else {
+                cMap.setUsesNonPredefinedCMap(true);
+                LOGGER.log(Level.FINE, "Can't load predefined CMap with name " + useCMapName);
+            }
+        }
+
+        int codeSpacesNumber = in.readInt();
+        for (int i = 0; i < codeSpacesNumber; ++i) {
+            byte[] begin = new byte[in.readUnsignedByte()];
+            byte[] end = new byte[begin.length];
+            in.readFully(begin);
+            in.readFully(end);
+            addCodeSpace(cMap, new CodeSpace(begin, end));
+        }
+
+        // cid mappings are added to the beginning of the list, so they are added in reversed order
+        List<CIDMappable> cidMappings = readMappings(in, false);
+        for (int i = cidMappings.size() - 1; i >= 0; --i) {
+            CIDMappable mapping = cidMappings.get(i);
+            if (mapping instanceof CIDInterval) {
+                cMap.addCidInterval((CIDInterval) mapping);
+            } else {
+                cMap.addSingleCidMapping((SingleCIDMapping) mapping);
+            }
+        }
+        for (CIDMappable mapping : readMappings(in, true)) {
+            if (mapping instanceof NotDefInterval) {
+                cMap.addNotDefInterval((NotDefInterval) mapping);
+            } else {
+                cMap.addSingleNotDefMapping((SingleCIDMapping) mapping);
+            }
+        }
+
+        int unicodeMappingsNumber = in.readInt();
+        for (int i = 0; i < unicodeMappingsNumber; ++i) {
+            int code = readNumber(in);
+            cMap.addUnicodeMapping(code, in.readUTF());
+        }
+
+        int unicodeIntervalsNumber = in.readInt();
+        for (int i = 0; i < unicodeIntervalsNumber; ++i) {
+            long begin = in.readLong();
+            long end = in.readLong();
+            byte[] startingValue = new byte[in.readUnsignedShort()];
+            in.readFully(startingValue);
+            cMap.addUnicodeInterval(new ToUnicodeInterval(begin, end, startingValue));
+        }
+        return cMap;
+    }
+
+    private static void addCodeSpace(CMap cMap, CodeSpace codeSpace) {
+        for (CodeSpace cs : cMap.getCodeSpaces()) {
+            if (cs.overlaps(codeSpace)) {
+                LOGGER.log(Level.WARNING, "CMap " + cMap.getName() + " has overlapping codespace ranges.");
+                return;
+            }
+        }
+        cMap.getCodeSpaces().add(codeSpace);
+        if (codeSpace.getLength() < cMap.shortestCodeSpaceLength) {
+            cMap.shortestCodeSpaceLength = codeSpace.getLength();
+        }
+    }
+
+    private static void writeMappings(DataOutputStream out, List<CIDMappable> mappings) throws IOException {
+        writeNumber(out, mappings.size());
+        for (CIDMappable mapping : mappings) {
+            if (mapping instanceof CIDInterval) {
+                CIDInterval interval = (CIDInterval) mapping;
+                out.writeByte(INTERVAL);
+                writeNumber(out, interval.getIntervalStart());
+                writeNumber(out, interval.getIntervalEnd() - interval.getIntervalStart());
+                writeNumber(out, interval.getStartingCID());
+            } else if (mapping instanceof SingleCIDMapping) {
+                SingleCIDMapping single = (SingleCIDMapping) mapping;
+                out.writeByte(SINGLE);
+                writeNumber(out, single.getFrom());
+                writeNumber(out, single.getMaxCID());
+            } else {
+                throw new IOException("Unsupported CID mapping " + mapping.getClass().getName());
+            }
+        }
+    }
+
+    private static List<CIDMappable> readMappings(DataInputStream in, boolean notDef) throws IOException {
+        int size = readNumber(in);
+        List<CIDMappable> res = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            byte type = in.readByte();
+            if (type == INTERVAL) {
+                int start = readNumber(in);
+                int end = start + readNumber(in);
+                int cid = readNumber(in);
+                res.add(notDef ? new NotDefInterval(start, end, cid) : new CIDInterval(start, end, cid));
+            } else if (type == SINGLE) {
+                int from = readNumber(in);
+                res.add(new SingleCIDMapping(from, readNumber(in)));
+            } else {
+                throw new IOException("Unknown CID mapping type " + type + " in binary CMap");
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Writes int value as a sequence of 7-bit groups starting from the lowest
+     * one, high bit of each byte marks that more groups follow. Character codes
+     * and CIDs usually take 2 or 3 bytes instead of 4.
+     */
+    private static void writeNumber(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readNumber(DataInputStream in) throws IOException {
+        int res = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            res |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return res;
+            }
+        }
+        throw new IOException("Invalid number in binary CMap");
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pd.font.cmap;
+
+import org.verapdf.io.InternalInputStream;
+import org.verapdf.parser.postscript.PostScriptException;
+
+import java.io.*;
+import java.util.Arrays;
+
+/**
+ * Build-time tool that compiles predefined PostScript CMaps into binary CMaps
+ * loaded by {@link CMapBinaryFormat}.
+ * <p>
+ * Usage: {@code CMapCompiler <source directory> <output directory>}. Each file
+ * of source directory is compiled into file with the same name and extension
+ * {@value CMapBinaryFormat#FILE_EXTENSION} in output directory.
+ */
+public final class CMapCompiler {
+
+    private CMapCompiler() {
+        // Disable default constructor
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CMapCompiler <source directory> <output directory>");
+            System.exit(1);
+        }
+        File source = new File(args[0]);
+        File output = new File(args[1]);
+        File[] files = source.listFiles();
+        if (files == null) {
+            throw new IOException("CMap directory " + source + " can't be read");
+        }
+        if (!output.isDirectory() && !output.mkdirs()) {
+            throw new IOException("Output directory " + output + " can't be created");
+        }
+        Arrays.sort(files);
+        for (File file : files) {
+            if (file.isFile()) {
+                compile(file, new File(output, file.getName() + CMapBinaryFormat.FILE_EXTENSION));
+            }
+        }
+    }
+
+    /**
+     * Compiles PostScript CMap file into binary CMap file.
+     *
+     * @param source is PostScript CMap file.
+     * @param target is binary CMap file to be written.
+     */
+    public static void compile(File source, File target) throws IOException {
+        CMap cMap = parse(source);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(target)))) {
+            CMapBinaryFormat.write(cMap, out);
+        }
+    }
+
+    static CMap parse(File source) throws IOException {
+        try (InternalInputStream stream = new InternalInputStream(source)) {
+            CMapParser parser = new CMapParser(stream);
+            parser.setResolveUseCMap(false);
+            parser.parse();
+            return parser.getCMap();
+        } catch (PostScriptException e) {
+            throw new IOException("PostScript exception while parsing CMap " + source, e);
+        }
+    }
+}
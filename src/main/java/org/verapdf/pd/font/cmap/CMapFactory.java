@@ -70,4 +70,24 @@ class CMapFactory {
         StaticResources.cacheCMap(name, res);
         return res;
     }
+
+    /**
+     * Loads predefined CMap from its precompiled binary resource with caching
+     * it.
+     *
+     * @param name is name of predefined CMap.
+     * @return loaded cMap object or null if there is no binary resource for
+     * CMap with this name.
+     */
+    static CMap getPredefinedCMap(String name) {
+        CMap res = StaticResources.getCMap(name);
+        if (res != null) {
+            return res;
+        }
+        res = CMapBinaryFormat.load(name);
+        if (res != null) {
+            StaticResources.cacheCMap(name, res);
+        }
+        return res;
+    }
 }
@@ -43,7 +43,8 @@ public class CMapParser extends PSParser {
     private static final Logger LOGGER = Logger.getLogger(CMapParser.class.getCanonicalName());
     private COSObject lastCOSName;
 
-    private final CMap cMap;
+    private CMap cMap;
+    private boolean resolveUseCMap = true;
 
     private static final String WMODE_STRING = "WMode";
     private static final String REGISTRY_STRING = "Registry";
@@ -60,6 +61,25 @@ public class CMapParser extends PSParser {
         cMap = new CMap();
     }
 
+    /**
+     * {@inheritDoc} New CMap is constructed from the new stream.
+     */
+    @Override
+    public void reset(ASInputStream stream) throws IOException {
+        super.reset(stream);
+        this.cMap = new CMap();
+        this.lastCOSName = null;
+    }
+
+    /**
+     * Sets if CMaps referenced with usecmap operator should be loaded and
+     * merged into constructed CMap. Without resolving only the name of
+     * referenced CMap is stored.
+     */
+    void setResolveUseCMap(boolean resolveUseCMap) {
+        this.resolveUseCMap = resolveUseCMap;
+    }
+
     /**
      * @return constructed CMap.
      */
@@ -81,7 +101,7 @@ public class CMapParser extends PSParser {
                 nextObject = nextObject();
             }
         } finally {
-            this.getSource().close();    // We close stream after first reading attempt
+            this.close();    // We close stream after first reading attempt
         }
         setValuesFromUserDict(this.cMap);
     }
@@ -100,6 +120,12 @@ public class CMapParser extends PSParser {
                 break;
             case COS_NAME:
                 if ("usecmap".equals(getBaseParser().getToken().getValue())) {
+                    if (lastCOSName != null) {
+                        this.cMap.setUseCMapName(lastCOSName.getString());
+                    }
+                    if (!resolveUseCMap) {
+                        break;
+                    }
                     CMap usedCMap = new PDCMap(lastCOSName).getCMapFile();
                     if (usedCMap != null) {
                         this.cMap.useCMap(usedCMap);
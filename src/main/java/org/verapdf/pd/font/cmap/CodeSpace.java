@@ -129,4 +129,12 @@ class CodeSpace {
     int getLength() {
         return this.begin.length;
     }
+
+    byte[] getBegin() {
+        return this.begin;
+    }
+
+    byte[] getEnd() {
+        return this.end;
+    }
 }
@@ -122,13 +122,16 @@ public class PDCMap extends PDObject {
                 }
             } else if (this.getObject().getType() == COSObjType.COS_NAME) {
                 String name = this.getObject().getString();
-                String cMapPath = "/font/cmap/" + name;
-                try (ASInputStream cMapStream = loadCMap(cMapPath)) {
-                    if (cMapStream != null) {
-                        this.cMapFile = CMapFactory.getCMap(getCMapID(), cMapStream);
+                this.cMapFile = CMapFactory.getPredefinedCMap(name);
+                if (this.cMapFile == null) {
+                    String cMapPath = "/font/cmap/" + name;
+                    try (ASInputStream cMapStream = loadCMap(cMapPath)) {
+                        if (cMapStream != null) {
+                            this.cMapFile = CMapFactory.getCMap(getCMapID(), cMapStream);
+                        }
+                    } catch (IOException e) {
+                        LOGGER.log(Level.FINE, "Can't close stream", e);
                     }
-                } catch (IOException e) {
-                    LOGGER.log(Level.FINE, "Can't close stream", e);
                 }
             } else {
                 return null;
@@ -46,4 +46,8 @@ class SingleCIDMapping implements CIDMappable {
     public int getMaxCID() {
         return to;
     }
+
+    int getFrom() {
+        return from;
+    }
 }
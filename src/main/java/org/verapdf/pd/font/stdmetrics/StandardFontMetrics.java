@@ -20,14 +20,14 @@
  */
 package org.verapdf.pd.font.stdmetrics;
 
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.Map;
+import java.util.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * Class provides access to metrics of a standard font.
+ * Class provides access to metrics of a standard font. Widths are stored in
+ * array indexed by glyph name ID from glyph name table, that is shared by all
+ * standard fonts loaded from precompiled metrics.
  *
  * @author Sergey Shemyakov
  */
@@ -37,7 +37,10 @@ public class StandardFontMetrics {
 
     private static final String NOTDEF_STRING = ".notdef";
 
-    private final Map<String, Integer> widths;
+    static final int NO_WIDTH = Integer.MIN_VALUE;
+
+    private final Map<String, Integer> glyphNameIds;
+    private int[] widths;
 
     // values
     private String fontName;
@@ -52,11 +55,36 @@ public class StandardFontMetrics {
     private Double italicAngle;
 
     StandardFontMetrics() {
-        this.widths = new HashMap<>();
+        this(new HashMap<String, Integer>(), new int[0]);
+    }
+
+    /**
+     * @param glyphNameIds is table of glyph name IDs, it is not modified.
+     * @param widths       is array of widths indexed by glyph name IDs with
+     *                     {@link #NO_WIDTH} for glyphs absent in this font.
+     */
+    StandardFontMetrics(Map<String, Integer> glyphNameIds, int[] widths) {
+        this.glyphNameIds = glyphNameIds;
+        this.widths = widths;
     }
 
     void putWidth(String glyphName, int width) {
-        this.widths.put(glyphName, width);
+        Integer id = this.glyphNameIds.get(glyphName);
+        if (id == null) {
+            id = this.glyphNameIds.size();
+            this.glyphNameIds.put(glyphName, id);
+        }
+        if (id >= this.widths.length) {
+            int oldLength = this.widths.length;
+            this.widths = Arrays.copyOf(this.widths, Math.max(id + 1, oldLength * 2));
+            Arrays.fill(this.widths, oldLength, this.widths.length, NO_WIDTH);
+        }
+        this.widths[id] = width;
+    }
+
+    private int getWidthValue(String glyphName) {
+        Integer id = this.glyphNameIds.get(glyphName);
+        return id == null || id >= this.widths.length ? NO_WIDTH : this.widths[id];
     }
 
     /**
@@ -67,12 +95,13 @@ public class StandardFontMetrics {
      * @return width of this glyph or width of .notdef glyph.
      */
     public int getWidth(String glyphName) {
-        Integer res = this.widths.get(glyphName);
-        if (res != null) {
+        int res = getWidthValue(glyphName);
+        if (res != NO_WIDTH) {
             return res;
         }
-        if (this.widths.containsKey(NOTDEF_STRING)) {
-            return this.widths.get(NOTDEF_STRING);
+        res = getWidthValue(NOTDEF_STRING);
+        if (res != NO_WIDTH) {
+            return res;
         }
         LOGGER.log(Level.SEVERE, "Missing width of glyph with name " + glyphName);
         return 0;
@@ -95,7 +124,7 @@ public class StandardFontMetrics {
     }
 
     public double[] getFontBBox() {
-        return fontBBox;
+        return fontBBox == null ? null : fontBBox.clone();
     }
 
     void setFontBBox(double[] fontBBox) {
@@ -159,6 +188,20 @@ public class StandardFontMetrics {
     }
 
     public Iterator<Map.Entry<String, Integer>> getWidthsIterator() {
-        return this.widths.entrySet().iterator();
+        return getWidths().entrySet().iterator();
+    }
+
+    /**
+     * @return map from glyph names to widths of glyphs present in this font.
+     */
+    Map<String, Integer> getWidths() {
+        Map<String, Integer> res = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : this.glyphNameIds.entrySet()) {
+            int id = entry.getValue();
+            if (id < this.widths.length && this.widths[id] != NO_WIDTH) {
+                res.put(entry.getKey(), this.widths[id]);
+            }
+        }
+        return res;
     }
 }
@@ -0,0 +1,87 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pd.font.stdmetrics;
+
+import org.verapdf.io.InternalInputStream;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Build-time tool that compiles AFM files of standard fonts into binary
+ * metrics resource loaded by {@link StandardFontMetricsFactory}.
+ * <p>
+ * Usage: {@code StandardFontMetricsCompiler <AFM directory> <output file>}.
+ */
+public final class StandardFontMetricsCompiler {
+
+    private static final String EXTENSION = ".afm";
+
+    private StandardFontMetricsCompiler() {
+        // Disable default constructor
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: StandardFontMetricsCompiler <AFM directory> <output file>");
+            System.exit(1);
+        }
+        compile(new File(args[0]), new File(args[1]));
+    }
+
+    /**
+     * Compiles all AFM files from given directory into binary metrics file.
+     *
+     * @param source is directory with AFM files.
+     * @param target is binary metrics file to be written.
+     */
+    public static void compile(File source, File target) throws IOException {
+        Map<String, StandardFontMetrics> metrics = parse(source);
+        File parent = target.getAbsoluteFile().getParentFile();
+        if (!parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Output directory " + parent + " can't be created");
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(target)))) {
+            StandardFontMetricsFormat.write(metrics, out);
+        }
+    }
+
+    static Map<String, StandardFontMetrics> parse(File source) throws IOException {
+        File[] files = source.listFiles();
+        if (files == null) {
+            throw new IOException("AFM directory " + source + " can't be read");
+        }
+        Arrays.sort(files);
+        Map<String, StandardFontMetrics> res = new LinkedHashMap<>();
+        for (File file : files) {
+            String fileName = file.getName();
+            if (file.isFile() && fileName.endsWith(EXTENSION)) {
+                String fontName = fileName.substring(0, fileName.length() - EXTENSION.length());
+                try (InternalInputStream stream = new InternalInputStream(file)) {
+                    res.put(fontName, new AFMParser(stream, fontName).parse());
+                }
+            }
+        }
+        return res;
+    }
+}
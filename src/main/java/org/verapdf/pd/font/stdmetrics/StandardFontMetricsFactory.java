@@ -33,7 +33,9 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * Class that manages Adobe Font Metrics data loading.
+ * Class that manages Adobe Font Metrics data loading. Metrics of all standard
+ * fonts are loaded once per JVM from precompiled binary resource and are shared
+ * by all threads. AFM files are parsed only if binary resource is absent.
  *
  * @author Sergey Shemyakov
  */
@@ -51,6 +53,14 @@ public class StandardFontMetricsFactory {
      * Gets font metrics for the font with given name.
      */
     public static StandardFontMetrics getFontMetrics(String fontName) {
+        StandardFontMetrics res = PrecompiledMetrics.METRICS.get(fontName);
+        if (res != null) {
+            return res;
+        }
+        return getParsedFontMetrics(fontName);
+    }
+
+    private static synchronized StandardFontMetrics getParsedFontMetrics(String fontName) {
         StandardFontMetrics res = FONT_METRICS_MAP.get(fontName);
         if (res == null) {
             String afmPath = DIR_PATH + fontName + EXTENSION;
@@ -66,6 +76,10 @@ public class StandardFontMetricsFactory {
         return res;
     }
 
+    private static class PrecompiledMetrics {
+        private static final Map<String, StandardFontMetrics> METRICS = StandardFontMetricsFormat.load();
+    }
+
     private static ASInputStream load(String fileName) {
         try {
             File afmFile = new File(StandardFontMetricsFactory.class.getResource(fileName).getFile());
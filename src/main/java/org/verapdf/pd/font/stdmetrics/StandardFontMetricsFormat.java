@@ -0,0 +1,199 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pd.font.stdmetrics;
+
+import java.io.*;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Binary representation of standard font metrics. Metrics of all standard
+ * fonts are compiled from AFM files at build time by
+ * {@link StandardFontMetricsCompiler} into one resource with shared glyph name
+ * table and arrays of widths indexed by glyph name IDs.
+ */
+final class StandardFontMetricsFormat {
+
+    private static final Logger LOGGER = Logger.getLogger(StandardFontMetricsFormat.class.getCanonicalName());
+
+    static final String RESOURCE_PATH = "/font/stdmetrics/metrics.bin";
+
+    private static final int MAGIC = 0x56414D42; // "VAMB"
+    private static final int VERSION = 1;
+
+    private StandardFontMetricsFormat() {
+        // Disable default constructor
+    }
+
+    /**
+     * Loads metrics of standard fonts from bundled binary resource.
+     *
+     * @return map from font names to metrics, empty if there is no binary
+     * resource or it can't be read.
+     */
+    static Map<String, StandardFontMetrics> load() {
+        InputStream input = StandardFontMetricsFormat.class.getResourceAsStream(RESOURCE_PATH);
+        if (input == null) {
+            return Collections.emptyMap();
+        }
+        try (DataInputStream data = new DataInputStream(new BufferedInputStream(input))) {
+            return read(data);
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Error in reading binary standard font metrics", e);
+            return Collections.emptyMap();
+        }
+    }
+
+    static void write(Map<String, StandardFontMetrics> metrics, DataOutputStream out) throws IOException {
+        Map<String, Integer> glyphNameIds = new LinkedHashMap<>();
+        List<Map<String, Integer>> widths = new ArrayList<>(metrics.size());
+        for (StandardFontMetrics fontMetrics : metrics.values()) {
+            Map<String, Integer> fontWidths = new TreeMap<>(fontMetrics.getWidths());
+            for (String glyphName : fontWidths.keySet()) {
+                if (!glyphNameIds.containsKey(glyphName)) {
+                    glyphNameIds.put(glyphName, glyphNameIds.size());
+                }
+            }
+            widths.add(fontWidths);
+        }
+
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeInt(glyphNameIds.size());
+        for (String glyphName : glyphNameIds.keySet()) {
+            out.writeUTF(glyphName);
+        }
+        out.writeInt(metrics.size());
+        int fontNumber = 0;
+        for (Map.Entry<String, StandardFontMetrics> entry : metrics.entrySet()) {
+            StandardFontMetrics fontMetrics = entry.getValue();
+            out.writeUTF(entry.getKey());
+            writeString(out, fontMetrics.getFontName());
+            writeString(out, fontMetrics.getFamilyName());
+            writeString(out, fontMetrics.getEncodingScheme());
+            writeString(out, fontMetrics.getCharSet());
+            writeDouble(out, fontMetrics.getCapHeight());
+            writeDouble(out, fontMetrics.getXHeight());
+            writeDouble(out, fontMetrics.getAscend());
+            writeDouble(out, fontMetrics.getDescend());
+            writeDouble(out, fontMetrics.getItalicAngle());
+            double[] bbox = fontMetrics.getFontBBox();
+            out.writeByte(bbox == null ? 0 : bbox.length);
+            if (bbox != null) {
+                for (double value : bbox) {
+                    out.writeDouble(value);
+                }
+            }
+            Map<String, Integer> fontWidths = widths.get(fontNumber++);
+            out.writeInt(fontWidths.size());
+            for (Map.Entry<String, Integer> width : fontWidths.entrySet()) {
+                out.writeShort(glyphNameIds.get(width.getKey()));
+                out.writeInt(width.getValue());
+            }
+        }
+    }
+
+    static Map<String, StandardFontMetrics> read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Stream does not contain binary font metrics");
+        }
+        int version = in.readUnsignedShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary font metrics version " + version);
+        }
+        int glyphNamesNumber = in.readInt();
+        Map<String, Integer> glyphNameIds = new HashMap<>(glyphNamesNumber * 2);
+        for (int i = 0; i < glyphNamesNumber; ++i) {
+            glyphNameIds.put(in.readUTF(), i);
+        }
+        glyphNameIds = Collections.unmodifiableMap(glyphNameIds);
+
+        int fontsNumber = in.readInt();
+        Map<String, StandardFontMetrics> res = new HashMap<>(fontsNumber * 2);
+        for (int i = 0; i < fontsNumber; ++i) {
+            String key = in.readUTF();
+            String fontName = readString(in);
+            String familyName = readString(in);
+            String encodingScheme = readString(in);
+            String charSet = readString(in);
+            Double capHeight = readDouble(in);
+            Double xHeight = readDouble(in);
+            Double ascend = readDouble(in);
+            Double descend = readDouble(in);
+            Double italicAngle = readDouble(in);
+            double[] bbox = null;
+            int bboxLength = in.readUnsignedByte();
+            if (bboxLength != 0) {
+                bbox = new double[bboxLength];
+                for (int j = 0; j < bboxLength; ++j) {
+                    bbox[j] = in.readDouble();
+                }
+            }
+            int[] widths = new int[glyphNamesNumber];
+            Arrays.fill(widths, StandardFontMetrics.NO_WIDTH);
+            int widthsNumber = in.readInt();
+            for (int j = 0; j < widthsNumber; ++j) {
+                int id = in.readUnsignedShort();
+                if (id >= glyphNamesNumber) {
+                    throw new IOException("Invalid glyph name ID " + id + " in binary font metrics");
+                }
+                widths[id] = in.readInt();
+            }
+
+            StandardFontMetrics metrics = new StandardFontMetrics(glyphNameIds, widths);
+            metrics.setFontName(fontName);
+            metrics.setFamilyName(familyName);
+            metrics.setEncodingScheme(encodingScheme);
+            metrics.setCharSet(charSet);
+            metrics.setCapHeight(capHeight);
+            metrics.setXHeight(xHeight);
+            metrics.setAscend(ascend);
+            metrics.setDescend(descend);
+            metrics.setItalicAngle(italicAngle);
+            metrics.setFontBBox(bbox);
+            res.put(key, metrics);
+        }
+        return Collections.unmodifiableMap(res);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeDouble(DataOutputStream out, Double value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeDouble(value);
+        }
+    }
+
+    private static Double readDouble(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readDouble() : null;
+    }
+}
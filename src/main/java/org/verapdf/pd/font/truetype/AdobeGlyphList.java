@@ -26,7 +26,8 @@ import org.verapdf.io.SeekableInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Scanner;
 import java.util.logging.Level;
@@ -42,7 +43,7 @@ public class AdobeGlyphList {
     private static final Logger LOGGER = Logger.getLogger(AdobeGlyphList.class.getCanonicalName());
 
     private static final Map<String, AGLUnicode> MAPPING =
-            new HashMap<>();
+            new LinkedHashMap<>();
     private static final String AGL_FILE = "/font/AdobeGlyphList.txt";
     private static final AGLUnicode EMPTY = new AGLUnicode(-1);
 
@@ -97,6 +98,19 @@ public class AdobeGlyphList {
         return res;
     }
 
+    /**
+     * Returns AGLUnicode for glyph with specified name ID according to Adobe
+     * Glyph List.
+     *
+     * @param glyphNameId is ID of glyph name from {@link GlyphNames}.
+     * @return code for requested glyph or {@link #empty()} if there is no such
+     * glyph in Adobe Glyph List.
+     */
+    public static AGLUnicode get(int glyphNameId) {
+        AGLUnicode res = glyphNameId >= 0 && glyphNameId < ById.MAPPING.length ? ById.MAPPING[glyphNameId] : null;
+        return res == null ? EMPTY : res;
+    }
+
     /**
      * Checks if Adobe Glyph List contains given glyph.
      *
@@ -107,10 +121,35 @@ public class AdobeGlyphList {
         return MAPPING.containsKey(glyphName);
     }
 
+    /**
+     * Checks if Adobe Glyph List contains glyph with given name ID.
+     *
+     * @param glyphNameId is ID of glyph name from {@link GlyphNames}.
+     * @return true if this glyph is contained in Adobe Glyph List.
+     */
+    public static boolean contains(int glyphNameId) {
+        return glyphNameId >= 0 && glyphNameId < ById.MAPPING.length && ById.MAPPING[glyphNameId] != null;
+    }
+
+    static Collection<String> getGlyphNames() {
+        return MAPPING.keySet();
+    }
+
     public static AGLUnicode empty() {
         return EMPTY;
     }
 
+    // built on first lookup by ID, as glyph names table itself is built from Adobe Glyph List
+    private static class ById {
+        private static final AGLUnicode[] MAPPING = new AGLUnicode[GlyphNames.size()];
+
+        static {
+            for (Map.Entry<String, AGLUnicode> entry : AdobeGlyphList.MAPPING.entrySet()) {
+                MAPPING[GlyphNames.getId(entry.getKey())] = entry.getValue();
+            }
+        }
+    }
+
     /**
      * This class represents entity into which Adobe Glyph List maps glyph names,
      * i. a. it contains either Unicode of symbol or Unicode of symbol and
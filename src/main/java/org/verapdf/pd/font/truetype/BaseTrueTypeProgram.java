@@ -25,6 +25,7 @@ import org.verapdf.as.io.ASMemoryInStream;
 import org.verapdf.cos.COSKey;
 import org.verapdf.pd.font.FontProgram;
 import org.verapdf.tools.StaticResources;
+import org.verapdf.tools.metrics.ParserMetrics;
 import org.verapdf.tools.resource.ASFileStreamCloser;
 
 import java.io.IOException;
@@ -67,6 +68,8 @@ public abstract class BaseTrueTypeProgram implements FontProgram {
     @Override
     public void parseFont() throws IOException {
         if (!attemptedParsing) {
+            ParserMetrics metrics = StaticResources.getDocumentMetrics();
+            long start = metrics != null ? System.nanoTime() : 0;
             try {
                 attemptedParsing = true;
                 this.parser.readHeader();
@@ -80,6 +83,9 @@ public abstract class BaseTrueTypeProgram implements FontProgram {
                     widths[i] = unconvertedWidths[i] * quotient;
                 }
                 this.successfullyParsed = true;
+                if (metrics != null) {
+                    metrics.fontProgramParsed("TrueType", System.nanoTime() - start);
+                }
             } finally {
                 this.parser.source.close();    // We close stream after first reading attempt
             }
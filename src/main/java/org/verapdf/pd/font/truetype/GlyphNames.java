@@ -0,0 +1,212 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pd.font.truetype;
+
+import java.util.*;
+
+/**
+ * Immutable table of known glyph names. Names from Adobe Glyph List and from
+ * predefined simple font encodings are interned to small integer IDs, so glyph
+ * name of character code can be resolved once and then used as index in
+ * arrays instead of being looked up in string-keyed maps for every glyph.
+ * <p>
+ * Lookup by name uses perfect hash table built with hash-and-displace method
+ * when this class is loaded: every name has its own slot, so lookup computes
+ * one hash of the name and compares it with one stored name at most.
+ */
+public final class GlyphNames {
+
+    /**
+     * ID returned for names that are not present in the table.
+     */
+    public static final int NO_ID = -1;
+
+    private static final String[] NAMES;
+    private static final int[] HASHES;
+    private static final int[] SLOTS;
+    private static final int[] DISPLACEMENTS;
+    private static final int SLOTS_MASK;
+    private static final int DISPLACEMENTS_MASK;
+    private static final int HASH_SEED;
+
+    private static final int MAX_DISPLACEMENT = 1 << 16;
+
+    static {
+        Set<String> names = new LinkedHashSet<>(AdobeGlyphList.getGlyphNames());
+        names.add(TrueTypePredefined.NOTDEF_STRING);
+        addNames(names, TrueTypePredefined.STANDARD_ENCODING);
+        addNames(names, TrueTypePredefined.MAC_ROMAN_ENCODING);
+        addNames(names, TrueTypePredefined.WIN_ANSI_ENCODING);
+        addNames(names, TrueTypePredefined.MAC_EXPERT_ENCODING);
+        NAMES = names.toArray(new String[0]);
+        HASHES = new int[NAMES.length];
+        // load factor of the table is about 0.5, buckets contain 4 names in average
+        int tableSize = Integer.highestOneBit(Math.max(NAMES.length, 1) * 2 - 1) << 1;
+        SLOTS = new int[tableSize];
+        DISPLACEMENTS = new int[Math.max(tableSize >> 3, 1)];
+        SLOTS_MASK = SLOTS.length - 1;
+        DISPLACEMENTS_MASK = DISPLACEMENTS.length - 1;
+        int seed = 0x811C9DC5;
+        while (!fillTable(seed)) {
+            seed += 0x9E3779B9;
+        }
+        HASH_SEED = seed;
+    }
+
+    private GlyphNames() {
+        // Disable default constructor
+    }
+
+    /**
+     * @param glyphName is name of glyph.
+     * @return ID of given glyph name or {@link #NO_ID} if name is not known.
+     */
+    public static int getId(String glyphName) {
+        if (glyphName == null) {
+            return NO_ID;
+        }
+        int hash = hash(glyphName, HASH_SEED);
+        int id = SLOTS[slot(hash, DISPLACEMENTS[hash & DISPLACEMENTS_MASK])];
+        return id != NO_ID && HASHES[id] == hash && NAMES[id].equals(glyphName) ? id : NO_ID;
+    }
+
+    /**
+     * @param id is ID of glyph name.
+     * @return glyph name with given ID or null if there is no such ID.
+     */
+    public static String getName(int id) {
+        return id >= 0 && id < NAMES.length ? NAMES[id] : null;
+    }
+
+    /**
+     * @return amount of names in the table. IDs of names are in range from 0
+     * to size - 1.
+     */
+    public static int size() {
+        return NAMES.length;
+    }
+
+    /**
+     * Gets IDs for each name of given array.
+     *
+     * @param glyphNames is array of glyph names, may contain nulls.
+     * @return array of IDs, {@link #NO_ID} for unknown names and nulls.
+     */
+    public static int[] getIds(String[] glyphNames) {
+        int[] res = new int[glyphNames.length];
+        for (int i = 0; i < glyphNames.length; ++i) {
+            res[i] = getId(glyphNames[i]);
+        }
+        return res;
+    }
+
+    private static void addNames(Set<String> names, String[] encoding) {
+        for (String name : encoding) {
+            if (name != null) {
+                names.add(name);
+            }
+        }
+    }
+
+    /**
+     * Fills hash table using hashes with given seed.
+     *
+     * @return false if table can't be built with this seed.
+     */
+    private static boolean fillTable(int seed) {
+        int bucketsNumber = DISPLACEMENTS.length;
+        int[] bucketSizes = new int[bucketsNumber];
+        int maxBucketSize = 0;
+        for (int id = 0; id < NAMES.length; ++id) {
+            HASHES[id] = hash(NAMES[id], seed);
+            maxBucketSize = Math.max(maxBucketSize, ++bucketSizes[HASHES[id] & DISPLACEMENTS_MASK]);
+        }
+        // ids of names grouped by buckets
+        int[] bucketOffsets = new int[bucketsNumber + 1];
+        for (int i = 0; i < bucketsNumber; ++i) {
+            bucketOffsets[i + 1] = bucketOffsets[i] + bucketSizes[i];
+        }
+        int[] bucketIds = new int[NAMES.length];
+        int[] filled = new int[bucketsNumber];
+        for (int id = 0; id < NAMES.length; ++id) {
+            int bucket = HASHES[id] & DISPLACEMENTS_MASK;
+            bucketIds[bucketOffsets[bucket] + filled[bucket]++] = id;
+        }
+
+        Arrays.fill(SLOTS, NO_ID);
+        int[] slots = new int[maxBucketSize];
+        // the largest buckets are placed first while table is almost empty
+        for (int size = maxBucketSize; size > 0; --size) {
+            for (int bucket = 0; bucket < bucketsNumber; ++bucket) {
+                if (bucketSizes[bucket] != size) {
+                    continue;
+                }
+                int displacement = 0;
+                while (!placeBucket(bucketIds, bucketOffsets[bucket], size, displacement, slots)) {
+                    // names with equal hashes can't be placed with any displacement
+                    if (++displacement == MAX_DISPLACEMENT) {
+                        return false;
+                    }
+                }
+                DISPLACEMENTS[bucket] = displacement;
+            }
+        }
+        return true;
+    }
+
+    private static boolean placeBucket(int[] bucketIds, int offset, int size, int displacement, int[] slots) {
+        for (int i = 0; i < size; ++i) {
+            int slot = slot(HASHES[bucketIds[offset + i]], displacement);
+            if (SLOTS[slot] != NO_ID) {
+                return false;
+            }
+            for (int j = 0; j < i; ++j) {
+                if (slots[j] == slot) {
+                    return false;
+                }
+            }
+            slots[i] = slot;
+        }
+        for (int i = 0; i < size; ++i) {
+            SLOTS[slots[i]] = bucketIds[offset + i];
+        }
+        return true;
+    }
+
+    private static int slot(int hash, int displacement) {
+        int h = hash ^ (displacement * 0x9E3779B9);
+        h ^= h >>> 15;
+        h *= 0x2C1B3C6D;
+        h ^= h >>> 12;
+        return h & SLOTS_MASK;
+    }
+
+    private static int hash(String name, int seed) {
+        int h = seed;
+        for (int i = 0; i < name.length(); ++i) {
+            h = (h ^ name.charAt(i)) * 0x01000193;
+        }
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h;
+    }
+}
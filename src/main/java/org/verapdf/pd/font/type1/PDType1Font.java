@@ -34,6 +34,7 @@ import org.verapdf.pd.font.opentype.OpenTypeFontProgram;
 import org.verapdf.pd.font.stdmetrics.StandardFontMetrics;
 import org.verapdf.pd.font.stdmetrics.StandardFontMetricsFactory;
 import org.verapdf.pd.font.truetype.AdobeGlyphList;
+import org.verapdf.pd.font.truetype.GlyphNames;
 import org.verapdf.pd.font.truetype.TrueTypePredefined;
 import org.verapdf.tools.FontProgramIDGenerator;
 import org.verapdf.tools.StaticResources;
@@ -297,14 +298,17 @@ public class PDType1Font extends PDSimpleFont {
         }
         Encoding fontEncoding = this.getEncodingMapping();
         String glyphName =  null;
+        int glyphNameId = GlyphNames.NO_ID;
         if (fontEncoding != null) {
             glyphName = fontEncoding.getName(code);
+            glyphNameId = fontEncoding.getNameId(code);
         }
         if (glyphName == null && getFontProgram() != null) {
             glyphName = fontProgram.getGlyphName(code);
+            glyphNameId = GlyphNames.getId(glyphName);
         }
         if (glyphName != null) {
-            if (AdobeGlyphList.contains(glyphName) || SymbolSet.hasGlyphName(glyphName)) {
+            if (AdobeGlyphList.contains(glyphNameId) || SymbolSet.hasGlyphName(glyphName)) {
                 return " "; // indicates that toUnicode should not be checked.
             }
             return null;
@@ -36,6 +36,7 @@ import org.verapdf.pd.font.FontProgram;
 import org.verapdf.pd.font.truetype.TrueTypePredefined;
 import org.verapdf.pd.function.PSOperatorsConstants;
 import org.verapdf.tools.StaticResources;
+import org.verapdf.tools.metrics.ParserMetrics;
 import org.verapdf.tools.resource.ASFileStreamCloser;
 
 import java.io.IOException;
@@ -118,6 +119,18 @@ public class Type1FontProgram extends PSParser implements FontProgram {
         }
     }
 
+    /**
+     * {@inheritDoc} Font program can be parsed again from the new stream.
+     */
+    @Override
+    public void reset(ASInputStream fileStream) throws IOException {
+        super.reset(fileStream);
+        this.encoding = new String[256];
+        this.glyphWidths = null;
+        this.attemptedParsing = false;
+        this.successfullyParsed = false;
+    }
+
     /**
      * This method is entry point for parsing process.
      *
@@ -126,6 +139,8 @@ public class Type1FontProgram extends PSParser implements FontProgram {
     @Override
     public void parseFont() throws IOException {
         if (!attemptedParsing) {
+            ParserMetrics metrics = StaticResources.getDocumentMetrics();
+            long start = metrics != null ? System.nanoTime() : 0;
             try {
                 attemptedParsing = true;
 
@@ -154,10 +169,13 @@ public class Type1FontProgram extends PSParser implements FontProgram {
                     throw new IOException("Type 1 font doesn't contain charstrings.");
                 }
                 this.successfullyParsed = true;
+                if (metrics != null) {
+                    metrics.fontProgramParsed("Type1", System.nanoTime() - start);
+                }
             } catch (PostScriptException e) {
                 throw new IOException("Error in PostScript parsing", e);
             } finally {
-                this.getSource().close();    // We close stream after first reading attempt
+                this.close();    // We close stream after first reading attempt
             }
         }
     }
@@ -44,6 +44,15 @@ public class Type3CharProcParser extends NotSeekableBaseParser {
         super(charProcStream);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset(ASInputStream charProcStream) throws IOException {
+        super.reset(charProcStream);
+        this.width = -1;
+    }
+
     /**
      * Parses width from given char proc string.
      *
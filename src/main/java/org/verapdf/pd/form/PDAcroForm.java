@@ -21,13 +21,9 @@
 package org.verapdf.pd.form;
 
 import org.verapdf.as.ASAtom;
-import org.verapdf.cos.COSArray;
-import org.verapdf.cos.COSObjType;
 import org.verapdf.cos.COSObject;
 import org.verapdf.pd.PDObject;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 /**
@@ -35,6 +31,8 @@ import java.util.List;
  */
 public class PDAcroForm extends PDObject {
 
+	private PDFormFieldIndex fieldIndex;
+
 	public PDAcroForm(COSObject obj) {
 		super(obj);
 	}
@@ -43,17 +41,21 @@ public class PDAcroForm extends PDObject {
 		return getKey(ASAtom.NEED_APPEARANCES);
 	}
 
+	/**
+	 * @return fields of /Fields array. Field objects are taken from the index
+	 * of form fields and are shared by subsequent calls.
+	 */
 	public List<PDFormField> getFields() {
-		COSObject fields = getKey(ASAtom.FIELDS);
-		if (fields != null && fields.getType() == COSObjType.COS_ARRAY) {
-			List<PDFormField> res = new ArrayList<>();
-			for (COSObject obj : (COSArray) fields.getDirectBase()) {
-				if (obj != null && obj.getType().isDictionaryBased()) {
-					res.add(PDFormField.createTypedFormField(obj));
-				}
-			}
-			return Collections.unmodifiableList(res);
+		return getFormFieldIndex().getRootFields();
+	}
+
+	/**
+	 * @return index of form field tree. Index is built on the first request.
+	 */
+	public PDFormFieldIndex getFormFieldIndex() {
+		if (fieldIndex == null) {
+			fieldIndex = new PDFormFieldIndex(getKey(ASAtom.FIELDS));
 		}
-		return Collections.emptyList();
+		return fieldIndex;
 	}
 }
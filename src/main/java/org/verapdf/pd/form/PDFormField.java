@@ -37,9 +37,13 @@ import java.util.*;
 public class PDFormField extends PDObject {
 
 	private final Set<COSKey> parents;
+	private final PDFormFieldIndex index;
+	private final int indexPosition;
 
 	protected PDFormField(COSObject obj, Set<COSKey> parents) {
 		super(obj);
+		this.index = null;
+		this.indexPosition = PDFormFieldIndex.NO_NODE;
 		COSKey objectKey = obj.getObjectKey();
 		this.parents = new HashSet<>(parents);
 		if (objectKey != null) {
@@ -51,6 +55,13 @@ public class PDFormField extends PDObject {
 		}
 	}
 
+	PDFormField(COSObject obj, PDFormFieldIndex index, int indexPosition) {
+		super(obj);
+		this.parents = Collections.emptySet();
+		this.index = index;
+		this.indexPosition = indexPosition;
+	}
+
 	public static PDFormField createTypedFormField(COSObject obj) {
 		return createTypedFormField(obj, new HashSet<>());
 	}
@@ -70,16 +81,19 @@ public class PDFormField extends PDObject {
     }
 
 	public ASAtom getFT() {
-		COSObject object = getInheritedObject(ASAtom.FT);
+		if (index != null) {
+			return index.getFieldType(indexPosition);
+		}
+		COSObject object = getInheritedObject(getObject(), ASAtom.FT);
 		return object == null || object.getType() != COSObjType.COS_NAME ? null : object.getName();
 	}
 
 	public COSObject getV() {
-		return getInheritedObject(ASAtom.V);
+		return getInheritedObject(getObject(), ASAtom.V);
 	}
 
-	private COSObject getInheritedObject(ASAtom key) {
-		COSObject currObject = getObject();
+	static COSObject getInheritedObject(COSObject object, ASAtom key) {
+		COSObject currObject = object;
 		Set<COSKey> checkedObjects = new HashSet<>();
 		while (currObject != null) {
 			COSObject currVal = currObject.getKey(key);
@@ -105,8 +119,15 @@ public class PDFormField extends PDObject {
 	}
 
 	public String getFullyQualifiedName() {
+		if (index != null) {
+			return index.getFullyQualifiedName(indexPosition);
+		}
+		return getFullyQualifiedName(getObject());
+	}
+
+	static String getFullyQualifiedName(COSObject object) {
 		List<String> parts = new ArrayList<>();
-		COSObject currObject = getObject();
+		COSObject currObject = object;
 		Set<COSKey> checkedObjects = new HashSet<>();
 		while (currObject != null && !currObject.empty()) {
 			String partial = currObject.getStringKey(ASAtom.T);
@@ -145,7 +166,25 @@ public class PDFormField extends PDObject {
 		return null;
 	}
 
+	/**
+	 * @return index of form fields that contains this field or null if field
+	 * was created outside of index.
+	 */
+	public PDFormFieldIndex getFormFieldIndex() {
+		return index;
+	}
+
+	/**
+	 * @return child fields of this field.
+	 * @throws LoopedException if kids of this field contain one of its ancestors.
+	 */
 	public List<PDFormField> getChildFormFields() {
+		if (index != null) {
+			if (index.hasLoopedKid(indexPosition)) {
+				throw new LoopedException("Loop form field tree");
+			}
+			return index.getChildFields(indexPosition);
+		}
 		COSObject kids = getKey(ASAtom.KIDS);
 		if (kids != null && kids.getType() == COSObjType.COS_ARRAY) {
 			List<PDFormField> res = new ArrayList<>();
@@ -159,14 +198,19 @@ public class PDFormField extends PDObject {
 		return Collections.emptyList();
 	}
 
-    private static ASAtom getFieldTypeCOSObject(COSObject field) {
-        ASAtom res = field.getNameKey(ASAtom.FT);
-        if (res != null) {
-            return res;
-        }
-        COSObject parent = field.getKey(ASAtom.PARENT);
-        if (parent != null) {
-            return getFieldTypeCOSObject(parent);
+    static ASAtom getFieldTypeCOSObject(COSObject field) {
+        COSObject currObject = field;
+        Set<COSKey> checkedObjects = new HashSet<>();
+        while (currObject != null) {
+            ASAtom res = currObject.getNameKey(ASAtom.FT);
+            if (res != null) {
+                return res;
+            }
+            COSKey currKey = currObject.getKey();
+            if (currKey != null && !checkedObjects.add(currKey)) {
+                return null;
+            }
+            currObject = currObject.getKey(ASAtom.PARENT);
         }
         return null;
     }
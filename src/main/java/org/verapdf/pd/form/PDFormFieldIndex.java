@@ -0,0 +1,380 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pd.form;
+
+import org.verapdf.as.ASAtom;
+import org.verapdf.cos.COSBase;
+import org.verapdf.cos.COSObjType;
+import org.verapdf.cos.COSObject;
+import org.verapdf.tools.LongList;
+
+import java.util.*;
+
+/**
+ * Index of interactive form fields. Field tree of /Fields array is traversed
+ * once, in one iterative loop-safe pass, and each field dictionary gets a node
+ * number. For each node index keeps its child fields, the field referred by its
+ * /Parent entry, fully qualified name and inherited field type, and maps widget
+ * annotations to their fields, so field lookups and naming checks do not walk
+ * /Parent chains.
+ */
+public class PDFormFieldIndex {
+
+	public static final int NO_NODE = -1;
+
+	private static final byte NEW = 0;
+	private static final byte IN_PROGRESS = 1;
+	private static final byte DONE = 2;
+	private static final byte RESOLVED_BY_CHAIN = 3;
+
+	private final COSObject[] objects;
+	private final int[] roots;
+	private final int[] childrenOffsets;
+	private final int[] children;
+	private final boolean[] loopedKids;
+	private final int[] declaredParents;
+	private final String[] names;
+	private final ASAtom[] fieldTypes;
+	private final boolean[] signatures;
+	private final Map<COSBase, Integer> positions = new IdentityHashMap<>();
+	private final Map<COSBase, Integer> widgets = new IdentityHashMap<>();
+	private final Map<String, int[]> nameNodes = new HashMap<>();
+
+	private final PDFormField[] fields;
+	private final List<List<PDFormField>> childFields;
+	private List<PDFormField> rootFields;
+
+	/**
+	 * Builds index of form fields.
+	 *
+	 * @param fieldsArray is value of /Fields entry of interactive form dictionary.
+	 */
+	public PDFormFieldIndex(COSObject fieldsArray) {
+		List<COSObject> objectsList = new ArrayList<>();
+		List<LongList> childrenLists = new ArrayList<>();
+		LongList rootsList = new LongList();
+		Map<COSBase, Boolean> path = new IdentityHashMap<>();
+		Set<Integer> looped = new HashSet<>();
+		Deque<Frame> stack = new ArrayDeque<>();
+		int rootsCount = fieldsArray != null && fieldsArray.getType() == COSObjType.COS_ARRAY ? fieldsArray.size() : 0;
+		for (int i = 0; i < rootsCount; ++i) {
+			COSObject root = fieldsArray.at(i);
+			if (root == null || !root.getType().isDictionaryBased()) {
+				continue;
+			}
+			Integer rootPosition = this.positions.get(root.getDirectBase());
+			if (rootPosition != null) {
+				rootsList.add(rootPosition);
+				continue;
+			}
+			rootsList.add(addNode(root, objectsList, childrenLists, stack, path));
+			while (!stack.isEmpty()) {
+				Frame frame = stack.peek();
+				if (frame.kids == null || frame.next >= frame.kids.size()) {
+					stack.pop();
+					path.remove(objectsList.get(frame.node).getDirectBase());
+					continue;
+				}
+				COSObject kid = frame.kids.at(frame.next++);
+				if (PDFormField.isField(kid)) {
+					COSBase base = kid.getDirectBase();
+					Integer position = this.positions.get(base);
+					if (path.containsKey(base)) {
+						looped.add(frame.node);
+					} else if (position != null) {
+						childrenLists.get(frame.node).add(position);
+					} else {
+						childrenLists.get(frame.node).add(addNode(kid, objectsList, childrenLists, stack, path));
+					}
+				} else if (kid != null && kid.getType().isDictionaryBased()) {
+					this.widgets.putIfAbsent(kid.getDirectBase(), frame.node);
+				}
+			}
+		}
+
+		int size = objectsList.size();
+		this.objects = objectsList.toArray(new COSObject[0]);
+		this.roots = rootsList.toIntArray();
+		this.childrenOffsets = new int[size + 1];
+		LongList childrenList = new LongList();
+		for (int i = 0; i < size; ++i) {
+			this.childrenOffsets[i] = childrenList.size();
+			childrenList.addAll(childrenLists.get(i));
+		}
+		this.childrenOffsets[size] = childrenList.size();
+		this.children = childrenList.toIntArray();
+		this.loopedKids = new boolean[size];
+		for (Integer node : looped) {
+			this.loopedKids[node] = true;
+		}
+		this.declaredParents = new int[size];
+		for (int i = 0; i < size; ++i) {
+			this.declaredParents[i] = getPosition(getParentObject(this.objects[i]));
+		}
+		this.names = new String[size];
+		this.fieldTypes = new ASAtom[size];
+		this.signatures = new boolean[size];
+		resolveInheritedValues();
+		Map<String, LongList> nameLists = new HashMap<>();
+		for (int i = 0; i < size; ++i) {
+			if (this.names[i] != null) {
+				nameLists.computeIfAbsent(this.names[i], name -> new LongList()).add(i);
+			}
+		}
+		for (Map.Entry<String, LongList> entry : nameLists.entrySet()) {
+			this.nameNodes.put(entry.getKey(), entry.getValue().toIntArray());
+		}
+		this.fields = new PDFormField[size];
+		this.childFields = new ArrayList<>(Collections.<List<PDFormField>>nCopies(size, null));
+	}
+
+	private int addNode(COSObject object, List<COSObject> objectsList, List<LongList> childrenLists,
+	                    Deque<Frame> stack, Map<COSBase, Boolean> path) {
+		int position = objectsList.size();
+		COSBase base = object.getDirectBase();
+		this.positions.put(base, position);
+		if (object.getNameKey(ASAtom.SUBTYPE) == ASAtom.WIDGET) {
+			this.widgets.putIfAbsent(base, position);
+		}
+		objectsList.add(object);
+		childrenLists.add(new LongList());
+		COSObject kids = object.getKey(ASAtom.KIDS);
+		stack.push(new Frame(position, kids != null && kids.getType() == COSObjType.COS_ARRAY ? kids : null));
+		path.put(base, Boolean.TRUE);
+		return position;
+	}
+
+	/**
+	 * Computes fully qualified names, field types and signature field flags.
+	 * Values of node are obtained from values of its /Parent node. Nodes whose
+	 * /Parent chain is looped or leaves the index are resolved by walking the
+	 * chain, as well as their descendants.
+	 */
+	private void resolveInheritedValues() {
+		byte[] states = new byte[this.objects.length];
+		LongList chain = new LongList();
+		for (int i = 0; i < this.objects.length; ++i) {
+			int node = i;
+			while (node != NO_NODE && states[node] == NEW) {
+				states[node] = IN_PROGRESS;
+				chain.add(node);
+				node = this.declaredParents[node];
+			}
+			boolean isLooped = node != NO_NODE && states[node] == IN_PROGRESS;
+			while (chain.size() > 0) {
+				int current = (int) chain.removeLast();
+				int parent = this.declaredParents[current];
+				boolean isChainRequired = isLooped || (parent == NO_NODE ?
+				                                       getParentObject(this.objects[current]) != null :
+				                                       states[parent] == RESOLVED_BY_CHAIN);
+				if (isChainRequired) {
+					resolveByChain(current);
+					states[current] = RESOLVED_BY_CHAIN;
+				} else {
+					resolveByParent(current, parent);
+					states[current] = DONE;
+				}
+			}
+		}
+	}
+
+	private void resolveByChain(int node) {
+		COSObject object = this.objects[node];
+		this.names[node] = PDFormField.getFullyQualifiedName(object);
+		this.fieldTypes[node] = getFieldType(PDFormField.getInheritedObject(object, ASAtom.FT));
+		this.signatures[node] = PDFormField.getFieldTypeCOSObject(object) == ASAtom.SIG;
+	}
+
+	private void resolveByParent(int node, int parent) {
+		COSObject object = this.objects[node];
+		String partial = object.getStringKey(ASAtom.T);
+		String parentName = parent == NO_NODE ? null : this.names[parent];
+		this.names[node] = partial == null ? parentName :
+		                   parentName == null ? partial : parentName + '.' + partial;
+		COSObject type = object.getKey(ASAtom.FT);
+		if (type != null && !type.empty()) {
+			this.fieldTypes[node] = getFieldType(type);
+		} else {
+			this.fieldTypes[node] = parent == NO_NODE ? null : this.fieldTypes[parent];
+		}
+		ASAtom nameType = object.getNameKey(ASAtom.FT);
+		if (nameType != null) {
+			this.signatures[node] = nameType == ASAtom.SIG;
+		} else {
+			this.signatures[node] = parent != NO_NODE && this.signatures[parent];
+		}
+	}
+
+	private static ASAtom getFieldType(COSObject type) {
+		return type == null || type.getType() != COSObjType.COS_NAME ? null : type.getName();
+	}
+
+	private static COSObject getParentObject(COSObject object) {
+		COSObject parent = object.getKey(ASAtom.PARENT);
+		return parent != null && parent.getType().isDictionaryBased() ? parent : null;
+	}
+
+	/**
+	 * @return amount of fields in index.
+	 */
+	public int size() {
+		return this.objects.length;
+	}
+
+	/**
+	 * @param object is field dictionary.
+	 * @return node of given field dictionary or {@link #NO_NODE} if this
+	 * dictionary is not a part of field tree.
+	 */
+	public int getPosition(COSObject object) {
+		if (object == null || object.empty()) {
+			return NO_NODE;
+		}
+		Integer position = this.positions.get(object.getDirectBase());
+		return position == null ? NO_NODE : position;
+	}
+
+	/**
+	 * Gets field with given node. Field object is created on the first request
+	 * and returned by subsequent requests.
+	 */
+	public PDFormField getField(int node) {
+		PDFormField field = this.fields[node];
+		if (field == null) {
+			if (this.signatures[node]) {
+				field = new PDSignatureField(this.objects[node], this, node);
+			} else {
+				field = new PDFormField(this.objects[node], this, node);
+			}
+			this.fields[node] = field;
+		}
+		return field;
+	}
+
+	/**
+	 * @return fields of /Fields array of interactive form.
+	 */
+	public List<PDFormField> getRootFields() {
+		if (this.rootFields == null) {
+			this.rootFields = getFields(this.roots, 0, this.roots.length);
+		}
+		return this.rootFields;
+	}
+
+	/**
+	 * @return fields from /Kids array of given node.
+	 */
+	public List<PDFormField> getChildFields(int node) {
+		List<PDFormField> res = this.childFields.get(node);
+		if (res == null) {
+			res = getFields(this.children, this.childrenOffsets[node], this.childrenOffsets[node + 1]);
+			this.childFields.set(node, res);
+		}
+		return res;
+	}
+
+	private List<PDFormField> getFields(int[] nodes, int from, int to) {
+		if (from == to) {
+			return Collections.emptyList();
+		}
+		List<PDFormField> res = new ArrayList<>(to - from);
+		for (int i = from; i < to; ++i) {
+			res.add(getField(nodes[i]));
+		}
+		return Collections.unmodifiableList(res);
+	}
+
+	public int getChildrenCount(int node) {
+		return this.childrenOffsets[node + 1] - this.childrenOffsets[node];
+	}
+
+	public int getChildNode(int node, int childNumber) {
+		return this.children[this.childrenOffsets[node] + childNumber];
+	}
+
+	/**
+	 * @return true if /Kids array of given node contains one of its ancestors.
+	 */
+	public boolean hasLoopedKid(int node) {
+		return this.loopedKids[node];
+	}
+
+	/**
+	 * @return node referred by /Parent entry of given node or {@link #NO_NODE}
+	 * if /Parent does not refer to a field of the index.
+	 */
+	public int getParentNode(int node) {
+		return this.declaredParents[node];
+	}
+
+	public String getFullyQualifiedName(int node) {
+		return this.names[node];
+	}
+
+	/**
+	 * @return value of inheritable /FT entry of given node.
+	 */
+	public ASAtom getFieldType(int node) {
+		return this.fieldTypes[node];
+	}
+
+	/**
+	 * @param fullyQualifiedName is fully qualified field name.
+	 * @return all fields with given fully qualified name in order of traversal.
+	 */
+	public List<PDFormField> getFieldsByName(String fullyQualifiedName) {
+		int[] nodes = this.nameNodes.get(fullyQualifiedName);
+		return nodes == null ? Collections.emptyList() : getFields(nodes, 0, nodes.length);
+	}
+
+	/**
+	 * @return amount of fields with given fully qualified name.
+	 */
+	public int getNameCount(String fullyQualifiedName) {
+		int[] nodes = this.nameNodes.get(fullyQualifiedName);
+		return nodes == null ? 0 : nodes.length;
+	}
+
+	/**
+	 * @param widget is widget annotation dictionary.
+	 * @return field that contains widget in its /Kids array or is merged with
+	 * widget, or null if there is no such field.
+	 */
+	public PDFormField getFieldByWidget(COSObject widget) {
+		if (widget == null || widget.empty()) {
+			return null;
+		}
+		Integer node = this.widgets.get(widget.getDirectBase());
+		return node == null ? null : getField(node);
+	}
+
+	private static class Frame {
+
+		private final int node;
+		private final COSObject kids;
+		private int next = 0;
+
+		private Frame(int node, COSObject kids) {
+			this.node = node;
+			this.kids = kids;
+		}
+	}
+}
@@ -37,6 +37,10 @@ public class PDSignatureField extends PDFormField {
         super(obj, parents);
     }
 
+    PDSignatureField(COSObject obj, PDFormFieldIndex index, int indexPosition) {
+        super(obj, index, indexPosition);
+    }
+
     /**
      * @return digital signature contained in this signature field, or null if
      * digital signature can't be obtained.
@@ -116,8 +116,9 @@ public class PDType4Function extends PDFunction {
             }
             if (obj instanceof PSOperator && PSOperatorsConstants.LEFT_CURLY_BRACE.equals(((PSOperator) obj).getOperator())) {
                 recursiveProcedure(ops, proc);
+            } else {
+                proc.add(obj);
             }
-            proc.add(obj);
         }
         modifiedOperators.add(new PSProcedure(new COSArray(proc)));
     }
@@ -23,11 +23,15 @@ package org.verapdf.pd.images;
 import org.verapdf.as.ASAtom;
 import org.verapdf.as.io.ASInputStream;
 import org.verapdf.cos.COSArray;
+import org.verapdf.cos.COSBase;
 import org.verapdf.cos.COSName;
 import org.verapdf.cos.COSObjType;
 import org.verapdf.cos.COSObject;
+import org.verapdf.cos.COSStream;
+import org.verapdf.external.ImageMetadata;
 import org.verapdf.external.JPEG2000;
 import org.verapdf.factory.colors.ColorSpaceFactory;
+import org.verapdf.io.SeekableInputStream;
 import org.verapdf.pd.PDMetadata;
 import org.verapdf.pd.PDResources;
 import org.verapdf.pd.colors.PDColorSpace;
@@ -51,6 +55,7 @@ public class PDXImage extends PDXObject {
 	private final PDResources resources;
 
 	private JPEG2000 jpxStream;
+	private ImageMetadata imageMetadata;
 
 	public PDXImage(COSObject obj, PDResources resources) {
 		super(obj);
@@ -66,7 +71,7 @@ public class PDXImage extends PDXObject {
 	private void parseJPXAndColorSpace() {
 		List<ASAtom> filters = getFilters();
 		if (filters.contains(ASAtom.JPX_DECODE)) {
-			try (ASInputStream stream = getObject().getData()) {
+			try (ASInputStream stream = getJPXData()) {
 				this.jpxStream = JPEG2000.fromStream(stream);
 				this.imageCS = this.imageCS == null ? this.jpxStream.getImageColorSpace() : this.imageCS;
 			} catch (IOException e) {
@@ -89,6 +94,21 @@ public class PDXImage extends PDXObject {
 		}
 	}
 
+	/**
+	 * @return seekable view of image data if data is stored as is, so boxes of
+	 * JPEG2000 image can be skipped without reading them, or image data otherwise.
+	 */
+	private ASInputStream getJPXData() {
+		COSBase base = getObject().getDirectBase();
+		if (base instanceof COSStream) {
+			SeekableInputStream data = ((COSStream) base).getSeekableData();
+			if (data != null) {
+				return data;
+			}
+		}
+		return getObject().getData();
+	}
+
 	public PDColorSpace getImageCS() {
 		return this.imageCS;
 	}
@@ -101,6 +121,27 @@ public class PDXImage extends PDXObject {
 		return this.jpxStream;
 	}
 
+	/**
+	 * @return metadata read from the header of image codestream if the last
+	 * filter of image is DCTDecode, JPXDecode or JBIG2Decode and null otherwise.
+	 */
+	public ImageMetadata getImageMetadata() {
+		if (this.imageMetadata == null) {
+			List<ASAtom> filters = getFilters();
+			ASAtom filter = filters.isEmpty() ? null : filters.get(filters.size() - 1);
+			if (filter != ASAtom.DCT_DECODE && filter != ASAtom.JPX_DECODE && filter != ASAtom.JBIG2_DECODE) {
+				return null;
+			}
+			try (ASInputStream stream = getObject().getData(COSStream.FilterFlags.DECODE)) {
+				this.imageMetadata = ImageMetadata.fromStream(filter, stream);
+			} catch (IOException e) {
+				LOGGER.log(Level.FINE, "IO Exception reading image data", e);
+				this.imageMetadata = ImageMetadata.UNKNOWN;
+			}
+		}
+		return this.imageMetadata;
+	}
+
 	public boolean isInterpolate() {
 		Boolean value = getObject().getBooleanKey(ASAtom.INTERPOLATE);
 		return value != null ? value.booleanValue() : false;
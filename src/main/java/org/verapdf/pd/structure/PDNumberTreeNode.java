@@ -42,6 +42,11 @@ public class PDNumberTreeNode extends PDObject implements Iterable<COSObject> {
     private long[] limitsArray = null;
     private List<PDNumberTreeNode> kids = null;
     private Map<Long, COSObject> nums = null;
+    private Boolean kidsOrdered = null;
+
+    private long[] indexKeys = null;
+    private COSObject[] indexKeyValues = null;
+    private COSObject[] indexValues = null;
 
     /**
      * Constructor from number tree node dictionary.
@@ -141,12 +146,70 @@ public class PDNumberTreeNode extends PDObject implements Iterable<COSObject> {
     }
 
 
-    private List<COSObject> getObjects() {
-        List<COSObject> result = new LinkedList<>(getNums().values());
-        for (PDNumberTreeNode kid : getKids()) {
-            result.addAll(kid.getObjects());
+    /**
+     * Builds flattened index of this tree: all values of the tree in traversal
+     * order and sorted array of keys reachable by {@link #getObject(Long)}.
+     * After that lookups by key are binary searches in the index and size of
+     * the tree is known. Index is built automatically on first bulk access.
+     */
+    public void buildIndex() {
+        if (this.indexValues != null) {
+            return;
+        }
+        List<COSObject> values = new ArrayList<>();
+        List<Long> keys = new ArrayList<>();
+        List<COSObject> keyValues = new ArrayList<>();
+        Deque<IndexFrame> stack = new ArrayDeque<>();
+        stack.push(new IndexFrame(this, Long.MIN_VALUE, Long.MAX_VALUE, true));
+        while (!stack.isEmpty()) {
+            IndexFrame frame = stack.pop();
+            PDNumberTreeNode node = frame.node;
+            long low = frame.low;
+            long high = frame.high;
+            long[] limits = node.getLimitsArray();
+            if (limits.length == 2) {
+                low = Math.max(low, limits[0]);
+                high = Math.min(high, limits[1]);
+            }
+            boolean hasNums = node.knownKey(ASAtom.NUMS);
+            for (Map.Entry<Long, COSObject> entry : node.getNums().entrySet()) {
+                values.add(entry.getValue());
+                long key = entry.getKey();
+                if (frame.reachable && key >= low && key <= high) {
+                    keys.add(key);
+                    keyValues.add(entry.getValue());
+                }
+            }
+            List<PDNumberTreeNode> kids = node.getKids();
+            for (int i = kids.size() - 1; i >= 0; --i) {
+                // kids of node with Nums entry are not used in lookups by key
+                stack.push(new IndexFrame(kids.get(i), low, high, frame.reachable && !hasNums));
+            }
+        }
+        Integer[] order = new Integer[keys.size()];
+        for (int i = 0; i < order.length; ++i) {
+            order[i] = i;
+        }
+        // stable sort, so the first of equal keys in traversal order is kept
+        Arrays.sort(order, (first, second) -> Long.compare(keys.get(first), keys.get(second)));
+        long[] sortedKeys = new long[order.length];
+        COSObject[] sortedValues = new COSObject[order.length];
+        int size = 0;
+        for (Integer position : order) {
+            long key = keys.get(position);
+            if (size == 0 || sortedKeys[size - 1] != key) {
+                sortedKeys[size] = key;
+                sortedValues[size] = keyValues.get(position);
+                size++;
+            }
         }
-        return result;
+        this.indexKeys = Arrays.copyOf(sortedKeys, size);
+        this.indexKeyValues = Arrays.copyOf(sortedValues, size);
+        this.indexValues = values.toArray(new COSObject[0]);
+    }
+
+    public boolean isIndexed() {
+        return this.indexValues != null;
     }
 
     /**
@@ -157,57 +220,89 @@ public class PDNumberTreeNode extends PDObject implements Iterable<COSObject> {
      * null if object can't be found.
      */
     public COSObject getObject(Long key) {
-        Set<COSKey> visitedKeys = new HashSet<>();
-        COSKey objectKey = getObject().getObjectKey();
-        if (objectKey != null) {
-            visitedKeys.add(objectKey);
+        if (this.indexValues != null) {
+            int position = Arrays.binarySearch(this.indexKeys, key);
+            return position >= 0 ? this.indexKeyValues[position] : null;
         }
-        return getObject(key, visitedKeys);
-    }
-
-    private COSObject getObject(Long key, Set<COSKey> visitedKeys) {
-        long[] limits = this.getLimitsArray();
-        if (limits.length == 2) {
-            if (key < limits[0] || key > limits[1]) {
+        PDNumberTreeNode node = this;
+        while (node != null) {
+            long[] limits = node.getLimitsArray();
+            if (limits.length == 2 && (key < limits[0] || key > limits[1])) {
                 // integer not in the limits
                 return null;
             }
-        }
-
-        if (this.knownKey(ASAtom.NUMS)) {
-            // just get object from nums or check if it is not in nums
-            Map<Long, COSObject> nums = getNums();
-            return nums == null ? null : nums.get(key);
-        }
-
-        if (this.knownKey(ASAtom.KIDS)) {
-            // find kid with mapping for given key
-            List<PDNumberTreeNode> kids = getKids();
-            if (kids != null) {
+            if (node.knownKey(ASAtom.NUMS)) {
+                // just get object from nums or check if it is not in nums
+                return node.getNums().get(key);
+            }
+            if (!node.knownKey(ASAtom.KIDS)) {
+                return null;
+            }
+            List<PDNumberTreeNode> kids = node.getKids();
+            if (!node.areKidsOrdered()) {
+                // find kid with mapping for given key
                 for (PDNumberTreeNode kid : kids) {
-                    COSObject res = kid.getObject(key, visitedKeys);
+                    COSObject res = kid.getObject(key);
                     if (res != null) {
                         return res;
                     }
                 }
+                return null;
             }
+            node = node.findKid(key);
         }
+        return null;
+    }
 
+    /**
+     * @return kid which limits contain given key. Kids should be ordered.
+     */
+    private PDNumberTreeNode findKid(long key) {
+        List<PDNumberTreeNode> kids = getKids();
+        int low = 0;
+        int high = kids.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long[] limits = kids.get(middle).getLimitsArray();
+            if (key < limits[0]) {
+                high = middle - 1;
+            } else if (key > limits[1]) {
+                low = middle + 1;
+            } else {
+                return kids.get(middle);
+            }
+        }
         return null;
     }
 
+    /**
+     * @return true if all kids have limits and ranges of these limits are
+     * sorted and do not intersect, so the kid for key can be found with binary search.
+     */
+    private boolean areKidsOrdered() {
+        if (this.kidsOrdered == null) {
+            boolean res = true;
+            long previous = 0;
+            List<PDNumberTreeNode> kids = getKids();
+            for (int i = 0; i < kids.size() && res; ++i) {
+                long[] limits = kids.get(i).getLimitsArray();
+                res = limits.length == 2 && limits[0] <= limits[1] && (i == 0 || previous < limits[0]);
+                previous = res ? limits[1] : previous;
+            }
+            this.kidsOrdered = res;
+        }
+        return this.kidsOrdered;
+    }
+
     @Override
     public Iterator<COSObject> iterator() {
-        return getObjects().iterator();
+        buildIndex();
+        return Collections.unmodifiableList(Arrays.asList(this.indexValues)).iterator();
     }
 
     public Long size() {
-        long i = 0;
-        Iterator<COSObject> iterator = iterator();
-        for (; iterator.hasNext(); i++) {
-            iterator.next();
-        }
-        return i;
+        buildIndex();
+        return (long) this.indexValues.length;
     }
 
     public boolean containsKey(Long key) {
@@ -215,11 +310,27 @@ public class PDNumberTreeNode extends PDObject implements Iterable<COSObject> {
     }
 
     public boolean containsValue(COSObject value) {
-        for (COSObject object : this) {
+        buildIndex();
+        for (COSObject object : this.indexValues) {
             if (object != null && object.equals(value)) {
                 return true;
             }
         }
         return false;
     }
+
+    private static class IndexFrame {
+
+        private final PDNumberTreeNode node;
+        private final long low;
+        private final long high;
+        private final boolean reachable;
+
+        private IndexFrame(PDNumberTreeNode node, long low, long high, boolean reachable) {
+            this.node = node;
+            this.low = low;
+            this.high = high;
+            this.reachable = reachable;
+        }
+    }
 }
@@ -43,6 +43,12 @@ public class PDStructElem extends PDStructTreeNode {
 		super(obj);
 	}
 
+	PDStructElem(COSObject obj, StructureTreeIndex index, int indexPosition) {
+		super(obj);
+		this.index = index;
+		this.indexPosition = indexPosition;
+	}
+
 	public ASAtom getType() {
 		return getObject().getNameKey(ASAtom.TYPE);
 	}
@@ -96,6 +102,9 @@ public class PDStructElem extends PDStructTreeNode {
 	}
 
 	public PDStructElem getParent() {
+		if (index != null) {
+			return index.getParent(indexPosition);
+		}
 		COSObject parentObject = getKey(ASAtom.P);
 		if (parentObject != null) {
 			return new PDStructElem(parentObject);
@@ -112,9 +121,19 @@ public class PDStructElem extends PDStructTreeNode {
 	}
 
 	public StructureType getDefaultStructureType() {
+		if (index != null) {
+			return index.getDefaultStructureType(indexPosition);
+		}
 		return getDefaultStructureType(this.getStructureType());
 	}
 
+	public Boolean isCircularMappingExist() {
+		if (index != null) {
+			return index.isCircularMappingExist(indexPosition);
+		}
+		return TaggedPDFHelper.isCircularMappingExist(this.getStructureType());
+	}
+
 	public static StructureType getDefaultStructureType(StructureType structureType) {
 		return TaggedPDFHelper.getDefaultStructureType(structureType);
 	}
@@ -31,15 +31,32 @@ import java.util.List;
  */
 public class PDStructTreeNode extends PDObject {
 
+	protected StructureTreeIndex index;
+	protected int indexPosition = StructureTreeIndex.NO_NODE;
+
 	protected PDStructTreeNode(COSObject obj) {
 		super(obj);
 	}
 
 	public List<PDStructElem> getStructChildren() {
+		if (index != null) {
+			return index.getStructChildren(indexPosition);
+		}
 		return TaggedPDFHelper.getStructNodeStructChildren(getObject());
 	}
 
 	public List<Object> getChildren() {
+		if (index != null) {
+			return index.getChildren(indexPosition);
+		}
 		return TaggedPDFHelper.getStructNodeChildren(getObject());
 	}
+
+	/**
+	 * @return structure tree index this node belongs to or null if node was
+	 * created outside of index.
+	 */
+	public StructureTreeIndex getStructureTreeIndex() {
+		return index;
+	}
 }
@@ -24,6 +24,7 @@ import org.verapdf.as.ASAtom;
 import org.verapdf.cos.COSObjType;
 import org.verapdf.cos.COSObject;
 import org.verapdf.tools.StaticResources;
+import org.verapdf.tools.TaggedPDFRoleMapHelper;
 
 import java.util.*;
 
@@ -33,10 +34,19 @@ import java.util.*;
 public class PDStructTreeRoot extends PDStructTreeNode {
 	
 	private PDNumberTreeNode parentTree;
+	private final TaggedPDFRoleMapHelper roleMapHelper;
 
 	public PDStructTreeRoot(COSObject obj) {
 		super(obj);
-		StaticResources.setRoleMapHelper(getRoleMap());
+		this.roleMapHelper = new TaggedPDFRoleMapHelper(getRoleMap());
+		StaticResources.setRoleMapHelper(this.roleMapHelper);
+	}
+
+	/**
+	 * @return role map helper of the document this structure tree belongs to.
+	 */
+	public TaggedPDFRoleMapHelper getRoleMapHelper() {
+		return roleMapHelper;
 	}
 
 	public Map<ASAtom, ASAtom> getRoleMap() {
@@ -59,6 +69,19 @@ public class PDStructTreeRoot extends PDStructTreeNode {
 		return getKey(ASAtom.CLASS_MAP);
 	}
 
+	/**
+	 * @return index of this structure tree. Index is built on first call, after
+	 * that navigation from this root goes through the index.
+	 */
+	@Override
+	public StructureTreeIndex getStructureTreeIndex() {
+		if (index == null) {
+			index = new StructureTreeIndex(this);
+			indexPosition = StructureTreeIndex.ROOT;
+		}
+		return index;
+	}
+
 	public PDNumberTreeNode getParentTree() {
 		if (parentTree == null) {
 			COSObject parentTreeObject = getKey(ASAtom.PARENT_TREE);
@@ -0,0 +1,361 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pd.structure;
+
+import org.verapdf.as.ASAtom;
+import org.verapdf.cos.COSBase;
+import org.verapdf.cos.COSObjType;
+import org.verapdf.cos.COSObject;
+import org.verapdf.tools.LongList;
+import org.verapdf.tools.TaggedPDFHelper;
+
+import java.util.*;
+
+/**
+ * Materialized structure tree of a document. Tree is traversed once, in one
+ * iterative loop-safe pass, and stored as compact arrays: node 0 is the
+ * structure tree root and all other nodes are structure elements. For each node
+ * index keeps its parent, its structure element children, the element referred
+ * by its /P entry and the resolved standard structure type, so navigation over
+ * the tree does not re-read /K and /P entries.
+ * <p>
+ * Index also maps StructParents and MCID values to structure elements using
+ * flattened index of ParentTree of the root.
+ */
+public class StructureTreeIndex {
+
+	public static final int ROOT = 0;
+	public static final int NO_NODE = -1;
+
+	private static final byte UNKNOWN = 0;
+	private static final byte FALSE = 1;
+	private static final byte TRUE = 2;
+	private static final byte UNDEFINED = 3;
+
+	private final PDStructTreeRoot root;
+	private final COSObject[] objects;
+	private final PDStructElem[] elements;
+	private final int[] parents;
+	private final int[] declaredParents;
+	private final int[] childrenOffsets;
+	private final int[] children;
+	private final Map<COSBase, Integer> positions;
+
+	private final List<List<PDStructElem>> structChildren;
+	private final List<List<Object>> allChildren;
+	private final StructureType[] defaultStructureTypes;
+	private final boolean[] defaultStructureTypeResolved;
+	private final byte[] circularMappings;
+
+	private final Map<Long, PDStructElem[]> parentTreeElements = new HashMap<>();
+
+	StructureTreeIndex(PDStructTreeRoot root) {
+		this.root = root;
+		List<COSObject> objectsList = new ArrayList<>();
+		LongList parentsList = new LongList();
+		LongList childrenList = new LongList();
+		LongList offsetsList = new LongList();
+		this.positions = new IdentityHashMap<>();
+
+		objectsList.add(root.getObject());
+		parentsList.add(NO_NODE);
+		COSBase rootBase = root.getObject().getDirectBase();
+		if (rootBase != null) {
+			this.positions.put(rootBase, ROOT);
+		}
+		// nodes are numbered in order of discovery, so processing them by number is breadth-first traversal
+		for (int node = 0; node < objectsList.size(); ++node) {
+			offsetsList.add(childrenList.size());
+			for (COSObject child : getStructElemObjects(objectsList.get(node))) {
+				COSBase base = child.getDirectBase();
+				Integer position = this.positions.get(base);
+				if (position != null && position == ROOT) {
+					// the root is not a structure element, so it can't be a child
+					continue;
+				}
+				if (position == null) {
+					position = objectsList.size();
+					this.positions.put(base, position);
+					objectsList.add(child);
+					parentsList.add(node);
+				}
+				childrenList.add(position);
+			}
+		}
+		offsetsList.add(childrenList.size());
+
+		int size = objectsList.size();
+		this.objects = objectsList.toArray(new COSObject[0]);
+		this.parents = parentsList.toIntArray();
+		this.children = childrenList.toIntArray();
+		this.childrenOffsets = offsetsList.toIntArray();
+		this.elements = new PDStructElem[size];
+		this.declaredParents = new int[size];
+		this.declaredParents[ROOT] = NO_NODE;
+		for (int i = 1; i < size; ++i) {
+			this.elements[i] = new PDStructElem(this.objects[i], this, i);
+			this.declaredParents[i] = getPosition(this.objects[i].getKey(ASAtom.P));
+		}
+		this.structChildren = new ArrayList<>(Collections.<List<PDStructElem>>nCopies(size, null));
+		this.allChildren = new ArrayList<>(Collections.<List<Object>>nCopies(size, null));
+		this.defaultStructureTypes = new StructureType[size];
+		this.defaultStructureTypeResolved = new boolean[size];
+		this.circularMappings = new byte[size];
+	}
+
+	/**
+	 * @return amount of nodes in index including structure tree root.
+	 */
+	public int size() {
+		return this.objects.length;
+	}
+
+	public PDStructTreeRoot getRoot() {
+		return root;
+	}
+
+	/**
+	 * @param node is index of structure element.
+	 * @return structure element with given index or null if node is root.
+	 */
+	public PDStructElem getElement(int node) {
+		return this.elements[node];
+	}
+
+	/**
+	 * @param object is structure element dictionary.
+	 * @return index of node for given dictionary or {@link #NO_NODE} if this
+	 * dictionary is not a part of structure tree.
+	 */
+	public int getPosition(COSObject object) {
+		if (object == null || object.empty()) {
+			return NO_NODE;
+		}
+		Integer position = this.positions.get(object.getDirectBase());
+		return position == null ? NO_NODE : position;
+	}
+
+	/**
+	 * @return index of node that contains given node in its /K entry or
+	 * {@link #NO_NODE} for the root.
+	 */
+	public int getParentNode(int node) {
+		return this.parents[node];
+	}
+
+	/**
+	 * @return index of node referred by /P entry of given node or
+	 * {@link #NO_NODE} if /P does not refer to a node of the structure tree.
+	 */
+	public int getDeclaredParentNode(int node) {
+		return this.declaredParents[node];
+	}
+
+	public int getChildrenCount(int node) {
+		return this.childrenOffsets[node + 1] - this.childrenOffsets[node];
+	}
+
+	public int getChildNode(int node, int childNumber) {
+		return this.children[this.childrenOffsets[node] + childNumber];
+	}
+
+	/**
+	 * @return structure element referred by /P entry of given node.
+	 */
+	public PDStructElem getParent(int node) {
+		int parent = this.declaredParents[node];
+		if (parent > ROOT) {
+			return this.elements[parent];
+		}
+		COSObject parentObject = this.objects[node].getKey(ASAtom.P);
+		return parentObject != null ? new PDStructElem(parentObject) : null;
+	}
+
+	public List<PDStructElem> getStructChildren(int node) {
+		List<PDStructElem> res = this.structChildren.get(node);
+		if (res == null) {
+			int count = getChildrenCount(node);
+			if (count == 0) {
+				res = Collections.emptyList();
+			} else {
+				List<PDStructElem> list = new ArrayList<>(count);
+				for (int i = 0; i < count; ++i) {
+					list.add(this.elements[getChildNode(node, i)]);
+				}
+				res = Collections.unmodifiableList(list);
+			}
+			this.structChildren.set(node, res);
+		}
+		return res;
+	}
+
+	public List<Object> getChildren(int node) {
+		List<Object> res = this.allChildren.get(node);
+		if (res == null) {
+			res = parseChildren(node);
+			this.allChildren.set(node, res);
+		}
+		return res;
+	}
+
+	/**
+	 * @return standard structure type to which type of given node is role
+	 * mapped by the role map of this structure tree or null if there is no
+	 * such type.
+	 */
+	public StructureType getDefaultStructureType(int node) {
+		if (!this.defaultStructureTypeResolved[node]) {
+			this.defaultStructureTypes[node] = TaggedPDFHelper.getDefaultStructureType(
+					this.elements[node].getStructureType(), this.root.getRoleMapHelper().getRoleMap());
+			this.defaultStructureTypeResolved[node] = true;
+		}
+		return this.defaultStructureTypes[node];
+	}
+
+	public Boolean isCircularMappingExist(int node) {
+		if (this.circularMappings[node] == UNKNOWN) {
+			Boolean res = TaggedPDFHelper.isCircularMappingExist(this.elements[node].getStructureType());
+			this.circularMappings[node] = res == null ? UNDEFINED : res ? TRUE : FALSE;
+		}
+		switch (this.circularMappings[node]) {
+			case TRUE:
+				return true;
+			case FALSE:
+				return false;
+			default:
+				return null;
+		}
+	}
+
+	/**
+	 * Gets structure element that is parent of marked content sequence.
+	 *
+	 * @param structParents is value of StructParents entry of page or XObject.
+	 * @param mcid          is MCID of marked content sequence.
+	 * @return structure element or null if ParentTree has no such element.
+	 */
+	public PDStructElem getParentTreeElement(long structParents, int mcid) {
+		PDStructElem[] elements = getParentTreeElements(structParents);
+		return elements != null && mcid >= 0 && mcid < elements.length ? elements[mcid] : null;
+	}
+
+	/**
+	 * Gets structure element that is parent of object with StructParent entry.
+	 *
+	 * @param structParent is value of StructParent entry of annotation or XObject.
+	 * @return structure element or null if ParentTree has no such element.
+	 */
+	public PDStructElem getParentTreeElement(long structParent) {
+		PDStructElem[] elements = getParentTreeElements(structParent);
+		return elements != null && elements.length == 1 ? elements[0] : null;
+	}
+
+	private PDStructElem[] getParentTreeElements(long key) {
+		if (this.parentTreeElements.containsKey(key)) {
+			return this.parentTreeElements.get(key);
+		}
+		COSObject value = getParentTreeObject(key);
+		PDStructElem[] res = null;
+		if (value != null && !value.empty()) {
+			if (value.getType() == COSObjType.COS_ARRAY) {
+				res = new PDStructElem[value.size()];
+				for (int i = 0; i < res.length; ++i) {
+					res[i] = toStructElem(value.at(i));
+				}
+			} else if (value.getType() == COSObjType.COS_DICT) {
+				res = new PDStructElem[]{toStructElem(value)};
+			}
+		}
+		this.parentTreeElements.put(key, res);
+		return res;
+	}
+
+	private COSObject getParentTreeObject(long key) {
+		PDNumberTreeNode parentTree = this.root.getParentTree();
+		if (parentTree == null) {
+			return null;
+		}
+		parentTree.buildIndex();
+		return parentTree.getObject(key);
+	}
+
+	private PDStructElem toStructElem(COSObject object) {
+		if (object == null || object.getType() != COSObjType.COS_DICT) {
+			return null;
+		}
+		int position = getPosition(object);
+		return position > ROOT ? this.elements[position] : new PDStructElem(object);
+	}
+
+	private List<Object> parseChildren(int node) {
+		COSObject kids = this.objects[node].getKey(ASAtom.K);
+		if (kids == null || kids.empty()) {
+			return Collections.emptyList();
+		}
+		List<Object> res = new ArrayList<>();
+		if (kids.getType() == COSObjType.COS_ARRAY) {
+			for (int i = 0; i < kids.size(); ++i) {
+				addChild(res, kids.at(i));
+			}
+		} else {
+			addChild(res, kids);
+		}
+		return res.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(res);
+	}
+
+	private void addChild(List<Object> children, COSObject child) {
+		if (TaggedPDFHelper.isStructElem(child)) {
+			if (getPosition(child) != ROOT) {
+				children.add(toStructElem(child));
+			}
+		} else if (TaggedPDFHelper.isMCR(child)) {
+			children.add(new PDMCRDictionary(child));
+		} else if (child.getType() == COSObjType.COS_INTEGER) {
+			children.add(child);
+		} else if (TaggedPDFHelper.isOBJR(child)) {
+			children.add(new PDOBJRDictionary(child));
+		}
+	}
+
+	private static List<COSObject> getStructElemObjects(COSObject parent) {
+		if (parent == null || parent.getType() != COSObjType.COS_DICT) {
+			return Collections.emptyList();
+		}
+		COSObject kids = parent.getKey(ASAtom.K);
+		if (kids == null || kids.empty()) {
+			return Collections.emptyList();
+		}
+		if (TaggedPDFHelper.isStructElem(kids)) {
+			return Collections.singletonList(kids);
+		}
+		if (kids.getType() != COSObjType.COS_ARRAY) {
+			return Collections.emptyList();
+		}
+		List<COSObject> res = new ArrayList<>(kids.size());
+		for (int i = 0; i < kids.size(); ++i) {
+			COSObject kid = kids.at(i);
+			if (TaggedPDFHelper.isStructElem(kid)) {
+				res.add(kid);
+			}
+		}
+		return res;
+	}
+}
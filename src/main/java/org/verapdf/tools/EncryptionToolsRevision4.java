@@ -21,6 +21,7 @@
 package org.verapdf.tools;
 
 import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
@@ -77,15 +78,22 @@ public class EncryptionToolsRevision4 {
             md5.update(FF_STRING);
         }
         byte[] res = md5.digest();
+        int keyLength = length / 8;
         if (revision >= 3) {
-            for (int i = 0; i < AMOUNT_OF_REPEATS_MD5; ++i) {
-                md5.reset();
-                md5.update(Arrays.copyOf(res, length / 8));
-                res = md5.digest();
+            // key part that is longer than digest is padded with zeros
+            byte[] buffer = Arrays.copyOf(res, Math.max(keyLength, res.length));
+            try {
+                for (int i = 0; i < AMOUNT_OF_REPEATS_MD5; ++i) {
+                    md5.update(buffer, 0, keyLength);
+                    md5.digest(buffer, 0, res.length);
+                }
+            } catch (DigestException e) {
+                throw new IllegalStateException("Can't compute MD5 digest", e);
             }
+            res = buffer;
         }
         //todo: discuss cutting for 5 bits
-        return Arrays.copyOf(res, length / 8);
+        return Arrays.copyOf(res, keyLength);
     }
 
     /**
@@ -149,13 +157,16 @@ public class EncryptionToolsRevision4 {
                                        byte[] id, int revision,
                                        boolean metadataIsEncrypted,
                                        int length) throws NoSuchAlgorithmException {
-        if (revision == 2) {
-            return computeUValueRevision2(password, o, p, id,
-                    metadataIsEncrypted, length);
-        }
         byte[] key = computeEncryptionKey(password, o, p, id, revision,
                 metadataIsEncrypted, length);
+        return computeUValue(key, id, revision);
+    }
+
+    private static byte[] computeUValue(byte[] key, byte[] id, int revision) throws NoSuchAlgorithmException {
         RC4Encryption rc4 = new RC4Encryption(key);
+        if (revision == 2) {
+            return rc4.process(DEFAULT_PADDING_STRING);
+        }
         MessageDigest md5 = MessageDigest.getInstance("MD5");
         md5.update(DEFAULT_PADDING_STRING);
         md5.update(id);
@@ -193,29 +204,19 @@ public class EncryptionToolsRevision4 {
                                                   byte[] id, int revision,
                                                   boolean metadataIsEncrypted,
                                                   int length, byte[] u) throws NoSuchAlgorithmException {
-        byte[] uValue = computeUValue(password, o, p, id, revision,
+        byte[] key = computeEncryptionKey(password, o, p, id, revision,
                 metadataIsEncrypted, length);
+        byte[] uValue = computeUValue(key, id, revision);
         if (revision >= 3) {
             u = Arrays.copyOf(u, U_LENGTH);
         }
         if (Arrays.equals(u, uValue)) {
-            return computeEncryptionKey(password, o, p, id, revision,
-                    metadataIsEncrypted, length);
+            return key;
         } else {
             return null;
         }
     }
 
-    private static byte[] computeUValueRevision2(String password, byte[] o, int p,
-                                                 byte[] id,
-                                                 boolean metadataIsEncrypted,
-                                                 int length) throws NoSuchAlgorithmException {
-        byte[] key = computeEncryptionKey(password, o, p, id, 2,
-                metadataIsEncrypted, length);
-        RC4Encryption rc4 = new RC4Encryption(key);
-        return rc4.process(DEFAULT_PADDING_STRING);
-    }
-
     private static byte[] getPaddedPassword(String password) {
         if (password == null) {
             password = "";
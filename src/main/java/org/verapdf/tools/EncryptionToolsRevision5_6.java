@@ -20,8 +20,6 @@
  */
 package org.verapdf.tools;
 
-import org.verapdf.as.filters.io.ASBufferedInFilter;
-
 import javax.crypto.Cipher;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.IvParameterSpec;
@@ -31,7 +29,6 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 
 /**
@@ -39,6 +36,10 @@ import java.util.Arrays;
  */
 public class EncryptionToolsRevision5_6 {
 
+    private static final int SALT_LENGTH = 8;
+    private static final int MAX_HASH_LENGTH = 64;
+    private static final int SEQUENCE_REPEATS = 64;
+
     /**
      * Implementation of algorithm 2.A: Retrieving the file encryption key from
      * an encrypted document in order to decrypt it (revision 6 and later) as
@@ -106,29 +107,43 @@ public class EncryptionToolsRevision5_6 {
     private static byte[] computeHash(byte[] password, byte[] salt, byte[] u,
                                                boolean isCheckingOwnerPassword, long revision)
             throws GeneralSecurityException {
-        byte[] hashInput = ASBufferedInFilter.concatenate(password,
-                password.length, salt, 8);
+        MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+        sha256.update(password);
+        sha256.update(salt, 0, SALT_LENGTH);
         if (isCheckingOwnerPassword) {
-            hashInput = ASBufferedInFilter.concatenate(hashInput, hashInput.length, u, u.length);
+            sha256.update(u);
         }
-        byte[] k = getSHAHash(256, hashInput);
+        byte[] k = new byte[MAX_HASH_LENGTH];
+        int kLength = sha256.digest(k, 0, sha256.getDigestLength());
         if (revision > 5) {
+            MessageDigest sha384 = MessageDigest.getInstance("SHA-384");
+            MessageDigest sha512 = MessageDigest.getInstance("SHA-512");
+            Cipher aes = Cipher.getInstance("AES/CBC/NoPadding");
+            int uLength = isCheckingOwnerPassword ? u.length : 0;
+            // K1 is the sequence repeated 64 times, so it is fed into cipher by parts instead of being copied
+            byte[] sequence = new byte[password.length + MAX_HASH_LENGTH + uLength];
+            byte[] e = new byte[sequence.length * SEQUENCE_REPEATS];
+            System.arraycopy(password, 0, sequence, 0, password.length);
             int rounds = 0;
             while (true) {
-                byte[] sequence = ASBufferedInFilter.concatenate(password, password.length, k, k.length);
+                System.arraycopy(k, 0, sequence, password.length, kLength);
                 if (isCheckingOwnerPassword) {
-                    sequence = ASBufferedInFilter.concatenate(sequence, sequence.length, u, u.length);
+                    System.arraycopy(u, 0, sequence, password.length + kLength, uLength);
                 }
-                byte[] k1 = repeatString(sequence, 64);
-
-                IvParameterSpec initializingVector = new IvParameterSpec(Arrays.copyOfRange(k, 16, 32));
-                SecretKey key = new SecretKeySpec(Arrays.copyOf(k, 16), "AES");
-                Cipher aes = Cipher.getInstance("AES/CBC/NoPadding");
-                aes.init(Cipher.ENCRYPT_MODE, key, initializingVector);
-                byte[] e = aes.doFinal(k1);
-                int shaType = getReminderByModulo3(Arrays.copyOf(e, 16));
-                k = getSHAHash(shaType == 0 ? 256 : shaType == 1 ? 384 : 512, e);
-                if (rounds >= 63 && (e[e.length - 1] & 0xFF) <= rounds - 32) {
+                int sequenceLength = password.length + kLength + uLength;
+
+                aes.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(k, 0, 16, "AES"), new IvParameterSpec(k, 16, 16));
+                int eLength = 0;
+                for (int i = 0; i < SEQUENCE_REPEATS; ++i) {
+                    eLength += aes.update(sequence, 0, sequenceLength, e, eLength);
+                }
+                eLength += aes.doFinal(e, eLength);
+
+                int shaType = getReminderByModulo3(e, 16);
+                MessageDigest md = shaType == 0 ? sha256 : shaType == 1 ? sha384 : sha512;
+                md.update(e, 0, eLength);
+                kLength = md.digest(k, 0, md.getDigestLength());
+                if (rounds >= 63 && (e[eLength - 1] & 0xFF) <= rounds - 32) {
                     break;
                 }
                 rounds++;
@@ -168,24 +183,6 @@ public class EncryptionToolsRevision5_6 {
         }
     }
 
-    private static byte[] repeatString(byte[] string, int amount) {
-        byte[] res = new byte[string.length * amount];
-        for (int i = 0; i < amount; ++i) {
-            System.arraycopy(string, 0, res, i * string.length, string.length);
-        }
-        return res;
-    }
-
-    private static byte[] getSHAHash(int shaNum, byte[] message) throws NoSuchAlgorithmException {
-        if (shaNum != 256 && shaNum != 384 && shaNum != 512) {
-            throw new IllegalStateException("Can't use SHA-" + shaNum + " hash.");
-        }
-        String shaMD = "SHA-" + shaNum;
-        MessageDigest md = MessageDigest.getInstance(shaMD);
-        md.update(message);
-        return md.digest();
-    }
-
     private static byte[] getHashValueFromString(byte[] string) {
         return Arrays.copyOf(string, 32);
     }
@@ -198,11 +195,11 @@ public class EncryptionToolsRevision5_6 {
         return Arrays.copyOfRange(string, 40, 48);
     }
 
-    private static int getReminderByModulo3(byte[] array) {
+    private static int getReminderByModulo3(byte[] array, int length) {
         int res = 0;
-        for (byte b : array) {
+        for (int i = 0; i < length; ++i) {
             // 256 = 1 mod 3, so x * (256^n) = x mod 3
-            res += b & 0xFF;
+            res += array[i] & 0xFF;
         }
         return res % 3;
     }
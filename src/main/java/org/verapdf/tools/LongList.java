@@ -0,0 +1,78 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.tools;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive long values. It is used to collect numbers, like
+ * file offsets or node numbers of flattened trees, before they are stored in
+ * plain arrays, without boxing each of them.
+ */
+public final class LongList {
+
+	private long[] values = new long[16];
+	private int size = 0;
+
+	public void add(long value) {
+		if (size == values.length) {
+			values = Arrays.copyOf(values, size * 2);
+		}
+		values[size++] = value;
+	}
+
+	public void addAll(LongList list) {
+		for (int i = 0; i < list.size; ++i) {
+			add(list.values[i]);
+		}
+	}
+
+	public long get(int index) {
+		if (index >= size) {
+			throw new IndexOutOfBoundsException("Index " + index + " is out of list bounds");
+		}
+		return values[index];
+	}
+
+	public long removeLast() {
+		return values[--size];
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public long[] toArray() {
+		return Arrays.copyOf(values, size);
+	}
+
+	/**
+	 * @return values of list narrowed to int. Should be used only for lists
+	 * of int values.
+	 */
+	public int[] toIntArray() {
+		int[] result = new int[size];
+		for (int i = 0; i < size; ++i) {
+			result[i] = (int) values[i];
+		}
+		return result;
+	}
+}
@@ -0,0 +1,137 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.tools;
+
+import org.verapdf.cos.COSKey;
+import org.verapdf.parser.PDFFlavour;
+import org.verapdf.pd.PDDocument;
+import org.verapdf.pd.font.FontProgram;
+import org.verapdf.pd.font.cmap.CMap;
+import org.verapdf.pd.structure.PDStructureNameSpace;
+import org.verapdf.tools.resource.ASFileStreamCloser;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Per-document state read and written through {@link StaticResources}: parsed
+ * CMaps, font programs and structure name spaces, flavours, role map and
+ * password of the document being processed.
+ * <p>
+ * Each thread has an implicit scope that is reused for every document the
+ * thread processes and must be reset with {@link StaticResources#clear()}.
+ * A scope created with {@link #ResourceScope()} instead belongs to one
+ * document and is passed explicitly to
+ * {@link StaticResources#callInScope(ResourceScope, Callable)} by every piece
+ * of code working with this document, on whatever thread it runs. Closing the
+ * scope releases its font programs. Scopes are not thread safe, one scope must
+ * be used by one thread at a time.
+ */
+public final class ResourceScope implements AutoCloseable {
+
+	private static final Logger LOGGER = Logger.getLogger(ResourceScope.class.getCanonicalName());
+
+	List<PDFFlavour> flavour;
+	PDDocument document;
+	TaggedPDFRoleMapHelper roleMapHelper;
+	Map<String, CMap> cMapCache;
+	Map<COSKey, PDStructureNameSpace> structureNameSpaceCache;
+	Map<String, FontProgram> cachedFonts;
+	Boolean isFontProgramsParsing;
+	String password;
+
+	private volatile boolean closed;
+
+	/**
+	 * Creates new empty scope for one document.
+	 */
+	public ResourceScope() {
+		this(true);
+	}
+
+	/**
+	 * @param initialize is false for implicit scope of thread, whose state is
+	 *                   initialized only by {@link StaticResources#clear()}.
+	 */
+	ResourceScope(boolean initialize) {
+		if (initialize) {
+			reset();
+		}
+	}
+
+	/**
+	 * @return true if this scope was not closed yet.
+	 */
+	public boolean isOpen() {
+		return !closed;
+	}
+
+	/**
+	 * Releases font programs and resets all state to the one of a new
+	 * document.
+	 */
+	void reset() {
+		releaseFonts();
+		this.cMapCache = new HashMap<>();
+		this.structureNameSpaceCache = new HashMap<>();
+		this.cachedFonts = new HashMap<>();
+		this.flavour = new LinkedList<>();
+		this.document = null;
+		this.isFontProgramsParsing = false;
+		this.password = null;
+		this.roleMapHelper = null;
+	}
+
+	/**
+	 * Releases font programs of this scope. Closed scope can't be used in
+	 * {@link StaticResources#callInScope(ResourceScope, Callable)} anymore.
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		releaseFonts();
+	}
+
+	private void releaseFonts() {
+		if (cachedFonts == null) {
+			return;
+		}
+		for (FontProgram fp : cachedFonts.values()) {
+			ASFileStreamCloser fpr = fp.getFontProgramResource();
+			if (fpr != null) {
+				try {
+					fpr.close();
+				} catch (IOException e) {
+					LOGGER.log(Level.WARNING, "Exception while closing font program", e);
+				}
+			}
+		}
+	}
+}
@@ -27,38 +27,71 @@ import org.verapdf.pd.PDDocument;
 import org.verapdf.pd.font.FontProgram;
 import org.verapdf.pd.font.cmap.CMap;
 import org.verapdf.pd.structure.PDStructureNameSpace;
-import org.verapdf.tools.resource.ASFileStreamCloser;
+import org.verapdf.tools.metrics.ParserMetrics;
 
-import java.io.IOException;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.concurrent.Callable;
 
 /**
  * Class handles static resources that need to be reset with each parsing of
- * document.
+ * document. Resources are kept in the {@link ResourceScope} current for the
+ * calling thread: either the implicit scope of the thread, which has to be
+ * reset by {@link #clear()} between documents, or a scope of one document
+ * passed to {@link #callInScope(ResourceScope, Callable)}.
  *
  * @author Sergey Shemyakov
  */
 public class StaticResources {
 
-	private static final Logger LOGGER = Logger.getLogger(StaticResources.class.getCanonicalName());
+	private static final ThreadLocal<ResourceScope> scope = new ThreadLocal<>();
 
-	private static final ThreadLocal<List<PDFFlavour>> flavour = new ThreadLocal<>();
-	private static final ThreadLocal<PDDocument> document = new ThreadLocal<>();
+	private StaticResources() {
+	}
 
-	private static final ThreadLocal<TaggedPDFRoleMapHelper> roleMapHelper = new ThreadLocal<>();
+	/**
+	 * Calls action with given scope as current one for this thread. Previous
+	 * scope of the thread is current again when action returns, so the scope
+	 * is not bound to any thread and the same scope can be passed here again
+	 * later, e.g. from another thread continuing work with its document.
+	 *
+	 * @param resourceScope is scope of document the action works with.
+	 * @param action        is work to do with the document.
+	 * @return result of the action.
+	 * @throws IllegalStateException if scope is closed.
+	 */
+	public static <T> T callInScope(ResourceScope resourceScope, Callable<T> action) throws Exception {
+		if (!resourceScope.isOpen()) {
+			throw new IllegalStateException("Resource scope is closed");
+		}
+		ResourceScope previous = scope.get();
+		scope.set(resourceScope);
+		try {
+			return action.call();
+		} finally {
+			if (previous == null) {
+				scope.remove();
+			} else {
+				scope.set(previous);
+			}
+		}
+	}
 
-	private static final ThreadLocal<Map<String, CMap>> cMapCache = new ThreadLocal<>();
-	private static final ThreadLocal<Map<COSKey, PDStructureNameSpace>> structureNameSpaceCache = new ThreadLocal<>();
-	private static final ThreadLocal<Map<String, FontProgram>> cachedFonts = new ThreadLocal<>();
-	private static final ThreadLocal<Boolean> isFontProgramsParsing = new ThreadLocal<>();
-	private static final ThreadLocal<String> password = new ThreadLocal<>();
+	/**
+	 * @return resource scope current for this thread.
+	 */
+	public static ResourceScope getScope() {
+		return current();
+	}
 
-	private StaticResources() {
+	private static ResourceScope current() {
+		ResourceScope res = scope.get();
+		if (res == null) {
+			res = new ResourceScope(false);
+			scope.set(res);
+		}
+		return res;
 	}
 
 	/**
@@ -68,16 +101,28 @@ public class StaticResources {
 	 * @param cMap is CMap object for caching.
 	 */
 	public static void cacheCMap(String name, CMap cMap) {
-		checkForNull(cMapCache);
-		cMapCache.get().put(name, cMap);
+		cMapCache().put(name, cMap);
 	}
 
 	public static PDDocument getDocument() {
-		return document.get();
+		return current().document;
 	}
 
 	public static void setDocument(PDDocument document) {
-		StaticResources.document.set(document);
+		current().document = document;
+	}
+
+	/**
+	 * @return parser metrics of the document set by
+	 * {@link #setDocument(PDDocument)}, which owns cached fonts and CMaps, or
+	 * null if there is no such document or metrics are disabled.
+	 */
+	public static ParserMetrics getDocumentMetrics() {
+		PDDocument document = getDocument();
+		if (document == null || document.getDocument() == null) {
+			return null;
+		}
+		return document.getDocument().getMetrics();
 	}
 
 	/**
@@ -87,8 +132,9 @@ public class StaticResources {
 	 * @return cached CMap with this name or null if no CMap available.
 	 */
 	public static CMap getCMap(String name) {
-		checkForNull(cMapCache);
-		return StaticResources.cMapCache.get().get(name);
+		CMap res = cMapCache().get(name);
+		reportCacheAccess(ParserMetrics.Cache.CMAP, res != null);
+		return res;
 	}
 
 	/**
@@ -98,10 +144,8 @@ public class StaticResources {
 	 * @param nameSpace is PD structure name space to cache.
 	 */
 	public static void cacheStructureNameSpace(PDStructureNameSpace nameSpace) {
-		checkForNull(structureNameSpaceCache);
-
 		COSKey key = nameSpace.getObject().getObjectKey();
-		StaticResources.structureNameSpaceCache.get().put(key, nameSpace);
+		structureNameSpaceCache().put(key, nameSpace);
 	}
 
 	/**
@@ -112,115 +156,122 @@ public class StaticResources {
 	 * available.
 	 */
 	public static PDStructureNameSpace getStructureNameSpace(COSKey key) {
-		checkForNull(structureNameSpaceCache);
-		return StaticResources.structureNameSpaceCache.get().get(key);
+		return structureNameSpaceCache().get(key);
 	}
 
 	public static void cacheFontProgram(String key, FontProgram font) {
-		checkForNull(cachedFonts);
 		if (key != null) {
-			StaticResources.cachedFonts.get().put(key, font);
+			cachedFonts().put(key, font);
 		} else {
-			StaticResources.cachedFonts.get().put(String.valueOf(font.hashCode()), font);
+			cachedFonts().put(String.valueOf(font.hashCode()), font);
 		}
 	}
 
 	public static FontProgram getCachedFont(String key) {
-		checkForNull(cachedFonts);
+		Map<String, FontProgram> fonts = cachedFonts();
 		if (key == null) {
 			return null;
 		}
-		return StaticResources.cachedFonts.get().get(key);
+		FontProgram res = fonts.get(key);
+		reportCacheAccess(ParserMetrics.Cache.FONT, res != null);
+		return res;
+	}
+
+	private static void reportCacheAccess(ParserMetrics.Cache cache, boolean hit) {
+		ParserMetrics metrics = getDocumentMetrics();
+		if (metrics != null) {
+			metrics.cacheAccessed(cache, hit);
+		}
 	}
 
 	/**
 	 * Clears all cached static resources.
 	 */
 	public static void clear() {
-		checkForNull(cachedFonts);
-		for (FontProgram fp : cachedFonts.get().values()) {
-			ASFileStreamCloser fpr = fp.getFontProgramResource();
-			if (fpr != null) {
-				try {
-					fpr.close();
-				} catch (IOException e) {
-					LOGGER.log(Level.WARNING, "Exception while closing font program", e);
-				}
-			}
+		current().reset();
+	}
+
+	private static Map<String, CMap> cMapCache() {
+		ResourceScope current = current();
+		if (current.cMapCache == null) {
+			current.cMapCache = new HashMap<>();
+		}
+		return current.cMapCache;
+	}
+
+	private static Map<COSKey, PDStructureNameSpace> structureNameSpaceCache() {
+		ResourceScope current = current();
+		if (current.structureNameSpaceCache == null) {
+			current.structureNameSpaceCache = new HashMap<>();
 		}
-		StaticResources.cMapCache.set(new HashMap<>());
-		StaticResources.structureNameSpaceCache.set(new HashMap<>());
-		StaticResources.cachedFonts.set(new HashMap<>());
-		StaticResources.flavour.set(new LinkedList<>());
-		StaticResources.document.set(null);
-		StaticResources.isFontProgramsParsing.set(false);
-		StaticResources.setPassword(null);
-		StaticResources.roleMapHelper.set(null);
-	}
-
-	private static void checkForNull(ThreadLocal variable) {
-		if (variable.get() == null) {
-			variable.set(new HashMap<>());
+		return current.structureNameSpaceCache;
+	}
+
+	private static Map<String, FontProgram> cachedFonts() {
+		ResourceScope current = current();
+		if (current.cachedFonts == null) {
+			current.cachedFonts = new HashMap<>();
 		}
+		return current.cachedFonts;
 	}
 
 	public static Map<String, CMap> getcMapCache() {
-		return cMapCache.get();
+		return current().cMapCache;
 	}
 
 	public static void setcMapCache(Map<String, CMap> cMapCache) {
-		StaticResources.cMapCache.set(cMapCache);
+		current().cMapCache = cMapCache;
 	}
 
 	public static Map<COSKey, PDStructureNameSpace> getStructureNameSpaceCache() {
-		return structureNameSpaceCache.get();
+		return current().structureNameSpaceCache;
 	}
 
 	public static void setStructureNameSpaceCache(Map<COSKey, PDStructureNameSpace> structureNameSpaceCache) {
-		StaticResources.structureNameSpaceCache.set(structureNameSpaceCache);
+		current().structureNameSpaceCache = structureNameSpaceCache;
 	}
 
 	public static Map<String, FontProgram> getCachedFonts() {
-		return cachedFonts.get();
+		return current().cachedFonts;
 	}
 
 	public static void setCachedFonts(Map<String, FontProgram> cachedFonts) {
-		StaticResources.cachedFonts.set(cachedFonts);
+		current().cachedFonts = cachedFonts;
 	}
 
 	public static List<PDFFlavour> getFlavour() {
-		return flavour.get();
+		return current().flavour;
 	}
 
 	public static void setFlavour(List<PDFFlavour> flavour) {
-		StaticResources.flavour.set(flavour);
+		current().flavour = flavour;
 	}
 
 	public static String getPassword() {
-		return password.get();
+		return current().password;
 	}
 
 	public static void setPassword(String password) {
-		StaticResources.password.set(password);
+		current().password = password;
 	}
 
 	public static TaggedPDFRoleMapHelper getRoleMapHelper() {
-		return roleMapHelper.get();
+		return current().roleMapHelper;
 	}
 
 	public static void setRoleMapHelper(Map<ASAtom, ASAtom> roleMap) {
-		roleMapHelper.set(new TaggedPDFRoleMapHelper(roleMap));
+		current().roleMapHelper = new TaggedPDFRoleMapHelper(roleMap);
 	}
 
 	public static void setRoleMapHelper(TaggedPDFRoleMapHelper roleMapHelper) {
-		StaticResources.roleMapHelper.set(roleMapHelper);
+		current().roleMapHelper = roleMapHelper;
 	}
 
 	public static void setIsFontProgramsParsing(Boolean isFontProgramsParsing) {
-		StaticResources.isFontProgramsParsing.set(isFontProgramsParsing);
+		current().isFontProgramsParsing = isFontProgramsParsing;
 	}
 
 	public static Boolean getIsFontProgramsParsing() {
-		return StaticResources.isFontProgramsParsing.get();
+		return current().isFontProgramsParsing;
 	}
 }
@@ -147,30 +147,35 @@ public class TaggedPDFHelper {
 	}
 
 	private static final int MAX_NUMBER_OF_ELEMENTS = 1;
-	private static final Map<ASAtom, Set<COSKey>> visitedWithNS = new HashMap<>();
-	private static final Set<ASAtom> visitedWithoutNS = new HashSet<>();
 
 	private TaggedPDFHelper() {
 		// disable default constructor
 	}
 
 	public static StructureType getDefaultStructureType(StructureType type) {
+		return getDefaultStructureType(type, StaticResources.getRoleMapHelper().getRoleMap());
+	}
+
+	/**
+	 * @param roleMap is role map of the document the type belongs to.
+	 * @return standard structure type to which given type is role mapped.
+	 */
+	public static StructureType getDefaultStructureType(StructureType type, Map<ASAtom, ASAtom> roleMap) {
 		if (type == null) {
 			return null;
 		}
-		visitedWithNS.clear();
-		visitedWithoutNS.clear();
-		addVisited(type);
-		StructureType curr = getEquivalent(type, StaticResources.getRoleMapHelper().getRoleMap());
-		if (curr == null || isVisited(curr)) {
+		VisitedTypes visited = new VisitedTypes();
+		visited.add(type);
+		StructureType curr = getEquivalent(type, roleMap);
+		if (curr == null || visited.contains(curr)) {
 			return isStandardType(type) ? type : null;
 		}
-		while (curr != null && !isVisited(curr)) {
+		while (curr != null && !visited.contains(curr)) {
 			if (isStandardType(curr)) {
 				return curr;
 			}
-			addVisited(curr);
-			curr = getEquivalent(curr, StaticResources.getRoleMapHelper().getRoleMap());
+			visited.add(curr);
+			curr = getEquivalent(curr, roleMap);
 		}
 		return null;
 	}
@@ -179,9 +184,8 @@ public class TaggedPDFHelper {
 		if (type == null) {
 			return null;
 		}
-		visitedWithNS.clear();
-		visitedWithoutNS.clear();
-		addVisited(type);
+		VisitedTypes visited = new VisitedTypes();
+		visited.add(type);
 		StructureType prev = type;
 		StructureType curr = getEquivalent(prev, Collections.emptyMap());
 		Map<String, ASAtom> processedTypes = new HashMap<>();
@@ -196,10 +200,10 @@ public class TaggedPDFHelper {
 				}
 				return null;
 			}
-			if (isVisited(curr)) {
+			if (visited.contains(curr)) {
 				return null;
 			}
-			addVisited(curr);
+			visited.add(curr);
 			prev = curr;
 			curr = getEquivalent(prev, Collections.emptyMap());
 		}
@@ -210,9 +214,8 @@ public class TaggedPDFHelper {
 		if (type == null) {
 			return null;
 		}
-		visitedWithNS.clear();
-		visitedWithoutNS.clear();
-		addVisited(type);
+		VisitedTypes visited = new VisitedTypes();
+		visited.add(type);
 		StructureType prev = type;
 		StructureType curr = getEquivalent(prev, Collections.emptyMap());
 		Map<String, ASAtom> processedTypes = new HashMap<>();
@@ -226,10 +229,10 @@ public class TaggedPDFHelper {
 					return true;
 				}
 			}
-			if (isVisited(curr)) {
+			if (visited.contains(curr)) {
 				return false;
 			}
-			addVisited(curr);
+			visited.add(curr);
 			prev = curr;
 			curr = getEquivalent(prev, Collections.emptyMap());
 		}
@@ -275,37 +278,34 @@ public class TaggedPDFHelper {
 		return WCAG_STANDARD_ROLE_TYPES.contains(structureType);
 	}
 
-	private static void addVisited(StructureType type) {
-		ASAtom structType = type.getType();
-		PDStructureNameSpace nameSpace = type.getNameSpace();
-		if (nameSpace != null) {
-			Set<COSKey> nameSpaces;
-			if (visitedWithNS.containsKey(structType)) {
-				nameSpaces = visitedWithNS.get(structType);
+	/**
+	 * Structure types visited while following role mapping. Each lookup uses
+	 * its own instance, so lookups of different threads do not interfere.
+	 */
+	private static class VisitedTypes {
+
+		private final Map<ASAtom, Set<COSKey>> withNS = new HashMap<>();
+		private final Set<ASAtom> withoutNS = new HashSet<>();
+
+		private void add(StructureType type) {
+			ASAtom structType = type.getType();
+			PDStructureNameSpace nameSpace = type.getNameSpace();
+			if (nameSpace != null) {
+				Set<COSKey> nameSpaces = this.withNS.computeIfAbsent(structType, k -> new HashSet<>());
+				nameSpaces.add(nameSpace.getObject().getObjectKey());
 			} else {
-				nameSpaces = new HashSet<>();
-				visitedWithNS.put(structType, nameSpaces);
+				this.withoutNS.add(structType);
 			}
-			COSKey key = nameSpace.getObject().getObjectKey();
-			nameSpaces.add(key);
-		} else {
-			visitedWithoutNS.add(structType);
 		}
-	}
 
-	private static boolean isVisited(StructureType type) {
-		ASAtom structType = type.getType();
-		PDStructureNameSpace nameSpace = type.getNameSpace();
-		if (nameSpace != null) {
-			if (visitedWithNS.containsKey(structType)) {
-				Set<COSKey> nameSpaces = visitedWithNS.get(structType);
-				COSKey key = nameSpace.getObject().getObjectKey();
-				return nameSpaces.contains(key);
-			} else {
-				return false;
+		private boolean contains(StructureType type) {
+			ASAtom structType = type.getType();
+			PDStructureNameSpace nameSpace = type.getNameSpace();
+			if (nameSpace != null) {
+				Set<COSKey> nameSpaces = this.withNS.get(structType);
+				return nameSpaces != null && nameSpaces.contains(nameSpace.getObject().getObjectKey());
 			}
-		} else {
-			return visitedWithoutNS.contains(structType);
+			return this.withoutNS.contains(structType);
 		}
 	}
 
@@ -413,6 +413,10 @@ public class TaggedPDFHelper {
 		return Collections.emptyList();
 	}
 
+	public static boolean isStructElem(COSObject dictionary) {
+		return isStructElem(dictionary, true);
+	}
+
 	private static boolean isStructElem(COSObject dictionary, boolean checkType) {
 		if (dictionary == null || dictionary.getType() != COSObjType.COS_DICT) {
 			return false;
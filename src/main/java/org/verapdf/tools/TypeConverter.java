@@ -20,6 +20,7 @@
  */
 package org.verapdf.tools;
 
+import org.verapdf.cos.COSArray;
 import org.verapdf.cos.COSObjType;
 import org.verapdf.cos.COSObject;
 
@@ -208,14 +209,15 @@ public class TypeConverter {
 				LOGGER.log(Level.FINE, arrayName + " array doesn't consist of " + estimatedSize + " elements");
 			}
 
+			COSArray cosArray = (COSArray) array.getDirectBase();
 			double[] res = new double[size];
 			for (int i = 0; i < size; ++i) {
-				COSObject number = array.at(i);
-				if (number == null || number.getReal() == null) {
+				Double number = cosArray.getRealAt(i);
+				if (number == null) {
 					LOGGER.log(Level.FINE, arrayName + " array contains non number value");
 					return null;
 				}
-				res[i] = number.getReal();
+				res[i] = number;
 			}
 			return res;
 		}
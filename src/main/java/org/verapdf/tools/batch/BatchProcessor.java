@@ -0,0 +1,234 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.tools.batch;
+
+import org.verapdf.pd.PDDocument;
+import org.verapdf.tools.ResourceScope;
+import org.verapdf.tools.StaticResources;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToLongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Schedules processing of many documents on a bounded number of threads.
+ * <p>
+ * Each document gets its own {@link ResourceScope}, which is passed to
+ * {@link StaticResources#callInScope(ResourceScope, java.util.concurrent.Callable)}
+ * around opening the document and running the task, so cached CMaps, fonts and
+ * other per-document state never leak between documents and no
+ * {@link StaticResources#clear()} calls are needed. Tasks that hand the
+ * document to other threads pass {@link StaticResources#getScope()} along. At most
+ * {@code concurrency} documents are open at a time and the estimated memory of
+ * open documents stays within the memory budget, by default the file size is
+ * used as the estimate.
+ * <p>
+ * When virtual threads are requested and the runtime supports them (Java 21
+ * and later) every document gets its own virtual thread, otherwise a fixed
+ * pool of {@code concurrency} platform threads is used.
+ */
+public final class BatchProcessor implements AutoCloseable {
+
+	private static final Logger LOGGER = Logger.getLogger(BatchProcessor.class.getCanonicalName());
+
+	private final ExecutorService executor;
+	private final Semaphore concurrency;
+	private final MemoryBudget memoryBudget;
+	private final ToLongFunction<File> memoryEstimate;
+	private final boolean virtualThreads;
+
+	private BatchProcessor(Builder builder) {
+		this.concurrency = new Semaphore(builder.concurrency, true);
+		this.memoryBudget = builder.memoryBudget > 0 ? new MemoryBudget(builder.memoryBudget) : null;
+		this.memoryEstimate = builder.memoryEstimate;
+		ExecutorService virtual = builder.virtualThreads ? newVirtualThreadExecutor() : null;
+		this.virtualThreads = virtual != null;
+		this.executor = virtual != null ? virtual : newPlatformExecutor(builder.concurrency);
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * @return true if documents are processed on virtual threads.
+	 */
+	public boolean usesVirtualThreads() {
+		return virtualThreads;
+	}
+
+	/**
+	 * Schedules processing of one document.
+	 *
+	 * @param file is PDF file to open.
+	 * @param task is work to do on opened document.
+	 * @return future with result of the task. Exceptions thrown while opening
+	 * the document or by the task are reported through the future.
+	 */
+	public <T> Future<T> submit(File file, DocumentTask<T> task) {
+		if (file == null || task == null) {
+			throw new IllegalArgumentException("File and task can't be null");
+		}
+		return executor.submit(() -> process(file, task));
+	}
+
+	/**
+	 * Schedules processing of all given documents with the same task.
+	 *
+	 * @return futures in iteration order of files.
+	 */
+	public <T> List<Future<T>> submitAll(Collection<File> files, DocumentTask<T> task) {
+		List<Future<T>> res = new ArrayList<>(files.size());
+		for (File file : files) {
+			res.add(submit(file, task));
+		}
+		return res;
+	}
+
+	private <T> T process(File file, DocumentTask<T> task) throws Exception {
+		long estimate = memoryBudget != null ? memoryEstimate.applyAsLong(file) : 0;
+		concurrency.acquire();
+		try {
+			long reserved = memoryBudget != null ? memoryBudget.acquire(estimate) : 0;
+			ResourceScope scope = new ResourceScope();
+			try {
+				return StaticResources.callInScope(scope, () -> {
+					PDDocument document = new PDDocument(file.getPath());
+					try {
+						return task.process(document);
+					} finally {
+						document.close();
+					}
+				});
+			} finally {
+				scope.close();
+				if (memoryBudget != null) {
+					memoryBudget.release(reserved);
+				}
+			}
+		} finally {
+			concurrency.release();
+		}
+	}
+
+	/**
+	 * Stops accepting new documents and waits until scheduled ones are
+	 * processed.
+	 */
+	@Override
+	public void close() {
+		executor.shutdown();
+		try {
+			while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+				LOGGER.log(Level.FINE, "Waiting for batch documents to be processed");
+			}
+		} catch (InterruptedException e) {
+			executor.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static ExecutorService newPlatformExecutor(int threads) {
+		AtomicInteger counter = new AtomicInteger();
+		return Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "verapdf-batch-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	private static ExecutorService newVirtualThreadExecutor() {
+		try {
+			Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) factory.invoke(null);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			LOGGER.log(Level.FINE, "Virtual threads are not available, using platform threads", e);
+			return null;
+		}
+	}
+
+	public static final class Builder {
+
+		private int concurrency = Runtime.getRuntime().availableProcessors();
+		private long memoryBudget;
+		private ToLongFunction<File> memoryEstimate = File::length;
+		private boolean virtualThreads;
+
+		private Builder() {
+		}
+
+		/**
+		 * Sets maximal number of documents open at the same time, defaults to
+		 * number of available processors.
+		 */
+		public Builder concurrency(int concurrency) {
+			if (concurrency <= 0) {
+				throw new IllegalArgumentException("Concurrency must be positive");
+			}
+			this.concurrency = concurrency;
+			return this;
+		}
+
+		/**
+		 * Sets maximal total estimated memory in bytes of documents open at the
+		 * same time. Zero, the default, means no limit.
+		 */
+		public Builder memoryBudget(long bytes) {
+			if (bytes < 0) {
+				throw new IllegalArgumentException("Memory budget can't be negative");
+			}
+			this.memoryBudget = bytes;
+			return this;
+		}
+
+		/**
+		 * Sets function estimating memory in bytes needed to process a file,
+		 * defaults to the file size.
+		 */
+		public Builder memoryEstimate(ToLongFunction<File> memoryEstimate) {
+			if (memoryEstimate == null) {
+				throw new IllegalArgumentException("Memory estimate can't be null");
+			}
+			this.memoryEstimate = memoryEstimate;
+			return this;
+		}
+
+		/**
+		 * Requests one virtual thread per document. Ignored on runtimes without
+		 * virtual threads.
+		 */
+		public Builder virtualThreads(boolean virtualThreads) {
+			this.virtualThreads = virtualThreads;
+			return this;
+		}
+
+		public BatchProcessor build() {
+			return new BatchProcessor(this);
+		}
+	}
+}
@@ -0,0 +1,86 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.tools.batch;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Blocking budget of bytes shared by documents processed concurrently. A
+ * request larger than the whole budget is granted once nothing else is
+ * reserved, so oversized documents run alone instead of never.
+ */
+final class MemoryBudget {
+
+	private final long limit;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition released = lock.newCondition();
+	private long reserved;
+
+	MemoryBudget(long limit) {
+		if (limit <= 0) {
+			throw new IllegalArgumentException("Memory budget must be positive");
+		}
+		this.limit = limit;
+	}
+
+	long getLimit() {
+		return limit;
+	}
+
+	long getReserved() {
+		lock.lock();
+		try {
+			return reserved;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Waits until given amount of bytes fits into the budget and reserves it.
+	 *
+	 * @return amount actually reserved, to be passed to {@link #release(long)}.
+	 */
+	long acquire(long bytes) throws InterruptedException {
+		long amount = Math.max(0, Math.min(bytes, limit));
+		lock.lockInterruptibly();
+		try {
+			while (reserved + amount > limit) {
+				released.await();
+			}
+			reserved += amount;
+			return amount;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	void release(long amount) {
+		lock.lock();
+		try {
+			reserved -= amount;
+			released.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+}
@@ -0,0 +1,338 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.tools.metrics;
+
+import org.verapdf.as.ASAtom;
+import org.verapdf.as.filters.ASInFilter;
+import org.verapdf.as.io.ASInputStream;
+import org.verapdf.cos.COSObjType;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Counters and timers of parsing of one document: cross-reference loading,
+ * parsed objects, bytes read from file and decoded by filters, cache lookups,
+ * parsed font programs and created temporary files. Every event is also passed
+ * to registered {@link ParserMetricsListener} objects.
+ * <p>
+ * Metrics are disabled by default, in this case documents have no metrics and
+ * parser only checks one flag. Metrics are enabled by
+ * {@link #setEnabled(boolean)} or by registering a listener. Metrics object is
+ * created by {@link org.verapdf.cos.COSDocument} and passed to the parts of
+ * parser that work with this document. Counters can be updated from several
+ * threads.
+ */
+public final class ParserMetrics {
+
+	private static final Logger LOGGER = Logger.getLogger(ParserMetrics.class.getCanonicalName());
+
+	/**
+	 * Amount of bytes that streams accumulate before they report it.
+	 */
+	public static final int BYTES_REPORT_THRESHOLD = 1 << 16;
+
+	/**
+	 * Parser caches.
+	 */
+	public enum Cache {
+		BODY,
+		OBJECT_STREAM,
+		CMAP,
+		FONT
+	}
+
+	private static final List<ParserMetricsListener> LISTENERS = new CopyOnWriteArrayList<>();
+	private static volatile boolean enabled;
+
+	static {
+		try {
+			for (ParserMetricsListener listener : ServiceLoader.load(ParserMetricsListener.class,
+			                                                         ParserMetrics.class.getClassLoader())) {
+				LISTENERS.add(listener);
+			}
+		} catch (ServiceConfigurationError e) {
+			LOGGER.log(Level.WARNING, "Can't load parser metrics listeners", e);
+		}
+		enabled = !LISTENERS.isEmpty();
+	}
+
+	private final LongAdder xrefSectionCount = new LongAdder();
+	private final LongAdder xrefLoadTime = new LongAdder();
+	private final LongAdder[] objectsParsed = createAdders(COSObjType.values().length * 2);
+	private final LongAdder sourceBytesRead = new LongAdder();
+	private final ConcurrentMap<ASAtom, LongAdder> bytesDecoded = new ConcurrentHashMap<>();
+	private final LongAdder[] cacheHits = createAdders(Cache.values().length);
+	private final LongAdder[] cacheMisses = createAdders(Cache.values().length);
+	// amount of parsed programs and parsing time for each font type
+	private final ConcurrentMap<String, LongAdder[]> fontPrograms = new ConcurrentHashMap<>();
+	private final LongAdder tempFileCount = new LongAdder();
+
+	private ParserMetrics() {
+	}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Enables or disables collection of metrics for documents opened after
+	 * this call.
+	 */
+	public static void setEnabled(boolean enabled) {
+		ParserMetrics.enabled = enabled;
+	}
+
+	/**
+	 * Registers listener of parser events and enables metrics.
+	 */
+	public static void addListener(ParserMetricsListener listener) {
+		if (listener != null) {
+			LISTENERS.add(listener);
+			enabled = true;
+		}
+	}
+
+	public static void removeListener(ParserMetricsListener listener) {
+		LISTENERS.remove(listener);
+	}
+
+	/**
+	 * @return new metrics object or null if metrics are disabled.
+	 */
+	public static ParserMetrics create() {
+		return enabled ? new ParserMetrics() : null;
+	}
+
+	/**
+	 * Wraps decoded stream so that amount of bytes read from it is counted.
+	 * Amount is reported in portions of at least
+	 * {@link #BYTES_REPORT_THRESHOLD} bytes and when stream is closed.
+	 *
+	 * @param filter is name of filter that decodes the stream.
+	 * @param stream is decoded stream.
+	 * @return stream that counts decoded bytes.
+	 */
+	public ASInputStream countDecodedBytes(ASAtom filter, ASInputStream stream) {
+		return new DecodedBytesCounter(this, filter, stream);
+	}
+
+	public void xrefLoaded(int sectionCount, long nanos) {
+		this.xrefSectionCount.add(sectionCount);
+		this.xrefLoadTime.add(nanos);
+		for (ParserMetricsListener listener : LISTENERS) {
+			listener.xrefLoaded(this, sectionCount, nanos);
+		}
+	}
+
+	public void objectParsed(COSObjType type, boolean fromObjectStream) {
+		if (type == null) {
+			return;
+		}
+		this.objectsParsed[getObjectIndex(type, fromObjectStream)].increment();
+		for (ParserMetricsListener listener : LISTENERS) {
+			listener.objectParsed(this, type, fromObjectStream);
+		}
+	}
+
+	public void sourceBytesRead(long count) {
+		this.sourceBytesRead.add(count);
+		for (ParserMetricsListener listener : LISTENERS) {
+			listener.sourceBytesRead(this, count);
+		}
+	}
+
+	public void bytesDecoded(ASAtom filter, long count) {
+		LongAdder counter = this.bytesDecoded.get(filter);
+		if (counter == null) {
+			counter = this.bytesDecoded.computeIfAbsent(filter, key -> new LongAdder());
+		}
+		counter.add(count);
+		for (ParserMetricsListener listener : LISTENERS) {
+			listener.bytesDecoded(this, filter, count);
+		}
+	}
+
+	public void cacheAccessed(Cache cache, boolean hit) {
+		(hit ? this.cacheHits : this.cacheMisses)[cache.ordinal()].increment();
+		for (ParserMetricsListener listener : LISTENERS) {
+			listener.cacheAccessed(this, cache, hit);
+		}
+	}
+
+	public void fontProgramParsed(String fontType, long nanos) {
+		LongAdder[] values = this.fontPrograms.get(fontType);
+		if (values == null) {
+			values = this.fontPrograms.computeIfAbsent(fontType, key -> createAdders(2));
+		}
+		values[0].increment();
+		values[1].add(nanos);
+		for (ParserMetricsListener listener : LISTENERS) {
+			listener.fontProgramParsed(this, fontType, nanos);
+		}
+	}
+
+	public void tempFileCreated() {
+		this.tempFileCount.increment();
+		for (ParserMetricsListener listener : LISTENERS) {
+			listener.tempFileCreated(this);
+		}
+	}
+
+	// Collected values
+
+	public int getXRefSectionCount() {
+		return this.xrefSectionCount.intValue();
+	}
+
+	/**
+	 * @return time spent on loading cross-reference information in nanoseconds.
+	 */
+	public long getXRefLoadTime() {
+		return this.xrefLoadTime.sum();
+	}
+
+	public long getObjectsParsed(COSObjType type, boolean fromObjectStream) {
+		return this.objectsParsed[getObjectIndex(type, fromObjectStream)].sum();
+	}
+
+	public long getObjectsParsed() {
+		long res = 0;
+		for (LongAdder count : this.objectsParsed) {
+			res += count.sum();
+		}
+		return res;
+	}
+
+	/**
+	 * @return amount of bytes read from file. Open streams report read bytes
+	 * in portions, see {@link #BYTES_REPORT_THRESHOLD}.
+	 */
+	public long getSourceBytesRead() {
+		return this.sourceBytesRead.sum();
+	}
+
+	/**
+	 * @return amount of decoded bytes for each filter.
+	 */
+	public Map<ASAtom, Long> getBytesDecoded() {
+		Map<ASAtom, Long> res = new HashMap<>();
+		for (Map.Entry<ASAtom, LongAdder> entry : this.bytesDecoded.entrySet()) {
+			res.put(entry.getKey(), entry.getValue().sum());
+		}
+		return res;
+	}
+
+	public long getCacheHits(Cache cache) {
+		return this.cacheHits[cache.ordinal()].sum();
+	}
+
+	public long getCacheMisses(Cache cache) {
+		return this.cacheMisses[cache.ordinal()].sum();
+	}
+
+	/**
+	 * @return amount of parsed font programs for each font type.
+	 */
+	public Map<String, Long> getFontProgramsParsed() {
+		Map<String, Long> res = new TreeMap<>();
+		for (Map.Entry<String, LongAdder[]> entry : this.fontPrograms.entrySet()) {
+			res.put(entry.getKey(), entry.getValue()[0].sum());
+		}
+		return res;
+	}
+
+	/**
+	 * @return time spent on parsing of font programs of given type in nanoseconds.
+	 */
+	public long getFontParsingTime(String fontType) {
+		LongAdder[] values = this.fontPrograms.get(fontType);
+		return values == null ? 0 : values[1].sum();
+	}
+
+	public long getTempFileCount() {
+		return this.tempFileCount.sum();
+	}
+
+	private static int getObjectIndex(COSObjType type, boolean fromObjectStream) {
+		return type.ordinal() * 2 + (fromObjectStream ? 1 : 0);
+	}
+
+	private static LongAdder[] createAdders(int count) {
+		LongAdder[] res = new LongAdder[count];
+		for (int i = 0; i < count; ++i) {
+			res[i] = new LongAdder();
+		}
+		return res;
+	}
+
+	private static final class DecodedBytesCounter extends ASInFilter {
+
+		private final ParserMetrics metrics;
+		private final ASAtom filter;
+		private long unreported;
+
+		private DecodedBytesCounter(ParserMetrics metrics, ASAtom filter, ASInputStream stream) {
+			super(stream);
+			this.metrics = metrics;
+			this.filter = filter;
+		}
+
+		@Override
+		public int read(byte[] buffer, int size) throws IOException {
+			return count(super.read(buffer, size));
+		}
+
+		@Override
+		public int skip(int size) throws IOException {
+			return count(super.skip(size));
+		}
+
+		@Override
+		public void close() throws IOException {
+			report();
+			super.close();
+		}
+
+		private int count(int read) {
+			if (read > 0) {
+				this.unreported += read;
+				if (this.unreported >= BYTES_REPORT_THRESHOLD) {
+					report();
+				}
+			}
+			return read;
+		}
+
+		private void report() {
+			if (this.unreported > 0) {
+				this.metrics.bytesDecoded(this.filter, this.unreported);
+				this.unreported = 0;
+			}
+		}
+	}
+}
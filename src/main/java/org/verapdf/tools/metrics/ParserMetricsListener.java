@@ -0,0 +1,102 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.tools.metrics;
+
+import org.verapdf.as.ASAtom;
+import org.verapdf.cos.COSObjType;
+
+/**
+ * Listener of parser events. Implementations can be registered with
+ * {@link ParserMetrics#addListener(ParserMetricsListener)} or provided as
+ * services in META-INF/services/org.verapdf.tools.metrics.ParserMetricsListener,
+ * e.g. to publish events as Java Flight Recorder events or to export them to
+ * monitoring systems.
+ * <p>
+ * Listeners are called synchronously on the thread that parses the document,
+ * so they should be fast and thread-safe. Metrics passed to listener identify
+ * the document and already include the reported event.
+ */
+public interface ParserMetricsListener {
+
+	/**
+	 * Called when cross-reference information of document is loaded.
+	 *
+	 * @param metrics      is metrics of document.
+	 * @param sectionCount is amount of loaded cross-reference sections.
+	 * @param nanos        is time spent on loading in nanoseconds.
+	 */
+	void xrefLoaded(ParserMetrics metrics, int sectionCount, long nanos);
+
+	/**
+	 * Called when indirect object is parsed.
+	 *
+	 * @param metrics          is metrics of document.
+	 * @param type             is type of parsed object.
+	 * @param fromObjectStream is true if object is parsed from object stream
+	 *                         and false if it is parsed at file offset.
+	 */
+	void objectParsed(ParserMetrics metrics, COSObjType type, boolean fromObjectStream);
+
+	/**
+	 * Called when data is read from file. Each stream reports amount of read
+	 * bytes in portions of {@link ParserMetrics#BYTES_REPORT_THRESHOLD} bytes
+	 * and the rest when it is closed.
+	 *
+	 * @param metrics is metrics of document.
+	 * @param count   is amount of bytes read.
+	 */
+	void sourceBytesRead(ParserMetrics metrics, long count);
+
+	/**
+	 * Called when data is read from decoding filter. Amounts are reported in
+	 * the same way as in {@link #sourceBytesRead(ParserMetrics, long)}.
+	 *
+	 * @param metrics is metrics of document.
+	 * @param filter  is name of filter.
+	 * @param count   is amount of decoded bytes.
+	 */
+	void bytesDecoded(ParserMetrics metrics, ASAtom filter, long count);
+
+	/**
+	 * Called on lookup in parser cache.
+	 *
+	 * @param metrics is metrics of document.
+	 * @param cache   is cache type.
+	 * @param hit     is true if value is found in cache.
+	 */
+	void cacheAccessed(ParserMetrics metrics, ParserMetrics.Cache cache, boolean hit);
+
+	/**
+	 * Called when font program is parsed successfully.
+	 *
+	 * @param metrics  is metrics of document.
+	 * @param fontType is type of font program, e.g. Type1, CFF or TrueType.
+	 * @param nanos    is time spent on parsing in nanoseconds.
+	 */
+	void fontProgramParsed(ParserMetrics metrics, String fontType, long nanos);
+
+	/**
+	 * Called when temporary file is created.
+	 *
+	 * @param metrics is metrics of document.
+	 */
+	void tempFileCreated(ParserMetrics metrics);
+}
@@ -0,0 +1,152 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.cos;
+
+import org.junit.Test;
+import org.verapdf.as.ASAtom;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class COSArrayTest {
+
+    @Test
+    public void numericArrayTest() {
+        COSObject array = COSArray.construct(Arrays.asList(COSInteger.construct(1),
+                COSReal.construct(2.5), COSInteger.construct(1L << 60)));
+        assertEquals(3, array.size().intValue());
+        assertEquals(COSObjType.COS_INTEGER, array.at(0).getType());
+        assertEquals(COSObjType.COS_REAL, array.at(1).getType());
+        assertEquals(1L << 60, array.at(2).getInteger().longValue());
+        assertEquals(2.5, ((COSArray) array.getDirectBase()).getRealAt(1), 0);
+        assertEquals("[1, 2.5, 1152921504606846976]", array.toString());
+        assertSame(array.at(0), array.at(0));
+    }
+
+    @Test
+    public void numericArrayKeepsSharedElementsTest() {
+        COSObject one = COSInteger.construct(1);
+        COSBase shared = one.getSharedBase();
+        COSArray.construct(Arrays.asList(one, COSInteger.construct(2)));
+        assertSame(shared, one.getSharedBase());
+        assertSame(shared, COSInteger.construct(1).getSharedBase());
+    }
+
+    @Test
+    public void numericArrayModificationTest() {
+        COSObject array = COSArray.construct(Arrays.asList(COSInteger.construct(1), COSInteger.construct(2)));
+        array.at(0).setInteger(5);
+        array.add(COSName.construct("Name"));
+        array.remove(1);
+        assertEquals(2, array.size().intValue());
+        assertEquals(5, array.at(0).getInteger().longValue());
+        assertEquals(COSObjType.COS_NAME, array.at(1).getType());
+    }
+
+    @Test
+    public void sharedIntegerTest() {
+        COSObject first = COSInteger.construct(3);
+        COSObject second = COSInteger.construct(3);
+        first.setInteger(4);
+        second.setReal(7.5);
+        assertEquals(3, COSInteger.construct(3).getInteger().longValue());
+        assertEquals(COSObjType.COS_INTEGER, second.getType());
+        assertEquals(7, second.getInteger().longValue());
+        second.setObjectKey(new COSKey(1, 0));
+        assertNotSame(COSInteger.construct(7).getDirectBase(), second.getDirectBase());
+    }
+
+    @Test
+    public void sharedBaseCopiedOnAccessTest() {
+        COSObject first = COSInteger.construct(10);
+        COSObject second = COSInteger.construct(10);
+        ((COSInteger) first.getDirectBase()).set(11);
+        ((COSBoolean) COSBoolean.construct(true).get()).set(false);
+        assertEquals(11, first.getInteger().longValue());
+        assertEquals(10, second.getInteger().longValue());
+        assertEquals(Boolean.TRUE, COSBoolean.construct(true).getBoolean());
+        COSObject nullObject = COSNull.construct();
+        nullObject.get().setObjectKey(new COSKey(2, 0));
+        assertEquals(null, COSNull.construct().getObjectKey());
+    }
+
+    @Test
+    public void dictionaryKeyOrderTest() {
+        COSDictionary dictionary = (COSDictionary) COSDictionary.construct().getDirectBase();
+        Map<ASAtom, COSObject> expected = new HashMap<>();
+        for (int i = 11; i >= 0; --i) {
+            ASAtom key = ASAtom.getASAtom("Key" + i);
+            expected.put(key, COSInteger.construct(i));
+            dictionary.setIntegerKey(key, i);
+            assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(dictionary.getKeySet()));
+            if (i % 3 == 0) {
+                ASAtom removed = ASAtom.getASAtom("Key" + (i + 1));
+                expected.remove(removed);
+                dictionary.removeKey(removed);
+                expected.put(removed, COSInteger.construct(i));
+                dictionary.setIntegerKey(removed, i);
+                assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(dictionary.getKeySet()));
+            }
+        }
+    }
+
+    @Test
+    public void dictionaryIteratorRemoveTest() {
+        COSDictionary dictionary = (COSDictionary) COSDictionary.construct().getDirectBase();
+        for (int i = 0; i < 4; ++i) {
+            dictionary.setIntegerKey(ASAtom.getASAtom("Key" + i), i);
+        }
+        Iterator<Map.Entry<ASAtom, COSObject>> iterator = dictionary.getEntrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<ASAtom, COSObject> entry = iterator.next();
+            if (entry.getValue().getInteger() % 2 == 0) {
+                iterator.remove();
+            } else {
+                entry.setValue(COSInteger.construct(-1));
+            }
+        }
+        assertEquals(new HashSet<>(Arrays.asList(ASAtom.getASAtom("Key1"), ASAtom.getASAtom("Key3"))),
+                dictionary.getKeySet());
+        assertEquals(-1, dictionary.getIntegerKey(ASAtom.getASAtom("Key3")).longValue());
+        assertFalse(dictionary.knownKey(ASAtom.getASAtom("Key2")).booleanValue());
+    }
+
+    @Test
+    public void dictionaryGrowthTest() {
+        COSObject dictionary = COSDictionary.construct();
+        for (int i = 0; i < 12; ++i) {
+            dictionary.setIntegerKey(ASAtom.getASAtom("Key" + i), i);
+        }
+        dictionary.removeKey(ASAtom.getASAtom("Key3"));
+        assertEquals(11, dictionary.size().intValue());
+        assertEquals(9, dictionary.getIntegerKey(ASAtom.getASAtom("Key9")).longValue());
+        assertEquals(null, dictionary.getKey(ASAtom.getASAtom("Key3")).getInteger());
+    }
+}
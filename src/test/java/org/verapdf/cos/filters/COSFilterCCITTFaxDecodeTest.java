@@ -0,0 +1,277 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.cos.filters;
+
+import org.junit.Test;
+import org.verapdf.as.ASAtom;
+import org.verapdf.as.io.ASMemoryInStream;
+import org.verapdf.cos.COSDictionary;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+public class COSFilterCCITTFaxDecodeTest {
+
+    // 8 columns, each row has 4 white and 4 black pixels
+    private static final byte[] ONE_DIMENSIONAL = {(byte) 0xB6, (byte) 0xB6};
+    // first row is coded in horizontal mode, second row in vertical mode, followed by EOFB
+    private static final byte[] TWO_DIMENSIONAL = {0x36, (byte) 0xE0, 0x02, 0x00, 0x20};
+
+    @Test
+    public void testGroup3() throws IOException {
+        COSDictionary params = createParams(0, 2);
+        params.setBooleanKey(ASAtom.ENCODED_BYTE_ALIGN, true);
+        assertArrayEquals(new byte[]{(byte) 0xF0, (byte) 0xF0}, decode(ONE_DIMENSIONAL, params));
+    }
+
+    @Test
+    public void testGroup4() throws IOException {
+        assertArrayEquals(new byte[]{(byte) 0xF0, (byte) 0xF0}, decode(TWO_DIMENSIONAL, createParams(-1, 0)));
+    }
+
+    @Test
+    public void testBlackIs1() throws IOException {
+        COSDictionary params = createParams(-1, 2);
+        params.setBooleanKey(ASAtom.BLACK_IS_1, true);
+        assertArrayEquals(new byte[]{0x0F, 0x0F}, decode(TWO_DIMENSIONAL, params));
+    }
+
+    // round trip tests encode random images with the TIFF writer of JDK, it is available since Java 9
+    private static final int[] WIDTHS = {1, 7, 8, 13, 64, 100, 1728, 3000};
+    private static final int HEIGHT = 24;
+    private static final int STRIP_OFFSETS = 273;
+    private static final int STRIP_BYTE_COUNTS = 279;
+    private static final int T4_2D_ENCODING = 1;
+    private static final int T4_FILL_BITS = 4;
+
+    @Test
+    public void testModifiedHuffmanRoundTrip() throws IOException {
+        // TIFF compression 2 is one-dimensional coding with rows aligned to bytes and no EOL codes
+        checkRoundTrip("CCITT RLE", null, 0, true);
+    }
+
+    @Test
+    public void testGroup3OneDimensionalRoundTrip() throws IOException {
+        checkRoundTrip("CCITT T.4", 0, 0, false);
+    }
+
+    @Test
+    public void testGroup3OneDimensionalByteAlignedRoundTrip() throws IOException {
+        checkRoundTrip("CCITT T.4", T4_FILL_BITS, 0, true);
+    }
+
+    @Test
+    public void testGroup3TwoDimensionalRoundTrip() throws IOException {
+        checkRoundTrip("CCITT T.4", T4_2D_ENCODING, 4, false);
+    }
+
+    @Test
+    public void testGroup3TwoDimensionalByteAlignedRoundTrip() throws IOException {
+        checkRoundTrip("CCITT T.4", T4_2D_ENCODING | T4_FILL_BITS, 4, true);
+    }
+
+    @Test
+    public void testGroup4RoundTrip() throws IOException {
+        checkRoundTrip("CCITT T.6", null, -1, false);
+    }
+
+    private static void checkRoundTrip(String compression, Integer t4Options, long k,
+                                       boolean encodedByteAlign) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("tiff");
+        assumeTrue(writers.hasNext());
+        ImageWriter writer = writers.next();
+        Random random = new Random(k * 31 + (t4Options == null ? -1 : t4Options));
+        try {
+            for (int width : WIDTHS) {
+                for (int variant = 0; variant < 4; ++variant) {
+                    boolean blackIs1 = (variant & 1) != 0;
+                    boolean withRows = (variant & 2) != 0;
+                    BufferedImage image = createImage(random, width);
+                    byte[] encoded = encode(writer, image, compression, t4Options);
+                    COSDictionary params = createParams(k, withRows ? HEIGHT : 0, width);
+                    params.setBooleanKey(ASAtom.ENCODED_BYTE_ALIGN, encodedByteAlign);
+                    params.setBooleanKey(ASAtom.BLACK_IS_1, blackIs1);
+                    String message = compression + ", width " + width + ", BlackIs1 " + blackIs1 +
+                            ", Rows " + withRows;
+                    assertArrayEquals(message, getExpected(image, blackIs1),
+                            clearPadding(decode(encoded, params), width));
+                }
+            }
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * Creates image of runs with random lengths, some rows repeat previous row
+     * with small changes so two-dimensional coding uses all of its modes.
+     */
+    private static BufferedImage createImage(Random random, int width) {
+        BufferedImage image = new BufferedImage(width, HEIGHT, BufferedImage.TYPE_BYTE_BINARY);
+        boolean[] previous = new boolean[width];
+        for (int y = 0; y < HEIGHT; ++y) {
+            boolean[] row = new boolean[width];
+            if (y > 0 && random.nextInt(3) > 0) {
+                System.arraycopy(previous, 0, row, 0, width);
+                for (int i = random.nextInt(4); i > 0; --i) {
+                    int x = random.nextInt(width);
+                    int length = 1 + random.nextInt(Math.min(width - x, 4));
+                    for (int j = x; j < x + length; ++j) {
+                        row[j] = !row[j];
+                    }
+                }
+            } else {
+                boolean white = random.nextBoolean();
+                int x = 0;
+                while (x < width) {
+                    int maxLength = random.nextInt(8) == 0 ? width : 70;
+                    int length = Math.min(width - x, 1 + random.nextInt(maxLength));
+                    Arrays.fill(row, x, x + length, white);
+                    x += length;
+                    white = !white;
+                }
+            }
+            for (int x = 0; x < width; ++x) {
+                image.setRGB(x, y, row[x] ? 0xFFFFFFFF : 0xFF000000);
+            }
+            previous = row;
+        }
+        return image;
+    }
+
+    private static byte[] getExpected(BufferedImage image, boolean blackIs1) {
+        int width = image.getWidth();
+        int rowLength = (width + 7) / 8;
+        byte[] expected = new byte[rowLength * image.getHeight()];
+        for (int y = 0; y < image.getHeight(); ++y) {
+            for (int x = 0; x < width; ++x) {
+                boolean white = (image.getRGB(x, y) & 0xFFFFFF) != 0;
+                if (white != blackIs1) {
+                    expected[y * rowLength + x / 8] |= (byte) (0x80 >>> (x % 8));
+                }
+            }
+        }
+        return expected;
+    }
+
+    private static byte[] clearPadding(byte[] data, int width) {
+        int rowLength = (width + 7) / 8;
+        int padding = rowLength * 8 - width;
+        if (padding != 0) {
+            for (int i = rowLength - 1; i < data.length; i += rowLength) {
+                data[i] &= (byte) (0xFF << padding);
+            }
+        }
+        return data;
+    }
+
+    /**
+     * @return data of the only strip of TIFF file with given image.
+     */
+    private static byte[] encode(ImageWriter writer, BufferedImage image, String compression,
+                                 Integer t4Options) throws IOException {
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionType(compression);
+        IIOMetadata metadata = writer.getDefaultImageMetadata(ImageTypeSpecifier.createFromRenderedImage(image), param);
+        String format = metadata.getNativeMetadataFormatName();
+        metadata.mergeTree(format, createField(format, 278, "RowsPerStrip", image.getHeight()));
+        if (t4Options != null) {
+            metadata.mergeTree(format, createField(format, 292, "T4Options", t4Options));
+        }
+        ByteArrayOutputStream tiff = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(tiff)) {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, metadata), param);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(tiff.toByteArray());
+        buffer.order(buffer.get(0) == 'I' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        int ifd = buffer.getInt(4);
+        int offset = -1;
+        int length = -1;
+        for (int i = 0; i < (buffer.getShort(ifd) & 0xFFFF); ++i) {
+            int entry = ifd + 2 + 12 * i;
+            int tag = buffer.getShort(entry) & 0xFFFF;
+            if (tag == STRIP_OFFSETS || tag == STRIP_BYTE_COUNTS) {
+                assertEquals("Number of strips", 1, buffer.getInt(entry + 4));
+            }
+            int value = buffer.getShort(entry + 2) == 3 ? buffer.getShort(entry + 8) & 0xFFFF : buffer.getInt(entry + 8);
+            if (tag == STRIP_OFFSETS) {
+                offset = value;
+            } else if (tag == STRIP_BYTE_COUNTS) {
+                length = value;
+            }
+        }
+        return Arrays.copyOfRange(buffer.array(), offset, offset + length);
+    }
+
+    private static IIOMetadataNode createField(String format, int number, String name, long value) {
+        IIOMetadataNode root = new IIOMetadataNode(format);
+        IIOMetadataNode ifd = new IIOMetadataNode("TIFFIFD");
+        IIOMetadataNode field = new IIOMetadataNode("TIFFField");
+        IIOMetadataNode values = new IIOMetadataNode("TIFFLongs");
+        IIOMetadataNode longValue = new IIOMetadataNode("TIFFLong");
+        field.setAttribute("number", String.valueOf(number));
+        field.setAttribute("name", name);
+        longValue.setAttribute("value", String.valueOf(value));
+        values.appendChild(longValue);
+        field.appendChild(values);
+        ifd.appendChild(field);
+        root.appendChild(ifd);
+        return root;
+    }
+
+    private static COSDictionary createParams(long k, long rows) {
+        return createParams(k, rows, 8);
+    }
+
+    private static COSDictionary createParams(long k, long rows, int columns) {
+        COSDictionary params = (COSDictionary) COSDictionary.construct().get();
+        params.setIntegerKey(ASAtom.K, k);
+        params.setIntegerKey(ASAtom.COLUMNS, columns);
+        if (rows > 0) {
+            params.setIntegerKey(ASAtom.ROWS, rows);
+        }
+        return params;
+    }
+
+    private static byte[] decode(byte[] data, COSDictionary params) throws IOException {
+        return COSFilterRunLengthDecodeTest.decode(new COSFilterCCITTFaxDecode(new ASMemoryInStream(data), params), 1);
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.cos.filters;
+
+import org.junit.Test;
+import org.verapdf.as.ASAtom;
+import org.verapdf.as.filters.ASFilterFactory;
+import org.verapdf.as.filters.IASFilterFactory;
+import org.verapdf.as.filters.IASFilterFactoryProvider;
+import org.verapdf.as.io.ASMemoryInStream;
+import org.verapdf.cos.COSDictionary;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+
+import static org.junit.Assert.assertArrayEquals;
+
+/**
+ * Providers of this test are registered in test resources together with a
+ * provider class that does not exist.
+ */
+public class COSFilterRegistryTest {
+
+    private static final ASAtom TEST_DECODE = ASAtom.getASAtom("TestDecode");
+
+    @Test
+    public void testFaultyProvidersAreSkipped() throws IOException {
+        COSDictionary params = (COSDictionary) COSDictionary.construct().get();
+        assertArrayEquals("abc".getBytes(), COSFilterRunLengthDecodeTest.decode(COSFilterRegistry.getDecodeFilter(
+                TEST_DECODE, new ASMemoryInStream("616263>".getBytes()), params), 16));
+        assertArrayEquals("abc".getBytes(), COSFilterRunLengthDecodeTest.decode(COSFilterRegistry.getDecodeFilter(
+                ASAtom.RUN_LENGTH_DECODE, new ASMemoryInStream(new byte[]{2, 'a', 'b', 'c', (byte) 128}), params), 16));
+    }
+
+    public static class FailingProvider implements IASFilterFactoryProvider {
+
+        @Override
+        public Collection<ASAtom> getFilterNames() {
+            throw new IllegalStateException("Native library is not available");
+        }
+
+        @Override
+        public IASFilterFactory getFilterFactory(ASAtom filterName) {
+            return null;
+        }
+    }
+
+    public static class HexProvider implements IASFilterFactoryProvider {
+
+        @Override
+        public Collection<ASAtom> getFilterNames() {
+            return Collections.singleton(TEST_DECODE);
+        }
+
+        @Override
+        public IASFilterFactory getFilterFactory(ASAtom filterName) {
+            return new ASFilterFactory(ASAtom.ASCII_HEX_DECODE);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.cos.filters;
+
+import org.junit.Test;
+import org.verapdf.as.io.ASInputStream;
+import org.verapdf.as.io.ASMemoryInStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class COSFilterRunLengthDecodeTest {
+
+    @Test
+    public void test() throws IOException {
+        byte[] encoded = {2, 'a', 'b', 'c', (byte) 254, 'x', 0, 'y', (byte) 128, 'z'};
+        assertArrayEquals("abcxxxy".getBytes(), decode(new COSFilterRunLengthDecode(new ASMemoryInStream(encoded)), 2));
+    }
+
+    @Test
+    public void testMissingEOD() throws IOException {
+        byte[] encoded = {(byte) 129, 'q', 4, 'a', 'b'};
+        byte[] expected = new byte[130];
+        Arrays.fill(expected, (byte) 'q');
+        expected[128] = 'a';
+        expected[129] = 'b';
+        assertArrayEquals(expected, decode(new COSFilterRunLengthDecode(new ASMemoryInStream(encoded)), 100));
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        Random random = new Random(0);
+        for (int length : new int[]{0, 1, 2, 127, 128, 129, 255, 1000, 70_000}) {
+            byte[] data = new byte[length];
+            int i = 0;
+            while (i < length) {
+                // mix literal bytes with runs of up to 300 equal bytes
+                int run = Math.min(length - i, 1 + random.nextInt(random.nextBoolean() ? 4 : 300));
+                byte value = (byte) random.nextInt(3);
+                for (int j = i; j < i + run; ++j) {
+                    data[j] = run < 3 ? (byte) random.nextInt(256) : value;
+                }
+                i += run;
+            }
+            byte[] encoded = encode(data);
+            for (int bufferSize : new int[]{1, 7, 4096}) {
+                assertArrayEquals(data, decode(new COSFilterRunLengthDecode(new ASMemoryInStream(encoded)), bufferSize));
+            }
+        }
+    }
+
+    private static byte[] encode(byte[] data) {
+        ByteArrayOutputStream res = new ByteArrayOutputStream();
+        int i = 0;
+        while (i < data.length) {
+            int run = 1;
+            while (i + run < data.length && run < 128 && data[i + run] == data[i]) {
+                ++run;
+            }
+            if (run > 1) {
+                res.write(257 - run);
+                res.write(data[i]);
+                i += run;
+                continue;
+            }
+            int literal = 1;
+            while (i + literal < data.length && literal < 128
+                    && (i + literal + 1 >= data.length || data[i + literal] != data[i + literal + 1])) {
+                ++literal;
+            }
+            res.write(literal - 1);
+            res.write(data, i, literal);
+            i += literal;
+        }
+        res.write(128);
+        return res.toByteArray();
+    }
+
+    static byte[] decode(ASInputStream stream, int bufferSize) throws IOException {
+        ByteArrayOutputStream res = new ByteArrayOutputStream();
+        byte[] buffer = new byte[bufferSize];
+        int read;
+        while ((read = stream.read(buffer, buffer.length)) != -1) {
+            res.write(buffer, 0, read);
+        }
+        return res.toByteArray();
+    }
+}
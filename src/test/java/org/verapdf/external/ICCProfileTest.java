@@ -0,0 +1,172 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.external;
+
+import org.junit.Test;
+import org.verapdf.as.ASAtom;
+import org.verapdf.as.io.ASMemoryInStream;
+import org.verapdf.cos.COSDictionary;
+import org.verapdf.cos.COSName;
+import org.verapdf.cos.COSObject;
+import org.verapdf.cos.COSStream;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+
+import static org.junit.Assert.*;
+
+public class ICCProfileTest {
+
+    private static final String DESCRIPTION = "Test RGB profile";
+    private static final String COPYRIGHT = "No copyright";
+
+    @Test
+    public void wellFormedProfile() {
+        ICCProfile profile = new ICCProfile(COSStream.construct(), createProfile(0, 0));
+        assertTrue(profile.isLooksValid());
+        assertEquals("RGB ", profile.getColorSpace());
+        assertEquals("mntr", profile.getDeviceClass());
+        assertEquals(DESCRIPTION, profile.getDescription());
+        assertEquals(COPYRIGHT, profile.getCopyright());
+        assertNotNull(profile.getMD5());
+    }
+
+    @Test
+    public void tagLengthPastEndOfData() {
+        ICCProfile profile = new ICCProfile(COSStream.construct(), createProfile(0, 100000));
+        assertFalse(profile.isLooksValid());
+        assertNull(profile.getDescription());
+        assertEquals(COPYRIGHT, profile.getCopyright());
+    }
+
+    @Test
+    public void negativeTagLength() {
+        ICCProfile profile = new ICCProfile(COSStream.construct(), createProfile(0, -1000));
+        assertFalse(profile.isLooksValid());
+        assertNull(profile.getDescription());
+    }
+
+    @Test
+    public void tagOffsetPastEndOfData() {
+        ICCProfile profile = new ICCProfile(COSStream.construct(), createProfile(100000, 0));
+        assertFalse(profile.isLooksValid());
+        assertNull(profile.getDescription());
+    }
+
+    @Test
+    public void shortHeader() {
+        byte[] data = new byte[ICCProfile.HEADER_LENGTH - 1];
+        ICCProfile profile = new ICCProfile(COSStream.construct(), data);
+        assertFalse(profile.isLooksValid());
+        assertNull(profile.getDescription());
+    }
+
+    @Test
+    public void cacheKeyIncludesFiltersAndDecodeParameters() {
+        int maxSize = ICCProfileCache.getMaxSize();
+        try {
+            ICCProfileCache.setMaxSize(ICCProfileCache.DEFAULT_MAX_SIZE);
+            ICCProfileCache.clear();
+            byte[] data = createProfile(0, 0);
+            ICCProfile plain = new ICCProfile(COSStream.construct(new ASMemoryInStream(data)));
+            assertEquals(DESCRIPTION, new ICCProfile(COSStream.construct(new ASMemoryInStream(data))).getDescription());
+            assertEquals(DESCRIPTION, new ICCProfile(COSStream.construct(), data).getDescription());
+            assertEquals(1, ICCProfileCache.size());
+
+            ICCProfile encoded = new ICCProfile(encodedStream(data, null));
+            assertEquals(2, ICCProfileCache.size());
+            assertEquals(DESCRIPTION, plain.getDescription());
+            assertEquals(DESCRIPTION, encoded.getDescription());
+            assertEquals(plain.getMD5(), encoded.getMD5());
+
+            COSObject parameters = COSDictionary.construct(ASAtom.PREDICTOR, 1);
+            assertEquals(DESCRIPTION, new ICCProfile(encodedStream(data, parameters)).getDescription());
+            assertEquals(3, ICCProfileCache.size());
+            new ICCProfile(encodedStream(data, COSDictionary.construct(ASAtom.PREDICTOR, 1)));
+            assertEquals(3, ICCProfileCache.size());
+
+            byte[] malformed = createProfile(0, 100000);
+            assertFalse(new ICCProfile(COSStream.construct(new ASMemoryInStream(malformed))).isLooksValid());
+            assertFalse(new ICCProfile(COSStream.construct(), malformed).isLooksValid());
+            assertEquals(4, ICCProfileCache.size());
+        } finally {
+            ICCProfileCache.clear();
+            ICCProfileCache.setMaxSize(maxSize);
+        }
+    }
+
+    private static COSObject encodedStream(byte[] data, COSObject parameters) {
+        COSDictionary dictionary = (COSDictionary) COSDictionary.construct(ASAtom.FILTER,
+                COSName.construct(ASAtom.FLATE_DECODE)).getDirectBase();
+        if (parameters != null) {
+            dictionary.setKey(ASAtom.DECODE_PARMS, parameters);
+        }
+        return COSStream.construct(dictionary, new ASMemoryInStream(deflate(data)));
+    }
+
+    /**
+     * Creates profile with desc and cprt tags. Given values are added to
+     * offset of desc tag and to length of its text.
+     */
+    private static byte[] createProfile(int descOffsetShift, int descLengthShift) {
+        byte[] descText = DESCRIPTION.getBytes(StandardCharsets.US_ASCII);
+        byte[] cprtText = COPYRIGHT.getBytes(StandardCharsets.US_ASCII);
+        int tagTableLength = 4 + 2 * ICCProfile.TAGINFO_LENGTH;
+        int descOffset = ICCProfile.HEADER_LENGTH + tagTableLength;
+        int descLength = 12 + descText.length;
+        int cprtOffset = descOffset + descLength;
+        int cprtLength = 8 + cprtText.length;
+        int size = cprtOffset + cprtLength;
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(size);
+        buffer.position(ICCProfile.VERSION_BYTE);
+        buffer.put((byte) 4).put((byte) 0x20);
+        buffer.position(ICCProfile.DEVICE_CLASS_OFFSET);
+        buffer.put("mntr".getBytes(StandardCharsets.US_ASCII));
+        buffer.put("RGB ".getBytes(StandardCharsets.US_ASCII));
+        buffer.put("XYZ ".getBytes(StandardCharsets.US_ASCII));
+        buffer.position(ICCProfile.HEADER_LENGTH);
+        buffer.putInt(2);
+        buffer.put("desc".getBytes(StandardCharsets.US_ASCII)).putInt(descOffset + descOffsetShift).putInt(descLength);
+        buffer.put("cprt".getBytes(StandardCharsets.US_ASCII)).putInt(cprtOffset).putInt(cprtLength);
+        buffer.put("desc".getBytes(StandardCharsets.US_ASCII)).putInt(0).putInt(descText.length + descLengthShift);
+        buffer.put(descText);
+        buffer.put("text".getBytes(StandardCharsets.US_ASCII)).putInt(0).put(cprtText);
+        return buffer.array();
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater();
+        deflater.setInput(data);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[256];
+        while (!deflater.finished()) {
+            int length = deflater.deflate(buffer);
+            out.write(buffer, 0, length);
+        }
+        deflater.end();
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.external;
+
+import org.junit.Test;
+import org.verapdf.as.ASAtom;
+import org.verapdf.as.io.ASInputStream;
+import org.verapdf.as.io.ASMemoryInStream;
+import org.verapdf.cos.COSDictionary;
+import org.verapdf.cos.filters.COSFilterRegistry;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ImageMetadataTest {
+
+    @Test
+    public void testDCT() throws IOException {
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(17, 9, BufferedImage.TYPE_INT_RGB), "jpeg", jpeg);
+        // image filters are decoded only to codestream
+        ASInputStream data = COSFilterRegistry.getDecodeFilter(ASAtom.DCT_DECODE,
+                new ASMemoryInStream(jpeg.toByteArray()), (COSDictionary) COSDictionary.construct().get());
+        check(ImageMetadata.fromStream(ASAtom.DCT_DECODE, data), 17, 9, 3, 8L);
+    }
+
+    @Test
+    public void testJPX() {
+        byte[] jp2 = {
+                0, 0, 0, 12, 'j', 'P', ' ', ' ', 0x0D, 0x0A, (byte) 0x87, 0x0A,
+                0, 0, 0, 20, 'f', 't', 'y', 'p', 'j', 'p', '2', ' ', 0, 0, 0, 0, 'j', 'p', '2', ' ',
+                0, 0, 0, 45, 'j', 'p', '2', 'h',
+                0, 0, 0, 22, 'i', 'h', 'd', 'r', 0, 0, 0, 7, 0, 0, 1, 0, 0, 4, 15, 7, 0, 0
+        };
+        check(ImageMetadata.fromStream(ASAtom.JPX_DECODE, new ASMemoryInStream(jp2)), 256, 7, 4, 16L);
+    }
+
+    @Test
+    public void testJ2KCodestream() {
+        byte[] j2k = {
+                (byte) 0xFF, 0x4F, (byte) 0xFF, 0x51, 0, 47, 0, 0,
+                0, 0, 0, 110, 0, 0, 0, 60, 0, 0, 0, 10, 0, 0, 0, 0,
+                0, 0, 0, 100, 0, 0, 0, 60, 0, 0, 0, 0, 0, 0, 0, 0,
+                0, 3, 7, 1, 1, 7, 1, 1, 11, 1, 1
+        };
+        check(ImageMetadata.fromStream(ASAtom.JPX_DECODE, new ASMemoryInStream(j2k)), 100, 60, 3, null);
+    }
+
+    @Test
+    public void testJBIG2() {
+        byte[] jbig2 = {
+                // symbol dictionary segment with 3 bytes of data
+                0, 0, 0, 0, 0, 0, 1, 0, 0, 0, 3, 1, 2, 3,
+                // page information segment referring to segment 0
+                0, 0, 0, 1, 48, 0x20, 0, 1, 0, 0, 0, 19, 0, 0, 0, 64, 0, 0, 0, 32
+        };
+        check(ImageMetadata.fromStream(ASAtom.JBIG2_DECODE, new ASMemoryInStream(jbig2)), 64, 32, 1, 1L);
+    }
+
+    @Test
+    public void testInvalidData() {
+        assertSame(ImageMetadata.UNKNOWN, ImageMetadata.fromStream(ASAtom.DCT_DECODE,
+                new ASMemoryInStream(new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF})));
+        assertSame(ImageMetadata.UNKNOWN, ImageMetadata.fromStream(ASAtom.FLATE_DECODE,
+                new ASMemoryInStream(new byte[0])));
+    }
+
+    private static void check(ImageMetadata metadata, long width, long height, long components, Long bitsPerComponent) {
+        assertEquals(Long.valueOf(width), metadata.getWidth());
+        assertEquals(Long.valueOf(height), metadata.getHeight());
+        assertEquals(Long.valueOf(components), metadata.getNumberOfComponents());
+        if (bitsPerComponent == null) {
+            assertNull(metadata.getBitsPerComponent());
+        } else {
+            assertEquals(bitsPerComponent, metadata.getBitsPerComponent());
+        }
+    }
+}
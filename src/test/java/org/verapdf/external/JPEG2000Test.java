@@ -0,0 +1,99 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.external;
+
+import org.junit.Test;
+import org.verapdf.as.io.ASMemoryInStream;
+import org.verapdf.pd.colors.PDICCBased;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class JPEG2000Test {
+
+    private static final byte[] SIGNATURE = {0, 0, 0, 12, 'j', 'P', ' ', ' ', 0x0D, 0x0A, (byte) 0x87, 0x0A};
+
+    @Test
+    public void testHeaderAfterCodestream() throws IOException {
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        writeBox(header, "ihdr", new byte[]{0, 0, 0, 7, 0, 0, 1, 0, 0, 3, 7, 7, 0, 0}, false);
+        writeBox(header, "bpcc", new byte[]{7, 7, 7}, false);
+        writeBox(header, "colr", new byte[]{1, 0, 0, 0, 0, 0, 16}, false);
+
+        ByteArrayOutputStream image = new ByteArrayOutputStream();
+        image.write(SIGNATURE);
+        writeBox(image, "jp2c", new byte[100000], true);
+        writeBox(image, "jp2h", header.toByteArray(), false);
+
+        JPEG2000 jpx = JPEG2000.fromStream(new ASMemoryInStream(image.toByteArray()));
+        assertEquals(Long.valueOf(3), jpx.getNumberOfColorChannels());
+        assertEquals(Long.valueOf(8), jpx.getBitDepth());
+        assertEquals(Boolean.TRUE, jpx.getBPCCBoxPresent());
+        assertEquals(Long.valueOf(1), jpx.getNumberOfColorSpaceSpecs());
+        assertEquals(Long.valueOf(1), jpx.getColrMethod());
+        assertEquals(Long.valueOf(16), jpx.getColrEnumCS());
+        assertTrue(jpx.getImageColorSpace() instanceof PDICCBased);
+    }
+
+    @Test
+    public void testApproximateProfile() throws IOException {
+        byte[] profile = new byte[ICCProfile.HEADER_LENGTH];
+        System.arraycopy("GRAY".getBytes(StandardCharsets.ISO_8859_1), 0, profile, ICCProfile.COLOR_SPACE_OFFSET, 4);
+        byte[] colr = new byte[3 + profile.length];
+        colr[0] = 2;
+        colr[2] = 1;
+        System.arraycopy(profile, 0, colr, 3, profile.length);
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        writeBox(header, "colr", new byte[]{1, 0, 0, 0, 0, 0, 99}, false);
+        writeBox(header, "colr", colr, false);
+
+        ByteArrayOutputStream image = new ByteArrayOutputStream();
+        image.write(SIGNATURE);
+        writeBox(image, "jp2h", header.toByteArray(), false);
+
+        JPEG2000 jpx = JPEG2000.fromStream(new ASMemoryInStream(image.toByteArray()));
+        assertEquals(Long.valueOf(2), jpx.getNumberOfColorSpaceSpecs());
+        assertEquals(Long.valueOf(1), jpx.getNumberOfColorSpacesWithApproxField());
+        assertEquals(Long.valueOf(2), jpx.getColrMethod());
+        assertNull(jpx.getColrEnumCS());
+        assertTrue(jpx.getImageColorSpace() instanceof PDICCBased);
+    }
+
+    private static void writeBox(ByteArrayOutputStream stream, String type, byte[] content,
+                                 boolean extendedLength) throws IOException {
+        DataOutputStream output = new DataOutputStream(stream);
+        if (extendedLength) {
+            output.writeInt(1);
+            output.writeBytes(type);
+            output.writeLong(content.length + 16);
+        } else {
+            output.writeInt(content.length + 8);
+            output.writeBytes(type);
+        }
+        output.write(content);
+    }
+}
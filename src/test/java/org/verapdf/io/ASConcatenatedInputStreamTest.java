@@ -0,0 +1,163 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.io;
+
+import org.junit.Test;
+import org.verapdf.as.io.ASConcatenatedInputStream;
+import org.verapdf.as.io.ASInputStream;
+import org.verapdf.as.io.ASMemoryInStream;
+import org.verapdf.cos.filters.COSFilterFlateDecode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+
+import static org.junit.Assert.assertEquals;
+
+public class ASConcatenatedInputStreamTest {
+
+    private static ASConcatenatedInputStream createStream(String... parts) {
+        List<ASInputStream> streams = new ArrayList<>();
+        for (String part : parts) {
+            streams.add(new ASMemoryInStream(part.getBytes(StandardCharsets.ISO_8859_1)));
+        }
+        return new ASConcatenatedInputStream(streams);
+    }
+
+    private static ASConcatenatedInputStream createFlateStream(String... parts) throws IOException {
+        List<ASInputStream> streams = new ArrayList<>();
+        for (String part : parts) {
+            Deflater deflater = new Deflater();
+            deflater.setInput(part.getBytes(StandardCharsets.ISO_8859_1));
+            deflater.finish();
+            byte[] encoded = new byte[part.length() + 64];
+            int length = deflater.deflate(encoded);
+            deflater.end();
+            streams.add(new COSFilterFlateDecode(new ASMemoryInStream(encoded, length)));
+        }
+        return new ASConcatenatedInputStream(streams);
+    }
+
+    private static String repeat(String value, int times) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            result.append(value).append(i);
+        }
+        return result.toString();
+    }
+
+    private static String toString(byte[] buffer, int offset, int length) {
+        return new String(buffer, offset, length, StandardCharsets.ISO_8859_1);
+    }
+
+    @Test
+    public void shouldSeparateStreamsWithCR() throws IOException {
+        try (ASConcatenatedInputStream stream = createStream("ab", "cd", "e")) {
+            byte[] buffer = new byte[16];
+            int read = stream.read(buffer, buffer.length);
+            assertEquals(7, read);
+            assertEquals("ab\rcd\re", toString(buffer, 0, read));
+            assertEquals(-1, stream.read(buffer, buffer.length));
+        }
+    }
+
+    @Test
+    public void shouldReadIntoBufferAtOffset() throws IOException {
+        try (ASConcatenatedInputStream stream = createStream("ab", "cd")) {
+            byte[] buffer = new byte[16];
+            int read = stream.read(buffer, 3, 10);
+            assertEquals(5, read);
+            assertEquals("ab\rcd", toString(buffer, 3, read));
+            assertEquals(0, buffer[2]);
+            assertEquals(-1, stream.read(buffer, 3, 10));
+        }
+    }
+
+    @Test
+    public void shouldPlaceSeparatorsInChunkedReads() throws IOException {
+        try (ASConcatenatedInputStream stream = createStream("abc", "", "de")) {
+            byte[] buffer = new byte[2];
+            StringBuilder result = new StringBuilder();
+            int read;
+            while ((read = stream.read(buffer, 0, buffer.length)) != -1) {
+                result.append(toString(buffer, 0, read));
+            }
+            assertEquals("abc\r\rde", result.toString());
+        }
+    }
+
+    @Test
+    public void bulkAndSingleByteReadsShouldMatch() throws IOException {
+        StringBuilder result = new StringBuilder();
+        try (ASConcatenatedInputStream stream = createStream("ab", "cd", "e")) {
+            int next;
+            while ((next = stream.read()) != -1) {
+                result.append((char) next);
+            }
+        }
+        assertEquals("ab\rcd\re", result.toString());
+    }
+
+    @Test
+    public void shouldReadAgainAfterReset() throws IOException {
+        try (ASConcatenatedInputStream stream = createStream("ab", "cd")) {
+            byte[] buffer = new byte[16];
+            assertEquals(5, stream.read(buffer, buffer.length));
+            stream.reset();
+            int read = stream.read(buffer, 1, 15);
+            assertEquals("ab\rcd", toString(buffer, 1, read));
+        }
+    }
+
+    @Test
+    public void skipShouldCountSeparators() throws IOException {
+        try (ASConcatenatedInputStream stream = createStream("ab", "cd", "e")) {
+            assertEquals(3, stream.skip(3));
+            assertEquals('c', stream.read());
+        }
+    }
+
+    @Test
+    public void shouldDecodeFlatePartsAtOffset() throws IOException {
+        String first = repeat("BT /F1 12 Tf (text) Tj ET ", 500);
+        String second = repeat("q 1 0 0 1 0 0 cm Q ", 300);
+        try (ASConcatenatedInputStream stream = createFlateStream(first, second)) {
+            byte[] buffer = new byte[first.length() + second.length() + 100];
+            int read = stream.read(buffer, 7, buffer.length - 7);
+            assertEquals(first.length() + second.length() + 1, read);
+            assertEquals(first + '\r' + second, toString(buffer, 7, read));
+        }
+    }
+
+    @Test
+    public void transferToShouldCopyAllData() throws IOException {
+        String first = repeat("0 0 m 10 10 l S ", 1000);
+        try (ASConcatenatedInputStream stream = createFlateStream(first, "cd")) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            assertEquals(first.length() + 3, stream.transferTo(out));
+            assertEquals(first + "\rcd", new String(out.toByteArray(), StandardCharsets.ISO_8859_1));
+            assertEquals(-1, stream.read());
+        }
+    }
+}
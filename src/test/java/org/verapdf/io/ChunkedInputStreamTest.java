@@ -0,0 +1,163 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.io;
+
+import org.junit.Test;
+import org.verapdf.exceptions.VeraPDFParserException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ChunkedInputStreamTest {
+
+    private static final int LIMIT = 4 * ChunkedInputStream.CHUNK_SIZE;
+
+    @Test
+    public void inMemoryTest() throws IOException {
+        byte[] data = randomData(3 * ChunkedInputStream.CHUNK_SIZE + 12345);
+        ChunkedInputStream.setMemoryLimit(LIMIT);
+        try {
+            SeekableInputStream stream = SeekableInputStream.getSeekableStream(new ByteArrayInputStream(data));
+            assertTrue(stream instanceof ChunkedInputStream);
+            assertEquals(data.length, stream.getStreamLength());
+            checkRandomAccess(stream, data, 0);
+
+            SeekableInputStream substream = stream.getSeekableStream(70000, 100000);
+            assertEquals(100000, substream.getStreamLength());
+            checkRandomAccess(substream, data, 70000);
+            stream.close();
+            // substream still uses chunks
+            checkRandomAccess(substream, data, 70000);
+            substream.close();
+            assertEquals(0, ChunkedInputStream.getMemoryUsed());
+            assertEquals(4, ChunkedInputStream.getPoolSize());
+            ChunkedInputStream.setMemoryLimit(ChunkedInputStream.CHUNK_SIZE);
+            assertEquals(1, ChunkedInputStream.getPoolSize());
+        } finally {
+            ChunkedInputStream.setMemoryLimit(ChunkedInputStream.DEFAULT_MEMORY_LIMIT);
+        }
+    }
+
+    @Test
+    public void globalLimitTest() throws IOException {
+        byte[] data = randomData(3 * ChunkedInputStream.CHUNK_SIZE);
+        ChunkedInputStream.setMemoryLimit(LIMIT);
+        try {
+            SeekableInputStream first = SeekableInputStream.getSeekableStream(new ByteArrayInputStream(data));
+            assertTrue(first instanceof ChunkedInputStream);
+            assertEquals(3 * ChunkedInputStream.CHUNK_SIZE, ChunkedInputStream.getMemoryUsed());
+            // only one chunk is left for the second stream
+            SeekableInputStream second = SeekableInputStream.getSeekableStream(new ByteArrayInputStream(data));
+            assertTrue(second instanceof InternalInputStream);
+            checkRandomAccess(second, data, 0);
+            second.close();
+            assertEquals(3 * ChunkedInputStream.CHUNK_SIZE, ChunkedInputStream.getMemoryUsed());
+            first.close();
+            assertEquals(0, ChunkedInputStream.getMemoryUsed());
+
+            SeekableInputStream third = SeekableInputStream.getSeekableStream(new ByteArrayInputStream(data));
+            assertTrue(third instanceof ChunkedInputStream);
+            checkRandomAccess(third, data, 0);
+            third.close();
+        } finally {
+            ChunkedInputStream.setMemoryLimit(ChunkedInputStream.DEFAULT_MEMORY_LIMIT);
+        }
+    }
+
+    @Test
+    public void disabledTest() throws IOException {
+        byte[] data = randomData(100000);
+        ChunkedInputStream.setMemoryLimit(0);
+        try {
+            SeekableInputStream stream = SeekableInputStream.getSeekableStream(new ByteArrayInputStream(data));
+            assertTrue(stream instanceof InternalInputStream);
+            stream.close();
+            assertEquals(0, ChunkedInputStream.getPoolSize());
+        } finally {
+            ChunkedInputStream.setMemoryLimit(ChunkedInputStream.DEFAULT_MEMORY_LIMIT);
+        }
+    }
+
+    @Test
+    public void spillTest() throws IOException {
+        byte[] data = randomData(LIMIT + 1);
+        ChunkedInputStream.setMemoryLimit(LIMIT);
+        try {
+            SeekableInputStream stream = SeekableInputStream.getSeekableStream(new ByteArrayInputStream(data));
+            assertTrue(stream instanceof InternalInputStream);
+            assertEquals(data.length, stream.getStreamLength());
+            checkRandomAccess(stream, data, 0);
+            stream.close();
+            assertEquals(0, ChunkedInputStream.getMemoryUsed());
+            assertEquals(4, ChunkedInputStream.getPoolSize());
+        } finally {
+            ChunkedInputStream.setMemoryLimit(ChunkedInputStream.DEFAULT_MEMORY_LIMIT);
+        }
+    }
+
+    @Test
+    public void maxStreamSizeTest() throws IOException {
+        byte[] data = randomData(100000);
+        ChunkedInputStream.setMemoryLimit(LIMIT);
+        try {
+            SeekableInputStream.getSeekableStream(new ByteArrayInputStream(data), 99999);
+            fail("Maximum stream size is not checked");
+        } catch (VeraPDFParserException e) {
+            assertEquals(0, ChunkedInputStream.getMemoryUsed());
+        } finally {
+            ChunkedInputStream.setMemoryLimit(ChunkedInputStream.DEFAULT_MEMORY_LIMIT);
+        }
+    }
+
+    private static void checkRandomAccess(SeekableInputStream stream, byte[] data, int from) throws IOException {
+        int length = (int) stream.getStreamLength();
+        byte[] all = new byte[length];
+        stream.seek(0);
+        assertEquals(length, stream.read(all, 0, length));
+        assertArrayEquals(Arrays.copyOfRange(data, from, from + length), all);
+        assertEquals(-1, stream.read());
+
+        Random random = new Random(7);
+        byte[] buffer = new byte[100000];
+        for (int i = 0; i < 200; ++i) {
+            int position = random.nextInt(length);
+            stream.seek(position);
+            assertEquals(data[from + position] & 0xFF, stream.peek());
+            int size = random.nextInt(buffer.length);
+            int read = stream.read(buffer, size);
+            assertEquals(Math.min(size, length - position), Math.max(read, 0));
+            for (int j = 0; j < read; ++j) {
+                assertEquals(data[from + position + j], buffer[j]);
+            }
+            assertEquals(position + Math.max(read, 0), stream.getOffset());
+        }
+    }
+
+    private static byte[] randomData(int length) {
+        byte[] res = new byte[length];
+        new Random(length).nextBytes(res);
+        return res;
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.operator;
+
+import org.junit.Test;
+import org.verapdf.as.io.ASMemoryInStream;
+import org.verapdf.parser.Operators;
+import org.verapdf.parser.PDFStreamParser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class OperatorTest {
+
+    private static final String CONTENT = "q 1 0 0 1 10 20 cm BT /F1 12 Tf (Hello) Tj ET " +
+            "0.5 g 0 0 100 100 re f* /GS0 gs 1 0 0 RG 10 10 m 20 20 l S Q unknownOp d0 d1 BX xyz EX";
+
+    @Test
+    public void knownOperatorsTest() {
+        for (String name : Operators.operators) {
+            byte[] bytes = ("x" + name).getBytes(StandardCharsets.ISO_8859_1);
+            Operator fromBytes = Operator.getOperator(bytes, 1, bytes.length - 1);
+            Operator fromString = Operator.getOperator(name);
+            assertEquals(name, fromBytes.getOperator());
+            assertEquals(name, fromString.getOperator());
+            if (Operators.BI.equals(name) || Operators.ID.equals(name)) {
+                assertTrue(fromBytes instanceof InlineImageOperator);
+                assertNotSame(fromBytes, Operator.getOperator(name));
+            } else {
+                assertSame(fromBytes, fromString);
+            }
+        }
+    }
+
+    @Test
+    public void unknownOperatorsTest() {
+        byte[] bytes = "\u0000q".getBytes(StandardCharsets.ISO_8859_1);
+        Operator operator = Operator.getOperator(bytes, 0, bytes.length);
+        assertEquals("\u0000q", operator.getOperator());
+        assertNotSame(Operator.getOperator("q"), operator);
+
+        bytes = "qqqq".getBytes(StandardCharsets.ISO_8859_1);
+        assertSame(Operator.getOperator("qqqq"), Operator.getOperator(bytes, 0, bytes.length));
+        assertEquals("\u0100", Operator.getOperator("\u0100").getOperator());
+    }
+
+    @Test
+    public void concurrentParsingTest() throws Exception {
+        final byte[] content = CONTENT.getBytes(StandardCharsets.ISO_8859_1);
+        final List<Object> expected = parse(content);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < threads; ++i) {
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws Exception {
+                        start.await();
+                        for (int j = 0; j < 500; ++j) {
+                            List<Object> tokens = parse(content);
+                            for (int k = 0; k < tokens.size(); ++k) {
+                                if (tokens.get(k) instanceof Operator && tokens.get(k) != expected.get(k)) {
+                                    return false;
+                                }
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get(1, TimeUnit.MINUTES));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<Object> parse(byte[] content) throws Exception {
+        try (PDFStreamParser parser = new PDFStreamParser(new ASMemoryInStream(content))) {
+            parser.parseTokens();
+            return new ArrayList<>(parser.getTokens());
+        }
+    }
+}
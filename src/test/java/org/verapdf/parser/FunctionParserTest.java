@@ -0,0 +1,94 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.parser;
+
+import org.junit.Test;
+import org.verapdf.cos.COSObjType;
+import org.verapdf.cos.COSObject;
+import org.verapdf.parser.postscript.PSOperator;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FunctionParserTest {
+
+    private static FunctionParser createParser(String function) throws IOException {
+        return new FunctionParser(new ByteArrayInputStream(function.getBytes(StandardCharsets.ISO_8859_1)), null);
+    }
+
+    private static List<COSObject> parse(String function) throws IOException {
+        FunctionParser parser = createParser(function);
+        try {
+            parser.parse();
+            return parser.getOperators();
+        } finally {
+            parser.closeInputStream();
+        }
+    }
+
+    private static void assertOperator(String expected, COSObject object) {
+        assertTrue(object instanceof PSOperator);
+        assertEquals(expected, ((PSOperator) object).getOperator());
+    }
+
+    @Test
+    public void shouldReadProcedureBraces() throws IOException {
+        List<COSObject> operators = parse("{ 1 {2} if }");
+        assertEquals(7, operators.size());
+        assertOperator("{", operators.get(0));
+        assertEquals(Long.valueOf(1), operators.get(1).getInteger());
+        assertOperator("{", operators.get(2));
+        assertEquals(Long.valueOf(2), operators.get(3).getInteger());
+        assertOperator("}", operators.get(4));
+        assertOperator("if", operators.get(5));
+        assertOperator("}", operators.get(6));
+    }
+
+    @Test
+    public void shouldReadNumbersInPDFSyntax() throws IOException {
+        List<COSObject> operators = parse("{ 16#FF 0.5 -3 }");
+        assertEquals(5, operators.size());
+        assertEquals(Long.valueOf(16), operators.get(1).getInteger());
+        assertEquals(COSObjType.COS_REAL, operators.get(2).getType());
+        assertEquals(0.5, operators.get(2).getReal(), 0);
+        assertEquals(Long.valueOf(-3), operators.get(3).getInteger());
+    }
+
+    @Test
+    public void shouldDecodeHexCharactersInNames() throws IOException {
+        FunctionParser parser = createParser("/A#42 {");
+        try {
+            parser.initializeToken();
+            parser.nextToken();
+            assertEquals(Token.Type.TT_NAME, parser.getToken().type);
+            assertEquals("AB", parser.getToken().getValue());
+            parser.nextToken();
+            assertEquals(Token.Type.TT_STARTPROC, parser.getToken().type);
+        } finally {
+            parser.closeInputStream();
+        }
+    }
+}
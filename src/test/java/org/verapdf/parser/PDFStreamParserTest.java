@@ -0,0 +1,127 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.parser;
+
+import org.junit.Test;
+import org.verapdf.as.io.ASMemoryInStream;
+import org.verapdf.cos.COSBase;
+import org.verapdf.cos.COSStream;
+import org.verapdf.operator.InlineImageOperator;
+import org.verapdf.operator.Operator;
+import org.verapdf.pd.PDPageContentStream;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PDFStreamParserTest {
+
+    @Test
+    public void resetTest() throws IOException {
+        try (PDFStreamParser parser = new PDFStreamParser(stream("1 0 0 RG (text) Tj"))) {
+            parser.parseTokens();
+            assertEquals(6, parser.getTokens().size());
+
+            parser.reset(stream("/F1 12 Tf 0.5 w"));
+            parser.parseTokens();
+            List<Object> tokens = parser.getTokens();
+            assertEquals(5, tokens.size());
+            assertEquals("Tf", ((Operator) tokens.get(2)).getOperator());
+            assertEquals(0.5, ((COSBase) tokens.get(3)).getReal(), 0);
+            assertEquals("w", ((Operator) tokens.get(4)).getOperator());
+        }
+    }
+
+    @Test
+    public void pooledStateTest() throws IOException {
+        PDFStreamParser first = new PDFStreamParser(stream("(first) Tj"));
+        Token firstToken = first.getBaseParser().getToken();
+        first.close();
+        try (PDFStreamParser second = new PDFStreamParser(stream("<4142> Tj"))) {
+            // token of closed parser is reused and does not keep previous state
+            assertTrue(firstToken == second.getBaseParser().getToken());
+            second.parseTokens();
+            assertEquals(2, second.getTokens().size());
+            assertEquals("AB", ((COSBase) second.getTokens().get(0)).getString());
+        }
+    }
+
+    @Test
+    public void streamingTest() throws IOException {
+        String content = "q 1 0 0 1 0 0 cm BI /W 1 /H 1 /BPC 8 /CS /G ID x EI [(a) 2 (b)] TJ Q 5";
+        List<Object> tokens;
+        try (PDFStreamParser parser = new PDFStreamParser(stream(content))) {
+            parser.parseTokens();
+            tokens = new ArrayList<>(parser.getTokens());
+        }
+        final List<Object> streamed = new ArrayList<>();
+        try (PDFStreamParser parser = new PDFStreamParser(stream(content))) {
+            assertTrue(parser.parse(new ContentStreamHandler() {
+                @Override
+                public boolean handleOperation(Operator operator, List<COSBase> operands) {
+                    streamed.addAll(operands);
+                    streamed.add(operator);
+                    if (operator instanceof InlineImageOperator) {
+                        assertNotNull(((InlineImageOperator) operator).getImageData());
+                    }
+                    return true;
+                }
+            }));
+            assertTrue(parser.getTokens().isEmpty());
+            assertTrue(parser.getImageDataStreams().isEmpty());
+        }
+        // trailing operand without operator is not reported
+        assertEquals(tokens.size() - 1, streamed.size());
+        for (int i = 0; i < streamed.size(); ++i) {
+            Object expected = tokens.get(i);
+            if (expected instanceof Operator) {
+                assertEquals(((Operator) expected).getOperator(), ((Operator) streamed.get(i)).getOperator());
+            } else {
+                assertEquals(expected.toString(), streamed.get(i).toString());
+            }
+        }
+    }
+
+    @Test
+    public void earlyTerminationTest() throws IOException {
+        PDPageContentStream content = new PDPageContentStream(
+                COSStream.construct("0 0 m 10 10 l S 1 w 20 20 l S"));
+        final List<String> operators = new ArrayList<>();
+        assertFalse(PDFStreamParser.parse(content, new ContentStreamHandler() {
+            @Override
+            public boolean handleOperation(Operator operator, List<COSBase> operands) {
+                operators.add(operator.getOperator() + operands.size());
+                return !"S".equals(operator.getOperator());
+            }
+        }));
+        assertEquals(3, operators.size());
+        assertEquals("m2", operators.get(0));
+        assertEquals("l2", operators.get(1));
+        assertEquals("S0", operators.get(2));
+    }
+
+    private static ASMemoryInStream stream(String data) {
+        return new ASMemoryInStream(data.getBytes(StandardCharsets.ISO_8859_1));
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.parser;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ParserScratchPoolTest {
+
+    @Test
+    public void shouldReuseResetToken() {
+        Token token = ParserScratchPool.borrowToken();
+        token.type = Token.Type.TT_INTEGER;
+        token.integer = 5;
+        token.append('1');
+        ParserScratchPool.returnToken(token);
+        Token borrowed = ParserScratchPool.borrowToken();
+        try {
+            assertSame(token, borrowed);
+            assertNull(borrowed.type);
+            assertEquals(0, borrowed.integer);
+            assertEquals(0, borrowed.getSize());
+        } finally {
+            ParserScratchPool.returnToken(borrowed);
+        }
+    }
+
+    @Test
+    public void shouldDropTokenWithLargeBuffer() {
+        Token token = ParserScratchPool.borrowToken();
+        for (int i = 0; i <= ParserScratchPool.MAX_POOLED_TOKEN_CAPACITY; ++i) {
+            token.append('a');
+        }
+        ParserScratchPool.returnToken(token);
+        Token borrowed = ParserScratchPool.borrowToken();
+        try {
+            assertNotSame(token, borrowed);
+        } finally {
+            ParserScratchPool.returnToken(borrowed);
+        }
+    }
+}
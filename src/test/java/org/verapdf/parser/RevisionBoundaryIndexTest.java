@@ -0,0 +1,86 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.parser;
+
+import org.junit.Test;
+import org.verapdf.as.io.ASMemoryInStream;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RevisionBoundaryIndexTest {
+
+    private static final String FIRST_REVISION = "%PDF-1.7\n1 0 obj\n<<>>\nendobj\nstartxref\n9\n%%EOF\r\n";
+    private static final String STREAM_OBJECT = "2 0 obj\n<</Length 7>>\nstream\n\n%%EOF\nendstream\nendobj\n";
+    private static final String SECOND_REVISION = "startxref\n60\n%%EOF\n";
+
+    private static RevisionBoundaryIndex createIndex(String data) throws IOException {
+        return new RevisionBoundaryIndex(new ASMemoryInStream(data.getBytes(StandardCharsets.ISO_8859_1)));
+    }
+
+    @Test
+    public void shouldFindEOFWithTrailingEOL() throws IOException {
+        RevisionBoundaryIndex index = createIndex(FIRST_REVISION + SECOND_REVISION);
+        assertEquals(2, index.getEOFCount());
+        int eof = index.getEOFIndex(0);
+        assertEquals(0, eof);
+        assertEquals(FIRST_REVISION.length() - 7, index.getEOFOffset(eof));
+        assertEquals(2, index.getEOLLength(eof));
+        assertFalse(index.isFileEnd(eof));
+    }
+
+    @Test
+    public void shouldSkipEOFInsideStream() throws IOException {
+        String data = FIRST_REVISION + STREAM_OBJECT + SECOND_REVISION;
+        RevisionBoundaryIndex index = createIndex(data);
+        assertEquals(3, index.getEOFCount());
+        int eof = index.getEOFIndex(FIRST_REVISION.length());
+        assertEquals(2, eof);
+        assertEquals(data.length() - 6, index.getEOFOffset(eof));
+        assertEquals(1, index.getEOLLength(eof));
+        assertTrue(index.isFileEnd(eof));
+    }
+
+    @Test
+    public void shouldIgnoreEOFNotAtLineStart() throws IOException {
+        RevisionBoundaryIndex index = createIndex("%PDF-1.7\n(%%EOF)\nstartxref\n9\n%%EOF\n");
+        assertEquals(1, index.getEOFCount());
+        assertEquals(1, index.getEOLLength(index.getEOFIndex(0)));
+    }
+
+    @Test
+    public void shouldNotFindEOFAfterLastRevision() throws IOException {
+        String data = FIRST_REVISION + "3 0 obj\n<<>>\nendobj\n";
+        RevisionBoundaryIndex index = createIndex(data);
+        assertEquals(-1, index.getEOFIndex(FIRST_REVISION.length()));
+        assertEquals(data.length(), index.getStreamLength());
+    }
+
+    @Test
+    public void shouldNotFindEOFInUnterminatedStream() throws IOException {
+        RevisionBoundaryIndex index = createIndex("%PDF-1.7\nstream\n%%EOF\nendobj\n");
+        assertEquals(-1, index.getEOFIndex(0));
+    }
+}
@@ -0,0 +1,268 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pd;
+
+import org.junit.Test;
+import org.verapdf.as.ASAtom;
+import org.verapdf.cos.COSDictionary;
+import org.verapdf.cos.COSDocument;
+import org.verapdf.cos.COSKey;
+import org.verapdf.cos.COSObject;
+import org.verapdf.cos.COSTrailer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LinearizedDocumentTest {
+
+    private static final int PAGES = 3;
+    private static final int MAIN_SECTION_SIZE = 2 * PAGES;
+    private static final int FIRST_PAGE_OBJECT = MAIN_SECTION_SIZE + 3;
+    private static final String FIRST_PAGE_CONTENTS = "(page 1) Tj";
+    private static final String PROC_SET = "Text";
+
+    @Test
+    public void firstPageWithDeferredXRef() throws IOException {
+        File file = writeLinearizedDocument();
+        PDDocument document = new PDDocument(file.getAbsolutePath(), true);
+        try {
+            COSDocument cosDocument = document.getDocument();
+            assertTrue(cosDocument.isXRefDeferred());
+            assertEquals(PAGES, document.getNumberOfPages());
+            PDPage page = document.getPage(0);
+            assertEquals(FIRST_PAGE_OBJECT, page.getObject().getObjectKey().getNumber());
+            assertEquals(Long.valueOf(FIRST_PAGE_CONTENTS.length()), page.getContent().getContents().getIntegerKey(ASAtom.LENGTH));
+            assertTrue(cosDocument.isXRefDeferred());
+        } finally {
+            document.close();
+            file.delete();
+        }
+    }
+
+    @Test
+    public void deferredXRefIsLoadedOnDemand() throws IOException {
+        File file = writeLinearizedDocument();
+        PDDocument document = new PDDocument(file.getAbsolutePath(), true);
+        try {
+            COSDocument cosDocument = document.getDocument();
+            assertEquals(PAGES, document.getPages().size());
+            assertEquals(2, cosDocument.getStartXRefs().size());
+            // all objects but the free one of main section and five objects of first-page section
+            assertEquals(MAIN_SECTION_SIZE - 1 + 5, cosDocument.getObjects().size());
+            assertFalse(cosDocument.isXRefDeferred());
+            assertEquals(FIRST_PAGE_OBJECT, document.getPage(0).getObject().getObjectKey().getNumber());
+        } finally {
+            document.close();
+            file.delete();
+        }
+    }
+
+    @Test
+    public void firstPageInheritsResourcesOfPageTreeRoot() throws IOException {
+        File file = writeLinearizedDocument();
+        PDDocument document = new PDDocument(file.getAbsolutePath(), true);
+        try {
+            COSDocument cosDocument = document.getDocument();
+            PDPage page = document.getPage(0);
+            assertSame(page, document.getPage(0));
+            assertTrue(page.isInheritedResources());
+            PDResources resources = page.getResources();
+            assertNotNull(resources);
+            assertEquals(PROC_SET, resources.getObject().getKey(ASAtom.PROC_SET).at(0).getName().getValue());
+            // page tree root is outside of first-page section, so the whole chain has been read
+            assertFalse(cosDocument.isXRefDeferred());
+            assertSame(page, document.getPage(0));
+            assertSame(page, document.getPages().get(0));
+            assertSame(resources, page.getResources());
+        } finally {
+            document.close();
+            file.delete();
+        }
+    }
+
+    @Test
+    public void trailerChangesAreKeptAfterDeferredXRefIsLoaded() throws IOException {
+        File file = writeLinearizedDocument();
+        PDDocument document = new PDDocument(file.getAbsolutePath(), true);
+        try {
+            COSDocument cosDocument = document.getDocument();
+            COSTrailer trailer = cosDocument.getTrailer();
+            COSObject info = COSDictionary.construct();
+            trailer.setKey(ASAtom.INFO, info);
+            assertNotNull(cosDocument.getObject(new COSKey(1, 0)));
+            assertFalse(cosDocument.isXRefDeferred());
+            assertSame(trailer, cosDocument.getTrailer());
+            assertSame(info, trailer.getKey(ASAtom.INFO));
+            assertEquals(MAIN_SECTION_SIZE + 1, trailer.getRoot().getObjectKey().getNumber());
+            assertEquals(PAGES, document.getNumberOfPages());
+        } finally {
+            document.close();
+            file.delete();
+        }
+    }
+
+    @Test
+    public void linearizedDocumentWithoutDeferredXRef() throws IOException {
+        File file = writeLinearizedDocument();
+        PDDocument document = new PDDocument(file.getAbsolutePath());
+        try {
+            COSDocument cosDocument = document.getDocument();
+            assertTrue(cosDocument.isLinearized());
+            assertFalse(cosDocument.isXRefDeferred());
+            assertEquals(PAGES, document.getNumberOfPages());
+            assertEquals(FIRST_PAGE_OBJECT, document.getPage(0).getObject().getObjectKey().getNumber());
+        } finally {
+            document.close();
+            file.delete();
+        }
+    }
+
+    @Test
+    public void notLinearizedDocumentWithDeferredXRef() throws IOException {
+        PDDocument document = new PDDocument("src/test/resources/org/verapdf/cos/filters/validDocument.pdf", true);
+        try {
+            assertFalse(document.getDocument().isXRefDeferred());
+            assertTrue(document.getNumberOfPages() > 0);
+        } finally {
+            document.close();
+        }
+    }
+
+    /**
+     * Writes linearized document: objects 1 to MAIN_SECTION_SIZE - 1 (page tree
+     * root and all pages but the first one) are covered by main xref table,
+     * the linearization dictionary, catalog, hint stream, first page and its
+     * contents are covered by first-page xref table. Pages inherit resources
+     * of page tree root.
+     */
+    private static File writeLinearizedDocument() throws IOException {
+        long[] layout = new long[5];
+        // offsets are written with fixed width, so the second pass keeps the layout of the first one
+        buildLinearizedDocument(layout);
+        String data = buildLinearizedDocument(layout);
+        File file = File.createTempFile("linearized", ".pdf");
+        Files.write(file.toPath(), data.getBytes(StandardCharsets.ISO_8859_1));
+        return file;
+    }
+
+    /**
+     * @param layout file length, hint stream offset, hint stream length, end of
+     *               first page and main xref offset from previous pass, updated
+     *               with actual values.
+     */
+    private static String buildLinearizedDocument(long[] layout) {
+        int linDict = MAIN_SECTION_SIZE;
+        StringBuilder kids = new StringBuilder().append(FIRST_PAGE_OBJECT).append(" 0 R");
+        for (int i = 2; i < MAIN_SECTION_SIZE; i += 2) {
+            kids.append(' ').append(i).append(" 0 R");
+        }
+
+        List<String> firstPageObjects = new ArrayList<>();
+        firstPageObjects.add("<</Type /Catalog /Pages 1 0 R>>");
+        firstPageObjects.add("<</S 36 /Length 60>>\nstream\n" + repeat('\0', 60) + "\nendstream");
+        firstPageObjects.add(page(FIRST_PAGE_OBJECT + 1));
+        firstPageObjects.add(contents(FIRST_PAGE_CONTENTS));
+
+        List<String> mainObjects = new ArrayList<>();
+        mainObjects.add("<</Type /Pages /Kids [" + kids + "] /Count " + PAGES + " /Resources <</ProcSet [/" + PROC_SET + "]>>>>");
+        for (int i = 2; i <= PAGES; i++) {
+            mainObjects.add(page(2 * i - 1));
+            mainObjects.add(contents("(page " + i + ") Tj"));
+        }
+
+        StringBuilder out = new StringBuilder("%PDF-1.7\n%\u00e2\u00e3\u00cf\u00d3\n");
+        int linDictOffset = out.length();
+        out.append(linDict).append(" 0 obj\n<</Linearized 1 /L ").append(pad(layout[0]))
+                .append(" /H [").append(pad(layout[1])).append(' ').append(pad(layout[2]))
+                .append("] /O ").append(FIRST_PAGE_OBJECT).append(" /E ").append(pad(layout[3]))
+                .append(" /N ").append(PAGES).append(" /T ").append(pad(layout[4])).append(">>\nendobj\n");
+
+        int firstPageXRef = out.length();
+        long[] offsets = new long[firstPageObjects.size()];
+        StringBuilder body = new StringBuilder();
+        StringBuilder xref = new StringBuilder("xref\n").append(linDict).append(' ')
+                .append(firstPageObjects.size() + 1).append('\n');
+        String trailer = "trailer\n<</Size " + (linDict + firstPageObjects.size() + 1) + " /Root " + (linDict + 1) +
+                " 0 R /Prev " + pad(layout[4]) + ">>\nstartxref\n0\n%%EOF\n";
+        int bodyStart = firstPageXRef + xref.length() + 20 * (firstPageObjects.size() + 1) + trailer.length();
+        for (int i = 0; i < firstPageObjects.size(); i++) {
+            offsets[i] = bodyStart + body.length();
+            if (i == 1) {
+                layout[1] = offsets[i];
+            }
+            body.append(linDict + i + 1).append(" 0 obj\n").append(firstPageObjects.get(i)).append("\nendobj\n");
+            if (i == 1) {
+                layout[2] = bodyStart + body.length() - layout[1];
+            }
+        }
+        xref.append(entry(linDictOffset));
+        for (long offset : offsets) {
+            xref.append(entry(offset));
+        }
+        out.append(xref).append(trailer).append(body);
+        layout[3] = out.length();
+
+        long[] mainOffsets = new long[mainObjects.size()];
+        for (int i = 0; i < mainObjects.size(); i++) {
+            mainOffsets[i] = out.length();
+            out.append(i + 1).append(" 0 obj\n").append(mainObjects.get(i)).append("\nendobj\n");
+        }
+        layout[4] = out.length();
+        out.append("xref\n0 ").append(MAIN_SECTION_SIZE).append("\n0000000000 65535 f \n");
+        for (long offset : mainOffsets) {
+            out.append(entry(offset));
+        }
+        out.append("trailer\n<</Size ").append(MAIN_SECTION_SIZE).append(">>\nstartxref\n")
+                .append(firstPageXRef).append("\n%%EOF\n");
+        layout[0] = out.length();
+        return out.toString();
+    }
+
+    private static String page(int contents) {
+        return "<</Type /Page /Parent 1 0 R /MediaBox [0 0 612 792] /Contents " + contents + " 0 R>>";
+    }
+
+    private static String contents(String operators) {
+        return "<</Length " + operators.length() + ">>\nstream\n" + operators + "\nendstream";
+    }
+
+    private static String entry(long offset) {
+        return String.format("%010d 00000 n \n", offset);
+    }
+
+    private static String pad(long value) {
+        return String.format("%010d", value);
+    }
+
+    private static String repeat(char c, int count) {
+        StringBuilder builder = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+}
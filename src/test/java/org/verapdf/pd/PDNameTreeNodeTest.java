@@ -0,0 +1,134 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pd;
+
+import org.junit.Test;
+import org.verapdf.as.ASAtom;
+import org.verapdf.cos.COSArray;
+import org.verapdf.cos.COSDictionary;
+import org.verapdf.cos.COSInteger;
+import org.verapdf.cos.COSObject;
+import org.verapdf.cos.COSString;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PDNameTreeNodeTest {
+
+    private static final int KIDS = 50;
+    private static final int NAMES_PER_KID = 20;
+
+    @Test
+    public void lookupsInOrderedTree() {
+        PDNameTreeNode tree = PDNameTreeNode.create(createTree(true));
+        checkLookups(tree);
+        assertFalse(tree.isIndexed());
+    }
+
+    @Test
+    public void lookupsInUnorderedTree() {
+        PDNameTreeNode tree = PDNameTreeNode.create(createTree(false));
+        checkLookups(tree);
+    }
+
+    @Test
+    public void indexGivesSameResults() {
+        PDNameTreeNode tree = PDNameTreeNode.create(createTree(true));
+        PDNameTreeNode indexed = PDNameTreeNode.create(createTree(true));
+        indexed.buildIndex();
+        assertTrue(indexed.isIndexed());
+        checkLookups(indexed);
+        for (int i = -1; i <= KIDS * NAMES_PER_KID; ++i) {
+            assertEquals(String.valueOf(tree.getObject(name(i))), String.valueOf(indexed.getObject(name(i))));
+        }
+    }
+
+    @Test
+    public void sizeAndIterationBuildIndex() {
+        PDNameTreeNode tree = PDNameTreeNode.create(createTree(true));
+        assertEquals(Long.valueOf(KIDS * NAMES_PER_KID), tree.size());
+        assertTrue(tree.isIndexed());
+        long expected = 0;
+        for (COSObject value : tree) {
+            assertEquals(Long.valueOf(expected++), value.getInteger());
+        }
+        assertTrue(tree.containsValue(COSInteger.construct(KIDS * NAMES_PER_KID - 1)));
+        assertFalse(tree.containsValue(COSInteger.construct(KIDS * NAMES_PER_KID)));
+    }
+
+    @Test
+    public void nameOutsideOfLimitsIsNotFound() {
+        COSObject root = createTree(true);
+        // the first kid claims only its first name
+        COSObject firstKid = root.getKey(ASAtom.KIDS).at(0);
+        firstKid.setKey(ASAtom.LIMITS, limits(name(0), name(0)));
+        PDNameTreeNode tree = PDNameTreeNode.create(root);
+        assertNotNull(tree.getObject(name(0)));
+        assertNull(tree.getObject(name(1)));
+        tree.buildIndex();
+        assertNotNull(tree.getObject(name(0)));
+        assertNull(tree.getObject(name(1)));
+        assertEquals(Long.valueOf(KIDS * NAMES_PER_KID), tree.size());
+    }
+
+    private static void checkLookups(PDNameTreeNode tree) {
+        for (int i = 0; i < KIDS * NAMES_PER_KID; ++i) {
+            assertEquals(Long.valueOf(i), tree.getObject(name(i)).getInteger());
+        }
+        assertNull(tree.getObject(name(-1)));
+        assertNull(tree.getObject(name(KIDS * NAMES_PER_KID)));
+        assertFalse(tree.containsKey("missing"));
+    }
+
+    /**
+     * Creates tree with kids that have /Limits. In unordered tree the kids are
+     * listed in reverse order, so binary search can't be used.
+     */
+    private static COSObject createTree(boolean ordered) {
+        List<COSObject> kids = new ArrayList<>();
+        for (int kid = 0; kid < KIDS; ++kid) {
+            List<COSObject> names = new ArrayList<>();
+            for (int i = kid * NAMES_PER_KID; i < (kid + 1) * NAMES_PER_KID; ++i) {
+                names.add(string(name(i)));
+                names.add(COSInteger.construct(i));
+            }
+            COSObject node = COSDictionary.construct(ASAtom.NAMES, COSArray.construct(names));
+            node.setKey(ASAtom.LIMITS, limits(name(kid * NAMES_PER_KID), name((kid + 1) * NAMES_PER_KID - 1)));
+            kids.add(ordered ? kids.size() : 0, node);
+        }
+        return COSDictionary.construct(ASAtom.KIDS, COSArray.construct(kids));
+    }
+
+    private static COSObject limits(String low, String high) {
+        return COSArray.construct(2, new COSObject[]{string(low), string(high)});
+    }
+
+    private static COSObject string(String value) {
+        return COSString.construct(value.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static String name(int i) {
+        return String.format("name%06d", i);
+    }
+}
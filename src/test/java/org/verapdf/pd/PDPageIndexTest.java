@@ -0,0 +1,245 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pd;
+
+import org.junit.Test;
+import org.verapdf.as.ASAtom;
+import org.verapdf.cos.COSArray;
+import org.verapdf.cos.COSDictionary;
+import org.verapdf.cos.COSInteger;
+import org.verapdf.cos.COSName;
+import org.verapdf.cos.COSObject;
+import org.verapdf.exceptions.LoopedException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class PDPageIndexTest {
+
+    private static final ASAtom NUMBER = ASAtom.getASAtom("Number");
+    private static final double[] ROOT_MEDIA_BOX = {0, 0, 612, 792};
+    private static final double[] BRANCH_MEDIA_BOX = {0, 0, 595, 842};
+    private static final double[] PAGE_MEDIA_BOX = {0, 0, 100, 100};
+    private static final double[] BRANCH_CROP_BOX = {10, 10, 500, 700};
+
+    /**
+     * Objects of document with the same page tree as {@link #createPageTree()}
+     * made of indirect objects.
+     */
+    private static final String[] DOCUMENT_OBJECTS = {
+            "<</Type /Catalog /Pages 2 0 R>>",
+            "<</Type /Pages /Kids [3 0 R 6 0 R 7 0 R] /Count 5 /Resources 11 0 R /MediaBox [0 0 612 792] " +
+            "/Rotate 90>>",
+            "<</Type /Pages /Parent 2 0 R /Kids [4 0 R 5 0 R] /Count 2 /MediaBox [0 0 595 842]>>",
+            "<</Type /Page /Parent 3 0 R /Number 1>>",
+            "<</Type /Page /Parent 3 0 R /Number 2 /Rotate 0 /Resources <</Number 2>>>>",
+            "<</Type /Page /Parent 2 0 R /Number 3 /MediaBox [0 0 100 100]>>",
+            "<</Type /Pages /Parent 2 0 R /Kids [8 0 R 9 0 R] /Count 2 /CropBox [10 10 500 700]>>",
+            "<</Type /Page /Parent 7 0 R /Number 4>>",
+            "<</Type /Pages /Parent 7 0 R /Kids [10 0 R] /Count 1>>",
+            "<</Type /Page /Parent 9 0 R /Number 5>>",
+            "<</Number 1>>"};
+
+    @Test
+    public void indexMatchesPageTree() throws IOException {
+        File file = writeDocument();
+        PDDocument document = new PDDocument(file.getAbsolutePath());
+        try {
+            PDPageTree pageTree = document.getCatalog().getPageTree();
+            PDPageIndex index = pageTree.getPageIndex();
+            PDPageTreeBranch treeRoot = pageTree.getRoot();
+            assertEquals(5, index.size());
+            assertEquals(treeRoot.getLeafCount(), index.size());
+            for (int i = 0; i < index.size(); i++) {
+                PDPage indexed = index.getPage(i);
+                PDPage page = treeRoot.findTerminalPDPage(i);
+                assertSame(page, indexed);
+                assertEquals(indexed.getObject().getKey(ASAtom.PARENT).getObjectKey(),
+                             indexed.getParent().getObject().getObjectKey());
+                assertArrayEquals(page.getMediaBox(), indexed.getMediaBox(), 0);
+                assertArrayEquals(page.getCropBox(), indexed.getCropBox(), 0);
+                assertEquals(page.getRotation(), indexed.getRotation());
+                assertEquals(page.isInheritedResources(), indexed.isInheritedResources());
+                assertEquals(page.getResources().getObject().getIntegerKey(NUMBER),
+                             indexed.getResources().getObject().getIntegerKey(NUMBER));
+            }
+        } finally {
+            document.close();
+            file.delete();
+        }
+    }
+
+    @Test
+    public void attributesAreInheritedFromNearestNode() {
+        PDPageIndex index = new PDPageIndex(createPageTree());
+        assertArrayEquals(BRANCH_MEDIA_BOX, index.getPage(0).getMediaBox(), 0);
+        assertEquals(Long.valueOf(90), index.getPage(0).getRotation());
+        assertEquals(Long.valueOf(0), index.getPage(1).getRotation());
+        assertArrayEquals(PAGE_MEDIA_BOX, index.getPage(2).getMediaBox(), 0);
+        assertArrayEquals(ROOT_MEDIA_BOX, index.getPage(3).getMediaBox(), 0);
+        assertArrayEquals(BRANCH_CROP_BOX, index.getPage(4).getCropBox(), 0);
+        assertEquals(Long.valueOf(1), index.getPage(4).getResources().getObject()
+                                           .getIntegerKey(NUMBER));
+    }
+
+    @Test
+    public void pagesAreCreatedOnce() {
+        PDPageIndex index = new PDPageIndex(createPageTree());
+        PDPage page = index.getPage(2);
+        assertSame(page, index.getPage(2));
+        int number = 0;
+        for (PDPage iterated : index.getPages()) {
+            if (number == 2) {
+                assertSame(page, iterated);
+            }
+            number++;
+        }
+        assertEquals(index.size(), number);
+    }
+
+    @Test
+    public void parentBranchesAreBuiltFromIndex() {
+        COSObject root = createPageTree();
+        PDPageIndex index = new PDPageIndex(root);
+        PDPage page = index.getPage(4);
+        PDPageTreeBranch nested = page.getParent();
+        assertSame(page.getObject().getKey(ASAtom.PARENT).getDirectBase(), nested.getObject().getDirectBase());
+        assertEquals(1, nested.getChildCount());
+        assertSame(page, nested.getChild(0));
+        PDPageTreeBranch croppedBranch = nested.getParent();
+        assertEquals(2, croppedBranch.getChildCount());
+        assertSame(index.getPage(3), croppedBranch.getChild(0));
+        assertSame(nested, croppedBranch.getChild(1));
+        PDPageTreeBranch rootBranch = croppedBranch.getParent();
+        assertSame(root.getDirectBase(), rootBranch.getObject().getDirectBase());
+        assertNull(rootBranch.getParent());
+        assertEquals(5, rootBranch.getLeafCount());
+        for (int i = 0; i < index.size(); i++) {
+            assertSame(index.getPage(i), rootBranch.findTerminalPDPage(i));
+        }
+        assertSame(rootBranch, index.getPage(2).getParent());
+    }
+
+    @Test(expected = LoopedException.class)
+    public void loopInPageTree() {
+        COSObject root = createPageTree();
+        COSObject branch = root.getKey(ASAtom.KIDS).at(0);
+        branch.getKey(ASAtom.KIDS).add(root);
+        new PDPageIndex(root);
+    }
+
+    @Test(expected = LoopedException.class)
+    public void loopInPageTreeIsReportedOnOpen() throws IOException {
+        String[] objects = DOCUMENT_OBJECTS.clone();
+        objects[2] = "<</Type /Pages /Parent 2 0 R /Kids [4 0 R 2 0 R] /Count 2>>";
+        File file = writeDocument(objects);
+        try {
+            new PDDocument(file.getAbsolutePath()).close();
+        } finally {
+            file.delete();
+        }
+    }
+
+    private static File writeDocument() throws IOException {
+        return writeDocument(DOCUMENT_OBJECTS);
+    }
+
+    private static File writeDocument(String[] objects) throws IOException {
+        StringBuilder out = new StringBuilder("%PDF-1.7\n");
+        int[] offsets = new int[objects.length];
+        for (int i = 0; i < objects.length; i++) {
+            offsets[i] = out.length();
+            out.append(i + 1).append(" 0 obj\n").append(objects[i]).append("\nendobj\n");
+        }
+        int xref = out.length();
+        out.append("xref\n0 ").append(objects.length + 1).append("\n0000000000 65535 f \n");
+        for (int offset : offsets) {
+            out.append(String.format("%010d 00000 n \n", offset));
+        }
+        out.append("trailer\n<</Size ").append(objects.length + 1).append(" /Root 1 0 R>>\nstartxref\n")
+           .append(xref).append("\n%%EOF\n");
+        File file = File.createTempFile("pages", ".pdf");
+        Files.write(file.toPath(), out.toString().getBytes(StandardCharsets.ISO_8859_1));
+        return file;
+    }
+
+    /**
+     * Creates page tree with five pages that inherit attributes from nodes of
+     * different levels. Pages and resource dictionaries are numbered by
+     * /Number entry.
+     */
+    private static COSObject createPageTree() {
+        COSObject page1 = page(1);
+        COSObject page2 = page(2);
+        page2.setKey(ASAtom.ROTATE, COSInteger.construct(0));
+        page2.setKey(ASAtom.RESOURCES, numbered(2));
+        COSObject branch = pages(page1, page2);
+        branch.setKey(ASAtom.MEDIA_BOX, box(BRANCH_MEDIA_BOX));
+
+        COSObject page3 = page(3);
+        page3.setKey(ASAtom.MEDIA_BOX, box(PAGE_MEDIA_BOX));
+
+        COSObject nested = pages(page(5));
+        COSObject croppedBranch = pages(page(4), nested);
+        croppedBranch.setKey(ASAtom.CROP_BOX, box(BRANCH_CROP_BOX));
+
+        COSObject root = pages(branch, page3, croppedBranch);
+        root.setKey(ASAtom.RESOURCES, numbered(1));
+        root.setKey(ASAtom.MEDIA_BOX, box(ROOT_MEDIA_BOX));
+        root.setKey(ASAtom.ROTATE, COSInteger.construct(90));
+        root.setKey(ASAtom.COUNT, COSInteger.construct(5));
+        return root;
+    }
+
+    private static COSObject pages(COSObject... kids) {
+        COSObject node = COSDictionary.construct(ASAtom.TYPE, ASAtom.PAGES);
+        node.setKey(ASAtom.KIDS, COSArray.construct(Arrays.asList(kids)));
+        int count = 0;
+        for (COSObject kid : kids) {
+            Long kidCount = kid.getIntegerKey(ASAtom.COUNT);
+            count += kidCount != null ? kidCount.intValue() : 1;
+        }
+        node.setKey(ASAtom.COUNT, COSInteger.construct(count));
+        for (COSObject kid : kids) {
+            kid.setKey(ASAtom.PARENT, node);
+        }
+        return node;
+    }
+
+    private static COSObject page(int number) {
+        COSObject page = numbered(number);
+        page.setKey(ASAtom.TYPE, COSName.construct(ASAtom.PAGE));
+        return page;
+    }
+
+    private static COSObject numbered(int number) {
+        return COSDictionary.construct(NUMBER, number);
+    }
+
+    private static COSObject box(double[] values) {
+        return COSArray.construct(values.length, values);
+    }
+}
@@ -0,0 +1,192 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pd;
+
+import org.junit.Test;
+import org.verapdf.as.ASAtom;
+import org.verapdf.cos.COSDictionary;
+import org.verapdf.cos.COSKey;
+import org.verapdf.pd.colors.PDColorSpace;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class PDResourceRegistryTest {
+
+    private static final int PAGES = 5;
+    private static final ASAtom GS0 = ASAtom.getASAtom("GS0");
+    private static final ASAtom CS0 = ASAtom.getASAtom("CS0");
+
+    @Test
+    public void resourceIsConstructedOnce() {
+        PDResourceRegistry registry = new PDResourceRegistry();
+        AtomicInteger constructed = new AtomicInteger();
+        Object first = registry.getResource(ASAtom.FONT, new COSKey(1), null, false, () -> {
+            constructed.incrementAndGet();
+            return new Object();
+        });
+        Object second = registry.getResource(ASAtom.FONT, new COSKey(1), null, false, Object::new);
+        assertSame(first, second);
+        assertEquals(1, constructed.get());
+        assertEquals(1, registry.size());
+        assertEquals(2, registry.getRequestsCount());
+        assertEquals(1, registry.getHitsCount());
+        assertEquals(0.5, registry.getHitRate(), 0);
+    }
+
+    @Test
+    public void resourcesAreSeparatedByTypeAndScope() {
+        PDResourceRegistry registry = new PDResourceRegistry();
+        Object font = registry.getResource(ASAtom.FONT, new COSKey(1), null, false, Object::new);
+        Object xObject = registry.getResource(ASAtom.XOBJECT, new COSKey(1), null, false, Object::new);
+        Object scoped = registry.getResource(ASAtom.XOBJECT, new COSKey(1), COSDictionary.construct().get(),
+                                             false, Object::new);
+        Object otherScope = registry.getResource(ASAtom.XOBJECT, new COSKey(1), COSDictionary.construct().get(),
+                                                 false, Object::new);
+        assertNotSame(font, xObject);
+        assertNotSame(xObject, scoped);
+        assertNotSame(scoped, otherScope);
+        assertEquals(4, registry.size());
+        assertEquals(0, registry.getHitsCount());
+    }
+
+    @Test
+    public void missingResourceIsRegistered() {
+        PDResourceRegistry registry = new PDResourceRegistry();
+        AtomicInteger constructed = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            assertNull(registry.getResource(ASAtom.FONT, new COSKey(1), null, false, () -> {
+                constructed.incrementAndGet();
+                return null;
+            }));
+        }
+        assertEquals(1, constructed.get());
+        assertEquals(2, registry.getHitsCount());
+    }
+
+    @Test
+    public void concurrentRequestsGetSameResource() throws InterruptedException {
+        PDResourceRegistry registry = new PDResourceRegistry();
+        int threads = 8;
+        int requests = 1000;
+        Set<Object> results = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int j = 0; j < requests; j++) {
+                    results.add(registry.getResource(ASAtom.FONT, new COSKey(j % 10), null, false, Object::new));
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        assertEquals(10, results.size());
+        assertEquals(10, registry.size());
+        assertEquals(threads * requests, registry.getRequestsCount());
+    }
+
+    @Test
+    public void pagesShareIndirectResources() throws IOException {
+        File file = writeDocument();
+        PDDocument document = new PDDocument(file.getAbsolutePath());
+        try {
+            PDExtGState extGState = null;
+            PDColorSpace colorSpace = null;
+            for (PDPage page : document.getPages()) {
+                PDResources resources = page.getResources();
+                if (extGState == null) {
+                    extGState = resources.getExtGState(GS0);
+                    colorSpace = resources.getColorSpace(CS0);
+                    assertNotNull(extGState);
+                    assertNotNull(colorSpace);
+                } else {
+                    assertSame(extGState, resources.getExtGState(GS0));
+                    assertSame(colorSpace, resources.getColorSpace(CS0));
+                }
+            }
+            PDResourceRegistry registry = document.getResourceRegistry();
+            assertEquals(2, registry.size());
+            assertEquals(2L * PAGES, registry.getRequestsCount());
+            assertEquals(2L * (PAGES - 1), registry.getHitsCount());
+        } finally {
+            document.close();
+            file.delete();
+        }
+        assertEquals(0, document.getResourceRegistry().size());
+        assertEquals(0, document.getResourceRegistry().getRequestsCount());
+    }
+
+    /**
+     * Writes document which pages have own resource dictionaries referring
+     * to the same indirect ExtGState and color space.
+     */
+    private static File writeDocument() throws IOException {
+        List<String> objects = new ArrayList<>();
+        StringBuilder kids = new StringBuilder();
+        for (int i = 0; i < PAGES; i++) {
+            kids.append(5 + i).append(" 0 R ");
+        }
+        objects.add("<</Type /Catalog /Pages 2 0 R>>");
+        objects.add("<</Type /Pages /Kids [" + kids + "] /Count " + PAGES + ">>");
+        objects.add("<</Type /ExtGState /LW 2>>");
+        objects.add("[/CalGray <</WhitePoint [0.9505 1 1.089]>>]");
+        for (int i = 0; i < PAGES; i++) {
+            objects.add("<</Type /Page /Parent 2 0 R /MediaBox [0 0 612 792] " +
+                        "/Resources <</ExtGState <</GS0 3 0 R>> /ColorSpace <</CS0 4 0 R>>>>>>");
+        }
+        StringBuilder out = new StringBuilder("%PDF-1.7\n");
+        List<Integer> offsets = new ArrayList<>();
+        for (int i = 0; i < objects.size(); i++) {
+            offsets.add(out.length());
+            out.append(i + 1).append(" 0 obj\n").append(objects.get(i)).append("\nendobj\n");
+        }
+        int xref = out.length();
+        out.append("xref\n0 ").append(objects.size() + 1).append("\n0000000000 65535 f \n");
+        for (int offset : offsets) {
+            out.append(String.format("%010d 00000 n \n", offset));
+        }
+        out.append("trailer\n<</Size ").append(objects.size() + 1).append(" /Root 1 0 R>>\nstartxref\n")
+           .append(xref).append("\n%%EOF\n");
+        File file = File.createTempFile("resources", ".pdf");
+        Files.write(file.toPath(), out.toString().getBytes(StandardCharsets.ISO_8859_1));
+        return file;
+    }
+}
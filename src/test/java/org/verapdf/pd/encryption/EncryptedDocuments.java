@@ -0,0 +1,199 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pd.encryption;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Writes small documents encrypted by the standard security handler, revision 3
+ * with 128-bit RC4 key. Owner password is the same as the user one. Object 5 is
+ * the information dictionary with encrypted /Title.
+ */
+final class EncryptedDocuments {
+
+    static final String TITLE = "Encrypted title";
+    static final int INFO_OBJECT = 5;
+
+    private static final byte[] PADDING = {
+            (byte) 0x28, (byte) 0xBF, (byte) 0x4E, (byte) 0x5E, (byte) 0x4E, (byte) 0x75, (byte) 0x8A, (byte) 0x41,
+            (byte) 0x64, (byte) 0x00, (byte) 0x4E, (byte) 0x56, (byte) 0xFF, (byte) 0xFA, (byte) 0x01, (byte) 0x08,
+            (byte) 0x2E, (byte) 0x2E, (byte) 0x00, (byte) 0xB6, (byte) 0xD0, (byte) 0x68, (byte) 0x3E, (byte) 0x80,
+            (byte) 0x2F, (byte) 0x0C, (byte) 0xA9, (byte) 0xFE, (byte) 0x64, (byte) 0x53, (byte) 0x69, (byte) 0x7A
+    };
+    private static final byte[] ID = "0123456789abcdef".getBytes(StandardCharsets.ISO_8859_1);
+    private static final int KEY_LENGTH = 16;
+    private static final int PERMISSIONS = -4;
+
+    private EncryptedDocuments() {
+    }
+
+    static File write(String userPassword) throws IOException {
+        byte[] password = pad(userPassword);
+        byte[] o = ownerEntry(password);
+        byte[] key = fileKey(password, o);
+        byte[] u = userEntry(key);
+        String[] objects = {
+                "<< /Type /Catalog /Pages 2 0 R >>",
+                "<< /Type /Pages /Kids [3 0 R] /Count 1 >>",
+                "<< /Type /Page /Parent 2 0 R /MediaBox [0 0 612 792] >>",
+                "<< /Filter /Standard /V 2 /R 3 /Length 128 /P " + PERMISSIONS + " /O " + hex(o)
+                        + " /U " + hex(u) + " >>",
+                "<< /Title " + hex(rc4(objectKey(key, INFO_OBJECT), TITLE.getBytes(StandardCharsets.ISO_8859_1)))
+                        + " >>"
+        };
+        StringBuilder out = new StringBuilder("%PDF-1.4\n");
+        long[] offsets = new long[objects.length];
+        for (int i = 0; i < objects.length; ++i) {
+            offsets[i] = out.length();
+            out.append(i + 1).append(" 0 obj\n").append(objects[i]).append("\nendobj\n");
+        }
+        long xref = out.length();
+        out.append("xref\n0 ").append(objects.length + 1).append("\n0000000000 65535 f\r\n");
+        for (long offset : offsets) {
+            out.append(String.format("%010d 00000 n\r\n", offset));
+        }
+        out.append("trailer\n<< /Size ").append(objects.length + 1).append(" /Root 1 0 R /Info ").append(INFO_OBJECT)
+                .append(" 0 R /Encrypt 4 0 R /ID [").append(hex(ID)).append(' ').append(hex(ID))
+                .append("] >>\nstartxref\n").append(xref).append("\n%%EOF\n");
+        File file = File.createTempFile("encrypted", ".pdf");
+        Files.write(file.toPath(), out.toString().getBytes(StandardCharsets.ISO_8859_1));
+        return file;
+    }
+
+    /**
+     * @return RC4 key of the given object of document written for password.
+     */
+    static byte[] objectKey(String userPassword, int number) {
+        byte[] password = pad(userPassword);
+        return objectKey(fileKey(password, ownerEntry(password)), number);
+    }
+
+    static byte[] rc4(byte[] key, byte[] data) {
+        int[] state = new int[256];
+        for (int i = 0; i < 256; ++i) {
+            state[i] = i;
+        }
+        for (int i = 0, j = 0; i < 256; ++i) {
+            j = (j + state[i] + (key[i % key.length] & 0xFF)) & 0xFF;
+            int swap = state[i];
+            state[i] = state[j];
+            state[j] = swap;
+        }
+        byte[] result = new byte[data.length];
+        for (int n = 0, i = 0, j = 0; n < data.length; ++n) {
+            i = (i + 1) & 0xFF;
+            j = (j + state[i]) & 0xFF;
+            int swap = state[i];
+            state[i] = state[j];
+            state[j] = swap;
+            result[n] = (byte) (data[n] ^ state[(state[i] + state[j]) & 0xFF]);
+        }
+        return result;
+    }
+
+    private static byte[] pad(String password) {
+        byte[] bytes = password.getBytes(StandardCharsets.ISO_8859_1);
+        byte[] result = Arrays.copyOf(bytes, PADDING.length);
+        if (bytes.length < PADDING.length) {
+            System.arraycopy(PADDING, 0, result, bytes.length, PADDING.length - bytes.length);
+        }
+        return result;
+    }
+
+    private static byte[] ownerEntry(byte[] password) {
+        byte[] hash = md5(password);
+        for (int i = 0; i < 50; ++i) {
+            hash = md5(hash);
+        }
+        byte[] key = Arrays.copyOf(hash, KEY_LENGTH);
+        byte[] result = rc4(key, password);
+        for (int i = 1; i <= 19; ++i) {
+            result = rc4(xor(key, i), result);
+        }
+        return result;
+    }
+
+    private static byte[] fileKey(byte[] password, byte[] owner) {
+        MessageDigest digest = newMd5();
+        digest.update(password);
+        digest.update(owner);
+        digest.update(new byte[]{(byte) PERMISSIONS, (byte) (PERMISSIONS >>> 8),
+                (byte) (PERMISSIONS >>> 16), (byte) (PERMISSIONS >>> 24)});
+        digest.update(ID);
+        byte[] hash = digest.digest();
+        for (int i = 0; i < 50; ++i) {
+            hash = md5(Arrays.copyOf(hash, KEY_LENGTH));
+        }
+        return Arrays.copyOf(hash, KEY_LENGTH);
+    }
+
+    private static byte[] userEntry(byte[] key) {
+        MessageDigest digest = newMd5();
+        digest.update(PADDING);
+        digest.update(ID);
+        byte[] result = rc4(key, digest.digest());
+        for (int i = 1; i <= 19; ++i) {
+            result = rc4(xor(key, i), result);
+        }
+        return Arrays.copyOf(result, 32);
+    }
+
+    private static byte[] objectKey(byte[] fileKey, int number) {
+        MessageDigest digest = newMd5();
+        digest.update(fileKey);
+        digest.update(new byte[]{(byte) number, (byte) (number >>> 8), (byte) (number >>> 16), 0, 0});
+        return Arrays.copyOf(digest.digest(), KEY_LENGTH);
+    }
+
+    private static byte[] xor(byte[] key, int value) {
+        byte[] result = new byte[key.length];
+        for (int i = 0; i < key.length; ++i) {
+            result[i] = (byte) (key[i] ^ value);
+        }
+        return result;
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder builder = new StringBuilder(bytes.length * 2 + 2).append('<');
+        for (byte b : bytes) {
+            builder.append(Character.forDigit((b >>> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.append('>').toString();
+    }
+
+    private static byte[] md5(byte[] data) {
+        return newMd5().digest(data);
+    }
+
+    private static MessageDigest newMd5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pd.encryption;
+
+import org.junit.Test;
+import org.verapdf.exceptions.InvalidPasswordException;
+import org.verapdf.pd.PDDocument;
+import org.verapdf.tools.StaticResources;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class EncryptionKeyCacheTest {
+
+    @Test
+    public void keyIsReusedForSamePassword() throws IOException {
+        File file = EncryptedDocuments.write("");
+        int maxSize = EncryptionKeyCache.getMaxSize();
+        try {
+            EncryptionKeyCache.setMaxSize(8);
+            EncryptionKeyCache.clear();
+            byte[] first = encryptionKey(file);
+            assertEquals(1, EncryptionKeyCache.size());
+            byte[] second = encryptionKey(file);
+            assertEquals(1, EncryptionKeyCache.size());
+            assertArrayEquals(first, second);
+        } finally {
+            EncryptionKeyCache.setMaxSize(maxSize);
+            EncryptionKeyCache.clear();
+            file.delete();
+        }
+    }
+
+    @Test
+    public void differentPasswordsDoNotShareEntry() throws IOException {
+        File file = EncryptedDocuments.write("user");
+        int maxSize = EncryptionKeyCache.getMaxSize();
+        try {
+            EncryptionKeyCache.setMaxSize(8);
+            EncryptionKeyCache.clear();
+            StaticResources.setPassword("user");
+            byte[] key = encryptionKey(file);
+            assertNotNull(key);
+            assertEquals(1, EncryptionKeyCache.size());
+            StaticResources.setPassword("other");
+            try {
+                encryptionKey(file);
+                fail("Document should not be opened with invalid password");
+            } catch (InvalidPasswordException e) {
+                // expected
+            }
+            assertEquals(1, EncryptionKeyCache.size());
+        } finally {
+            StaticResources.setPassword(null);
+            EncryptionKeyCache.setMaxSize(maxSize);
+            EncryptionKeyCache.clear();
+            file.delete();
+        }
+    }
+
+    @Test
+    public void invalidPasswordIsNotCached() throws IOException {
+        File file = EncryptedDocuments.write("user");
+        int maxSize = EncryptionKeyCache.getMaxSize();
+        try {
+            EncryptionKeyCache.setMaxSize(8);
+            EncryptionKeyCache.clear();
+            StaticResources.setPassword("wrong");
+            try {
+                encryptionKey(file);
+                fail("Document should not be opened with invalid password");
+            } catch (InvalidPasswordException e) {
+                // expected
+            }
+            assertEquals(0, EncryptionKeyCache.size());
+        } finally {
+            StaticResources.setPassword(null);
+            EncryptionKeyCache.setMaxSize(maxSize);
+            EncryptionKeyCache.clear();
+            file.delete();
+        }
+    }
+
+    @Test
+    public void disabledCacheKeepsNothing() throws IOException {
+        File file = EncryptedDocuments.write("");
+        int maxSize = EncryptionKeyCache.getMaxSize();
+        try {
+            EncryptionKeyCache.setMaxSize(0);
+            assertNotNull(encryptionKey(file));
+            assertEquals(0, EncryptionKeyCache.size());
+        } finally {
+            EncryptionKeyCache.setMaxSize(maxSize);
+            file.delete();
+        }
+    }
+
+    private static byte[] encryptionKey(File file) throws IOException {
+        PDDocument document = new PDDocument(file.getAbsolutePath());
+        try {
+            return document.getDocument().getStandardSecurityHandler().getEncryptionKey();
+        } finally {
+            document.close();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pd.encryption;
+
+import org.junit.Test;
+import org.verapdf.as.ASAtom;
+import org.verapdf.cos.COSKey;
+import org.verapdf.cos.COSObject;
+import org.verapdf.cos.COSString;
+import org.verapdf.pd.PDDocument;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class LazyStringDecryptionTest {
+
+    private static final byte[] PLAIN_TEXT = "Deferred string value".getBytes(StandardCharsets.ISO_8859_1);
+    private static final COSKey STRING_KEY = new COSKey(12, 0);
+
+    @Test
+    public void titleIsDecryptedOnFirstRead() throws Exception {
+        File file = EncryptedDocuments.write("");
+        PDDocument document = new PDDocument(file.getAbsolutePath());
+        try {
+            COSObject info = document.getDocument().getTrailer().getKey(ASAtom.INFO);
+            COSString title = (COSString) info.getKey(ASAtom.TITLE).getDirectBase();
+            assertTrue(title.isDecryptionDeferred());
+            assertEquals(EncryptedDocuments.TITLE, title.getString());
+            assertFalse(title.isDecryptionDeferred());
+            assertEquals(EncryptedDocuments.TITLE, title.getString());
+        } finally {
+            document.close();
+            file.delete();
+        }
+    }
+
+    @Test
+    public void lazyDecryptionMatchesEager() throws Exception {
+        File file = EncryptedDocuments.write("");
+        PDDocument document = new PDDocument(file.getAbsolutePath());
+        try {
+            StandardSecurityHandler handler = document.getDocument().getStandardSecurityHandler();
+            COSString lazy = encryptedString(handler);
+            COSString eager = new COSString(encrypt());
+            handler.decryptString(eager, STRING_KEY);
+            assertArrayEquals(PLAIN_TEXT, eager.get());
+            assertArrayEquals(eager.get(), lazy.get());
+        } finally {
+            document.close();
+            file.delete();
+        }
+    }
+
+    @Test
+    public void settingValueCancelsDecryption() throws Exception {
+        File file = EncryptedDocuments.write("");
+        PDDocument document = new PDDocument(file.getAbsolutePath());
+        try {
+            COSString string = encryptedString(document.getDocument().getStandardSecurityHandler());
+            byte[] replacement = {1, 2, 3};
+            string.set(replacement);
+            assertFalse(string.isDecryptionDeferred());
+            assertArrayEquals(replacement, string.get());
+        } finally {
+            document.close();
+            file.delete();
+        }
+    }
+
+    @Test
+    public void concurrentReadersSeeDecryptedValue() throws Exception {
+        File file = EncryptedDocuments.write("");
+        PDDocument document = new PDDocument(file.getAbsolutePath());
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            StandardSecurityHandler handler = document.getDocument().getStandardSecurityHandler();
+            for (int attempt = 0; attempt < 50; ++attempt) {
+                COSString string = encryptedString(handler);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<byte[]>> results = new ArrayList<>();
+                for (int i = 0; i < threads; ++i) {
+                    results.add(executor.submit((Callable<byte[]>) () -> {
+                        start.await();
+                        return string.get();
+                    }));
+                }
+                start.countDown();
+                for (Future<byte[]> result : results) {
+                    assertArrayEquals(PLAIN_TEXT, result.get());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+            document.close();
+            file.delete();
+        }
+    }
+
+    private static COSString encryptedString(StandardSecurityHandler handler) {
+        COSString string = new COSString(encrypt());
+        string.setDeferredDecryption(handler, STRING_KEY);
+        return string;
+    }
+
+    private static byte[] encrypt() {
+        return EncryptedDocuments.rc4(EncryptedDocuments.objectKey("", STRING_KEY.getNumber()), PLAIN_TEXT);
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pd.font;
+
+import org.junit.Test;
+import org.verapdf.cos.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class CIDWArrayTest {
+
+    @Test
+    public void widthsTest() {
+        // [1 [500 600] 10 20 1000 15 30 700 2 [650] 40 40 800]
+        CIDWArray widths = new CIDWArray(array(
+                COSInteger.construct(1), new COSObject(array(COSReal.construct(500), COSReal.construct(600))),
+                COSInteger.construct(10), COSInteger.construct(20), COSInteger.construct(1000),
+                COSInteger.construct(15), COSInteger.construct(30), COSInteger.construct(700),
+                COSInteger.construct(2), new COSObject(array(COSReal.construct(650))),
+                COSInteger.construct(40), COSInteger.construct(40), COSInteger.construct(800)));
+        assertNull(widths.getWidth(0));
+        assertEquals(500, widths.getWidth(1), 0);
+        // later individual width overrides earlier one
+        assertEquals(650, widths.getWidth(2), 0);
+        assertNull(widths.getWidth(3));
+        assertEquals(1000, widths.getWidth(10), 0);
+        // first range is used for overlapping CIDs
+        assertEquals(1000, widths.getWidth(20), 0);
+        assertEquals(700, widths.getWidth(21), 0);
+        assertEquals(700, widths.getWidth(30), 0);
+        assertNull(widths.getWidth(31));
+        assertEquals(800, widths.getWidth(40), 0);
+        assertNull(widths.getWidth(41));
+        assertEquals(Double.NaN, widths.getWidthValue(41), 0);
+    }
+
+    @Test
+    public void sparseWidthsTest() {
+        CIDWArray widths = new CIDWArray(array(
+                COSInteger.construct(5), new COSObject(array(COSReal.construct(300))),
+                COSInteger.construct(60000), new COSObject(array(COSReal.construct(400), COSReal.construct(450))),
+                COSInteger.construct(60001), COSInteger.construct(60100), COSInteger.construct(900)));
+        assertEquals(300, widths.getWidth(5), 0);
+        assertNull(widths.getWidth(6));
+        assertEquals(400, widths.getWidth(60000), 0);
+        assertEquals(450, widths.getWidth(60001), 0);
+        assertEquals(900, widths.getWidth(60002), 0);
+        assertNull(widths.getWidth(60101));
+    }
+
+    private static COSArray array(COSObject... values) {
+        COSArray res = (COSArray) COSArray.construct().getDirectBase();
+        for (COSObject value : values) {
+            res.add(value);
+        }
+        return res;
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pd.font;
+
+import org.junit.Test;
+import org.verapdf.as.ASAtom;
+import org.verapdf.pd.font.truetype.GlyphNames;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class EncodingTest {
+
+    @Test
+    public void testPredefinedEncoding() {
+        Encoding encoding = new Encoding(ASAtom.WIN_ANSI_ENCODING);
+        assertEquals("A", encoding.getName(65));
+        assertEquals(GlyphNames.getId("A"), encoding.getNameId(65));
+        assertEquals(".notdef", encoding.getName(300));
+        assertNull(encoding.getName(-1));
+        assertEquals(GlyphNames.NO_ID, encoding.getNameId(-1));
+    }
+
+    @Test
+    public void testDifferences() {
+        Map<Integer, String> differences = new HashMap<>();
+        differences.put(65, "Alpha");
+        differences.put(66, "g17");
+        differences.put(400, "B");
+        Encoding encoding = new Encoding(ASAtom.MAC_ROMAN_ENCODING, differences);
+        assertEquals("Alpha", encoding.getName(65));
+        assertEquals(GlyphNames.getId("Alpha"), encoding.getNameId(65));
+        assertEquals("g17", encoding.getName(66));
+        assertEquals(GlyphNames.NO_ID, encoding.getNameId(66));
+        assertEquals("C", encoding.getName(67));
+        assertEquals("B", encoding.getName(400));
+        assertEquals(GlyphNames.getId("B"), encoding.getNameId(400));
+        assertEquals(".notdef", encoding.getName(401));
+        assertTrue(encoding.containsCode(400));
+    }
+
+    @Test
+    public void testEmptyEncoding() {
+        Map<Integer, String> differences = new HashMap<>();
+        differences.put(1, "a");
+        Encoding encoding = new Encoding((ASAtom) null, differences);
+        assertEquals("a", encoding.getName(1));
+        assertNull(encoding.getName(2));
+        assertNull(encoding.getName(1000));
+        assertEquals(GlyphNames.NO_ID, encoding.getNameId(2));
+        assertNull(Encoding.empty().getName(65));
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pd.font.cmap;
+
+import org.junit.Test;
+import org.verapdf.cos.COSName;
+
+import java.io.*;
+
+import static org.junit.Assert.*;
+
+public class CMapBinaryFormatTest {
+
+    private static final String CMAP_DIRECTORY = "src/main/resources/font/cmap/";
+
+    private static CMap roundTrip(CMap cMap) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            CMapBinaryFormat.write(cMap, out);
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return CMapBinaryFormat.read(in);
+        }
+    }
+
+    private static void assertSameMappings(CMap expected, CMap actual, int maxCode) {
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getRegistry(), actual.getRegistry());
+        assertEquals(expected.getOrdering(), actual.getOrdering());
+        assertEquals(expected.getSupplement(), actual.getSupplement());
+        assertEquals(expected.getwMode(), actual.getwMode());
+        assertEquals(expected.shortestCodeSpaceLength, actual.shortestCodeSpaceLength);
+        assertEquals(expected.getCodeSpaces().size(), actual.getCodeSpaces().size());
+        for (int code = 0; code <= maxCode; ++code) {
+            assertEquals(expected.toCID(code), actual.toCID(code));
+            assertEquals(expected.getUnicode(code), actual.getUnicode(code));
+        }
+    }
+
+    @Test
+    public void testCIDMappings() throws IOException {
+        CMap parsed = CMapCompiler.parse(new File(CMAP_DIRECTORY + "83pv-RKSJ-H"));
+        assertSameMappings(parsed, roundTrip(parsed), 0xFFFF);
+    }
+
+    @Test
+    public void testUnicodeMappings() throws IOException {
+        CMap parsed = CMapCompiler.parse(new File(CMAP_DIRECTORY + "Adobe-Korea1-UCS2"));
+        assertFalse(parsed.getUnicodeMappings().isEmpty());
+        assertSameMappings(parsed, roundTrip(parsed), 0xFFFF);
+    }
+
+    @Test
+    public void testUseCMap() throws IOException {
+        CMap compiled = CMapCompiler.parse(new File(CMAP_DIRECTORY + "90ms-RKSJ-V"));
+        assertEquals("90ms-RKSJ-H", compiled.getUseCMapName());
+        assertTrue(compiled.getCodeSpaces().isEmpty());
+
+        CMap parsed = new PDCMap(COSName.construct("90ms-RKSJ-V")).getCMapFile();
+        CMap loaded = roundTrip(compiled);
+        assertFalse(loaded.isUsesNonPredefinedCMap());
+        assertEquals(parsed.getCidMappings().size(), loaded.getCidMappings().size());
+        assertSameMappings(parsed, loaded, 0xFFFF);
+    }
+
+    @Test
+    public void testInvalidData() {
+        byte[] data = {0, 1, 2, 3, 4, 5};
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            CMapBinaryFormat.read(in);
+            fail("Exception expected");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("binary CMap"));
+        }
+    }
+}
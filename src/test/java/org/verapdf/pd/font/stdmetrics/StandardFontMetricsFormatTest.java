@@ -0,0 +1,97 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pd.font.stdmetrics;
+
+import org.junit.Test;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class StandardFontMetricsFormatTest {
+
+    private static final String AFM_DIRECTORY = "src/main/resources/font/stdmetrics";
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        Map<String, StandardFontMetrics> parsed = StandardFontMetricsCompiler.parse(new File(AFM_DIRECTORY));
+        assertEquals(14, parsed.size());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            StandardFontMetricsFormat.write(parsed, out);
+        }
+        Map<String, StandardFontMetrics> loaded;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            loaded = StandardFontMetricsFormat.read(in);
+        }
+
+        assertEquals(parsed.keySet(), loaded.keySet());
+        for (Map.Entry<String, StandardFontMetrics> entry : parsed.entrySet()) {
+            StandardFontMetrics expected = entry.getValue();
+            StandardFontMetrics actual = loaded.get(entry.getKey());
+            assertEquals(expected.getFontName(), actual.getFontName());
+            assertEquals(expected.getFamilyName(), actual.getFamilyName());
+            assertEquals(expected.getEncodingScheme(), actual.getEncodingScheme());
+            assertEquals(expected.getCharSet(), actual.getCharSet());
+            assertEquals(expected.getCapHeight(), actual.getCapHeight());
+            assertEquals(expected.getXHeight(), actual.getXHeight());
+            assertEquals(expected.getAscend(), actual.getAscend());
+            assertEquals(expected.getDescend(), actual.getDescend());
+            assertEquals(expected.getItalicAngle(), actual.getItalicAngle());
+            assertTrue(Arrays.equals(expected.getFontBBox(), actual.getFontBBox()));
+            assertEquals(expected.getWidths(), actual.getWidths());
+        }
+
+        StandardFontMetrics helvetica = loaded.get("Helvetica");
+        assertEquals(556, helvetica.getWidth("a"));
+        assertEquals(278, helvetica.getWidth("space"));
+        assertEquals(0, helvetica.getWidth("a1"));
+        assertEquals(974, loaded.get("ZapfDingbats").getWidth("a1"));
+    }
+
+    @Test
+    public void testPutWidth() {
+        StandardFontMetrics metrics = new StandardFontMetrics();
+        for (int i = 0; i < 100; ++i) {
+            metrics.putWidth("g" + i, i * 10);
+        }
+        metrics.putWidth("g5", 7);
+        assertEquals(7, metrics.getWidth("g5"));
+        assertEquals(990, metrics.getWidth("g99"));
+        assertEquals(100, metrics.getWidths().size());
+        metrics.putWidth(".notdef", 250);
+        assertEquals(250, metrics.getWidth("missing"));
+    }
+
+    @Test
+    public void testInvalidData() {
+        byte[] data = {0, 1, 2, 3, 4, 5};
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            StandardFontMetricsFormat.read(in);
+            fail("Exception expected");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("binary font metrics"));
+        }
+    }
+}
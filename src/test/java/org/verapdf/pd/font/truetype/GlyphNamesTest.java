@@ -0,0 +1,65 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pd.font.truetype;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class GlyphNamesTest {
+
+    @Test
+    public void testAllNamesHaveUniqueIds() {
+        assertTrue(GlyphNames.size() > 4000);
+        for (int id = 0; id < GlyphNames.size(); ++id) {
+            assertEquals(id, GlyphNames.getId(GlyphNames.getName(id)));
+        }
+    }
+
+    @Test
+    public void testUnknownNames() {
+        assertEquals(GlyphNames.NO_ID, GlyphNames.getId(null));
+        assertEquals(GlyphNames.NO_ID, GlyphNames.getId(""));
+        assertEquals(GlyphNames.NO_ID, GlyphNames.getId("g123"));
+        assertEquals(GlyphNames.NO_ID, GlyphNames.getId("Aacute.sc"));
+        assertNull(GlyphNames.getName(GlyphNames.NO_ID));
+        assertNull(GlyphNames.getName(GlyphNames.size()));
+    }
+
+    @Test
+    public void testPredefinedEncodingNames() {
+        for (String name : TrueTypePredefined.MAC_EXPERT_ENCODING) {
+            if (name != null) {
+                assertEquals(name, GlyphNames.getName(GlyphNames.getId(name)));
+            }
+        }
+    }
+
+    @Test
+    public void testAdobeGlyphListById() {
+        int id = GlyphNames.getId("Aacute");
+        assertTrue(AdobeGlyphList.contains(id));
+        assertSame(AdobeGlyphList.get("Aacute"), AdobeGlyphList.get(id));
+        assertEquals("\u00C1", AdobeGlyphList.get(id).getUnicodeString());
+        assertFalse(AdobeGlyphList.contains(GlyphNames.NO_ID));
+        assertSame(AdobeGlyphList.empty(), AdobeGlyphList.get(GlyphNames.NO_ID));
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pd.form;
+
+import org.junit.Test;
+import org.verapdf.as.ASAtom;
+import org.verapdf.cos.COSArray;
+import org.verapdf.cos.COSDictionary;
+import org.verapdf.cos.COSObject;
+import org.verapdf.exceptions.LoopedException;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PDFormFieldIndexTest {
+
+    private static COSObject createField(String partialName, COSObject parent) {
+        COSObject field = COSDictionary.construct();
+        if (partialName != null) {
+            field.setStringKey(ASAtom.T, partialName);
+        }
+        if (parent != null) {
+            field.setKey(ASAtom.PARENT, parent);
+            COSObject kids = parent.getKey(ASAtom.KIDS);
+            if (kids == null || kids.empty()) {
+                kids = COSArray.construct();
+                parent.setKey(ASAtom.KIDS, kids);
+            }
+            kids.add(field);
+        }
+        return field;
+    }
+
+    private static COSObject createFields(COSObject... fields) {
+        COSObject array = COSArray.construct();
+        for (COSObject field : fields) {
+            array.add(field);
+        }
+        return array;
+    }
+
+    @Test
+    public void shouldResolveFullyQualifiedNamesAndTypes() {
+        COSObject root = createField("form", null);
+        root.setNameKey(ASAtom.FT, ASAtom.SIG);
+        COSObject group = createField("group", root);
+        COSObject first = createField("first", group);
+        COSObject second = createField("second", root);
+        second.setNameKey(ASAtom.FT, ASAtom.TX);
+
+        PDFormFieldIndex index = new PDFormFieldIndex(createFields(root));
+        assertEquals(4, index.size());
+        assertEquals("form.group", index.getFullyQualifiedName(index.getPosition(group)));
+        assertEquals("form.group.first", index.getFullyQualifiedName(index.getPosition(first)));
+        assertEquals(ASAtom.SIG, index.getFieldType(index.getPosition(first)));
+        assertEquals(ASAtom.TX, index.getFieldType(index.getPosition(second)));
+        assertTrue(index.getField(index.getPosition(first)) instanceof PDSignatureField);
+        assertFalse(index.getField(index.getPosition(second)) instanceof PDSignatureField);
+        assertEquals("form.group.first", index.getField(index.getPosition(first)).getFullyQualifiedName());
+    }
+
+    @Test
+    public void shouldShareFieldObjects() {
+        COSObject root = createField("root", null);
+        createField("kid", root);
+        PDFormFieldIndex index = new PDFormFieldIndex(createFields(root));
+        List<PDFormField> roots = index.getRootFields();
+        assertEquals(1, roots.size());
+        assertSame(roots.get(0), index.getRootFields().get(0));
+        assertSame(roots.get(0).getChildFormFields().get(0), index.getChildFields(0).get(0));
+        assertSame(index, roots.get(0).getFormFieldIndex());
+    }
+
+    @Test
+    public void shouldFindFieldsByNameAndWidget() {
+        COSObject first = createField("name", null);
+        COSObject second = createField("name", null);
+        COSObject widget = createField(null, first);
+        widget.setNameKey(ASAtom.SUBTYPE, ASAtom.WIDGET);
+        second.setNameKey(ASAtom.SUBTYPE, ASAtom.WIDGET);
+
+        PDFormFieldIndex index = new PDFormFieldIndex(createFields(first, second));
+        assertEquals(2, index.size());
+        assertEquals(2, index.getNameCount("name"));
+        assertEquals(0, index.getNameCount("other"));
+        List<PDFormField> fields = index.getFieldsByName("name");
+        assertSame(first.getDirectBase(), fields.get(0).getObject().getDirectBase());
+        assertSame(second.getDirectBase(), fields.get(1).getObject().getDirectBase());
+        assertSame(fields.get(0), index.getFieldByWidget(widget));
+        assertSame(fields.get(1), index.getFieldByWidget(second));
+        assertTrue(index.getFieldsByName("other").isEmpty());
+    }
+
+    @Test
+    public void shouldReportLoopInKids() {
+        COSObject root = createField("root", null);
+        COSObject kid = createField("kid", root);
+        createField("leaf", kid);
+        kid.getKey(ASAtom.KIDS).add(root);
+        PDFormFieldIndex index = new PDFormFieldIndex(createFields(root));
+        assertEquals(3, index.size());
+        assertTrue(index.hasLoopedKid(index.getPosition(kid)));
+        assertFalse(index.hasLoopedKid(index.getPosition(root)));
+        PDFormField kidField = index.getRootFields().get(0).getChildFormFields().get(0);
+        try {
+            kidField.getChildFormFields();
+            fail("Loop in /Kids should be reported");
+        } catch (LoopedException e) {
+            assertEquals("Loop form field tree", e.getMessage());
+        }
+    }
+}
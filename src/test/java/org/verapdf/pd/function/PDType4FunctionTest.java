@@ -26,7 +26,11 @@ import org.junit.jupiter.params.converter.ConvertWith;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.verapdf.cos.COSObject;
+import org.verapdf.parser.FunctionParser;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -48,12 +52,33 @@ public class PDType4FunctionTest {
         }
     }
 
+    @ParameterizedTest
+    @MethodSource("provideParameters")
+    public void testGetResultOfParsedFunction(String function,
+                              @ConvertWith(PDFunctionTestHelper.ListOfCOSObjectsConverter.class) List<COSObject> operands,
+                              @ConvertWith(PDFunctionTestHelper.ListOfCOSObjectsConverter.class) List<COSObject> result) throws IOException {
+        FunctionParser parser = new FunctionParser(new ByteArrayInputStream(function.getBytes(StandardCharsets.US_ASCII)), null);
+        try {
+            parser.parse();
+        } finally {
+            parser.closeInputStream();
+        }
+        func.setOperators(parser.getOperators());
+        List<COSObject> actualResult = func.getResult(operands);
+        Assertions.assertEquals(result.size(), actualResult.size());
+        for (int i = 0; i < result.size(); ++i) {
+            Assertions.assertEquals(result.get(i).getReal(), actualResult.get(i).getReal(), EPSILON);
+        }
+    }
+
     private static Stream<Arguments> provideParameters() {
         return Stream.of(
                 Arguments.of("{ 2 mul neg 2 div exch 2 mul sqrt 2 div add }", "2 3", "-2"),
                 Arguments.of("{ dup add 9 le { dup mul dup add } { 1 sub dup mul } ifelse }", "2 3", "8"),
                 Arguments.of("{ dup add 9 le { dup mul dup add } { 1 sub dup mul } ifelse }", "5 6", "16"),
                 Arguments.of("{ dup sub 0 eq { 125 5 div sqrt } if }", "5", "5"),
+                Arguments.of("{ 0 gt { 1 0 gt { 2 } { 3 } ifelse } { 4 } ifelse }", "1", "2"),
+                Arguments.of("{ 0 gt { 1 0 gt { 2 } { 3 } ifelse } { 4 } ifelse }", "-1", "4"),
                 Arguments.of("{ 3 3 1 roll }", "1 2", "3 1 2"),
                 Arguments.of("{ 3 2 roll }", "1 2 3 4", "1 3 4 2"),
                 Arguments.of("{ 3 -2 roll }", "1 2 3 4", "1 4 2 3")
@@ -0,0 +1,110 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pd.structure;
+
+import org.junit.Test;
+import org.verapdf.as.ASAtom;
+import org.verapdf.cos.COSArray;
+import org.verapdf.cos.COSDictionary;
+import org.verapdf.cos.COSInteger;
+import org.verapdf.cos.COSObject;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class PDNumberTreeNodeTest {
+
+    private static final int KIDS = 50;
+    private static final int NUMS_PER_KID = 20;
+    // keys are even, so odd keys inside of limits are missing
+    private static final int STEP = 2;
+
+    @Test
+    public void lookupsInOrderedTree() {
+        PDNumberTreeNode tree = new PDNumberTreeNode(createTree(true));
+        checkLookups(tree);
+        assertFalse(tree.isIndexed());
+    }
+
+    @Test
+    public void lookupsInUnorderedTree() {
+        checkLookups(new PDNumberTreeNode(createTree(false)));
+    }
+
+    @Test
+    public void indexGivesSameResults() {
+        PDNumberTreeNode tree = new PDNumberTreeNode(createTree(true));
+        PDNumberTreeNode indexed = new PDNumberTreeNode(createTree(true));
+        indexed.buildIndex();
+        assertTrue(indexed.isIndexed());
+        checkLookups(indexed);
+        for (long key = -1; key <= KIDS * NUMS_PER_KID * STEP; ++key) {
+            assertEquals(String.valueOf(tree.getObject(key)), String.valueOf(indexed.getObject(key)));
+        }
+    }
+
+    @Test
+    public void sizeAndIterationBuildIndex() {
+        PDNumberTreeNode tree = new PDNumberTreeNode(createTree(true));
+        assertEquals(Long.valueOf(KIDS * NUMS_PER_KID), tree.size());
+        assertTrue(tree.isIndexed());
+        Set<Long> values = new HashSet<>();
+        for (COSObject value : tree) {
+            values.add(value.getInteger());
+        }
+        assertEquals(KIDS * NUMS_PER_KID, values.size());
+        assertTrue(values.contains((long) (KIDS * NUMS_PER_KID - 1) * STEP));
+    }
+
+    private static void checkLookups(PDNumberTreeNode tree) {
+        for (long i = 0; i < KIDS * NUMS_PER_KID; ++i) {
+            assertEquals(Long.valueOf(i * STEP), tree.getObject(i * STEP).getInteger());
+            assertNull(tree.getObject(i * STEP + 1));
+        }
+        assertNull(tree.getObject(-1L));
+        assertFalse(tree.containsKey((long) KIDS * NUMS_PER_KID * STEP));
+    }
+
+    /**
+     * Creates tree with kids that have /Limits. In unordered tree the kids are
+     * listed in reverse order, so binary search can't be used.
+     */
+    private static COSObject createTree(boolean ordered) {
+        List<COSObject> kids = new ArrayList<>();
+        for (int kid = 0; kid < KIDS; ++kid) {
+            List<COSObject> nums = new ArrayList<>();
+            for (int i = kid * NUMS_PER_KID; i < (kid + 1) * NUMS_PER_KID; ++i) {
+                nums.add(COSInteger.construct(i * STEP));
+                nums.add(COSInteger.construct(i * STEP));
+            }
+            COSObject node = COSDictionary.construct(ASAtom.NUMS, COSArray.construct(nums));
+            node.setKey(ASAtom.LIMITS, COSArray.construct(2, new COSObject[]{
+                    COSInteger.construct(kid * NUMS_PER_KID * STEP),
+                    COSInteger.construct(((kid + 1) * NUMS_PER_KID - 1) * STEP)}));
+            kids.add(ordered ? kids.size() : 0, node);
+        }
+        return COSDictionary.construct(ASAtom.KIDS, COSArray.construct(kids));
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.pd.structure;
+
+import org.junit.Test;
+import org.verapdf.as.ASAtom;
+import org.verapdf.cos.COSArray;
+import org.verapdf.cos.COSDictionary;
+import org.verapdf.cos.COSName;
+import org.verapdf.cos.COSObject;
+import org.verapdf.pd.PDCatalog;
+import org.verapdf.tools.StaticResources;
+import org.verapdf.tools.TaggedPDFHelper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class StructureTreeIndexTest {
+
+    private static final ASAtom CUSTOM = ASAtom.getASAtom("Custom");
+
+    @Test
+    public void roleMapIsRestoredForCachedRoot() {
+        PDCatalog first = createCatalog(ASAtom.P);
+        PDCatalog second = createCatalog(ASAtom.getASAtom("H1"));
+        first.getStructTreeRoot();
+        second.getStructTreeRoot();
+        assertEquals(ASAtom.getASAtom("H1"), StaticResources.getRoleMapHelper().getRoleMap().get(CUSTOM));
+        first.getStructTreeRoot();
+        assertEquals(ASAtom.P, StaticResources.getRoleMapHelper().getRoleMap().get(CUSTOM));
+    }
+
+    @Test
+    public void defaultTypesUseRoleMapOfOwnTree() {
+        PDCatalog first = createCatalog(ASAtom.P);
+        StructureTreeIndex firstIndex = first.getStructureTreeIndex();
+        PDCatalog second = createCatalog(ASAtom.getASAtom("H1"));
+        StructureTreeIndex secondIndex = second.getStructureTreeIndex();
+        // the role map of the second document is now the current one
+        assertEquals(ASAtom.P, firstIndex.getDefaultStructureType(1).getType());
+        assertEquals(ASAtom.getASAtom("H1"), secondIndex.getDefaultStructureType(1).getType());
+    }
+
+    @Test
+    public void rootWithoutTypeIsNotAddedAsChild() {
+        PDCatalog catalog = createCatalog(ASAtom.P);
+        PDStructTreeRoot root = catalog.getStructTreeRoot();
+        StructureTreeIndex index = root.getStructureTreeIndex();
+        assertEquals(2, index.size());
+        assertEquals(0, index.getChildrenCount(1));
+        List<PDStructElem> structChildren = index.getStructChildren(1);
+        assertTrue(structChildren.isEmpty());
+        List<Object> children = index.getChildren(1);
+        assertFalse(children.contains(null));
+    }
+
+    @Test
+    public void indexMatchesTreeTraversal() {
+        PDCatalog catalog = createCatalog(ASAtom.P);
+        PDStructTreeRoot root = catalog.getStructTreeRoot();
+        StructureTreeIndex index = root.getStructureTreeIndex();
+        List<PDStructElem> expected = TaggedPDFHelper.getStructNodeStructChildren(root.getObject());
+        List<PDStructElem> actual = index.getStructChildren(StructureTreeIndex.ROOT);
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); ++i) {
+            assertSame(expected.get(i).getObject().getDirectBase(), actual.get(i).getObject().getDirectBase());
+            assertEquals(expected.get(i).getDefaultStructureType().getType(), actual.get(i).getDefaultStructureType().getType());
+        }
+    }
+
+    @Test
+    public void roleMappingIsResolvedConcurrently() throws Exception {
+        Map<ASAtom, ASAtom> chain = new HashMap<>();
+        for (int i = 0; i < 20; ++i) {
+            chain.put(ASAtom.getASAtom("Chain" + i), ASAtom.getASAtom("Chain" + (i + 1)));
+        }
+        chain.put(ASAtom.getASAtom("Chain20"), ASAtom.P);
+        Map<ASAtom, ASAtom> loop = new HashMap<>();
+        for (int i = 0; i < 20; ++i) {
+            loop.put(ASAtom.getASAtom("Loop" + i), ASAtom.getASAtom("Loop" + ((i + 1) % 20)));
+        }
+        StructureType chainStart = StructureType.createStructureType(ASAtom.getASAtom("Chain0"));
+        StructureType loopStart = StructureType.createStructureType(ASAtom.getASAtom("Loop0"));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int task = 0; task < 8; ++task) {
+                boolean withLoop = task % 2 == 0;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 2000; ++i) {
+                        StructureType res = withLoop ? TaggedPDFHelper.getDefaultStructureType(loopStart, loop)
+                                : TaggedPDFHelper.getDefaultStructureType(chainStart, chain);
+                        if (withLoop ? res != null : res == null || res.getType() != ASAtom.P) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Creates catalog with structure tree root without /Type, which has one
+     * element of type /Custom whose /K points back at the root.
+     */
+    private static PDCatalog createCatalog(ASAtom mappedType) {
+        COSObject root = COSDictionary.construct();
+        COSObject roleMap = COSDictionary.construct(CUSTOM, mappedType);
+        root.setKey(ASAtom.ROLE_MAP, roleMap);
+        COSObject element = COSDictionary.construct(ASAtom.S, CUSTOM);
+        element.setKey(ASAtom.TYPE, COSName.construct(ASAtom.STRUCT_ELEM));
+        element.setKey(ASAtom.P, root);
+        element.setKey(ASAtom.K, COSArray.construct(1, new COSObject[]{root}));
+        root.setKey(ASAtom.K, element);
+        COSObject catalog = COSDictionary.construct(ASAtom.STRUCT_TREE_ROOT, root);
+        return new PDCatalog(catalog);
+    }
+}
@@ -0,0 +1,161 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.tools.batch;
+
+import org.junit.Test;
+import org.verapdf.pd.font.cmap.CMap;
+import org.verapdf.tools.ResourceScope;
+import org.verapdf.tools.StaticResources;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class BatchProcessorTest {
+
+    private static final File FILE = new File("src/test/resources/org/verapdf/cos/filters/validDocument.pdf");
+    private static final int DOCUMENTS = 16;
+
+    @Test
+    public void scopeTest() throws Exception {
+        CMap outer = new CMap();
+        StaticResources.cacheCMap("outer", outer);
+        ResourceScope scope = new ResourceScope();
+        try {
+            StaticResources.callInScope(scope, () -> {
+                assertSame(scope, StaticResources.getScope());
+                assertNull(StaticResources.getCMap("outer"));
+                StaticResources.cacheCMap("inner", new CMap());
+                ResourceScope nested = new ResourceScope();
+                StaticResources.callInScope(nested, () -> {
+                    assertNull(StaticResources.getCMap("inner"));
+                    return null;
+                });
+                nested.close();
+                assertNotNull(StaticResources.getCMap("inner"));
+                return null;
+            });
+            assertSame(outer, StaticResources.getCMap("outer"));
+            assertNull(StaticResources.getCMap("inner"));
+
+            // scope is not bound to thread that used it first
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                assertTrue(executor.submit(() -> StaticResources.callInScope(scope,
+                        () -> StaticResources.getCMap("inner") != null)).get());
+            } finally {
+                executor.shutdown();
+            }
+        } finally {
+            scope.close();
+            StaticResources.clear();
+        }
+        assertFalse(scope.isOpen());
+        try {
+            StaticResources.callInScope(scope, () -> null);
+            fail("Closed scope should not be used");
+        } catch (IllegalStateException e) {
+            assertNull(StaticResources.getCMap("inner"));
+        }
+    }
+
+    @Test
+    public void processTest() throws Exception {
+        AtomicInteger open = new AtomicInteger();
+        AtomicInteger maxOpen = new AtomicInteger();
+        Set<ResourceScope> scopes = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        List<Future<Integer>> results;
+        try (BatchProcessor processor = BatchProcessor.builder().concurrency(2).build()) {
+            results = processor.submitAll(Collections.nCopies(DOCUMENTS, FILE), document -> {
+                int current = open.incrementAndGet();
+                maxOpen.accumulateAndGet(current, Math::max);
+                ResourceScope scope = StaticResources.getScope();
+                assertTrue(scope.isOpen());
+                scopes.add(scope);
+                Thread.sleep(5);
+                open.decrementAndGet();
+                return document.getNumberOfPages();
+            });
+        }
+        for (Future<Integer> result : results) {
+            assertEquals(Integer.valueOf(1), result.get());
+        }
+        assertEquals(DOCUMENTS, scopes.size());
+        assertTrue(maxOpen.get() <= 2);
+        for (ResourceScope scope : scopes) {
+            assertFalse(scope.isOpen());
+        }
+    }
+
+    @Test
+    public void memoryBudgetTest() throws Exception {
+        AtomicInteger open = new AtomicInteger();
+        AtomicInteger maxOpen = new AtomicInteger();
+        List<Future<Integer>> results = new ArrayList<>();
+        try (BatchProcessor processor = BatchProcessor.builder().concurrency(4)
+                .memoryBudget(FILE.length() * 2 - 1).build()) {
+            for (int i = 0; i < DOCUMENTS; ++i) {
+                results.add(processor.submit(FILE, document -> {
+                    maxOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+                    Thread.sleep(5);
+                    open.decrementAndGet();
+                    return document.getNumberOfPages();
+                }));
+            }
+        }
+        for (Future<Integer> result : results) {
+            assertEquals(Integer.valueOf(1), result.get());
+        }
+        assertEquals(1, maxOpen.get());
+    }
+
+    @Test
+    public void oversizedDocumentTest() throws Exception {
+        try (BatchProcessor processor = BatchProcessor.builder().memoryBudget(1).build()) {
+            assertEquals(Integer.valueOf(1), processor.submit(FILE, document -> document.getNumberOfPages()).get());
+        }
+    }
+
+    @Test
+    public void failureTest() {
+        try (BatchProcessor processor = BatchProcessor.builder().virtualThreads(true).build()) {
+            Future<Integer> result = processor.submit(new File("missing.pdf"), document -> document.getNumberOfPages());
+            try {
+                result.get();
+                fail("Missing file should fail");
+            } catch (ExecutionException e) {
+                assertNotNull(e.getCause());
+            } catch (InterruptedException e) {
+                fail("Interrupted");
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/**
+ * This file is part of veraPDF Parser, a module of the veraPDF project.
+ * Copyright (c) 2015-2025, veraPDF Consortium <info@verapdf.org>
+ * All rights reserved.
+ *
+ * veraPDF Parser is free software: you can redistribute it and/or modify
+ * it under the terms of either:
+ *
+ * The GNU General public license GPLv3+.
+ * You should have received a copy of the GNU General Public License
+ * along with veraPDF Parser as the LICENSE.GPL file in the root of the source
+ * tree.  If not, see http://www.gnu.org/licenses/ or
+ * https://www.gnu.org/licenses/gpl-3.0.en.html.
+ *
+ * The Mozilla Public License MPLv2+.
+ * You should have received a copy of the Mozilla Public License along with
+ * veraPDF Parser as the LICENSE.MPL file in the root of the source tree.
+ * If a copy of the MPL was not distributed with this file, you can obtain one at
+ * http://mozilla.org/MPL/2.0/.
+ */
+package org.verapdf.tools.metrics;
+
+import org.junit.Test;
+import org.verapdf.as.ASAtom;
+import org.verapdf.as.io.ASInputStream;
+import org.verapdf.cos.COSKey;
+import org.verapdf.cos.COSObjType;
+import org.verapdf.cos.COSObject;
+import org.verapdf.cos.COSStream;
+import org.verapdf.pd.PDDocument;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class ParserMetricsTest {
+
+    private static final String FILE_PATH =
+            "src/test/resources/org/verapdf/cos/filters/validDocument.pdf";
+
+    private final CountingListener listener = new CountingListener();
+
+    @Test
+    public void disabledTest() throws IOException {
+        ParserMetrics.setEnabled(false);
+        assertNull(ParserMetrics.create());
+        PDDocument document = new PDDocument(FILE_PATH);
+        try {
+            assertNull(document.getDocument().getMetrics());
+        } finally {
+            document.close();
+        }
+    }
+
+    @Test
+    public void parsingTest() throws IOException {
+        ParserMetrics.addListener(listener);
+        assertTrue(ParserMetrics.isEnabled());
+        PDDocument document = new PDDocument(FILE_PATH);
+        ParserMetrics metrics = document.getDocument().getMetrics();
+        try {
+            checkMetrics(document);
+        } finally {
+            document.close();
+            ParserMetrics.removeListener(listener);
+            ParserMetrics.setEnabled(false);
+        }
+        // source is smaller than report threshold, so bytes are reported on close
+        assertTrue(metrics.getSourceBytesRead() > 0);
+        assertEquals(metrics.getSourceBytesRead(), listener.sourceBytes.get());
+    }
+
+    @Test
+    public void separateDocumentsTest() throws IOException {
+        ParserMetrics.setEnabled(true);
+        PDDocument first = new PDDocument(FILE_PATH);
+        PDDocument second = null;
+        try {
+            ParserMetrics firstMetrics = first.getDocument().getMetrics();
+            first.getDocument().getObject(new COSKey(12, 0));
+            long firstObjects = firstMetrics.getObjectsParsed();
+
+            second = new PDDocument(FILE_PATH);
+            ParserMetrics secondMetrics = second.getDocument().getMetrics();
+            assertNotSame(firstMetrics, secondMetrics);
+            long secondObjects = secondMetrics.getObjectsParsed();
+
+            // parsing objects of the first document does not affect metrics of the second one
+            first.getDocument().getObject(new COSKey(11, 0));
+            assertTrue(firstMetrics.getObjectsParsed() > firstObjects);
+            assertEquals(secondObjects, secondMetrics.getObjectsParsed());
+        } finally {
+            first.close();
+            if (second != null) {
+                second.close();
+            }
+            ParserMetrics.setEnabled(false);
+        }
+    }
+
+    private void checkMetrics(PDDocument document) throws IOException {
+        ParserMetrics metrics = document.getDocument().getMetrics();
+        assertNotNull(metrics);
+        assertTrue(metrics.getXRefSectionCount() > 0);
+
+        // ToUnicode CMap compressed with FlateDecode
+        COSObject toUnicode = document.getDocument().getObject(new COSKey(12, 0));
+        assertEquals(COSObjType.COS_STREAM, toUnicode.getType());
+        long decoded = 0;
+        try (ASInputStream data = ((COSStream) toUnicode.getDirectBase()).getData(COSStream.FilterFlags.DECODE)) {
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = data.read(buffer, buffer.length)) != -1) {
+                decoded += read;
+            }
+        }
+        assertTrue(decoded > 0);
+        assertEquals(Long.valueOf(decoded), metrics.getBytesDecoded().get(ASAtom.FLATE_DECODE));
+
+        document.getDocument().getObject(new COSKey(12, 0));
+        assertTrue(metrics.getObjectsParsed() > 0);
+        assertTrue(metrics.getObjectsParsed(COSObjType.COS_DICT, false) > 0);
+        assertTrue(metrics.getCacheHits(ParserMetrics.Cache.BODY) > 0);
+        assertTrue(metrics.getCacheMisses(ParserMetrics.Cache.BODY) > 0);
+
+        assertEquals(metrics.getObjectsParsed(), listener.objects.get());
+        assertEquals(decoded, listener.decodedBytes.get());
+    }
+
+    private static class CountingListener implements ParserMetricsListener {
+
+        private final AtomicLong objects = new AtomicLong();
+        private final AtomicLong sourceBytes = new AtomicLong();
+        private final AtomicLong decodedBytes = new AtomicLong();
+
+        @Override
+        public void xrefLoaded(ParserMetrics metrics, int sectionCount, long nanos) {
+        }
+
+        @Override
+        public void objectParsed(ParserMetrics metrics, COSObjType type, boolean fromObjectStream) {
+            objects.incrementAndGet();
+        }
+
+        @Override
+        public void sourceBytesRead(ParserMetrics metrics, long count) {
+            sourceBytes.addAndGet(count);
+        }
+
+        @Override
+        public void bytesDecoded(ParserMetrics metrics, ASAtom filter, long count) {
+            decodedBytes.addAndGet(count);
+        }
+
+        @Override
+        public void cacheAccessed(ParserMetrics metrics, ParserMetrics.Cache cache, boolean hit) {
+        }
+
+        @Override
+        public void fontProgramParsed(ParserMetrics metrics, String fontType, long nanos) {
+        }
+
+        @Override
+        public void tempFileCreated(ParserMetrics metrics) {
+        }
+    }
+}